@@ -1,8 +1,10 @@
 package com.contenthub.comment.config;
 
+import com.contenthub.common.constant.Constants;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -11,7 +13,7 @@ import javax.servlet.http.HttpServletRequest;
 
 /**
  * Feign请求拦截器
- * 用于在Feign调用时自动传递Token（从当前HTTP请求中获取）
+ * 用于在Feign调用时自动传递Token（从当前HTTP请求中获取），并携带服务间调用凭证
  */
 @Slf4j
 @Component
@@ -22,8 +24,22 @@ public class FeignRequestInterceptor implements RequestInterceptor {
      */
     private static final String TOKEN_NAME = "Authorization";
     
+    /**
+     * 服务间调用凭证
+     */
+    private final String internalToken;
+    
+    public FeignRequestInterceptor(@Value("${contenthub.internal.token:}") String internalToken) {
+        this.internalToken = internalToken;
+    }
+    
     @Override
     public void apply(RequestTemplate template) {
+        // 服务间调用凭证（定时任务、异步线程中的调用同样携带）
+        if (!internalToken.isEmpty()) {
+            template.header(Constants.INTERNAL_TOKEN_HEADER, internalToken);
+        }
+        
         try {
             // 从当前HTTP请求中获取Token
             ServletRequestAttributes attributes = 
@@ -0,0 +1,27 @@
+package com.contenthub.comment.config;
+
+import com.contenthub.common.client.BlockedUserFetcher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis配置类
+ */
+@Configuration
+public class RedisConfig {
+
+    /**
+     * Redis 消息监听容器（订阅黑名单变更广播，清除本地缓存）
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       BlockedUserFetcher blockedUserFetcher) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(blockedUserFetcher, new ChannelTopic(BlockedUserFetcher.CHANGE_CHANNEL));
+        return container;
+    }
+}
@@ -38,9 +38,9 @@ public class SaTokenConfig extends BaseSaTokenConfig {
                 String requestMethod = request.getMethod();
                 String requestPath = request.getRequestURI();
                 
-                // GET /comment/{commentId} 允许未登录访问
-                if ("GET".equals(requestMethod) && requestPath.matches("/comment/\\d+")) {
-                    // GET请求获取评论详情，允许未登录，跳过验证
+                // GET /comment/{commentId}、/comment/{rootId}/replies 允许未登录访问
+                if ("GET".equals(requestMethod) && requestPath.matches("/comment/\\d+(/replies)?")) {
+                    // GET请求获取评论详情、子评论，允许未登录，跳过验证
                     return true;
                 }
                 
@@ -67,6 +67,7 @@ public class SaTokenConfig extends BaseSaTokenConfig {
         // 评论列表和数量可以公开访问（不需要登录）
         return Arrays.asList(
                 "/comment/list",           // 获取评论列表（GET）
+                "/comment/list/cursor",    // 游标分页获取评论列表（GET）
                 "/comment/count"           // 获取评论数量（GET）
         );
     }
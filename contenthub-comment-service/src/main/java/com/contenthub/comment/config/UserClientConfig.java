@@ -0,0 +1,46 @@
+package com.contenthub.comment.config;
+
+import com.contenthub.common.client.BlacklistClientProperties;
+import com.contenthub.common.client.BlockedUserFetcher;
+import com.contenthub.common.client.UserClientProperties;
+import com.contenthub.common.client.UserInfoFetcher;
+import com.contenthub.comment.feign.UserServiceClient;
+import com.contenthub.user.vo.UserInfoVO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户服务客户端配置
+ */
+@Configuration
+public class UserClientConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "comment.user-client")
+    public UserClientProperties userClientProperties() {
+        return new UserClientProperties();
+    }
+
+    @Bean
+    public UserInfoFetcher<UserInfoVO> userInfoFetcher(UserServiceClient userServiceClient,
+                                                       MeterRegistry meterRegistry,
+                                                       UserClientProperties userClientProperties) {
+        return new UserInfoFetcher<>(userServiceClient::getUsersByIdList, UserInfoVO::getId,
+                meterRegistry, userClientProperties);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "comment.blacklist")
+    public BlacklistClientProperties blacklistClientProperties() {
+        return new BlacklistClientProperties();
+    }
+
+    @Bean
+    public BlockedUserFetcher blockedUserFetcher(UserServiceClient userServiceClient,
+                                                 MeterRegistry meterRegistry,
+                                                 BlacklistClientProperties blacklistClientProperties) {
+        return new BlockedUserFetcher(userServiceClient::getBlockedIds, meterRegistry, blacklistClientProperties);
+    }
+}
@@ -1,6 +1,7 @@
 package com.contenthub.comment.controller;
 
 import cn.dev33.satoken.stp.StpUtil;
+import com.contenthub.common.result.CursorPage;
 import com.contenthub.common.result.Result;
 import com.contenthub.comment.dto.CreateCommentDTO;
 import com.contenthub.comment.service.CommentService;
@@ -58,9 +59,9 @@ public class CommentController {
             summary = "获取评论列表",
             description = "获取文章下的评论列表（支持分页）\n\n" +
                     "**说明：**\n" +
-                    "- 返回一级评论，每个一级评论包含其下的所有二级评论\n" +
+                    "- 返回一级评论，每个一级评论附带最新的若干条二级评论、二级评论总数和继续加载的游标\n" +
                     "- 一级评论按时间倒序排列\n" +
-                    "- 二级评论按时间正序排列\n" +
+                    "- 二级评论按时间倒序排列，其余二级评论通过 /comment/{rootId}/replies 加载\n" +
                     "- 会显示当前用户对每条评论的点赞状态"
     )
     @GetMapping("/list")
@@ -85,6 +86,58 @@ public class CommentController {
         return Result.success(comments);
     }
     
+    @Operation(
+            summary = "游标分页获取评论列表",
+            description = "按创建时间倒序游标分页获取一级评论及其子评论，不执行 COUNT 查询，适合深分页和无限滚动"
+    )
+    @GetMapping("/list/cursor")
+    public Result<CursorPage<CommentVO>> getCommentListByCursor(
+            @Parameter(description = "文章ID", required = true, example = "1")
+            @RequestParam("articleId") Long articleId,
+            @Parameter(description = "游标（首页不传，后续使用上一页返回的 nextCursor）")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "每页数量", example = "20")
+            @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        // 从Sa-Token获取当前登录用户ID（如果没有登录则为null）
+        Long currentUserId = null;
+        try {
+            if (StpUtil.isLogin()) {
+                currentUserId = StpUtil.getLoginIdAsLong();
+            }
+        } catch (Exception e) {
+            // 未登录，currentUserId 为 null
+        }
+        
+        CursorPage<CommentVO> comments = commentService.getCommentListByCursor(articleId, cursor, size, currentUserId);
+        return Result.success(comments);
+    }
+    
+    @Operation(
+            summary = "游标分页获取子评论",
+            description = "按创建时间倒序游标分页获取一级评论下的二级评论，首页游标可使用评论列表返回的 repliesCursor"
+    )
+    @GetMapping("/{rootId}/replies")
+    public Result<CursorPage<CommentVO>> getReplies(
+            @Parameter(description = "一级评论ID", required = true)
+            @PathVariable Long rootId,
+            @Parameter(description = "游标（首页不传，后续使用上一页返回的 nextCursor）")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "每页数量", example = "20")
+            @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        // 从Sa-Token获取当前登录用户ID（如果没有登录则为null）
+        Long currentUserId = null;
+        try {
+            if (StpUtil.isLogin()) {
+                currentUserId = StpUtil.getLoginIdAsLong();
+            }
+        } catch (Exception e) {
+            // 未登录，currentUserId 为 null
+        }
+        
+        CursorPage<CommentVO> replies = commentService.getReplies(rootId, cursor, size, currentUserId);
+        return Result.success(replies);
+    }
+    
     @Operation(
             summary = "获取评论详情",
             description = "根据评论ID获取评论详情（公开接口，不需要登录）"
@@ -0,0 +1,124 @@
+package com.contenthub.comment.counter;
+
+import com.contenthub.comment.domain.IdCount;
+import com.contenthub.comment.feign.ContentServiceClient;
+import com.contenthub.comment.mapper.CommentMapper;
+import com.contenthub.common.result.Result;
+import com.contenthub.common.utils.RecountUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章评论数校准
+ *
+ * 评论服务汇总评论的新增和删除后按增量更新 articles.comment_count，定时任务按评论表重新统计，
+ * 修正异常退出时丢失的增量和历史数据。按文章ID分段：每段在评论计数缓冲的锁内先写回本实例的增量，
+ * 再统计该区间各文章的评论数，交给内容服务改写（区间内没有评论的文章置0，只改写不一致的行）。
+ *
+ * 多实例部署时只有取得 Redis 锁的实例执行；其他实例缓冲中的增量无法在这里写回，
+ * 因此最近 skip-recent-minutes 分钟内有评论变更的文章本次跳过，留给下次校准。
+ */
+@Slf4j
+@Component
+public class CommentCountRecounter {
+
+    /**
+     * 校准锁，多实例只有一个执行
+     */
+    private static final String LOCK_KEY = "comment:recount:article:lock";
+
+    /**
+     * 一段内跳过的文章数上限，超过时整段留给下次校准（跳过的ID通过查询参数传给内容服务）
+     */
+    private static final int MAX_SKIP_IDS = 200;
+
+    private final CommentMapper commentMapper;
+    private final CommentCounterBuffer commentCounterBuffer;
+    private final ContentServiceClient contentServiceClient;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 每段包含的文章数
+     */
+    private final int batchSize;
+
+    /**
+     * 最近多少分钟内有评论变更的文章不校准（须大于写回周期加上写回失败重试的时间）
+     */
+    private final int skipRecentMinutes;
+
+    public CommentCountRecounter(CommentMapper commentMapper,
+                                 CommentCounterBuffer commentCounterBuffer,
+                                 ContentServiceClient contentServiceClient,
+                                 StringRedisTemplate stringRedisTemplate,
+                                 @Value("${comment.comment-recount.batch-size:500}") int batchSize,
+                                 @Value("${comment.comment-recount.skip-recent-minutes:10}") int skipRecentMinutes) {
+        this.commentMapper = commentMapper;
+        this.commentCounterBuffer = commentCounterBuffer;
+        this.contentServiceClient = contentServiceClient;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.batchSize = batchSize;
+        this.skipRecentMinutes = skipRecentMinutes;
+    }
+
+    /**
+     * 定时校准
+     */
+    @Scheduled(cron = "${comment.comment-recount.cron:0 30 5 * * ?}")
+    public void scheduledRecount() {
+        try {
+            recount();
+        } catch (Exception e) {
+            log.error("文章评论数校准失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 重新统计全部文章的评论数
+     * @return 被修正的文章数（其他实例正在校准时返回 0）
+     */
+    public int recount() {
+        Boolean locked = stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", 30, TimeUnit.MINUTES);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("文章评论数正在其他实例校准，跳过");
+            return 0;
+        }
+        try {
+            // 每段写回缓冲中的增量后重算（区间首尾相接，覆盖其间没有评论的文章）
+            return RecountUtils.recountByIdRange("文章评论数", batchSize, commentMapper::selectArticleIdsAfter,
+                    (fromId, toId) -> commentCounterBuffer.flushThen(() -> recountRange(fromId, toId)));
+        } finally {
+            stringRedisTemplate.delete(LOCK_KEY);
+        }
+    }
+
+    private int recountRange(Long fromId, Long toId) {
+        // 1. 最近有评论变更的文章（可能还有其他实例未写回的增量）
+        List<Long> skipIds = commentMapper.selectArticleIdsChangedRecently(fromId, toId, skipRecentMinutes,
+                MAX_SKIP_IDS + 1);
+        if (skipIds.size() > MAX_SKIP_IDS) {
+            log.info("区间内最近变更的文章过多，本次跳过: fromId={}, toId={}", fromId, toId);
+            return 0;
+        }
+
+        // 2. 统计其余文章的评论数，交给内容服务改写
+        Map<Long, Long> counts = new HashMap<>();
+        for (IdCount idCount : commentMapper.countGroupByArticleId(fromId, toId)) {
+            counts.put(idCount.getId(), idCount.getCount());
+        }
+        Result<Integer> result = contentServiceClient.resetCommentCounts(fromId, toId,
+                skipIds.isEmpty() ? null : skipIds, counts);
+        if (result == null || result.getCode() != 200 || result.getData() == null) {
+            throw new IllegalStateException(result != null ? result.getMessage() : "无响应");
+        }
+        return result.getData();
+    }
+}
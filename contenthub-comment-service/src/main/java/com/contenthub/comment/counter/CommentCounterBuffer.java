@@ -0,0 +1,267 @@
+package com.contenthub.comment.counter;
+
+import com.contenthub.comment.domain.Comment;
+import com.contenthub.comment.feign.ContentServiceClient;
+import com.contenthub.comment.mapper.CommentMapper;
+import com.contenthub.common.result.Result;
+import feign.RetryableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 评论计数缓冲
+ *
+ * 评论新增、删除、点赞、取消点赞（事务提交后）只在内存中累加增量：评论点赞数、
+ * 一级评论的子评论数和文章评论数，由定时任务聚合后批量写回：
+ * 点赞数、子评论数各通过一条 UPDATE ... CASE id 在数据库中累加（不读取旧值，并发下不丢失更新），
+ * 文章评论数整批发送给内容服务写回 articles.comment_count 并计入热度。
+ * 确定未生效的写回（数据库异常、内容服务返回错误、连接失败）放回缓冲等待下次重试；
+ * 调用内容服务读取超时等结果未知的失败不放回（对方可能已经写入，重试会重复累加），
+ * 与异常退出时丢失的增量一样由定时校准修正。
+ * 校准通过 {@link #flushThen} 先写回本实例的全部增量、再在同一把锁内按评论表改写计数。
+ */
+@Slf4j
+@Component
+public class CommentCounterBuffer {
+
+    private final CommentMapper commentMapper;
+    private final ContentServiceClient contentServiceClient;
+
+    /**
+     * 待写回的文章评论数增量（文章ID -> 增量）
+     */
+    private final ConcurrentHashMap<Long, Long> articleDeltas = new ConcurrentHashMap<>();
+
+    /**
+     * 待写回的点赞数增量（评论ID -> 增量）
+     */
+    private final ConcurrentHashMap<Long, Long> likeDeltas = new ConcurrentHashMap<>();
+
+    /**
+     * 待写回的子评论数增量（一级评论ID -> 增量）
+     */
+    private final ConcurrentHashMap<Long, Long> replyDeltas = new ConcurrentHashMap<>();
+
+    /**
+     * 单批写回最多包含的行数
+     */
+    private final int batchSize;
+
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+
+    public CommentCounterBuffer(CommentMapper commentMapper,
+                                ContentServiceClient contentServiceClient,
+                                MeterRegistry meterRegistry,
+                                @Value("${comment.counter.batch-size:500}") int batchSize) {
+        this.commentMapper = commentMapper;
+        this.contentServiceClient = contentServiceClient;
+        this.batchSize = batchSize;
+
+        Gauge.builder("comment.counter.pending.articles", articleDeltas, Map::size)
+                .description("存在未写回评论数的文章数")
+                .register(meterRegistry);
+        Gauge.builder("comment.counter.pending.likes", likeDeltas, Map::size)
+                .description("存在未写回点赞数的评论数")
+                .register(meterRegistry);
+        Gauge.builder("comment.counter.pending.threads", replyDeltas, Map::size)
+                .description("存在未写回子评论数的一级评论数")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("comment.counter.flushed")
+                .description("已写回的计数行数")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("comment.counter.flush.failed")
+                .description("写回失败次数")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("comment.counter.dropped")
+                .description("写回结果未知、未放回缓冲的计数行数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录一条新评论（事务中调用时在提交后生效）
+     */
+    public void recordCreated(Comment comment) {
+        afterCommit(() -> record(comment, 1));
+    }
+
+    /**
+     * 记录一条被删除的评论（事务中调用时在提交后生效）
+     */
+    public void recordDeleted(Comment comment) {
+        afterCommit(() -> record(comment, -1));
+    }
+
+    /**
+     * 记录一次点赞（事务中调用时在提交后生效）
+     */
+    public void recordLiked(Long commentId) {
+        afterCommit(() -> add(likeDeltas, commentId, 1));
+    }
+
+    /**
+     * 记录一次取消点赞（事务中调用时在提交后生效）
+     */
+    public void recordUnliked(Long commentId) {
+        afterCommit(() -> add(likeDeltas, commentId, -1));
+    }
+
+    /**
+     * 文章尚未写回的评论数增量（读取评论数时叠加，使本实例刚发表的评论立即可见）
+     */
+    public long getPendingArticleDelta(Long articleId) {
+        return articleDeltas.getOrDefault(articleId, 0L);
+    }
+
+    /**
+     * 定时写回
+     */
+    @Scheduled(fixedDelayString = "${comment.counter.flush-interval-ms:2000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * 停机前写回剩余的增量
+     */
+    @PreDestroy
+    public void shutdown() {
+        log.info("服务停止，写回剩余评论计数: likes={}, articles={}, threads={}",
+                likeDeltas.size(), articleDeltas.size(), replyDeltas.size());
+        flush();
+    }
+
+    /**
+     * 聚合并写回增量
+     */
+    public synchronized void flush() {
+        // 1. 点赞数
+        Map<Long, Long> likes = drain(likeDeltas);
+        forEachBatch(likes, commentMapper::batchAddLikeCount, likeDeltas, "点赞数");
+
+        // 2. 子评论数
+        Map<Long, Long> replies = drain(replyDeltas);
+        forEachBatch(replies, commentMapper::batchAddReplyCount, replyDeltas, "子评论数");
+
+        // 3. 文章评论数（发送给内容服务）
+        Map<Long, Long> articles = drain(articleDeltas);
+        forEachBatch(articles, batch -> {
+            Result<String> result = contentServiceClient.applyCommentCountDeltas(batch);
+            if (result == null || result.getCode() != 200) {
+                throw new IllegalStateException(result != null ? result.getMessage() : "无响应");
+            }
+        }, articleDeltas, "文章评论数");
+    }
+
+    /**
+     * 写回全部增量后在同一把锁内执行校准（校准期间定时写回等待）
+     */
+    public synchronized <T> T flushThen(Supplier<T> recount) {
+        flush();
+        return recount.get();
+    }
+
+    private void record(Comment comment, long delta) {
+        add(articleDeltas, comment.getArticleId(), delta);
+        Long threadId = comment.getRootId() != null ? comment.getRootId() : comment.getParentId();
+        if (threadId != null) {
+            add(replyDeltas, threadId, delta);
+        }
+    }
+
+    /**
+     * 累加增量（与取出互斥在同一个 key 上，合计为0时移出缓冲）
+     */
+    private static void add(ConcurrentHashMap<Long, Long> pending, Long id, long delta) {
+        pending.merge(id, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    /**
+     * 取出全部增量（逐个 key 原子移除，取出之后的新增量重新进入缓冲，下次写回）
+     */
+    private static Map<Long, Long> drain(ConcurrentHashMap<Long, Long> pending) {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Long id : pending.keySet()) {
+            Long delta = pending.remove(id);
+            if (delta != null) {
+                deltas.put(id, delta);
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * 分批写回，确定未生效的批次放回缓冲
+     */
+    private void forEachBatch(Map<Long, Long> deltas, Consumer<Map<Long, Long>> writer,
+                              ConcurrentHashMap<Long, Long> pending, String name) {
+        Map<Long, Long> batch = new HashMap<>();
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= batchSize) {
+                writeBatch(batch, writer, pending, name);
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, writer, pending, name);
+        }
+    }
+
+    private void writeBatch(Map<Long, Long> batch, Consumer<Map<Long, Long>> writer,
+                            ConcurrentHashMap<Long, Long> pending, String name) {
+        try {
+            writer.accept(batch);
+            flushedCounter.increment(batch.size());
+        } catch (Exception e) {
+            failedCounter.increment();
+            if (mayHaveBeenApplied(e)) {
+                droppedCounter.increment(batch.size());
+                log.error("{}写回结果未知，不放回缓冲，等待定时校准: rows={}, deltas={}, error={}",
+                        name, batch.size(), batch, e.getMessage());
+                return;
+            }
+            log.error("{}写回失败，增量放回缓冲: rows={}, error={}", name, batch.size(), e.getMessage());
+            batch.forEach((id, delta) -> add(pending, id, delta));
+        }
+    }
+
+    /**
+     * 失败时对方是否可能已经写入：Feign 的 IO 异常中只有连接失败能确定请求未送达，
+     * 读取超时、连接被重置时内容服务可能已提交
+     */
+    private static boolean mayHaveBeenApplied(Exception e) {
+        return e instanceof RetryableException
+                && !(e.getCause() instanceof ConnectException || e.getCause() instanceof UnknownHostException);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.contenthub.comment.counter;
+
+import com.contenthub.comment.mapper.CommentMapper;
+import com.contenthub.common.utils.RecountUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 子评论数校准
+ *
+ * 评论新增、删除时按增量更新一级评论的 reply_count，定时任务按子评论重新统计，
+ * 修正异常退出时丢失的增量和历史数据。按一级评论ID分段执行，每段一条 UPDATE ... JOIN，
+ * 只改写不一致的行。每段先写回本实例缓冲中的增量，再在同一把锁内重算。
+ *
+ * 多实例部署时只有取得 Redis 锁的实例执行；其他实例缓冲中的增量无法在这里写回，
+ * 因此最近 skip-recent-minutes 分钟内有子评论变更的一级评论本次跳过，避免增量在校准后重复累加。
+ */
+@Slf4j
+@Component
+public class ReplyCountRecounter {
+
+    /**
+     * 校准锁，多实例只有一个执行
+     */
+    private static final String LOCK_KEY = "comment:recount:reply:lock";
+
+    private final CommentMapper commentMapper;
+    private final CommentCounterBuffer commentCounterBuffer;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 每段包含的一级评论数
+     */
+    private final int batchSize;
+
+    /**
+     * 最近多少分钟内有子评论变更的一级评论不校准（须大于写回周期加上写回失败重试的时间）
+     */
+    private final int skipRecentMinutes;
+
+    public ReplyCountRecounter(CommentMapper commentMapper,
+                               CommentCounterBuffer commentCounterBuffer,
+                               StringRedisTemplate stringRedisTemplate,
+                               @Value("${comment.reply-recount.batch-size:500}") int batchSize,
+                               @Value("${comment.reply-recount.skip-recent-minutes:10}") int skipRecentMinutes) {
+        this.commentMapper = commentMapper;
+        this.commentCounterBuffer = commentCounterBuffer;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.batchSize = batchSize;
+        this.skipRecentMinutes = skipRecentMinutes;
+    }
+
+    /**
+     * 定时校准
+     */
+    @Scheduled(cron = "${comment.reply-recount.cron:0 0 5 * * ?}")
+    public void scheduledRecount() {
+        try {
+            recount();
+        } catch (Exception e) {
+            log.error("子评论数校准失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 重新统计全部一级评论的子评论数
+     * @return 被修正的评论数（其他实例正在校准时返回 0）
+     */
+    public int recount() {
+        Boolean locked = stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", 30, TimeUnit.MINUTES);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("子评论数正在其他实例校准，跳过");
+            return 0;
+        }
+        try {
+            // 每段写回缓冲中的增量后重算
+            return RecountUtils.recountByIdRange("子评论数", batchSize, commentMapper::selectRootIdsAfter,
+                    (fromId, toId) -> commentCounterBuffer.flushThen(
+                            () -> commentMapper.recountReplyCount(fromId, toId, skipRecentMinutes)));
+        } finally {
+            stringRedisTemplate.delete(LOCK_KEY);
+        }
+    }
+}
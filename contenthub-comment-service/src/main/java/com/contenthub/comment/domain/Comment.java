@@ -44,10 +44,17 @@ public class Comment {
     private String content;
     
     /**
-     * 点赞数
+     * 点赞数（只由计数缓冲按增量更新，updateById 不写入）
      */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
     private Integer likeCount;
     
+    /**
+     * 子评论数（一级评论，只由计数缓冲按增量更新，updateById 不写入）
+     */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    private Integer replyCount;
+    
     /**
      * 状态（0-删除，1-正常，2-审核中）
      */
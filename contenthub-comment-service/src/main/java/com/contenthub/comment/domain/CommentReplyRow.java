@@ -0,0 +1,17 @@
+package com.contenthub.comment.domain;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 子评论查询行（附带所属一级评论ID）
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class CommentReplyRow extends Comment {
+    
+    /**
+     * 所属一级评论ID（root_id 为空的旧数据取 parent_id）
+     */
+    private Long threadId;
+}
@@ -0,0 +1,20 @@
+package com.contenthub.comment.domain;
+
+import lombok.Data;
+
+/**
+ * 分组计数结果（GROUP BY 查询使用）
+ */
+@Data
+public class IdCount {
+    
+    /**
+     * 分组ID
+     */
+    private Long id;
+    
+    /**
+     * 计数
+     */
+    private Long count;
+}
@@ -0,0 +1,49 @@
+package com.contenthub.comment.feign;
+
+import com.contenthub.common.result.Result;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 内容服务Feign客户端
+ */
+@FeignClient(name = "contenthub-content-service", path = "/content/article")
+public interface ContentServiceClient {
+    
+    /**
+     * 批量调整文章评论数
+     * @param deltas 文章ID -> 评论数增量（可为负数）
+     * @return 调整结果
+     */
+    @PostMapping("/comment-count/batch")
+    Result<String> applyCommentCountDeltas(@RequestBody Map<Long, Long> deltas);
+    
+    /**
+     * 校准ID区间内文章的评论数
+     * @param fromId 起始文章ID（含）
+     * @param toId 结束文章ID（含）
+     * @param skipIds 本次不校准的文章ID（评论刚变更、可能还有未写回的增量）
+     * @param counts 文章ID -> 评论数（区间内未出现的文章评论数为0）
+     * @return 被修正的文章数
+     */
+    @PostMapping("/comment-count/reset")
+    Result<Integer> resetCommentCounts(@RequestParam("fromId") Long fromId,
+                                       @RequestParam("toId") Long toId,
+                                       @RequestParam(value = "skipIds", required = false) List<Long> skipIds,
+                                       @RequestBody Map<Long, Long> counts);
+    
+    /**
+     * 获取文章评论数计数
+     * @param articleId 文章ID
+     * @return 评论数
+     */
+    @GetMapping("/{articleId}/comment-count")
+    Result<Long> getCommentCount(@PathVariable("articleId") Long articleId);
+}
@@ -5,6 +5,8 @@ import com.contenthub.user.vo.UserInfoVO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
@@ -30,5 +32,20 @@ public interface UserServiceClient {
      */
     @GetMapping("/batch")
     Result<List<UserInfoVO>> getUsersByIds(@RequestParam("userIds") String userIds);
+    
+    /**
+     * 批量获取用户信息（POST，不受URL长度限制）
+     * @param userIds 用户ID列表（结果顺序与入参一致，重复ID只返回一次）
+     * @return 用户信息列表
+     */
+    @PostMapping("/batch")
+    Result<List<UserInfoVO>> getUsersByIdList(@RequestBody List<Long> userIds);
+    
+    /**
+     * 获取拉黑的全部用户ID
+     * @param userId 用户ID
+     * @return 被拉黑的用户ID
+     */
+    @GetMapping("/{userId}/blocked-ids")
+    Result<List<Long>> getBlockedIds(@PathVariable("userId") Long userId);
 }
-
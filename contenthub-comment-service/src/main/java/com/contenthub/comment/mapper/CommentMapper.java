@@ -2,10 +2,122 @@ package com.contenthub.comment.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.contenthub.comment.domain.Comment;
+import com.contenthub.comment.domain.CommentReplyRow;
+import com.contenthub.comment.domain.IdCount;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 评论Mapper
  */
 public interface CommentMapper extends BaseMapper<Comment> {
+    
+    /**
+     * 批量查询多个一级评论下最新的若干条子评论（窗口函数按一级评论分组，每组最多 limit 条）
+     * 
+     * 每行同时返回所属一级评论ID；root_id 为空的旧数据按 parent_id 归组。
+     * 结果按一级评论分组，组内按创建时间、ID倒序。
+     */
+    @Select("<script>" +
+            "SELECT * FROM (" +
+            "  SELECT c.*, COALESCE(c.root_id, c.parent_id) AS thread_id, " +
+            "         ROW_NUMBER() OVER (PARTITION BY COALESCE(c.root_id, c.parent_id) " +
+            "                            ORDER BY c.created_at DESC, c.id DESC) AS rn " +
+            "  FROM comments c " +
+            "  WHERE c.parent_id IS NOT NULL AND c.status = 1 AND c.deleted = 0 " +
+            "    AND (c.root_id IN " +
+            "    <foreach collection='rootIds' item='rootId' open='(' separator=',' close=')'>#{rootId}</foreach>" +
+            "    OR (c.root_id IS NULL AND c.parent_id IN " +
+            "    <foreach collection='rootIds' item='rootId' open='(' separator=',' close=')'>#{rootId}</foreach>" +
+            "    ))" +
+            ") t WHERE t.rn &lt;= #{limit} " +
+            "ORDER BY t.thread_id, t.rn" +
+            "</script>")
+    List<CommentReplyRow> selectLatestReplies(@Param("rootIds") Collection<Long> rootIds, @Param("limit") int limit);
+    
+    /**
+     * 批量调整点赞数（key: 评论ID, value: 增量，可为负数；在数据库中累加，不读取旧值）
+     */
+    @Update("<script>" +
+            "UPDATE comments SET like_count = GREATEST(like_count + CASE id " +
+            "<foreach collection='deltas' index='commentId' item='delta' separator=' '>" +
+            "WHEN #{commentId} THEN #{delta} " +
+            "</foreach>" +
+            "ELSE 0 END, 0) " +
+            "WHERE id IN " +
+            "<foreach collection='deltas' index='commentId' open='(' separator=',' close=')'>" +
+            "#{commentId}" +
+            "</foreach>" +
+            "</script>")
+    int batchAddLikeCount(@Param("deltas") Map<Long, Long> deltas);
+    
+    /**
+     * 批量调整一级评论的子评论数（key: 一级评论ID, value: 增量，可为负数）
+     */
+    @Update("<script>" +
+            "UPDATE comments SET reply_count = GREATEST(reply_count + CASE id " +
+            "<foreach collection='deltas' index='commentId' item='delta' separator=' '>" +
+            "WHEN #{commentId} THEN #{delta} " +
+            "</foreach>" +
+            "ELSE 0 END, 0) " +
+            "WHERE id IN " +
+            "<foreach collection='deltas' index='commentId' open='(' separator=',' close=')'>" +
+            "#{commentId}" +
+            "</foreach>" +
+            "</script>")
+    int batchAddReplyCount(@Param("deltas") Map<Long, Long> deltas);
+    
+    /**
+     * 按主键游标取一段一级评论ID（子评论数校准分段使用）
+     */
+    @Select("SELECT id FROM comments WHERE id > #{lastId} AND parent_id IS NULL AND deleted = 0 ORDER BY id LIMIT #{limit}")
+    List<Long> selectRootIdsAfter(@Param("lastId") Long lastId, @Param("limit") int limit);
+    
+    /**
+     * 按子评论重算ID区间内一级评论的子评论数（只更新与实际不一致的评论）
+     *
+     * 最近 skipRecentMinutes 分钟内有子评论新增或删除的一级评论跳过：其增量可能还在某个实例的缓冲中，
+     * 此时改写会在增量写回后重复累加，留给下次校准。
+     * @return 被修正的评论数
+     */
+    @Update("UPDATE comments r " +
+            "LEFT JOIN (SELECT COALESCE(root_id, parent_id) AS thread_id, " +
+            "                  SUM(status = 1 AND deleted = 0) AS cnt, MAX(updated_at) AS changed_at FROM comments " +
+            "           WHERE (root_id BETWEEN #{fromId} AND #{toId} " +
+            "                  OR (root_id IS NULL AND parent_id BETWEEN #{fromId} AND #{toId})) " +
+            "             AND parent_id IS NOT NULL " +
+            "           GROUP BY COALESCE(root_id, parent_id)) c ON c.thread_id = r.id " +
+            "SET r.reply_count = IFNULL(c.cnt, 0) " +
+            "WHERE r.id BETWEEN #{fromId} AND #{toId} AND r.parent_id IS NULL AND r.reply_count <> IFNULL(c.cnt, 0) " +
+            "  AND (c.changed_at IS NULL OR c.changed_at < NOW() - INTERVAL #{skipRecentMinutes} MINUTE)")
+    int recountReplyCount(@Param("fromId") Long fromId, @Param("toId") Long toId,
+                          @Param("skipRecentMinutes") int skipRecentMinutes);
+    
+    /**
+     * 按文章ID游标取有评论的文章ID（文章评论数校准分段使用）
+     */
+    @Select("SELECT DISTINCT article_id FROM comments WHERE article_id > #{lastId} ORDER BY article_id LIMIT #{limit}")
+    List<Long> selectArticleIdsAfter(@Param("lastId") Long lastId, @Param("limit") int limit);
+    
+    /**
+     * 按文章分组统计ID区间内文章的评论数（正常状态、未删除的评论）
+     */
+    @Select("SELECT article_id AS id, COUNT(*) AS count FROM comments " +
+            "WHERE article_id BETWEEN #{fromId} AND #{toId} AND status = 1 AND deleted = 0 " +
+            "GROUP BY article_id")
+    List<IdCount> countGroupByArticleId(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
+    /**
+     * ID区间内最近 minutes 分钟有评论新增或删除的文章ID（最多 limit 个）
+     */
+    @Select("SELECT DISTINCT article_id FROM comments " +
+            "WHERE article_id BETWEEN #{fromId} AND #{toId} AND updated_at >= NOW() - INTERVAL #{minutes} MINUTE " +
+            "LIMIT #{limit}")
+    List<Long> selectArticleIdsChangedRecently(@Param("fromId") Long fromId, @Param("toId") Long toId,
+                                               @Param("minutes") int minutes, @Param("limit") int limit);
 }
-
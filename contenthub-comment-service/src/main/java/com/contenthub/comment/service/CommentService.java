@@ -1,6 +1,7 @@
 package com.contenthub.comment.service;
 
 import com.contenthub.comment.dto.CreateCommentDTO;
+import com.contenthub.common.result.CursorPage;
 import com.contenthub.comment.vo.CommentVO;
 
 import java.util.List;
@@ -42,6 +43,26 @@ public interface CommentService {
      */
     List<CommentVO> getCommentList(Long articleId, Integer page, Integer size, Long currentUserId);
     
+    /**
+     * 游标分页获取评论列表（一级评论按创建时间倒序，不执行 COUNT 查询）
+     * @param articleId 文章ID
+     * @param cursor 游标（首页为空）
+     * @param size 每页数量
+     * @param currentUserId 当前用户ID（用于判断是否已点赞）
+     * @return 评论列表及下一页游标
+     */
+    CursorPage<CommentVO> getCommentListByCursor(Long articleId, String cursor, Integer size, Long currentUserId);
+    
+    /**
+     * 游标分页获取一级评论下的子评论（按创建时间倒序，不执行 COUNT 查询）
+     * @param rootId 一级评论ID
+     * @param cursor 游标（首页为空，或使用评论列表返回的 repliesCursor）
+     * @param size 每页数量
+     * @param currentUserId 当前用户ID（用于判断是否已点赞）
+     * @return 子评论列表及下一页游标
+     */
+    CursorPage<CommentVO> getReplies(Long rootId, String cursor, Integer size, Long currentUserId);
+    
     /**
      * 获取评论详情
      * @param commentId 评论ID
@@ -5,19 +5,27 @@ import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.contenthub.comment.counter.CommentCounterBuffer;
 import com.contenthub.comment.domain.Comment;
 import com.contenthub.comment.domain.CommentLike;
 import com.contenthub.comment.dto.CreateCommentDTO;
+import com.contenthub.comment.feign.ContentServiceClient;
 import com.contenthub.comment.feign.UserServiceClient;
 import com.contenthub.comment.mapper.CommentLikeMapper;
 import com.contenthub.comment.mapper.CommentMapper;
 import com.contenthub.comment.service.CommentService;
+import com.contenthub.comment.thread.CommentThreadLoader;
 import com.contenthub.comment.vo.CommentVO;
 import com.contenthub.user.vo.UserInfoVO;
+import com.contenthub.common.client.BlockedUserFetcher;
+import com.contenthub.common.client.UserInfoFetcher;
 import com.contenthub.common.exception.BusinessException;
+import com.contenthub.common.result.CursorPage;
 import com.contenthub.common.result.Result;
+import com.contenthub.common.utils.CursorUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,6 +44,11 @@ public class CommentServiceImpl implements CommentService {
     private final CommentMapper commentMapper;
     private final CommentLikeMapper commentLikeMapper;
     private final UserServiceClient userServiceClient;
+    private final UserInfoFetcher<UserInfoVO> userInfoFetcher;
+    private final BlockedUserFetcher blockedUserFetcher;
+    private final CommentThreadLoader commentThreadLoader;
+    private final CommentCounterBuffer commentCounterBuffer;
+    private final ContentServiceClient contentServiceClient;
     
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -81,6 +94,9 @@ public class CommentServiceImpl implements CommentService {
         
         commentMapper.insert(comment);
         
+        // 4. 文章评论数、子评论数（提交后进入计数缓冲，批量写回）
+        commentCounterBuffer.recordCreated(comment);
+        
         log.info("发表评论成功: commentId={}, articleId={}, userId={}", 
                 comment.getId(), createCommentDTO.getArticleId(), userId);
         
@@ -102,7 +118,9 @@ public class CommentServiceImpl implements CommentService {
         }
         
         // 3. 软删除评论（MyBatis-Plus 自动处理）
-        commentMapper.deleteById(commentId);
+        if (commentMapper.deleteById(commentId) > 0 && Integer.valueOf(1).equals(comment.getStatus())) {
+            commentCounterBuffer.recordDeleted(comment);
+        }
         
         log.info("删除评论成功: commentId={}, userId={}", commentId, userId);
     }
@@ -135,7 +153,9 @@ public class CommentServiceImpl implements CommentService {
         }
         
         // 3. 软删除评论（MyBatis-Plus 自动处理）
-        commentMapper.deleteById(commentId);
+        if (commentMapper.deleteById(commentId) > 0 && Integer.valueOf(1).equals(comment.getStatus())) {
+            commentCounterBuffer.recordDeleted(comment);
+        }
         
         log.info("管理员删除评论成功: commentId={}, adminUserId={}", commentId, userId);
     }
@@ -159,118 +179,74 @@ public class CommentServiceImpl implements CommentService {
             return Collections.emptyList();
         }
         
-        // 获取所有评论ID（用于查询点赞状态）
-        List<Long> commentIds = comments.stream()
-                .map(Comment::getId)
-                .collect(Collectors.toList());
-        
-        // 获取评论的用户ID列表
-        List<Long> userIds = comments.stream()
-                .map(Comment::getUserId)
-                .distinct()
-                .collect(Collectors.toList());
+        return buildCommentTree(comments, currentUserId);
+    }
+    
+    @Override
+    public CursorPage<CommentVO> getCommentListByCursor(Long articleId, String cursor, Integer size, Long currentUserId) {
+        int pageSize = CursorUtils.normalizeSize(size);
         
-        // 查询二级评论（所有一级评论的子评论）
-        // 二级评论条件：
-        // 1. parentId 不为 NULL（确保是二级评论）
-        // 2. rootId 在一级评论ID列表中，或者 parentId 在一级评论ID列表中（处理数据不一致的情况）
-        LambdaQueryWrapper<Comment> childWrapper = new LambdaQueryWrapper<>();
-        childWrapper.isNotNull(Comment::getParentId) // 确保是二级评论（parentId不为空）
-                   .and(wrapper -> wrapper
-                       .in(Comment::getRootId, commentIds) // rootId 在一级评论ID中
-                       .or()
-                       .in(Comment::getParentId, commentIds)) // 或者 parentId 在一级评论ID中（处理rootId为null的情况）
-                   .eq(Comment::getStatus, 1)
-                   .orderByAsc(Comment::getCreatedAt); // 二级评论按时间正序
-        
-        List<Comment> childComments = commentMapper.selectList(childWrapper);
-        log.debug("查询到一级评论数量: {}, 二级评论数量: {}", comments.size(), childComments.size());
-        
-        // 修正二级评论的 rootId
-        childComments.forEach(child -> {
-            if (child.getParentId() != null) {
-                // 如果 rootId 为 null，但是 parentId 在一级评论ID列表中，则将 rootId 设置为 parentId
-                if (child.getRootId() == null && commentIds.contains(child.getParentId())) {
-                    child.setRootId(child.getParentId());
-                    log.warn("修正二级评论的rootId（null情况）: commentId={}, parentId={}, rootId设置为={}", 
-                            child.getId(), child.getParentId(), child.getRootId());
-                }
-                // 如果 rootId 不在当前一级评论ID列表中，但 parentId 在，则使用 parentId 作为 rootId
-                else if (child.getRootId() != null && !commentIds.contains(child.getRootId()) 
-                        && commentIds.contains(child.getParentId())) {
-                    log.warn("修正二级评论的rootId（不匹配情况）: commentId={}, oldRootId={}, parentId={}, rootId设置为={}", 
-                            child.getId(), child.getRootId(), child.getParentId(), child.getParentId());
-                    child.setRootId(child.getParentId());
-                }
-            }
-        });
+        // 1. 查询一级评论
+        LambdaQueryWrapper<Comment> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(Comment::getArticleId, articleId)
+                   .isNull(Comment::getParentId)
+                   .eq(Comment::getStatus, 1);
         
-        // 获取子评论的用户ID
-        List<Long> childUserIds = childComments.stream()
-                .map(Comment::getUserId)
-                .distinct()
-                .collect(Collectors.toList());
+        // 2. 游标条件：(created_at, id) 严格小于上一页最后一条
+        long[] values = CursorUtils.decode(cursor, 2);
+        if (values != null) {
+            LocalDateTime createdAt = CursorUtils.fromMillis(values[0]);
+            long lastId = values[1];
+            queryWrapper.and(wrapper -> wrapper
+                    .lt(Comment::getCreatedAt, createdAt)
+                    .or(w -> w.eq(Comment::getCreatedAt, createdAt).lt(Comment::getId, lastId)));
+        }
         
-        userIds.addAll(childUserIds);
-        userIds = userIds.stream().distinct().collect(Collectors.toList());
+        // 3. 多查一条判断是否还有下一页（不执行 COUNT）
+        queryWrapper.orderByDesc(Comment::getCreatedAt)
+                   .orderByDesc(Comment::getId)
+                   .last("LIMIT " + (pageSize + 1));
+        List<Comment> comments = commentMapper.selectList(queryWrapper);
         
-        // 批量查询用户信息
-        Map<Long, UserInfoVO> userMap = getUserMap(userIds);
+        boolean hasMore = comments.size() > pageSize;
+        if (hasMore) {
+            comments = comments.subList(0, pageSize);
+        }
+        if (comments.isEmpty()) {
+            return CursorPage.empty();
+        }
         
-        // 查询当前用户的点赞状态
-        Set<Long> likedCommentIds = getLikedCommentIds(commentIds, currentUserId);
+        String nextCursor = null;
+        if (hasMore) {
+            Comment last = comments.get(comments.size() - 1);
+            nextCursor = CursorUtils.encode(CursorUtils.toMillis(last.getCreatedAt()), last.getId());
+        }
         
-        // 查询子评论的点赞状态
-        List<Long> childCommentIds = childComments.stream()
-                .map(Comment::getId)
-                .collect(Collectors.toList());
-        if (!childCommentIds.isEmpty()) {
-            Set<Long> likedChildCommentIds = getLikedCommentIds(childCommentIds, currentUserId);
-            likedCommentIds.addAll(likedChildCommentIds);
+        return new CursorPage<>(buildCommentTree(comments, currentUserId), nextCursor, hasMore);
+    }
+    
+    @Override
+    public CursorPage<CommentVO> getReplies(Long rootId, String cursor, Integer size, Long currentUserId) {
+        CursorPage<Comment> page = commentThreadLoader.loadReplies(rootId, cursor, CursorUtils.normalizeSize(size));
+        if (page.getList().isEmpty()) {
+            return CursorPage.empty();
         }
         
-        // 构建子评论Map（按 rootId 分组，如果 rootId 不在当前一级评论ID中，则按 parentId 分组）
-        Map<Long, List<Comment>> childCommentMap = childComments.stream()
-                .filter(comment -> comment.getRootId() != null || comment.getParentId() != null)
-                .collect(Collectors.groupingBy(comment -> {
-                    // 优先使用 rootId，如果 rootId 不在当前一级评论ID列表中，则使用 parentId
-                    Long rootId = comment.getRootId();
-                    if (rootId != null && commentIds.contains(rootId)) {
-                        return rootId;
-                    } else if (comment.getParentId() != null && commentIds.contains(comment.getParentId())) {
-                        return comment.getParentId();
-                    }
-                    // 如果都不匹配，仍然使用 rootId（用于日志记录）
-                    return rootId != null ? rootId : comment.getParentId();
-                }));
+        // 游标取自过滤前的最后一条，过滤被当前用户拉黑的用户的子评论
+        List<Comment> replies = blockedUserFetcher.filter(currentUserId, page.getList(), Comment::getUserId);
         
-        log.debug("子评论分组结果: rootIds={}, commentIds={}", 
-                childCommentMap.keySet(), 
-                childComments.stream().map(c -> c.getId() + "(rootId=" + c.getRootId() + ",parentId=" + c.getParentId() + ")").collect(Collectors.joining(",")));
+        Map<Long, UserInfoVO> userMap = getUserMap(replies.stream()
+                .map(Comment::getUserId)
+                .distinct()
+                .collect(Collectors.toList()));
+        Set<Long> likedCommentIds = getLikedCommentIds(replies.stream()
+                .map(Comment::getId)
+                .collect(Collectors.toList()), currentUserId);
         
-        // 转换为VO
-        List<CommentVO> result = comments.stream()
-                .map(comment -> {
-                    CommentVO vo = convertToVO(comment, userMap, likedCommentIds.contains(comment.getId()));
-                    
-                    // 添加子评论（根据 rootId 查找）
-                    List<Comment> children = childCommentMap.getOrDefault(comment.getId(), Collections.emptyList());
-                    log.debug("评论ID={}的子评论数量={}", comment.getId(), children.size());
-                    
-                    List<CommentVO> childVOs = children.stream()
-                            .map(child -> convertToVO(child, userMap, likedCommentIds.contains(child.getId())))
-                            .collect(Collectors.toList());
-                    vo.setChildren(childVOs);
-                    
-                    return vo;
-                })
+        List<CommentVO> list = replies.stream()
+                .map(reply -> convertToVO(reply, userMap, likedCommentIds.contains(reply.getId())))
                 .collect(Collectors.toList());
-        
-        log.info("返回评论列表: 一级评论数量={}, 总评论数量={}", 
-                result.size(), 
-                result.size() + result.stream().mapToInt(c -> c.getChildren() != null ? c.getChildren().size() : 0).sum());
-        
-        return result;
+        return new CursorPage<>(list, page.getNextCursor(), page.getHasMore());
     }
     
     @Override
@@ -298,26 +274,19 @@ public class CommentServiceImpl implements CommentService {
             throw new BusinessException("评论不存在");
         }
         
-        // 2. 检查是否已点赞
-        LambdaQueryWrapper<CommentLike> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(CommentLike::getCommentId, commentId)
-                   .eq(CommentLike::getUserId, userId);
-        CommentLike existing = commentLikeMapper.selectOne(queryWrapper);
-        
-        if (existing != null) {
-            throw new BusinessException("已经点赞过该评论");
-        }
-        
-        // 3. 创建点赞记录
+        // 2. 创建点赞记录（由唯一索引 uk_comment_user 判重，并发重复点赞只有一次成功）
         CommentLike commentLike = new CommentLike();
         commentLike.setCommentId(commentId);
         commentLike.setUserId(userId);
         commentLike.setCreatedAt(LocalDateTime.now());
-        commentLikeMapper.insert(commentLike);
+        try {
+            commentLikeMapper.insert(commentLike);
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException("已经点赞过该评论");
+        }
         
-        // 4. 更新评论点赞数
-        comment.setLikeCount(comment.getLikeCount() + 1);
-        commentMapper.updateById(comment);
+        // 3. 点赞数（提交后进入计数缓冲，批量在数据库中累加）
+        commentCounterBuffer.recordLiked(commentId);
         
         log.info("点赞评论成功: commentId={}, userId={}", commentId, userId);
     }
@@ -325,25 +294,16 @@ public class CommentServiceImpl implements CommentService {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void unlikeComment(Long commentId, Long userId) {
-        // 1. 查询点赞记录
+        // 1. 删除点赞记录（以删除行数判断是否点赞过，并发重复取消只有一次成功）
         LambdaQueryWrapper<CommentLike> queryWrapper = new LambdaQueryWrapper<>();
         queryWrapper.eq(CommentLike::getCommentId, commentId)
                    .eq(CommentLike::getUserId, userId);
-        CommentLike commentLike = commentLikeMapper.selectOne(queryWrapper);
-        
-        if (commentLike == null) {
+        if (commentLikeMapper.delete(queryWrapper) == 0) {
             throw new BusinessException("未点赞该评论");
         }
         
-        // 2. 删除点赞记录
-        commentLikeMapper.deleteById(commentLike.getId());
-        
-        // 3. 更新评论点赞数
-        Comment comment = commentMapper.selectById(commentId);
-        if (comment != null && comment.getLikeCount() > 0) {
-            comment.setLikeCount(comment.getLikeCount() - 1);
-            commentMapper.updateById(comment);
-        }
+        // 2. 点赞数（提交后进入计数缓冲，批量在数据库中累加）
+        commentCounterBuffer.recordUnliked(commentId);
         
         log.info("取消点赞成功: commentId={}, userId={}", commentId, userId);
     }
@@ -361,10 +321,79 @@ public class CommentServiceImpl implements CommentService {
     
     @Override
     public Long getCommentCount(Long articleId) {
-        LambdaQueryWrapper<Comment> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(Comment::getArticleId, articleId)
-                   .eq(Comment::getStatus, 1);
-        return commentMapper.selectCount(queryWrapper);
+        // 1. 从内容服务读取文章评论数计数，叠加本实例尚未写回的增量
+        try {
+            Result<Long> result = contentServiceClient.getCommentCount(articleId);
+            if (result != null && result.getCode() == 200 && result.getData() != null) {
+                return Math.max(0L, result.getData() + commentCounterBuffer.getPendingArticleDelta(articleId));
+            }
+            log.warn("获取文章评论数失败，改为统计评论表: articleId={}, message={}",
+                    articleId, result != null ? result.getMessage() : "无响应");
+        } catch (Exception e) {
+            log.warn("获取文章评论数失败，改为统计评论表: articleId={}, error={}", articleId, e.getMessage());
+        }
+        
+        // 2. 内容服务不可用时直接统计评论表
+        return commentMapper.selectCount(new LambdaQueryWrapper<Comment>()
+                .eq(Comment::getArticleId, articleId)
+                .eq(Comment::getStatus, 1));
+    }
+    
+    /**
+     * 组装一级评论及其子评论（每个一级评论只附带最新的若干条子评论）
+     */
+    private List<CommentVO> buildCommentTree(List<Comment> comments, Long currentUserId) {
+        // 1. 过滤被当前用户拉黑的用户的一级评论（黑名单每个请求只取一次）
+        Set<Long> blockedIds = blockedUserFetcher.getBlockedIds(currentUserId);
+        if (!blockedIds.isEmpty()) {
+            comments = comments.stream()
+                    .filter(comment -> !blockedIds.contains(comment.getUserId()))
+                    .collect(Collectors.toList());
+        }
+        if (comments.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        // 2. 子评论预览（一次查询，每个一级评论最多若干条，附带继续加载的游标），同样过滤被拉黑的用户
+        List<Long> rootIds = comments.stream()
+                .map(Comment::getId)
+                .collect(Collectors.toList());
+        Map<Long, CommentThreadLoader.ReplyPreview> previews = commentThreadLoader.loadPreviews(rootIds);
+        if (!blockedIds.isEmpty()) {
+            previews.values().forEach(preview ->
+                    preview.getReplies().removeIf(reply -> blockedIds.contains(reply.getUserId())));
+        }
+        
+        // 3. 一级评论和子评论的用户信息、点赞状态各查询一次
+        List<Comment> allComments = new ArrayList<>(comments);
+        previews.values().forEach(preview -> allComments.addAll(preview.getReplies()));
+        Map<Long, UserInfoVO> userMap = getUserMap(allComments.stream()
+                .map(Comment::getUserId)
+                .distinct()
+                .collect(Collectors.toList()));
+        Set<Long> likedCommentIds = getLikedCommentIds(allComments.stream()
+                .map(Comment::getId)
+                .collect(Collectors.toList()), currentUserId);
+        
+        // 4. 转换为VO
+        List<CommentVO> result = comments.stream()
+                .map(comment -> {
+                    CommentVO vo = convertToVO(comment, userMap, likedCommentIds.contains(comment.getId()));
+                    CommentThreadLoader.ReplyPreview preview = previews.get(comment.getId());
+                    if (preview == null) {
+                        vo.setChildren(Collections.emptyList());
+                        return vo;
+                    }
+                    vo.setChildren(preview.getReplies().stream()
+                            .map(child -> convertToVO(child, userMap, likedCommentIds.contains(child.getId())))
+                            .collect(Collectors.toList()));
+                    vo.setRepliesCursor(preview.getNextCursor());
+                    return vo;
+                })
+                .collect(Collectors.toList());
+        
+        log.debug("返回评论列表: 一级评论数量={}, 总评论数量={}", result.size(), allComments.size());
+        return result;
     }
     
     /**
@@ -375,39 +404,8 @@ public class CommentServiceImpl implements CommentService {
             return Collections.emptyMap();
         }
         
-        try {
-            String userIdsStr = userIds.stream()
-                    .map(String::valueOf)
-                    .collect(Collectors.joining(","));
-            
-            log.debug("调用用户服务批量获取用户信息: userIds={}", userIdsStr);
-            Result<List<UserInfoVO>> result = userServiceClient.getUsersByIds(userIdsStr);
-            
-            if (result == null) {
-                log.error("用户服务返回结果为空: userIds={}", userIdsStr);
-                return Collections.emptyMap();
-            }
-            
-            log.debug("用户服务返回: code={}, message={}, dataSize={}", 
-                    result.getCode(), result.getMessage(), 
-                    result.getData() != null ? result.getData().size() : 0);
-            
-            if (result.getCode() == 200 && result.getData() != null && !result.getData().isEmpty()) {
-                Map<Long, UserInfoVO> userMap = result.getData().stream()
-                        .filter(u -> u != null && u.getId() != null)
-                        .collect(Collectors.toMap(UserInfoVO::getId, u -> u));
-                log.info("成功获取用户信息: 请求数量={}, 返回数量={}, userMap={}", 
-                        userIds.size(), userMap.size(), userMap.keySet());
-                return userMap;
-            } else {
-                log.warn("用户服务返回异常: code={}, message={}, userIds={}", 
-                        result.getCode(), result.getMessage(), userIdsStr);
-            }
-        } catch (Exception e) {
-            log.error("批量获取用户信息异常: userIds={}, error={}", userIds, e.getMessage(), e);
-        }
-        
-        return Collections.emptyMap();
+        // 经客户端缓存、单飞和微批合并后调用用户服务
+        return userInfoFetcher.getUsers(userIds);
     }
     
     /**
@@ -0,0 +1,127 @@
+package com.contenthub.comment.thread;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.contenthub.comment.domain.Comment;
+import com.contenthub.comment.domain.CommentReplyRow;
+import com.contenthub.comment.mapper.CommentMapper;
+import com.contenthub.common.result.CursorPage;
+import com.contenthub.common.utils.CursorUtils;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 评论楼层加载
+ *
+ * 一级评论列表只附带每个一级评论下最新的若干条子评论（一次窗口函数查询，多取一条判断是否还有更多），
+ * 以及继续加载的游标；其余子评论通过游标分页接口按需加载。子评论总数读取一级评论的 reply_count。
+ * 子评论统一按 (created_at, id) 倒序，预览中最后一条即为下一页游标的起点。
+ */
+@Slf4j
+@Component
+public class CommentThreadLoader {
+
+    private final CommentMapper commentMapper;
+
+    /**
+     * 每个一级评论附带的子评论数
+     */
+    private final int previewSize;
+
+    public CommentThreadLoader(CommentMapper commentMapper,
+                               @Value("${comment.thread.preview-size:3}") int previewSize) {
+        this.commentMapper = commentMapper;
+        this.previewSize = previewSize;
+    }
+
+    /**
+     * 批量加载一级评论的子评论预览
+     *
+     * @param rootIds 一级评论ID
+     * @return 一级评论ID -> 子评论预览（没有子评论的一级评论不在结果中）
+     */
+    public Map<Long, ReplyPreview> loadPreviews(Collection<Long> rootIds) {
+        if (rootIds.isEmpty() || previewSize <= 0) {
+            return Collections.emptyMap();
+        }
+
+        List<CommentReplyRow> rows = commentMapper.selectLatestReplies(rootIds, previewSize + 1);
+        Map<Long, ReplyPreview> previews = new HashMap<>(rows.size() * 2);
+        for (CommentReplyRow row : rows) {
+            ReplyPreview preview = previews.computeIfAbsent(row.getThreadId(), id -> new ReplyPreview());
+            if (preview.getReplies().size() < previewSize) {
+                preview.getReplies().add(row);
+            } else {
+                // 多出的一条说明还有更早的子评论，以预览最后一条作为继续加载的游标
+                preview.setNextCursor(cursorOf(preview.getReplies().get(previewSize - 1)));
+            }
+        }
+        log.debug("加载子评论预览: roots={}, threads={}, rows={}", rootIds.size(), previews.size(), rows.size());
+        return previews;
+    }
+
+    /**
+     * 游标分页加载一个一级评论下的子评论（按创建时间倒序，不执行 COUNT 查询）
+     */
+    public CursorPage<Comment> loadReplies(Long rootId, String cursor, int pageSize) {
+        // 1. 子评论（root_id 为空的旧数据按 parent_id 归属）
+        LambdaQueryWrapper<Comment> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.isNotNull(Comment::getParentId)
+                   .eq(Comment::getStatus, 1)
+                   .and(wrapper -> wrapper
+                           .eq(Comment::getRootId, rootId)
+                           .or(w -> w.isNull(Comment::getRootId).eq(Comment::getParentId, rootId)));
+
+        // 2. 游标条件：(created_at, id) 严格小于上一页最后一条
+        long[] values = CursorUtils.decode(cursor, 2);
+        if (values != null) {
+            LocalDateTime createdAt = CursorUtils.fromMillis(values[0]);
+            long lastId = values[1];
+            queryWrapper.and(wrapper -> wrapper
+                    .lt(Comment::getCreatedAt, createdAt)
+                    .or(w -> w.eq(Comment::getCreatedAt, createdAt).lt(Comment::getId, lastId)));
+        }
+
+        // 3. 多查一条判断是否还有下一页
+        queryWrapper.orderByDesc(Comment::getCreatedAt)
+                   .orderByDesc(Comment::getId)
+                   .last("LIMIT " + (pageSize + 1));
+        List<Comment> replies = commentMapper.selectList(queryWrapper);
+
+        boolean hasMore = replies.size() > pageSize;
+        if (hasMore) {
+            replies = replies.subList(0, pageSize);
+        }
+        if (replies.isEmpty()) {
+            return CursorPage.empty();
+        }
+
+        String nextCursor = hasMore ? cursorOf(replies.get(replies.size() - 1)) : null;
+        return new CursorPage<>(replies, nextCursor, hasMore);
+    }
+
+    private static String cursorOf(Comment comment) {
+        return CursorUtils.encode(CursorUtils.toMillis(comment.getCreatedAt()), comment.getId());
+    }
+
+    /**
+     * 一个一级评论的子评论预览
+     */
+    @Data
+    public static class ReplyPreview {
+
+        /**
+         * 最新的若干条子评论（按创建时间倒序）
+         */
+        private final List<Comment> replies = new ArrayList<>();
+
+        /**
+         * 继续加载的游标（已全部包含时为 null）
+         */
+        private String nextCursor;
+    }
+}
@@ -52,7 +52,13 @@ public class CommentVO {
     @Schema(description = "更新时间")
     private LocalDateTime updatedAt;
     
-    @Schema(description = "子评论列表（二级评论）")
+    @Schema(description = "子评论列表（二级评论，最新的若干条，按时间倒序）")
     private List<CommentVO> children;
+    
+    @Schema(description = "子评论数（一级评论）")
+    private Integer replyCount;
+    
+    @Schema(description = "继续加载子评论的游标（传给 /comment/{rootId}/replies，已全部返回时为 null）")
+    private String repliesCursor;
 }
 
@@ -0,0 +1,244 @@
+package com.contenthub.comment.counter;
+
+import com.contenthub.comment.domain.Comment;
+import com.contenthub.comment.feign.ContentServiceClient;
+import com.contenthub.comment.mapper.CommentMapper;
+import com.contenthub.common.result.Result;
+import feign.Request;
+import feign.RetryableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * 评论计数缓冲测试
+ */
+class CommentCounterBufferTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 20000;
+    private static final int KEYS = 16;
+
+    private CommentMapper commentMapper;
+    private ContentServiceClient contentServiceClient;
+    private CommentCounterBuffer buffer;
+
+    /**
+     * 各计数实际写回的增量合计（ID -> 合计）
+     */
+    private final Map<Long, Long> writtenLikes = new ConcurrentHashMap<>();
+    private final Map<Long, Long> writtenReplies = new ConcurrentHashMap<>();
+    private final Map<Long, Long> writtenArticles = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        commentMapper = mock(CommentMapper.class);
+        contentServiceClient = mock(ContentServiceClient.class);
+        buffer = new CommentCounterBuffer(commentMapper, contentServiceClient, new SimpleMeterRegistry(), 5);
+
+        when(commentMapper.batchAddLikeCount(anyMap())).thenAnswer(invocation -> {
+            collect(invocation.getArgument(0), writtenLikes);
+            return 0;
+        });
+        when(commentMapper.batchAddReplyCount(anyMap())).thenAnswer(invocation -> {
+            collect(invocation.getArgument(0), writtenReplies);
+            return 0;
+        });
+        when(contentServiceClient.applyCommentCountDeltas(anyMap())).thenAnswer(invocation -> {
+            collect(invocation.getArgument(0), writtenArticles);
+            return Result.success("调整成功", null);
+        });
+    }
+
+    @Test
+    void concurrentRecordsAreWrittenExactlyOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            // 1. 写回线程在记录期间不停写回
+            Future<?> flusher = executor.submit(() -> {
+                await(start);
+                while (writing.get()) {
+                    buffer.flush();
+                }
+            });
+
+            // 2. 多线程按固定规律记录：新增、点赞多于删除、取消点赞
+            List<Future<?>> writers = new CopyOnWriteArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                writers.add(executor.submit(() -> {
+                    await(start);
+                    for (int i = 0; i < OPERATIONS; i++) {
+                        long id = i % KEYS + 1;
+                        if (isDelete(i)) {
+                            buffer.recordDeleted(reply(id));
+                            buffer.recordUnliked(id);
+                        } else {
+                            buffer.recordCreated(reply(id));
+                            buffer.recordLiked(id);
+                        }
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            flusher.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 3. 剩余增量写回后，每个 ID 写回的合计等于记录的合计
+        buffer.flush();
+        long expected = 0;
+        for (int i = 0; i < OPERATIONS; i += KEYS) {
+            expected += isDelete(i) ? -THREADS : THREADS;
+        }
+        for (long id = 1; id <= KEYS; id++) {
+            assertEquals(expected, writtenLikes.getOrDefault(id, 0L), "点赞数 id=" + id);
+            assertEquals(expected, writtenReplies.getOrDefault(id, 0L), "子评论数 id=" + id);
+            assertEquals(expected, writtenArticles.getOrDefault(id, 0L), "文章评论数 id=" + id);
+            assertEquals(0L, buffer.getPendingArticleDelta(id));
+        }
+    }
+
+    @Test
+    void offsettingChangesAreNotWritten() {
+        buffer.recordLiked(1L);
+        buffer.recordUnliked(1L);
+        buffer.recordCreated(reply(2L));
+        buffer.recordDeleted(reply(2L));
+
+        buffer.flush();
+
+        verify(commentMapper, never()).batchAddLikeCount(anyMap());
+        verify(commentMapper, never()).batchAddReplyCount(anyMap());
+        verify(contentServiceClient, never()).applyCommentCountDeltas(anyMap());
+    }
+
+    @Test
+    void failedBatchIsRequeuedAndMergedWithNewChanges() {
+        AtomicInteger calls = new AtomicInteger();
+        when(contentServiceClient.applyCommentCountDeltas(anyMap())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("内容服务不可用");
+            }
+            collect(invocation.getArgument(0), writtenArticles);
+            return Result.success("调整成功", null);
+        });
+
+        buffer.recordCreated(reply(1L));
+        buffer.recordCreated(reply(1L));
+        buffer.flush();
+        assertEquals(2L, buffer.getPendingArticleDelta(1L));
+        assertTrue(writtenArticles.isEmpty());
+
+        buffer.recordCreated(reply(1L));
+        buffer.flush();
+        assertEquals(3L, writtenArticles.get(1L));
+        assertEquals(0L, buffer.getPendingArticleDelta(1L));
+    }
+
+    @Test
+    void readTimeoutIsNotRequeuedToAvoidDoubleCounting() {
+        when(contentServiceClient.applyCommentCountDeltas(anyMap()))
+                .thenThrow(feignIoError(new SocketTimeoutException("Read timed out")));
+
+        buffer.recordCreated(reply(1L));
+        buffer.flush();
+
+        // 内容服务可能已经写入，增量不放回缓冲，由定时校准修正
+        assertEquals(0L, buffer.getPendingArticleDelta(1L));
+        buffer.flush();
+        verify(contentServiceClient, times(1)).applyCommentCountDeltas(anyMap());
+    }
+
+    @Test
+    void connectFailureIsRequeued() {
+        AtomicInteger calls = new AtomicInteger();
+        when(contentServiceClient.applyCommentCountDeltas(anyMap())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                throw feignIoError(new ConnectException("Connection refused"));
+            }
+            collect(invocation.getArgument(0), writtenArticles);
+            return Result.success("调整成功", null);
+        });
+
+        buffer.recordCreated(reply(1L));
+        buffer.flush();
+        assertEquals(1L, buffer.getPendingArticleDelta(1L));
+
+        buffer.flush();
+        assertEquals(1L, writtenArticles.get(1L));
+        assertEquals(0L, buffer.getPendingArticleDelta(1L));
+    }
+
+    @Test
+    void flushThenRunsRecountAfterPendingChangesAreWritten() {
+        buffer.recordCreated(reply(1L));
+
+        Integer corrected = buffer.flushThen(() -> {
+            assertEquals(1L, writtenArticles.get(1L));
+            assertEquals(0L, buffer.getPendingArticleDelta(1L));
+            return 7;
+        });
+
+        assertEquals(7, corrected);
+    }
+
+    /**
+     * 每个 ID 每四次操作中有一次删除/取消点赞
+     */
+    private static boolean isDelete(int operation) {
+        return operation / KEYS % 4 == 3;
+    }
+
+    /**
+     * 文章 id 下、一级评论 id 的一条子评论
+     */
+    private static Comment reply(long id) {
+        Comment comment = new Comment();
+        comment.setArticleId(id);
+        comment.setParentId(id);
+        comment.setRootId(id);
+        return comment;
+    }
+
+    /**
+     * Feign 调用的 IO 异常
+     */
+    private static RetryableException feignIoError(Exception cause) {
+        Request request = Request.create(Request.HttpMethod.POST, "/content/article/comment-count/batch",
+                Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+        return new RetryableException(-1, cause.getMessage(), Request.HttpMethod.POST, cause, null, request);
+    }
+
+    private static void collect(Map<Long, Long> batch, Map<Long, Long> written) {
+        batch.forEach((id, delta) -> written.merge(id, delta, Long::sum));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
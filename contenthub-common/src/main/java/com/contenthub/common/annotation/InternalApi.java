@@ -0,0 +1,14 @@
+package com.contenthub.common.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 服务间调用接口的注解
+ * 标注在Controller方法或类上，表示该接口只允许携带内部调用凭证的服务调用，
+ * 网关同时拒绝外部对这些路径的访问
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface InternalApi {
+}
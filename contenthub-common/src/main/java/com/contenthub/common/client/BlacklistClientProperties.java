@@ -0,0 +1,20 @@
+package com.contenthub.common.client;
+
+import lombok.Data;
+
+/**
+ * 黑名单客户端缓存配置（各服务按自己的前缀绑定，如 content.blacklist）
+ */
+@Data
+public class BlacklistClientProperties {
+
+    /**
+     * 本地缓存过期时间（毫秒），作为广播丢失时的兜底
+     */
+    private long cacheTtlMs = 300000;
+
+    /**
+     * 本地缓存最大用户数
+     */
+    private long cacheSize = 10000;
+}
@@ -0,0 +1,113 @@
+package com.contenthub.common.client;
+
+import com.contenthub.common.result.Result;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 黑名单客户端缓存
+ *
+ * 包装用户服务的拉黑用户ID接口（GET /user/{userId}/blocked-ids，服务间调用），本地缓存每个用户拉黑的全部用户ID，
+ * 列表接口每个请求只取一次，在转换 VO 之前批量过滤被拉黑作者的内容。
+ * 用户服务在拉黑、取消拉黑后通过 Redis 频道广播用户ID，收到后清除对应缓存。
+ * 调用用户服务失败时不过滤（不缓存失败结果）。各服务以自己的 Feign 客户端和配置前缀注册为 Bean。
+ */
+@Slf4j
+public class BlockedUserFetcher implements MessageListener {
+
+    /**
+     * 用户服务的黑名单变更广播频道（消息体为拉黑操作者的用户ID）
+     */
+    public static final String CHANGE_CHANNEL = "user:blacklist:changed";
+
+    /**
+     * 查询用户拉黑的全部用户ID（对应各服务 Feign 客户端的黑名单接口）
+     */
+    private final Function<Long, Result<List<Long>>> loader;
+
+    private final Cache<Long, Set<Long>> cache;
+
+    public BlockedUserFetcher(Function<Long, Result<List<Long>>> loader,
+                              MeterRegistry meterRegistry,
+                              BlacklistClientProperties properties) {
+        this.loader = loader;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getCacheTtlMs()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "blacklist.client.cache");
+    }
+
+    /**
+     * 获取用户拉黑的全部用户ID（未登录或调用失败返回空集合）
+     */
+    public Set<Long> getBlockedIds(Long userId) {
+        if (userId == null) {
+            return Collections.emptySet();
+        }
+        Set<Long> cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            Result<List<Long>> result = loader.apply(userId);
+            if (result == null || result.getCode() != 200 || result.getData() == null) {
+                log.warn("获取黑名单返回异常: userId={}, result={}", userId, result);
+                return Collections.emptySet();
+            }
+            Set<Long> blockedIds = Collections.unmodifiableSet(new HashSet<>(result.getData()));
+            cache.put(userId, blockedIds);
+            return blockedIds;
+        } catch (Exception e) {
+            log.warn("获取黑名单失败: userId={}, error={}", userId, e.getMessage());
+            return Collections.emptySet();
+        }
+    }
+
+    /**
+     * 过滤作者被当前用户拉黑的内容（保持原顺序）
+     *
+     * @param userId   当前用户ID，为空时不过滤
+     * @param items    内容列表
+     * @param authorOf 取内容的作者ID
+     */
+    public <T> List<T> filter(Long userId, List<T> items, Function<T, Long> authorOf) {
+        if (userId == null || items.isEmpty()) {
+            return items;
+        }
+        Set<Long> blockedIds = getBlockedIds(userId);
+        if (blockedIds.isEmpty()) {
+            return items;
+        }
+        return items.stream()
+                .filter(item -> !blockedIds.contains(authorOf.apply(item)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 收到变更广播，清除对应用户的缓存
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            cache.invalidate(Long.valueOf(body));
+            log.debug("收到黑名单变更广播: userId={}", body);
+        } catch (NumberFormatException e) {
+            log.warn("黑名单变更广播格式错误: body={}", body);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.contenthub.common.client;
+
+import lombok.Data;
+
+/**
+ * 用户信息客户端缓存配置（各服务按自己的前缀绑定，如 content.user-client）
+ */
+@Data
+public class UserClientProperties {
+
+    /**
+     * 本地缓存过期时间（毫秒）
+     */
+    private long cacheTtlMs = 10000;
+
+    /**
+     * 本地缓存最大用户数
+     */
+    private long cacheSize = 10000;
+
+    /**
+     * 微批窗口（毫秒）
+     */
+    private long batchWindowMs = 5;
+
+    /**
+     * 单次批量调用最多用户数
+     */
+    private int maxBatchSize = 200;
+
+    /**
+     * 等待批量调用的超时时间（毫秒）
+     */
+    private long timeoutMs = 3000;
+
+    /**
+     * 批量调用线程数
+     */
+    private int threads = 4;
+}
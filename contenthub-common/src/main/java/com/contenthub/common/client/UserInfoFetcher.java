@@ -0,0 +1,224 @@
+package com.contenthub.common.client;
+
+import com.contenthub.common.result.Result;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * 用户信息客户端缓存
+ *
+ * 包装用户服务的批量接口（POST /user/batch）：
+ * 1. 短 TTL 本地缓存，热点作者不再每次渲染都远程调用
+ * 2. 单飞：同一用户并发的未命中请求共享同一个 Future
+ * 3. 微批：时间窗口内的未命中用户合并为一次批量调用
+ * 各服务以自己的 Feign 客户端和配置前缀注册为 Bean。
+ *
+ * @param <V> 用户信息类型
+ */
+@Slf4j
+public class UserInfoFetcher<V> {
+
+    /**
+     * 批量查询用户信息（对应各服务 Feign 客户端的批量接口）
+     */
+    private final Function<List<Long>, Result<List<V>>> batchLoader;
+
+    /**
+     * 取用户信息中的用户ID
+     */
+    private final Function<V, Long> idOf;
+
+    private final Cache<Long, V> cache;
+
+    /**
+     * 正在查询中的用户（单飞）
+     */
+    private final ConcurrentHashMap<Long, CompletableFuture<V>> inflight = new ConcurrentHashMap<>();
+
+    /**
+     * 当前批次窗口（受 windowLock 保护）
+     */
+    private final Object windowLock = new Object();
+    private Map<Long, CompletableFuture<V>> window = new HashMap<>();
+    private boolean windowScheduled;
+
+    private final ScheduledExecutorService executor;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+
+    private final Counter coalescedCounter;
+    private final DistributionSummary batchSizeSummary;
+
+    public UserInfoFetcher(Function<List<Long>, Result<List<V>>> batchLoader,
+                           Function<V, Long> idOf,
+                           MeterRegistry meterRegistry,
+                           UserClientProperties properties) {
+        this.batchLoader = batchLoader;
+        this.idOf = idOf;
+        this.windowMillis = properties.getBatchWindowMs();
+        this.maxBatchSize = properties.getMaxBatchSize();
+        this.timeoutMillis = properties.getTimeoutMs();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getCacheTtlMs()))
+                .recordStats()
+                .build();
+        this.executor = Executors.newScheduledThreadPool(properties.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "user-info-fetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.client.cache");
+        this.coalescedCounter = Counter.builder("user.client.coalesced")
+                .description("合并到进行中查询的用户信息请求数")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("user.client.batch.size")
+                .description("每次批量调用用户服务的用户数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取单个用户信息，不存在或调用失败返回 null
+     */
+    public V getUser(Long userId) {
+        return getUsers(Collections.singletonList(userId)).get(userId);
+    }
+
+    /**
+     * 批量获取用户信息，返回能获取到的部分（用户ID -> 用户信息）
+     */
+    public Map<Long, V> getUsers(Collection<Long> userIds) {
+        Map<Long, V> result = new HashMap<>(userIds.size() * 2);
+        Map<Long, CompletableFuture<V>> waiting = new HashMap<>();
+
+        // 1. 本地缓存，未命中的加入单飞/批次
+        for (Long userId : new LinkedHashSet<>(userIds)) {
+            if (userId == null) {
+                continue;
+            }
+            V cached = cache.getIfPresent(userId);
+            if (cached != null) {
+                result.put(userId, cached);
+                continue;
+            }
+            waiting.put(userId, lookup(userId));
+        }
+        if (waiting.isEmpty()) {
+            return result;
+        }
+
+        // 2. 等待批量调用完成
+        try {
+            CompletableFuture.allOf(waiting.values().toArray(new CompletableFuture[0]))
+                    .get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("批量获取用户信息超时: userIds={}", waiting.keySet());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("批量获取用户信息失败: userIds={}, error={}", waiting.keySet(), e.getMessage());
+        }
+
+        waiting.forEach((userId, future) -> {
+            V userInfo = future.getNow(null);
+            if (userInfo != null) {
+                result.put(userId, userInfo);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 单飞：已有进行中的查询则复用，否则加入当前批次窗口
+     */
+    private CompletableFuture<V> lookup(Long userId) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inflight.putIfAbsent(userId, created);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return existing;
+        }
+        enqueue(userId, created);
+        return created;
+    }
+
+    /**
+     * 加入批次窗口：窗口满立即发送，否则在窗口结束时发送
+     */
+    private void enqueue(Long userId, CompletableFuture<V> future) {
+        Map<Long, CompletableFuture<V>> full = null;
+        synchronized (windowLock) {
+            window.put(userId, future);
+            if (window.size() >= maxBatchSize) {
+                full = window;
+                window = new HashMap<>();
+            } else if (!windowScheduled) {
+                windowScheduled = true;
+                executor.schedule(this::flushWindow, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            Map<Long, CompletableFuture<V>> batch = full;
+            executor.execute(() -> dispatch(batch));
+        }
+    }
+
+    private void flushWindow() {
+        Map<Long, CompletableFuture<V>> batch;
+        synchronized (windowLock) {
+            batch = window;
+            window = new HashMap<>();
+            windowScheduled = false;
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    /**
+     * 发送一次批量调用并完成对应的 Future
+     */
+    private void dispatch(Map<Long, CompletableFuture<V>> batch) {
+        batchSizeSummary.record(batch.size());
+        Map<Long, V> loaded = new HashMap<>();
+        try {
+            Result<List<V>> result = batchLoader.apply(new ArrayList<>(batch.keySet()));
+            if (result != null && result.getCode() == 200 && result.getData() != null) {
+                for (V userInfo : result.getData()) {
+                    Long userId = userInfo != null ? idOf.apply(userInfo) : null;
+                    if (userId != null) {
+                        loaded.put(userId, userInfo);
+                        cache.put(userId, userInfo);
+                    }
+                }
+            } else {
+                log.warn("批量获取用户信息返回异常: userIds={}, result={}", batch.keySet(), result);
+            }
+        } catch (Exception e) {
+            log.warn("批量获取用户信息失败: userIds={}, error={}", batch.keySet(), e.getMessage());
+        } finally {
+            batch.forEach((userId, future) -> {
+                inflight.remove(userId, future);
+                future.complete(loaded.get(userId));
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,12 +1,16 @@
 package com.contenthub.common.config;
 
+import cn.dev33.satoken.context.SaHolder;
 import cn.dev33.satoken.interceptor.SaInterceptor;
 import cn.dev33.satoken.stp.StpUtil;
+import com.contenthub.common.interceptor.InternalApiInterceptor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,11 +18,18 @@ import java.util.List;
  * Sa-Token 基础配置类（通用部分）
  * 
  * 各服务可以继承此类，只需添加服务特定的排除路径
+ * 携带内部调用凭证的服务间调用不需要登录；标注 @InternalApi 的接口只允许服务间调用
  */
 @Configuration
 @ConditionalOnClass(name = "cn.dev33.satoken.stp.StpUtil")
 public class BaseSaTokenConfig implements WebMvcConfigurer {
     
+    /**
+     * 服务间调用凭证（各服务配置相同的值）
+     */
+    @Value("${contenthub.internal.token:}")
+    private String internalToken;
+    
     /**
      * 注册 Sa-Token 拦截器
      */
@@ -33,10 +44,19 @@ public class BaseSaTokenConfig implements WebMvcConfigurer {
         // 服务特定排除路径（由子类或配置提供）
         excludePaths.addAll(getServiceSpecificExcludePaths());
         
-        // 注册 Sa-Token 拦截器
-        registry.addInterceptor(new SaInterceptor(handle -> StpUtil.checkLogin()))
+        // 注册 Sa-Token 拦截器（服务间调用跳过登录校验）
+        registry.addInterceptor(new SaInterceptor(handle -> {
+                    HttpServletRequest request = (HttpServletRequest) SaHolder.getRequest().getSource();
+                    if (!InternalApiInterceptor.isInternalRequest(request, internalToken)) {
+                        StpUtil.checkLogin();
+                    }
+                }))
                 .addPathPatterns("/**")
                 .excludePathPatterns(excludePaths.toArray(new String[0]));
+        
+        // 注册服务间调用拦截器（校验 @InternalApi 接口的调用凭证）
+        registry.addInterceptor(new InternalApiInterceptor(internalToken))
+                .addPathPatterns("/**");
     }
     
     /**
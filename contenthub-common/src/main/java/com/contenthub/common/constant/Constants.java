@@ -15,6 +15,11 @@ public class Constants {
      */
     public static final String TOKEN_PREFIX = "Bearer ";
 
+    /**
+     * 服务间调用凭证 Header（网关会移除外部请求携带的该 Header）
+     */
+    public static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
     /**
      * 用户信息缓存Key前缀
      */
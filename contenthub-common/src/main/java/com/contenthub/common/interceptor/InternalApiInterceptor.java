@@ -0,0 +1,66 @@
+package com.contenthub.common.interceptor;
+
+import cn.hutool.json.JSONUtil;
+import com.contenthub.common.annotation.InternalApi;
+import com.contenthub.common.constant.Constants;
+import com.contenthub.common.result.Result;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 服务间调用拦截器
+ *
+ * 标注 {@link InternalApi} 的接口必须携带与配置（contenthub.internal.token）一致的内部调用凭证，
+ * 否则返回 403。凭证未配置时拒绝全部内部接口调用。
+ */
+@Slf4j
+public class InternalApiInterceptor implements HandlerInterceptor {
+
+    private final String internalToken;
+
+    public InternalApiInterceptor(String internalToken) {
+        this.internalToken = internalToken;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        if (!handlerMethod.hasMethodAnnotation(InternalApi.class)
+                && !handlerMethod.getBeanType().isAnnotationPresent(InternalApi.class)) {
+            return true;
+        }
+        if (isInternalRequest(request, internalToken)) {
+            return true;
+        }
+
+        log.warn("拒绝非服务间调用: uri={}, ip={}", request.getRequestURI(), request.getRemoteAddr());
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(JSONUtil.toJsonStr(Result.error(HttpStatus.FORBIDDEN.value(), "仅允许服务间调用")));
+        return false;
+    }
+
+    /**
+     * 请求是否携带有效的内部调用凭证（定长比较）
+     */
+    public static boolean isInternalRequest(HttpServletRequest request, String internalToken) {
+        if (internalToken == null || internalToken.isEmpty()) {
+            return false;
+        }
+        String token = request.getHeader(Constants.INTERNAL_TOKEN_HEADER);
+        return token != null && MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), internalToken.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,96 @@
+package com.contenthub.common.utils;
+
+import com.contenthub.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * 游标分页工具类
+ *
+ * 游标为排序键 + 主键（如 published_at,id）拼接后的 Base64URL 字符串，对客户端不透明。
+ * 时间统一按 UTC 转换为毫秒，保证编码和解码可逆。
+ */
+public class CursorUtils {
+
+    /**
+     * 游标分页默认每页数量
+     */
+    public static final int DEFAULT_SIZE = 20;
+
+    /**
+     * 游标分页最大每页数量
+     */
+    public static final int MAX_SIZE = 100;
+
+    private CursorUtils() {
+    }
+
+    /**
+     * 编码游标
+     */
+    public static String encode(long... values) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(values[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor 游标
+     * @param length 游标包含的值个数
+     * @return 游标为空时返回 null
+     */
+    public static long[] decode(String cursor, int length) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",");
+            if (parts.length != length) {
+                throw new BusinessException(400, "无效的分页游标");
+            }
+            long[] values = new long[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = Long.parseLong(parts[i]);
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(400, "无效的分页游标");
+        }
+    }
+
+    /**
+     * 规范化每页数量
+     */
+    public static int normalizeSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * 时间转换为毫秒（UTC）
+     */
+    public static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * 毫秒转换为时间（UTC）
+     */
+    public static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,55 @@
+package com.contenthub.common.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * 计数校准工具类
+ *
+ * 按主键游标把表分成连续的ID区间逐段重算冗余计数，每段一条语句、只改写不一致的行，
+ * 不会长时间锁住整张表。区间首尾相接（上一段之后到本段最后一个ID），
+ * 最后再执行一段到 Long.MAX_VALUE 的区间，覆盖校准期间新增的行。
+ * 各服务只在 Mapper 中提供取ID和重算区间的 SQL。
+ */
+@Slf4j
+public class RecountUtils {
+
+    private RecountUtils() {
+    }
+
+    /**
+     * 分段重算
+     *
+     * @param name         校准名称（用于日志）
+     * @param batchSize    每段包含的ID数
+     * @param nextIds      (lastId, limit) -> 大于 lastId 的下一段ID（升序）
+     * @param recountRange (fromId, toId) -> 重算闭区间，返回被修正的行数
+     * @return 被修正的行数
+     */
+    public static int recountByIdRange(String name, int batchSize,
+                                       BiFunction<Long, Integer, List<Long>> nextIds,
+                                       BiFunction<Long, Long, Integer> recountRange) {
+        long startTime = System.currentTimeMillis();
+        long lastId = 0;
+        int corrected = 0;
+        while (true) {
+            // 1. 按主键游标取一段ID
+            List<Long> ids = nextIds.apply(lastId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            // 2. 重算该区间
+            long toId = ids.get(ids.size() - 1);
+            corrected += recountRange.apply(lastId + 1, toId);
+            lastId = toId;
+        }
+
+        // 3. 最后一个ID之后的行
+        corrected += recountRange.apply(lastId + 1, Long.MAX_VALUE);
+        log.info("{}校准完成: corrected={}, cost={}ms", name, corrected, System.currentTimeMillis() - startTime);
+        return corrected;
+    }
+}
@@ -0,0 +1,177 @@
+package com.contenthub.common.utils;
+
+import cn.hutool.extra.pinyin.PinyinUtil;
+
+/**
+ * 文本处理工具类（别名、摘要）
+ *
+ * 均为对字符数组的单次扫描，不使用正则：
+ * 别名保留小写字母、数字和汉字（可选转为拼音），其余字符合并为单个连字符；
+ * 摘要去除常见 Markdown 标记，合并空白，达到长度后立即停止扫描。
+ */
+public class TextUtils {
+
+    private static final char SEPARATOR = '-';
+
+    private static final String ELLIPSIS = "...";
+
+    private TextUtils() {
+    }
+
+    /**
+     * 生成别名
+     *
+     * @param text      原文（标题、名称）
+     * @param maxLength 最大长度
+     * @param pinyin    是否将汉字转为拼音（每个汉字一段，以连字符分隔）
+     * @return 别名，原文中没有可用字符时返回空字符串
+     */
+    public static String slugify(String text, int maxLength, boolean pinyin) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        StringBuilder slug = new StringBuilder(Math.min(text.length() * (pinyin ? 4 : 1), maxLength));
+        boolean pendingSeparator = false;
+        for (int i = 0; i < text.length() && slug.length() < maxLength; i++) {
+            char c = text.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+
+            String segment = null;
+            boolean cjk = isCjk(c);
+            if (cjk && pinyin) {
+                segment = PinyinUtil.getPinyin(c);
+            } else if (!cjk && !(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9')) {
+                pendingSeparator = slug.length() > 0;
+                continue;
+            }
+
+            // 拼音各自成段，前后补连字符
+            if (pendingSeparator || (segment != null && slug.length() > 0)) {
+                slug.append(SEPARATOR);
+            }
+            pendingSeparator = segment != null;
+            if (segment != null) {
+                slug.append(segment);
+            } else {
+                slug.append(c);
+            }
+        }
+
+        // 截断并去掉结尾的连字符
+        int end = Math.min(slug.length(), maxLength);
+        while (end > 0 && slug.charAt(end - 1) == SEPARATOR) {
+            end--;
+        }
+        slug.setLength(end);
+        return slug.toString();
+    }
+
+    /**
+     * 从 Markdown 正文生成纯文本摘要
+     *
+     * 去除标题、引用、列表标记，强调和代码标记，图片，链接只保留文字；换行和连续空白合并为一个空格。
+     *
+     * @param markdown  Markdown 正文
+     * @param maxLength 摘要最大长度（超出时截断并追加省略号）
+     * @return 摘要
+     */
+    public static String summarize(String markdown, int maxLength) {
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+        StringBuilder summary = new StringBuilder(Math.min(markdown.length(), maxLength) + ELLIPSIS.length());
+        int length = markdown.length();
+        boolean lineStart = true;
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < length) {
+            char c = markdown.charAt(i);
+
+            // 1. 行首标记：# 标题、> 引用、- + 列表
+            if (lineStart) {
+                if (c == ' ' || c == '\t' || c == '#' || c == '>') {
+                    i++;
+                    continue;
+                }
+                if ((c == '-' || c == '+') && i + 1 < length && markdown.charAt(i + 1) == ' ') {
+                    i += 2;
+                    continue;
+                }
+                lineStart = false;
+            }
+
+            // 2. 换行和空白
+            if (c == '\n' || c == '\r') {
+                lineStart = true;
+                pendingSpace = summary.length() > 0;
+                i++;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = summary.length() > 0;
+                i++;
+                continue;
+            }
+
+            // 3. 强调、代码标记
+            if (c == '*' || c == '`' || c == '~') {
+                i++;
+                continue;
+            }
+
+            // 4. 图片整体跳过，链接保留文字、跳过地址
+            if (c == '!' && i + 1 < length && markdown.charAt(i + 1) == '[') {
+                int next = skipLink(markdown, i + 1);
+                if (next > 0) {
+                    i = next;
+                    continue;
+                }
+            }
+            if (c == '[' || c == ']') {
+                if (c == ']' && i + 1 < length && markdown.charAt(i + 1) == '(') {
+                    int close = markdown.indexOf(')', i + 2);
+                    i = close > 0 ? close + 1 : i + 1;
+                } else {
+                    i++;
+                }
+                continue;
+            }
+
+            // 5. 输出字符，达到长度即停止
+            if (pendingSpace) {
+                if (summary.length() + 1 >= maxLength) {
+                    return summary.append(ELLIPSIS).toString();
+                }
+                summary.append(' ');
+                pendingSpace = false;
+            }
+            if (summary.length() >= maxLength) {
+                return summary.append(ELLIPSIS).toString();
+            }
+            summary.append(c);
+            i++;
+        }
+        return summary.toString();
+    }
+
+    /**
+     * 跳过 [文字](地址)，返回其后的位置；不是完整链接时返回 -1
+     */
+    private static int skipLink(String markdown, int openBracket) {
+        int closeBracket = markdown.indexOf(']', openBracket + 1);
+        if (closeBracket < 0 || closeBracket + 1 >= markdown.length() || markdown.charAt(closeBracket + 1) != '(') {
+            return -1;
+        }
+        int closeParen = markdown.indexOf(')', closeBracket + 2);
+        return closeParen < 0 ? -1 : closeParen + 1;
+    }
+
+    /**
+     * 是否为常用汉字（与原别名规则的 一-龥 一致）
+     */
+    private static boolean isCjk(char c) {
+        return c >= '一' && c <= '龥';
+    }
+}
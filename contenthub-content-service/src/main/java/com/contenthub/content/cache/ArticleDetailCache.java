@@ -0,0 +1,164 @@
+package com.contenthub.content.cache;
+
+import cn.hutool.crypto.SecureUtil;
+import com.contenthub.content.vo.ArticleVO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * 文章详情缓存（Redis）
+ *
+ * 缓存组装好的文章详情（作者、分类、标签），不含计数和当前用户的点赞/收藏状态，
+ * 这些字段每次请求从文章行和交互存储叠加。缓存记录文章的变更序号和组装时的字典版本号，
+ * 读取时序号与文章行不一致、或字典版本号比本实例旧（分类、标签改名后）即视为未命中；
+ * 作者昵称、头像的修改不改变序号，由过期时间兜底。
+ */
+@Slf4j
+@Component
+public class ArticleDetailCache {
+
+    private static final String KEY_PREFIX = "article:detail:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public ArticleDetailCache(StringRedisTemplate stringRedisTemplate,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${content.detail-cache.ttl-minutes:10}") long ttlMinutes) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.hitCounter = Counter.builder("content.article.detail.cache")
+                .tag("result", "hit")
+                .description("文章详情缓存命中次数")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("content.article.detail.cache")
+                .tag("result", "miss")
+                .description("文章详情缓存未命中次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 读取缓存，不存在、变更序号不一致或字典版本号较旧时返回 null
+     *
+     * @param dictionaryVersion 本实例的字典版本号（其他实例用更新的字典组装的记录视为命中）
+     */
+    public Entry get(Long articleId, long version, long dictionaryVersion) {
+        try {
+            String json = stringRedisTemplate.opsForValue().get(KEY_PREFIX + articleId);
+            if (json != null) {
+                Entry entry = objectMapper.readValue(json, Entry.class);
+                if (entry.getVersion() == version && entry.getDictionaryVersion() >= dictionaryVersion) {
+                    hitCounter.increment();
+                    return entry;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("读取文章详情缓存失败: articleId={}, error={}", articleId, e.getMessage());
+        }
+        missCounter.increment();
+        return null;
+    }
+
+    /**
+     * 写入缓存（写入失败不影响返回）
+     * @return 缓存记录（含内容摘要，用于生成 ETag）
+     */
+    public Entry put(Long articleId, long version, long dictionaryVersion, ArticleVO article) {
+        Entry entry = new Entry();
+        entry.setVersion(version);
+        entry.setDictionaryVersion(dictionaryVersion);
+        entry.setArticle(article);
+        try {
+            String articleJson = objectMapper.writeValueAsString(article);
+            entry.setDigest(SecureUtil.md5(articleJson).substring(0, 16));
+            stringRedisTemplate.opsForValue().set(KEY_PREFIX + articleId, objectMapper.writeValueAsString(entry), ttl);
+        } catch (JsonProcessingException e) {
+            log.warn("序列化文章详情失败: articleId={}, error={}", articleId, e.getMessage());
+        } catch (Exception e) {
+            log.warn("写入文章详情缓存失败: articleId={}, error={}", articleId, e.getMessage());
+        }
+        return entry;
+    }
+
+    /**
+     * 事务提交后删除缓存
+     */
+    public void evict(Long articleId) {
+        Runnable action = () -> {
+            try {
+                stringRedisTemplate.delete(KEY_PREFIX + articleId);
+            } catch (Exception e) {
+                log.warn("删除文章详情缓存失败: articleId={}, error={}", articleId, e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 生成 ETag：变更序号 + 内容摘要 + 置顶推荐和当前用户状态
+     *
+     * 计数不参与：浏览量每次请求都会变化，计入后几乎不会返回 304，客户端的计数允许稍旧。
+     */
+    public static String etag(Entry entry, ArticleVO article) {
+        return "W/\"" + entry.getVersion() + "-" + entry.getDigest()
+                + "-" + flag(article.getIsTop()) + flag(article.getIsRecommend())
+                + flag(article.getIsLiked()) + flag(article.getIsCollected()) + "\"";
+    }
+
+    private static char flag(Boolean value) {
+        return Boolean.TRUE.equals(value) ? '1' : '0';
+    }
+
+    /**
+     * 缓存记录
+     */
+    @Data
+    public static class Entry {
+
+        /**
+         * 文章变更序号
+         */
+        private long version;
+
+        /**
+         * 组装时的标签、分类字典版本号
+         */
+        private long dictionaryVersion;
+
+        /**
+         * 详情内容摘要
+         */
+        private String digest;
+
+        /**
+         * 组装好的文章详情（不含计数和当前用户状态）
+         */
+        private ArticleVO article;
+    }
+}
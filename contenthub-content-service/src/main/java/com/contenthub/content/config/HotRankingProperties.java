@@ -0,0 +1,54 @@
+package com.contenthub.content.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 热门排行配置类
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "content.hot-ranking")
+public class HotRankingProperties {
+
+    /**
+     * 热度半衰期（小时）：事件贡献的热度每经过一个半衰期减半
+     */
+    private double halfLifeHours = 24;
+
+    /**
+     * 每个排行榜最多保留的文章数
+     */
+    private int maxSize = 10000;
+
+    /**
+     * 浏览权重
+     */
+    private double viewWeight = 1;
+
+    /**
+     * 点赞权重
+     */
+    private double likeWeight = 5;
+
+    /**
+     * 收藏权重
+     */
+    private double collectWeight = 8;
+
+    /**
+     * 评论权重
+     */
+    private double commentWeight = 10;
+
+    /**
+     * 分享权重
+     */
+    private double shareWeight = 10;
+
+    /**
+     * 发布时的初始权重（保证新文章能进入排行）
+     */
+    private double publishWeight = 20;
+}
@@ -0,0 +1,30 @@
+package com.contenthub.content.config;
+
+import com.contenthub.common.client.BlockedUserFetcher;
+import com.contenthub.content.dictionary.ContentDictionary;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis配置类
+ */
+@Configuration
+public class RedisConfig {
+
+    /**
+     * Redis 消息监听容器（订阅标签、分类字典变更广播，重建本地快照；订阅黑名单变更广播，清除本地缓存）
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       ContentDictionary contentDictionary,
+                                                                       BlockedUserFetcher blockedUserFetcher) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(contentDictionary, new ChannelTopic(ContentDictionary.CHANGE_CHANNEL));
+        container.addMessageListener(blockedUserFetcher, new ChannelTopic(BlockedUserFetcher.CHANGE_CHANNEL));
+        return container;
+    }
+}
@@ -25,6 +25,7 @@ public class SaTokenConfig extends BaseSaTokenConfig {
         return Arrays.asList(
                 // 文章相关
                 "/content/article/list",           // 获取文章列表
+                "/content/article/list/cursor",    // 游标分页获取文章列表
                 "/content/article/*",              // 获取文章详情（GET请求）
                 // 分类相关
                 "/content/category/list",         // 获取分类列表
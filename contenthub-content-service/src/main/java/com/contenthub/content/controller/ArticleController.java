@@ -1,12 +1,16 @@
 package com.contenthub.content.controller;
 
 import cn.dev33.satoken.stp.StpUtil;
+import com.contenthub.common.annotation.InternalApi;
+import com.contenthub.common.result.CursorPage;
 import com.contenthub.common.result.Result;
 import com.contenthub.content.dto.CreateArticleDTO;
 import com.contenthub.content.dto.UpdateArticleDTO;
 import com.contenthub.content.feign.FileServiceClient;
 import com.contenthub.content.service.ArticleService;
+import com.contenthub.content.vo.ArticleIndexVO;
 import com.contenthub.content.vo.ArticleVO;
+import com.contenthub.content.vo.ImportResultVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,9 +20,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 文章控制器
@@ -122,10 +129,11 @@ public class ArticleController {
         return Result.success("删除成功", null);
     }
     
-    @Operation(summary = "获取文章详情", description = "根据文章ID获取文章详细信息")
+    @Operation(summary = "获取文章详情", description = "根据文章ID获取文章详细信息（支持 ETag / If-None-Match，未变化时返回 304）")
     @GetMapping("/{articleId}")
     public Result<ArticleVO> getArticleDetail(
-            @Parameter(description = "文章ID", required = true) @PathVariable Long articleId) {
+            @Parameter(description = "文章ID", required = true) @PathVariable Long articleId,
+            WebRequest webRequest) {
         Long currentUserId = null;
         try {
             currentUserId = StpUtil.getLoginIdAsLong();
@@ -133,6 +141,10 @@ public class ArticleController {
             // 未登录用户也可以查看已发布的文章
         }
         ArticleVO article = articleService.getArticleDetail(articleId, currentUserId);
+        // 客户端携带的 If-None-Match 与 ETag 一致时返回 304
+        if (webRequest.checkNotModified(article.getEtag())) {
+            return null;
+        }
         return Result.success(article);
     }
     
@@ -157,6 +169,35 @@ public class ArticleController {
         return Result.success(articles);
     }
     
+    @Operation(summary = "游标分页获取文章列表", description = "按置顶、发布时间倒序游标分页获取已发布文章，不执行 COUNT 查询，适合深分页和无限滚动")
+    @GetMapping("/list/cursor")
+    public Result<CursorPage<ArticleVO>> getArticleListByCursor(
+            @Parameter(description = "分类ID") @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "标签ID") @RequestParam(required = false) Long tagId,
+            @Parameter(description = "关键词（搜索标题和摘要）") @RequestParam(required = false) String keyword,
+            @Parameter(description = "游标（首页不传，后续使用上一页返回的 nextCursor）") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量", example = "20") @RequestParam(required = false, defaultValue = "20") Integer size) {
+        Long currentUserId = null;
+        try {
+            currentUserId = StpUtil.getLoginIdAsLong();
+        } catch (Exception e) {
+            // 未登录用户也可以查看已发布的文章
+        }
+        CursorPage<ArticleVO> articles = articleService.getArticleListByCursor(categoryId, tagId, keyword, cursor, size, currentUserId);
+        return Result.success(articles);
+    }
+    
+    @Operation(summary = "游标分页获取关注动态", description = "按发布时间倒序游标分页获取关注的作者发布的文章",
+               security = {@SecurityRequirement(name = "Authorization")})
+    @GetMapping("/feed")
+    public Result<CursorPage<ArticleVO>> getFeed(
+            @Parameter(description = "游标（首页不传，后续使用上一页返回的 nextCursor）") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量", example = "20") @RequestParam(required = false, defaultValue = "20") Integer size) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        CursorPage<ArticleVO> articles = articleService.getFeed(userId, cursor, size);
+        return Result.success(articles);
+    }
+    
     @Operation(summary = "获取我的文章列表", description = "获取当前用户发布的文章列表（草稿箱）", 
                security = {@SecurityRequirement(name = "Authorization")})
     @GetMapping("/my")
@@ -241,5 +282,64 @@ public class ArticleController {
         articleService.updateArticleStatus(articleId, status, userId);
         return Result.success("更新成功", null);
     }
+    
+    @Operation(summary = "重建热门排行", description = "根据文章表重新计算热门排行（仅管理员可操作）", 
+               security = {@SecurityRequirement(name = "Authorization")})
+    @PostMapping("/hot/rebuild")
+    public Result<String> rebuildHotRanking() {
+        Long userId = StpUtil.getLoginIdAsLong();
+        articleService.rebuildHotRanking(userId);
+        return Result.success("重建成功", null);
+    }
+    
+    @Operation(summary = "批量导入文章", 
+               description = "请求体为 NDJSON（每行一篇文章，UTF-8），按块批量写入（仅管理员可操作）。" +
+                       "中途失败时返回已提交的行号 nextOffset，以 offset=nextOffset 重新提交同一文件即可续传", 
+               security = {@SecurityRequirement(name = "Authorization")})
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public Result<ImportResultVO> importArticles(
+            @Parameter(description = "跳过的行数（续传）", example = "0") @RequestParam(required = false, defaultValue = "0") Long offset,
+            InputStream input) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        ImportResultVO result = articleService.importArticles(userId, input, offset);
+        return Result.success(result);
+    }
+    
+    @Operation(summary = "导出文章索引数据", description = "按文章ID游标导出已发布文章（供搜索服务重建索引，服务间调用）")
+    @InternalApi
+    @GetMapping("/index/export")
+    public Result<List<ArticleIndexVO>> exportArticlesForIndex(
+            @Parameter(description = "上一批最后一篇文章ID（首批传0）", example = "0") @RequestParam(required = false, defaultValue = "0") Long lastId,
+            @Parameter(description = "每批数量（最大1000）", example = "200") @RequestParam(required = false, defaultValue = "200") Integer size) {
+        List<ArticleIndexVO> articles = articleService.getArticlesForIndex(lastId, size);
+        return Result.success(articles);
+    }
+    
+    @Operation(summary = "批量调整文章评论数", description = "评论服务汇总一段时间内评论的新增和删除后调用（key: 文章ID, value: 增量，服务间调用）")
+    @InternalApi
+    @PostMapping("/comment-count/batch")
+    public Result<String> applyCommentCountDeltas(@RequestBody Map<Long, Long> deltas) {
+        articleService.applyCommentCountDeltas(deltas);
+        return Result.success("调整成功", null);
+    }
+    
+    @Operation(summary = "校准文章评论数", description = "评论服务按评论表统计后调用，改写ID区间内文章的评论数（key: 文章ID, value: 评论数，服务间调用）")
+    @InternalApi
+    @PostMapping("/comment-count/reset")
+    public Result<Integer> resetCommentCounts(
+            @Parameter(description = "起始文章ID（含）", required = true) @RequestParam Long fromId,
+            @Parameter(description = "结束文章ID（含）", required = true) @RequestParam Long toId,
+            @Parameter(description = "本次不校准的文章ID") @RequestParam(required = false) List<Long> skipIds,
+            @RequestBody Map<Long, Long> counts) {
+        int corrected = articleService.resetCommentCounts(fromId, toId, counts, skipIds);
+        return Result.success(corrected);
+    }
+    
+    @Operation(summary = "获取文章评论数", description = "读取文章的评论数计数（供评论服务查询，服务间调用）")
+    @InternalApi
+    @GetMapping("/{articleId}/comment-count")
+    public Result<Long> getCommentCount(
+            @Parameter(description = "文章ID", required = true) @PathVariable Long articleId) {
+        return Result.success(articleService.getCommentCount(articleId));
+    }
 }
-
@@ -0,0 +1,54 @@
+package com.contenthub.content.counter;
+
+import com.contenthub.common.utils.RecountUtils;
+import com.contenthub.content.mapper.TagMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 标签文章数校准
+ *
+ * 文章增删标签时按增量更新 tags.article_count，定时任务按 article_tags 重新统计，
+ * 修正历史遗留或异常中断造成的偏差。按标签ID分段执行，每段一条 UPDATE ... JOIN，
+ * 只改写不一致的行。
+ */
+@Slf4j
+@Component
+public class TagArticleCountRecounter {
+
+    private final TagMapper tagMapper;
+
+    /**
+     * 每段包含的标签数
+     */
+    private final int batchSize;
+
+    public TagArticleCountRecounter(TagMapper tagMapper,
+                                    @Value("${content.tag-recount.batch-size:500}") int batchSize) {
+        this.tagMapper = tagMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 定时校准
+     */
+    @Scheduled(cron = "${content.tag-recount.cron:0 0 5 * * ?}")
+    public void scheduledRecount() {
+        try {
+            recount();
+        } catch (Exception e) {
+            log.error("标签文章数校准失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 重新统计全部标签的文章数
+     * @return 被修正的标签数
+     */
+    public int recount() {
+        return RecountUtils.recountByIdRange("标签文章数", batchSize,
+                tagMapper::selectIdsAfter, tagMapper::recountArticleCount);
+    }
+}
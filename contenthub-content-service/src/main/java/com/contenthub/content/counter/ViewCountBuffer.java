@@ -0,0 +1,188 @@
+package com.contenthub.content.counter;
+
+import com.contenthub.content.mapper.ArticleMapper;
+import com.contenthub.content.ranking.HotRankingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文章浏览量写回缓冲
+ *
+ * 详情页每次访问只在内存中累加（每篇文章一个 LongAdder），由定时任务聚合后
+ * 通过一条 UPDATE ... CASE id 批量写回数据库，避免热点文章的行锁竞争。
+ * 异常退出时最多丢失一个刷新周期内的浏览量；正常停机时会再刷新一次。
+ */
+@Slf4j
+@Component
+public class ViewCountBuffer {
+
+    private final ArticleMapper articleMapper;
+    private final HotRankingService hotRankingService;
+
+    /**
+     * 待写回的浏览量增量（文章ID -> 增量）
+     *
+     * 累加器写回后不移出：调用方可能已取得累加器尚未累加，移出后累加的浏览量会丢失。
+     * 每篇被浏览过的文章常驻一个累加器，数量不超过文章总数。
+     */
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 单条 UPDATE 语句最多包含的文章数
+     */
+    private final int batchSize;
+
+    /**
+     * 上次成功写回的时间（毫秒）
+     */
+    private volatile long lastFlushTime = System.currentTimeMillis();
+
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+
+    public ViewCountBuffer(ArticleMapper articleMapper,
+                           HotRankingService hotRankingService,
+                           MeterRegistry meterRegistry,
+                           @Value("${content.view-counter.batch-size:500}") int batchSize) {
+        this.articleMapper = articleMapper;
+        this.hotRankingService = hotRankingService;
+        this.batchSize = batchSize;
+
+        Gauge.builder("content.article.view.pending.delta", this, ViewCountBuffer::getPendingDelta)
+                .description("尚未写回数据库的浏览量增量")
+                .register(meterRegistry);
+        Gauge.builder("content.article.view.pending.articles", this, ViewCountBuffer::getPendingArticles)
+                .description("存在未写回浏览量的文章数")
+                .register(meterRegistry);
+        Gauge.builder("content.article.view.flush.lag", this, ViewCountBuffer::getFlushLagSeconds)
+                .description("距上次成功写回的时间（秒），无待写回数据时为0")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("content.article.view.flushed")
+                .description("已写回数据库的浏览量")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("content.article.view.flush.failed")
+                .description("写回失败次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录一次浏览
+     */
+    public void increment(Long articleId) {
+        pending.computeIfAbsent(articleId, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * 定时写回浏览量
+     */
+    @Scheduled(fixedDelayString = "${content.view-counter.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * 停机前写回剩余的浏览量
+     */
+    @PreDestroy
+    public void shutdown() {
+        log.info("服务停止，写回剩余浏览量: pendingArticles={}", getPendingArticles());
+        flush();
+    }
+
+    /**
+     * 聚合并写回浏览量增量
+     */
+    public synchronized void flush() {
+        // 1. 取出增量（sumThenReset 逐个单元原子清零，之后的新增量留在原累加器中，下次写回）
+        Map<Long, Long> deltas = new HashMap<>();
+        pending.forEach((articleId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(articleId, delta);
+            }
+        });
+
+        if (deltas.isEmpty()) {
+            lastFlushTime = System.currentTimeMillis();
+            return;
+        }
+
+        // 2. 分批写回
+        boolean success = true;
+        Map<Long, Long> batch = new HashMap<>();
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= batchSize) {
+                success &= writeBatch(batch);
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            success &= writeBatch(batch);
+        }
+
+        if (!success) {
+            return;
+        }
+        lastFlushTime = System.currentTimeMillis();
+        log.debug("浏览量写回完成: articles={}", deltas.size());
+    }
+
+    /**
+     * 写回一批增量，失败时放回缓冲等待下次重试
+     */
+    private boolean writeBatch(Map<Long, Long> batch) {
+        try {
+            articleMapper.batchIncrementViewCount(batch);
+            flushedCounter.increment(batch.values().stream().mapToLong(Long::longValue).sum());
+            hotRankingService.recordViews(batch);
+            return true;
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.error("浏览量写回失败，增量放回缓冲: articles={}, error={}", batch.size(), e.getMessage());
+            batch.forEach((articleId, delta) ->
+                    pending.computeIfAbsent(articleId, k -> new LongAdder()).add(delta));
+            return false;
+        }
+    }
+
+    /**
+     * 待写回的浏览量增量总数
+     */
+    public long getPendingDelta() {
+        long total = 0;
+        for (LongAdder adder : pending.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    /**
+     * 存在待写回增量的文章数
+     */
+    public long getPendingArticles() {
+        return pending.values().stream().filter(adder -> adder.sum() > 0).count();
+    }
+
+    /**
+     * 写回延迟（秒）
+     */
+    public double getFlushLagSeconds() {
+        if (getPendingDelta() == 0) {
+            return 0;
+        }
+        return (System.currentTimeMillis() - lastFlushTime) / 1000.0;
+    }
+}
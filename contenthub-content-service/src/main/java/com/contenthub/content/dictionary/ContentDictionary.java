@@ -0,0 +1,314 @@
+package com.contenthub.content.dictionary;
+
+import cn.hutool.core.bean.BeanUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.contenthub.content.domain.Category;
+import com.contenthub.content.domain.Tag;
+import com.contenthub.content.mapper.CategoryMapper;
+import com.contenthub.content.mapper.TagMapper;
+import com.contenthub.content.vo.CategoryVO;
+import com.contenthub.content.vo.TagVO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 标签、分类字典（进程内只读快照）
+ *
+ * 启动时整表读取标签和分类，组装为不可变快照（ID -> VO、别名 -> ID、排好序的列表），
+ * 读取时直接取当前快照，不访问数据库。
+ * 标签或分类创建、修改、删除、启停后（事务提交后）递增 Redis 中的字典版本号，
+ * 本实例立即重建快照，并通过 Redis 频道广播新版本号，其他实例收到后重建。
+ * 另有定时全量重建，兜底丢失的广播，并刷新标签的文章数（文章数变更不递增版本号）。
+ *
+ * 快照中的 VO 被多个请求共享，调用方不得修改。
+ */
+@Slf4j
+@Component
+public class ContentDictionary implements MessageListener {
+
+    /**
+     * 变更广播频道
+     */
+    public static final String CHANGE_CHANNEL = "content:dictionary:changed";
+
+    /**
+     * Redis 中的字典版本号
+     */
+    private static final String VERSION_KEY = "content:dictionary:version";
+
+    private final TagMapper tagMapper;
+    private final CategoryMapper categoryMapper;
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 当前快照（重建时整体替换）
+     */
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private final Counter reloadCounter;
+
+    public ContentDictionary(TagMapper tagMapper,
+                             CategoryMapper categoryMapper,
+                             StringRedisTemplate redisTemplate,
+                             MeterRegistry meterRegistry) {
+        this.tagMapper = tagMapper;
+        this.categoryMapper = categoryMapper;
+        this.redisTemplate = redisTemplate;
+
+        Gauge.builder("content.dictionary.version", this, dictionary -> dictionary.snapshot.version)
+                .description("当前标签、分类字典版本号")
+                .register(meterRegistry);
+        this.reloadCounter = Counter.builder("content.dictionary.reloads")
+                .description("标签、分类字典重建次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 启动完成后加载
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // 首次读取时会再次加载
+            log.error("加载标签、分类字典失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 定时全量重建（兜底丢失的广播，刷新标签文章数）
+     */
+    @Scheduled(fixedDelayString = "${content.dictionary.refresh-interval-ms:60000}",
+               initialDelayString = "${content.dictionary.refresh-interval-ms:60000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("重建标签、分类字典失败，继续使用旧快照: version={}, error={}", snapshot.version, e.getMessage());
+        }
+    }
+
+    /**
+     * 按ID获取标签
+     */
+    public TagVO getTag(Long tagId) {
+        return tagId != null ? current().tagsById.get(tagId) : null;
+    }
+
+    /**
+     * 按别名获取标签ID
+     */
+    public Long getTagIdBySlug(String slug) {
+        return slug != null ? current().tagIdsBySlug.get(slug) : null;
+    }
+
+    /**
+     * 全部标签（按文章数降序、ID升序）
+     *
+     * @param limit 最多返回的数量，为空或不大于0时返回全部
+     */
+    public List<TagVO> getTags(Integer limit) {
+        List<TagVO> tags = current().sortedTags;
+        if (limit != null && limit > 0 && limit < tags.size()) {
+            return tags.subList(0, limit);
+        }
+        return tags;
+    }
+
+    /**
+     * 按ID获取分类（包括已停用的分类）
+     */
+    public CategoryVO getCategory(Long categoryId) {
+        return categoryId != null ? current().categoriesById.get(categoryId) : null;
+    }
+
+    /**
+     * 按别名获取分类ID
+     */
+    public Long getCategoryIdBySlug(String slug) {
+        return slug != null ? current().categoryIdsBySlug.get(slug) : null;
+    }
+
+    /**
+     * 启用的分类（按排序值、ID升序）
+     */
+    public List<CategoryVO> getEnabledCategories() {
+        return current().enabledCategories;
+    }
+
+    /**
+     * 当前快照的版本号（标签、分类变更后递增）
+     */
+    public long version() {
+        return current().version;
+    }
+
+    /**
+     * 标签或分类已变更：事务提交后递增版本号、重建本地快照并广播
+     */
+    public void changed() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishChange();
+                }
+            });
+        } else {
+            publishChange();
+        }
+    }
+
+    /**
+     * 收到变更广播，版本号比当前快照新时重建
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            long version = Long.parseLong(body);
+            if (version > snapshot.version) {
+                reload();
+            }
+        } catch (NumberFormatException e) {
+            log.warn("标签、分类字典变更广播格式错误: body={}", body);
+        } catch (Exception e) {
+            log.warn("收到变更广播后重建字典失败，等待定时重建: version={}, error={}", body, e.getMessage());
+        }
+    }
+
+    private void publishChange() {
+        try {
+            Long version = redisTemplate.opsForValue().increment(VERSION_KEY);
+            reload();
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, String.valueOf(version));
+        } catch (Exception e) {
+            // Redis 不可用时至少刷新本实例，其他实例由定时重建兜底
+            log.warn("广播标签、分类字典变更失败: error={}", e.getMessage());
+            try {
+                reload();
+            } catch (Exception reloadException) {
+                log.error("重建标签、分类字典失败: error={}", reloadException.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 当前快照，尚未加载成功时同步加载一次
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == Snapshot.EMPTY) {
+            synchronized (this) {
+                if (snapshot == Snapshot.EMPTY) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 整表读取并替换快照
+     */
+    private synchronized void reload() {
+        // 1. 先读版本号再读表：读表期间发生的变更会带来更大的版本号，触发下一次重建
+        long version = readVersion();
+
+        // 2. 标签（按文章数降序、ID升序）
+        LambdaQueryWrapper<Tag> tagWrapper = new LambdaQueryWrapper<>();
+        tagWrapper.orderByDesc(Tag::getArticleCount)
+                  .orderByAsc(Tag::getId);
+        List<TagVO> tags = tagMapper.selectList(tagWrapper).stream()
+                .map(tag -> BeanUtil.copyProperties(tag, TagVO.class))
+                .collect(Collectors.toList());
+
+        // 3. 分类（按排序值、ID升序）
+        LambdaQueryWrapper<Category> categoryWrapper = new LambdaQueryWrapper<>();
+        categoryWrapper.orderByAsc(Category::getSortOrder)
+                       .orderByAsc(Category::getId);
+        List<CategoryVO> categories = categoryMapper.selectList(categoryWrapper).stream()
+                .map(category -> BeanUtil.copyProperties(category, CategoryVO.class))
+                .collect(Collectors.toList());
+
+        // 4. 替换快照
+        snapshot = new Snapshot(version, tags, categories);
+        reloadCounter.increment();
+        log.debug("标签、分类字典已重建: version={}, tags={}, categories={}", version, tags.size(), categories.size());
+    }
+
+    private long readVersion() {
+        try {
+            String value = redisTemplate.opsForValue().get(VERSION_KEY);
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (Exception e) {
+            log.warn("读取标签、分类字典版本号失败: error={}", e.getMessage());
+            return snapshot.version;
+        }
+    }
+
+    /**
+     * 不可变快照
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(-1L, Collections.emptyList(), Collections.emptyList());
+
+        final long version;
+        final Map<Long, TagVO> tagsById;
+        final Map<String, Long> tagIdsBySlug;
+        final List<TagVO> sortedTags;
+        final Map<Long, CategoryVO> categoriesById;
+        final Map<String, Long> categoryIdsBySlug;
+        final List<CategoryVO> enabledCategories;
+
+        Snapshot(long version, List<TagVO> tags, List<CategoryVO> categories) {
+            this.version = version;
+
+            Map<Long, TagVO> tagsById = new HashMap<>(tags.size() * 2);
+            Map<String, Long> tagIdsBySlug = new HashMap<>(tags.size() * 2);
+            for (TagVO tag : tags) {
+                tagsById.put(tag.getId(), tag);
+                if (tag.getSlug() != null) {
+                    tagIdsBySlug.put(tag.getSlug(), tag.getId());
+                }
+            }
+            this.tagsById = Collections.unmodifiableMap(tagsById);
+            this.tagIdsBySlug = Collections.unmodifiableMap(tagIdsBySlug);
+            this.sortedTags = Collections.unmodifiableList(new ArrayList<>(tags));
+
+            Map<Long, CategoryVO> categoriesById = new HashMap<>(categories.size() * 2);
+            Map<String, Long> categoryIdsBySlug = new HashMap<>(categories.size() * 2);
+            List<CategoryVO> enabledCategories = new ArrayList<>();
+            for (CategoryVO category : categories) {
+                categoriesById.put(category.getId(), category);
+                if (category.getSlug() != null) {
+                    categoryIdsBySlug.put(category.getSlug(), category.getId());
+                }
+                if (Integer.valueOf(1).equals(category.getStatus())) {
+                    enabledCategories.add(category);
+                }
+            }
+            this.categoriesById = Collections.unmodifiableMap(categoriesById);
+            this.categoryIdsBySlug = Collections.unmodifiableMap(categoryIdsBySlug);
+            this.enabledCategories = Collections.unmodifiableList(enabledCategories);
+        }
+    }
+}
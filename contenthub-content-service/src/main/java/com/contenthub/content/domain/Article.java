@@ -115,6 +115,12 @@ public class Article {
     @TableField(fill = FieldFill.INSERT_UPDATE)
     private LocalDateTime updatedAt;
     
+    /**
+     * 变更序号（只通过 ArticleMapper.incrementChangeSeq 递增，updateById 不写入）
+     */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    private Long changeSeq;
+    
     /**
      * 逻辑删除（0-未删除，1-已删除）
      */
@@ -0,0 +1,42 @@
+package com.contenthub.content.domain;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章变更发件箱实体
+ */
+@Data
+@TableName("article_outbox")
+public class ArticleOutbox {
+    
+    /**
+     * ID
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+    
+    /**
+     * 文章变更序号
+     */
+    private Long changeSeq;
+    
+    /**
+     * 变更类型（UPSERT-新增或更新，DELETE-删除或下架）
+     */
+    private String eventType;
+    
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,42 @@
+package com.contenthub.content.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 批量导入文章DTO（NDJSON 每行一篇）
+ */
+@Data
+@Schema(description = "导入文章（NDJSON 每行一个对象）")
+public class ImportArticleDTO {
+    
+    @Schema(description = "标题", required = true)
+    private String title;
+    
+    @Schema(description = "内容（Markdown格式）", required = true)
+    private String content;
+    
+    @Schema(description = "摘要（为空时从内容提取）")
+    private String summary;
+    
+    @Schema(description = "作者ID（为空时为导入人）")
+    private Long userId;
+    
+    @Schema(description = "分类ID")
+    private Long categoryId;
+    
+    @Schema(description = "封面图片URL")
+    private String coverImage;
+    
+    @Schema(description = "标签名称列表（不存在的标签忽略）")
+    private List<String> tags;
+    
+    @Schema(description = "状态（0-草稿，1-已发布）")
+    private Integer status;
+    
+    @Schema(description = "发布时间（已发布时有效，为空时为导入时间）")
+    private LocalDateTime publishedAt;
+}
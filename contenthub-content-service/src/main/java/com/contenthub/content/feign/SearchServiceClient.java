@@ -0,0 +1,22 @@
+package com.contenthub.content.feign;
+
+import com.contenthub.common.result.Result;
+import com.contenthub.content.vo.ArticleIndexBatchVO;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+/**
+ * 搜索服务Feign客户端
+ */
+@FeignClient(name = "contenthub-search-service", path = "/search")
+public interface SearchServiceClient {
+    
+    /**
+     * 批量应用文章索引变更（按变更序号幂等）
+     * @param batch 变更批次
+     * @return 处理结果
+     */
+    @PostMapping("/index/batch")
+    Result<String> applyIndexBatch(@RequestBody ArticleIndexBatchVO batch);
+}
@@ -1,13 +1,17 @@
 package com.contenthub.content.feign;
 
+import com.contenthub.common.result.CursorPage;
 import com.contenthub.common.result.Result;
 import com.contenthub.user.vo.UserInfoVO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 用户服务Feign客户端
@@ -30,5 +34,48 @@ public interface UserServiceClient {
      */
     @GetMapping("/batch")
     Result<List<UserInfoVO>> getUsersByIds(@RequestParam("userIds") String userIds);
+    
+    /**
+     * 批量获取用户信息（POST，不受URL长度限制）
+     * @param userIds 用户ID列表（结果顺序与入参一致，重复ID只返回一次）
+     * @return 用户信息列表
+     */
+    @PostMapping("/batch")
+    Result<List<UserInfoVO>> getUsersByIdList(@RequestBody List<Long> userIds);
+    
+    /**
+     * 获取关注统计
+     * @param userId 用户ID
+     * @return followingCount（关注数）、followerCount（粉丝数）
+     */
+    @GetMapping("/{userId}/follow/stats")
+    Result<Map<String, Long>> getFollowStats(@PathVariable("userId") Long userId);
+    
+    /**
+     * 游标分页获取粉丝ID（按关注记录ID升序）
+     * @param userId 用户ID
+     * @param cursor 游标（首页为空）
+     * @param size 每页数量（最大1000）
+     * @return 粉丝ID
+     */
+    @GetMapping("/{userId}/follower-ids")
+    Result<CursorPage<Long>> getFollowerIds(@PathVariable("userId") Long userId,
+                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                            @RequestParam("size") Integer size);
+    
+    /**
+     * 获取关注的全部用户ID
+     * @param userId 用户ID
+     * @return 关注的用户ID
+     */
+    @GetMapping("/{userId}/following-ids")
+    Result<List<Long>> getFollowingIds(@PathVariable("userId") Long userId);
+    
+    /**
+     * 获取拉黑的全部用户ID
+     * @param userId 用户ID
+     * @return 被拉黑的用户ID
+     */
+    @GetMapping("/{userId}/blocked-ids")
+    Result<List<Long>> getBlockedIds(@PathVariable("userId") Long userId);
 }
-
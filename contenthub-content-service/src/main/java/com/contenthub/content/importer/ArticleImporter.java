@@ -0,0 +1,408 @@
+package com.contenthub.content.importer;
+
+import cn.hutool.core.util.RandomUtil;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import com.contenthub.common.utils.TextUtils;
+import com.contenthub.content.domain.*;
+import com.contenthub.content.dto.ImportArticleDTO;
+import com.contenthub.content.mapper.*;
+import com.contenthub.content.markdown.MarkdownRenderer;
+import com.contenthub.content.outbox.ArticleChangeType;
+import com.contenthub.content.ranking.HotRankingService;
+import com.contenthub.content.slug.SlugAllocator;
+import com.contenthub.content.vo.ImportResultVO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 文章批量导入（NDJSON）
+ *
+ * 逐行读取请求体，按块处理，每块一个事务：
+ * 1. 分类、标签各一次 IN 查询，别名一次 IN 查询判重
+ * 2. 文章使用 JDBC 批量插入（配合 rewriteBatchedStatements 合并为多行 INSERT）
+ * 3. 文章标签关联一条多行 INSERT，标签文章数按增量一条 UPDATE
+ * 4. 发件箱记录同样批量插入，由 SearchIndexRelay 同步到搜索索引
+ * 每块提交后推进续传位置（行号），失败时返回已提交的位置，调用方从该行继续即可。
+ */
+@Slf4j
+@Component
+public class ArticleImporter {
+
+    private static final Log BATCH_LOG = LogFactory.getLog(ArticleImporter.class);
+
+    /**
+     * 文章别名最大长度（与 articles.slug 一致）
+     */
+    private static final int SLUG_MAX_LENGTH = 200;
+
+    private static final int TITLE_MAX_LENGTH = 200;
+
+    private static final int SUMMARY_MAX_LENGTH = 200;
+
+    /**
+     * 返回的错误明细上限
+     */
+    private static final int MAX_ERRORS = 100;
+
+    private final ArticleMapper articleMapper;
+    private final CategoryMapper categoryMapper;
+    private final TagMapper tagMapper;
+    private final ArticleTagMapper articleTagMapper;
+    private final MarkdownRenderer markdownRenderer;
+    private final SlugAllocator slugAllocator;
+    private final HotRankingService hotRankingService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 每块处理的文章数
+     */
+    private final int chunkSize;
+
+    public ArticleImporter(ArticleMapper articleMapper,
+                           CategoryMapper categoryMapper,
+                           TagMapper tagMapper,
+                           ArticleTagMapper articleTagMapper,
+                           MarkdownRenderer markdownRenderer,
+                           SlugAllocator slugAllocator,
+                           HotRankingService hotRankingService,
+                           TransactionTemplate transactionTemplate,
+                           ObjectMapper objectMapper,
+                           @Value("${content.import.chunk-size:500}") int chunkSize) {
+        this.articleMapper = articleMapper;
+        this.categoryMapper = categoryMapper;
+        this.tagMapper = tagMapper;
+        this.articleTagMapper = articleTagMapper;
+        this.markdownRenderer = markdownRenderer;
+        this.slugAllocator = slugAllocator;
+        this.hotRankingService = hotRankingService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 导入文章
+     *
+     * @param operatorId 导入人（未指定作者的文章归属导入人）
+     * @param input      NDJSON 输入流（UTF-8，每行一篇文章，空行忽略）
+     * @param offset     跳过的行数（续传时传入上次返回的 nextOffset）
+     * @return 导入结果
+     */
+    public ImportResultVO importArticles(Long operatorId, InputStream input, long offset) {
+        long startTime = System.currentTimeMillis();
+        ImportResultVO result = new ImportResultVO();
+        result.setNextOffset(offset);
+
+        long lineNo = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            // 1. 跳过已导入的行
+            while (lineNo < offset && reader.readLine() != null) {
+                lineNo++;
+            }
+
+            // 2. 逐行解析，凑满一块写入一次
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (StrUtil.isBlank(line)) {
+                    continue;
+                }
+                try {
+                    chunk.add(new Row(lineNo, objectMapper.readValue(line, ImportArticleDTO.class)));
+                } catch (IOException e) {
+                    fail(result, lineNo, "JSON格式错误");
+                }
+                if (chunk.size() >= chunkSize) {
+                    if (!writeChunk(operatorId, chunk, lineNo, result)) {
+                        return finish(result, startTime);
+                    }
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!writeChunk(operatorId, chunk, lineNo, result)) {
+                return finish(result, startTime);
+            }
+            result.setNextOffset(lineNo);
+            result.setCompleted(true);
+        } catch (IOException e) {
+            log.error("读取导入数据失败: line={}, error={}", lineNo, e.getMessage());
+            addError(result, lineNo, "读取输入失败: " + e.getMessage());
+        }
+        return finish(result, startTime);
+    }
+
+    /**
+     * 写入一块：校验和组装在事务外完成，写入在一个事务中完成
+     *
+     * @return 是否成功（失败时不推进续传位置）
+     */
+    private boolean writeChunk(Long operatorId, List<Row> rows, long lastLineNo, ImportResultVO result) {
+        if (rows.isEmpty()) {
+            result.setNextOffset(lastLineNo);
+            return true;
+        }
+
+        List<Prepared> prepared = prepare(operatorId, rows, result);
+        if (!prepared.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(prepared, false));
+            } catch (Exception e) {
+                if (!isSlugConflict(e)) {
+                    return chunkFailed(result, rows, e);
+                }
+                // 别名在判重之后被并发占用：整块已回滚，改为逐条分配别名重试
+                log.warn("导入时别名冲突，逐条重试: fromLine={}, error={}", rows.get(0).lineNo, e.getMessage());
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(prepared, true));
+                } catch (Exception retryError) {
+                    return chunkFailed(result, rows, retryError);
+                }
+            }
+        }
+
+        result.setImported(result.getImported() + prepared.size());
+        result.setNextOffset(lastLineNo);
+        log.debug("导入文章块完成: toLine={}, articles={}", lastLineNo, prepared.size());
+        return true;
+    }
+
+    /**
+     * 校验并组装文章（分类、标签、别名各一次批量查询）
+     */
+    private List<Prepared> prepare(Long operatorId, List<Row> rows, ImportResultVO result) {
+        // 1. 启用的分类
+        Set<Long> categoryIds = rows.stream()
+                .map(row -> row.article.getCategoryId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> enabledCategoryIds = categoryIds.isEmpty() ? Collections.emptySet()
+                : categoryMapper.selectList(new LambdaQueryWrapper<Category>()
+                        .select(Category::getId)
+                        .in(Category::getId, categoryIds)
+                        .eq(Category::getStatus, 1))
+                .stream().map(Category::getId).collect(Collectors.toSet());
+
+        // 2. 标签名称 -> 标签ID（不存在的标签忽略）
+        Set<String> tagNames = rows.stream()
+                .filter(row -> row.article.getTags() != null)
+                .flatMap(row -> row.article.getTags().stream())
+                .filter(StrUtil::isNotBlank)
+                .collect(Collectors.toSet());
+        Map<String, Long> tagIdByName = tagNames.isEmpty() ? Collections.emptyMap()
+                : tagMapper.selectList(new LambdaQueryWrapper<Tag>()
+                        .select(Tag::getId, Tag::getName)
+                        .in(Tag::getName, tagNames))
+                .stream().collect(Collectors.toMap(Tag::getName, Tag::getId, (a, b) -> a));
+
+        // 3. 校验并组装
+        List<Prepared> prepared = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            ImportArticleDTO dto = row.article;
+            if (StrUtil.isBlank(dto.getTitle()) || StrUtil.isBlank(dto.getContent())) {
+                fail(result, row.lineNo, "标题和内容不能为空");
+                continue;
+            }
+            if (dto.getTitle().length() > TITLE_MAX_LENGTH) {
+                fail(result, row.lineNo, "标题过长");
+                continue;
+            }
+            if (dto.getCategoryId() != null && !enabledCategoryIds.contains(dto.getCategoryId())) {
+                fail(result, row.lineNo, "分类不存在或已禁用");
+                continue;
+            }
+
+            Article article = new Article();
+            article.setUserId(dto.getUserId() != null ? dto.getUserId() : operatorId);
+            article.setCategoryId(dto.getCategoryId());
+            article.setTitle(dto.getTitle());
+            article.setSummary(StrUtil.isNotBlank(dto.getSummary())
+                    ? dto.getSummary()
+                    : TextUtils.summarize(dto.getContent(), SUMMARY_MAX_LENGTH));
+            article.setCoverImage(dto.getCoverImage());
+            article.setContent(dto.getContent());
+            article.setHtmlContent(markdownRenderer.render(dto.getContent()));
+            article.setStatus(dto.getStatus() != null && dto.getStatus() == 1 ? 1 : 0);
+            if (article.getStatus() == 1) {
+                article.setPublishedAt(dto.getPublishedAt() != null ? dto.getPublishedAt() : LocalDateTime.now());
+            }
+            article.setChangeSeq(1L);
+
+            List<Long> tagIds = dto.getTags() == null ? Collections.emptyList()
+                    : dto.getTags().stream()
+                    .map(tagIdByName::get)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .collect(Collectors.toList());
+            prepared.add(new Prepared(article, slugAllocator.slugify(dto.getTitle(), SLUG_MAX_LENGTH), tagIds));
+        }
+
+        // 4. 别名判重：已占用或本块内重复的别名追加随机后缀
+        Set<String> baseSlugs = prepared.stream()
+                .map(p -> p.baseSlug)
+                .filter(StrUtil::isNotEmpty)
+                .collect(Collectors.toSet());
+        Set<String> used = baseSlugs.isEmpty() ? new HashSet<>() : new HashSet<>(articleMapper.selectExistingSlugs(baseSlugs));
+        for (Prepared p : prepared) {
+            String slug = p.baseSlug;
+            while (slug.isEmpty() || used.contains(slug)) {
+                slug = withRandomSuffix(p.baseSlug);
+            }
+            used.add(slug);
+            p.article.setSlug(slug);
+        }
+        return prepared;
+    }
+
+    /**
+     * 批量写入文章、标签关联、标签文章数和发件箱
+     *
+     * @param allocateSlugs 是否逐条插入并由 SlugAllocator 处理别名冲突（并发冲突后的重试）
+     */
+    private void insert(List<Prepared> prepared, boolean allocateSlugs) {
+        List<Article> articles = prepared.stream().map(p -> p.article).collect(Collectors.toList());
+
+        // 1. 文章
+        if (allocateSlugs) {
+            for (Prepared p : prepared) {
+                slugAllocator.insertWithUniqueSlug(p.baseSlug, SLUG_MAX_LENGTH, candidate -> {
+                    p.article.setSlug(candidate);
+                    articleMapper.insertForImport(p.article);
+                });
+            }
+        } else {
+            SqlHelper.executeBatch(Article.class, BATCH_LOG, articles, chunkSize,
+                    (sqlSession, article) -> sqlSession.getMapper(ArticleMapper.class).insertForImport(article));
+        }
+
+        // 2. 标签关联（多行 INSERT）和标签文章数（按增量一条 UPDATE）
+        List<ArticleTag> articleTags = new ArrayList<>();
+        Map<Long, Long> tagDeltas = new HashMap<>();
+        for (Prepared p : prepared) {
+            for (Long tagId : p.tagIds) {
+                ArticleTag articleTag = new ArticleTag();
+                articleTag.setArticleId(p.article.getId());
+                articleTag.setTagId(tagId);
+                articleTags.add(articleTag);
+                tagDeltas.merge(tagId, 1L, Long::sum);
+            }
+        }
+        if (!articleTags.isEmpty()) {
+            articleTagMapper.batchInsert(articleTags);
+            tagMapper.batchAddArticleCount(tagDeltas);
+        }
+
+        // 3. 发件箱（新文章变更序号为 1）
+        LocalDateTime now = LocalDateTime.now();
+        List<ArticleOutbox> outboxes = articles.stream().map(article -> {
+            ArticleOutbox outbox = new ArticleOutbox();
+            outbox.setArticleId(article.getId());
+            outbox.setChangeSeq(article.getChangeSeq());
+            outbox.setEventType(ArticleChangeType.UPSERT.name());
+            outbox.setCreatedAt(now);
+            return outbox;
+        }).collect(Collectors.toList());
+        SqlHelper.executeBatch(ArticleOutbox.class, BATCH_LOG, outboxes, chunkSize,
+                (sqlSession, outbox) -> sqlSession.getMapper(ArticleOutboxMapper.class).insert(outbox));
+
+        // 4. 已发布的文章进入热门排行（提交后执行）
+        articles.stream()
+                .filter(article -> article.getStatus() == 1)
+                .forEach(article -> hotRankingService.sync(article, null));
+    }
+
+    private boolean chunkFailed(ImportResultVO result, List<Row> rows, Exception e) {
+        long fromLine = rows.get(0).lineNo;
+        log.error("导入文章块失败，停止导入: fromLine={}, error={}", fromLine, e.getMessage());
+        addError(result, fromLine, "写入失败，请从第" + (result.getNextOffset() + 1) + "行续传: " + e.getMessage());
+        return false;
+    }
+
+    /**
+     * 是否为别名唯一索引冲突（批量执行的异常可能被包装，沿异常链查找）
+     */
+    private static boolean isSlugConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.contains("Duplicate entry") && message.contains("uk_slug")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String withRandomSuffix(String baseSlug) {
+        String suffix = RandomUtil.randomString(6);
+        if (baseSlug.isEmpty()) {
+            return suffix;
+        }
+        int keep = Math.min(baseSlug.length(), SLUG_MAX_LENGTH - suffix.length() - 1);
+        return baseSlug.substring(0, keep) + "-" + suffix;
+    }
+
+    private static void fail(ImportResultVO result, long lineNo, String reason) {
+        result.setFailed(result.getFailed() + 1);
+        addError(result, lineNo, reason);
+    }
+
+    private static void addError(ImportResultVO result, long lineNo, String reason) {
+        if (result.getErrors().size() < MAX_ERRORS) {
+            result.getErrors().add(lineNo + ": " + reason);
+        }
+    }
+
+    private static ImportResultVO finish(ImportResultVO result, long startTime) {
+        long took = Math.max(System.currentTimeMillis() - startTime, 1);
+        result.setTook(took);
+        result.setRowsPerSecond(Math.round(result.getImported() * 1000.0 / took * 10) / 10.0);
+        log.info("批量导入文章结束: imported={}, failed={}, nextOffset={}, completed={}, took={}ms, rowsPerSecond={}",
+                result.getImported(), result.getFailed(), result.getNextOffset(), result.isCompleted(),
+                took, result.getRowsPerSecond());
+        return result;
+    }
+
+    /**
+     * 已解析的一行
+     */
+    private static class Row {
+        private final long lineNo;
+        private final ImportArticleDTO article;
+
+        private Row(long lineNo, ImportArticleDTO article) {
+            this.lineNo = lineNo;
+            this.article = article;
+        }
+    }
+
+    /**
+     * 组装好的文章
+     */
+    private static class Prepared {
+        private final Article article;
+        private final String baseSlug;
+        private final List<Long> tagIds;
+
+        private Prepared(Article article, String baseSlug, List<Long> tagIds) {
+            this.article = article;
+            this.baseSlug = baseSlug;
+            this.tagIds = tagIds;
+        }
+    }
+}
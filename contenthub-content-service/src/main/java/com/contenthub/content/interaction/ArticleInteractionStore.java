@@ -0,0 +1,491 @@
+package com.contenthub.content.interaction;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.contenthub.content.domain.Article;
+import com.contenthub.content.domain.ArticleCollection;
+import com.contenthub.content.domain.ArticleLike;
+import com.contenthub.content.domain.IdCount;
+import com.contenthub.content.mapper.ArticleCollectionMapper;
+import com.contenthub.content.mapper.ArticleLikeMapper;
+import com.contenthub.content.mapper.ArticleMapper;
+import com.contenthub.content.ranking.HotRankingService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 文章点赞/收藏状态存储
+ *
+ * Redis 中按用户维护互动集合（article:like:user:{userId}），集合内固定包含哨兵成员 "0"，
+ * 表示已从数据库完整加载；缺失时从数据库重建并叠加尚未写回的变更。
+ * "用户是否点赞了文章 [a..z]" 通过一次 pipeline 的 SISMEMBER 得到结果。
+ *
+ * 数据库中的 article_likes / article_collections 作为持久化记录，由定时任务批量写回，
+ * 写回时先锁定涉及的已存在记录，计数只按实际写入、删除的行按文章聚合更新 like_count / collect_count
+ * 并累加热门排行；对账任务定期根据持久化表重算计数并修正偏差。
+ */
+@Slf4j
+@Component
+public class ArticleInteractionStore {
+
+    /**
+     * 哨兵成员：集合已从数据库加载
+     */
+    private static final String LOADED_SENTINEL = "0";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ArticleMapper articleMapper;
+    private final ArticleLikeMapper articleLikeMapper;
+    private final ArticleCollectionMapper articleCollectionMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final HotRankingService hotRankingService;
+
+    /**
+     * 待写回的互动变更（+1 新增，-1 删除）
+     */
+    private final ConcurrentHashMap<PendingKey, Integer> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 正在写回的互动变更，写回完成前仍参与集合重建
+     */
+    private final ConcurrentHashMap<PendingKey, Integer> inflight = new ConcurrentHashMap<>();
+
+    /**
+     * 变更在 pending / inflight 之间转移、写回后清除时持有写锁；重建集合时从读取数据库到叠加变更持有读锁，
+     * 重建看到的要么是已提交的记录，要么是仍在缓冲中的变更
+     */
+    private final ReadWriteLock transferLock = new ReentrantReadWriteLock();
+
+    private final long cacheExpireHours;
+    private final int batchSize;
+
+    public ArticleInteractionStore(StringRedisTemplate stringRedisTemplate,
+                                   ArticleMapper articleMapper,
+                                   ArticleLikeMapper articleLikeMapper,
+                                   ArticleCollectionMapper articleCollectionMapper,
+                                   TransactionTemplate transactionTemplate,
+                                   HotRankingService hotRankingService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${content.interaction.cache-expire-hours:24}") long cacheExpireHours,
+                                   @Value("${content.interaction.batch-size:500}") int batchSize) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.articleMapper = articleMapper;
+        this.articleLikeMapper = articleLikeMapper;
+        this.articleCollectionMapper = articleCollectionMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.hotRankingService = hotRankingService;
+        this.cacheExpireHours = cacheExpireHours;
+        this.batchSize = batchSize;
+
+        Gauge.builder("content.article.interaction.pending", pending, Map::size)
+                .description("尚未写回数据库的点赞/收藏变更数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 新增互动
+     *
+     * @return 是否为新增（已存在时返回 false）
+     */
+    public boolean add(InteractionType type, Long articleId, Long userId) {
+        String key = type.key(userId);
+        ensureLoaded(type, userId);
+
+        Long added = stringRedisTemplate.opsForSet().add(key, String.valueOf(articleId));
+        if (added == null || added == 0) {
+            return false;
+        }
+        recordPending(new PendingKey(type, articleId, userId), 1);
+        return true;
+    }
+
+    /**
+     * 取消互动
+     *
+     * @return 是否删除成功（不存在时返回 false）
+     */
+    public boolean remove(InteractionType type, Long articleId, Long userId) {
+        String key = type.key(userId);
+        ensureLoaded(type, userId);
+
+        Long removed = stringRedisTemplate.opsForSet().remove(key, String.valueOf(articleId));
+        if (removed == null || removed == 0) {
+            return false;
+        }
+        recordPending(new PendingKey(type, articleId, userId), -1);
+        return true;
+    }
+
+    /**
+     * 判断用户是否对文章有该互动
+     */
+    public boolean contains(InteractionType type, Long articleId, Long userId) {
+        return !filterMembers(type, userId, Collections.singletonList(articleId)).isEmpty();
+    }
+
+    /**
+     * 批量判断：返回给定文章中用户有该互动的文章ID
+     */
+    public Set<Long> filterMembers(InteractionType type, Long userId, Collection<Long> articleIds) {
+        if (userId == null || articleIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        List<Long> ids = new ArrayList<>(articleIds);
+        byte[] key = type.key(userId).getBytes(StandardCharsets.UTF_8);
+
+        // 1. 一次 pipeline：第一个结果为哨兵，其余为各文章
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.setCommands().sIsMember(key, LOADED_SENTINEL.getBytes(StandardCharsets.UTF_8));
+            for (Long id : ids) {
+                connection.setCommands().sIsMember(key, String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        // 2. 集合未加载时从数据库重建
+        if (!Boolean.TRUE.equals(results.get(0))) {
+            Set<Long> members = load(type, userId);
+            return ids.stream().filter(members::contains).collect(Collectors.toSet());
+        }
+
+        Set<Long> matched = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (Boolean.TRUE.equals(results.get(i + 1))) {
+                matched.add(ids.get(i));
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * 定时写回互动变更
+     */
+    @Scheduled(fixedDelayString = "${content.interaction.flush-interval-ms:2000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * 停机前写回剩余变更
+     */
+    @PreDestroy
+    public void shutdown() {
+        log.info("服务停止，写回剩余点赞/收藏变更: pending={}", pending.size());
+        flush();
+    }
+
+    /**
+     * 批量写回互动记录和计数
+     */
+    public synchronized void flush() {
+        // 1. 转移到写回中
+        transferLock.writeLock().lock();
+        try {
+            for (PendingKey key : pending.keySet()) {
+                Integer delta = pending.remove(key);
+                if (delta != null) {
+                    inflight.merge(key, delta, ArticleInteractionStore::sumOrRemove);
+                }
+            }
+        } finally {
+            transferLock.writeLock().unlock();
+        }
+        if (inflight.isEmpty()) {
+            return;
+        }
+
+        // 2. 分批写回
+        List<Map.Entry<PendingKey, Integer>> entries = new ArrayList<>(inflight.entrySet());
+        int written = 0;
+        Exception failure = null;
+        try {
+            for (int from = 0; from < entries.size(); from += batchSize) {
+                List<Map.Entry<PendingKey, Integer>> chunk =
+                        entries.subList(from, Math.min(from + batchSize, entries.size()));
+                transactionTemplate.executeWithoutResult(status -> writeChunk(chunk));
+                written = from + chunk.size();
+            }
+            log.debug("点赞/收藏变更写回完成: count={}", entries.size());
+        } catch (Exception e) {
+            failure = e;
+        }
+
+        // 3. 清除写回中的变更，未写回的部分放回待写回队列
+        transferLock.writeLock().lock();
+        try {
+            if (failure != null) {
+                log.error("点赞/收藏变更写回失败，变更放回缓冲: written={}, total={}, error={}",
+                        written, entries.size(), failure.getMessage());
+                for (Map.Entry<PendingKey, Integer> entry : entries.subList(written, entries.size())) {
+                    pending.merge(entry.getKey(), entry.getValue(), ArticleInteractionStore::sumOrRemove);
+                }
+            }
+            inflight.clear();
+        } finally {
+            transferLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 对账：根据持久化表重算点赞数和收藏数，修正偏差
+     */
+    @Scheduled(cron = "${content.interaction.reconcile-cron:0 30 3 * * ?}")
+    public void reconcile() {
+        log.info("开始点赞/收藏计数对账");
+        long lastId = 0;
+        int fixed = 0;
+        while (true) {
+            // 1. 按主键游标分批读取文章
+            LambdaQueryWrapper<Article> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.select(Article::getId, Article::getLikeCount, Article::getCollectCount)
+                       .gt(Article::getId, lastId)
+                       .orderByAsc(Article::getId)
+                       .last("LIMIT " + batchSize);
+            List<Article> articles = articleMapper.selectList(queryWrapper);
+            if (articles.isEmpty()) {
+                break;
+            }
+            lastId = articles.get(articles.size() - 1).getId();
+            fixed += reconcileChunk(articles);
+        }
+        log.info("点赞/收藏计数对账完成: fixed={}", fixed);
+    }
+
+    /**
+     * 对账一批文章（与写回互斥，避免写回中的增量被覆盖）
+     */
+    private synchronized int reconcileChunk(List<Article> articles) {
+        flush();
+
+        List<Long> articleIds = articles.stream().map(Article::getId).collect(Collectors.toList());
+        Map<Long, Long> likeCounts = toCountMap(articleLikeMapper.countGroupByArticleId(articleIds));
+        Map<Long, Long> collectCounts = toCountMap(articleCollectionMapper.countGroupByArticleId(articleIds));
+
+        int fixed = 0;
+        for (Article article : articles) {
+            long likeCount = likeCounts.getOrDefault(article.getId(), 0L);
+            long collectCount = collectCounts.getOrDefault(article.getId(), 0L);
+            long currentLike = article.getLikeCount() != null ? article.getLikeCount() : 0;
+            long currentCollect = article.getCollectCount() != null ? article.getCollectCount() : 0;
+            if (likeCount != currentLike || collectCount != currentCollect) {
+                articleMapper.updateInteractionCount(article.getId(), likeCount, collectCount);
+                log.warn("修正文章互动计数: articleId={}, likeCount={}->{}, collectCount={}->{}",
+                        article.getId(), currentLike, likeCount, currentCollect, collectCount);
+                fixed++;
+            }
+        }
+        return fixed;
+    }
+
+    /**
+     * 写回一批变更：互动记录 + 计数增量（计数只按实际写入、删除的行累加）
+     */
+    private void writeChunk(List<Map.Entry<PendingKey, Integer>> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ArticleLike> likes = new ArrayList<>();
+        List<ArticleCollection> collects = new ArrayList<>();
+        for (Map.Entry<PendingKey, Integer> entry : chunk) {
+            PendingKey key = entry.getKey();
+            if (key.getType() == InteractionType.LIKE) {
+                likes.add(toLike(key, now));
+            } else {
+                collects.add(toCollection(key, now));
+            }
+        }
+
+        // 1. 锁定已存在的记录（不存在的锁定间隙），确定本事务内每条记录的实际状态
+        Set<PendingKey> existing = new HashSet<>();
+        if (!likes.isEmpty()) {
+            articleLikeMapper.selectExistingForUpdate(likes).forEach(r ->
+                    existing.add(new PendingKey(InteractionType.LIKE, r.getArticleId(), r.getUserId())));
+        }
+        if (!collects.isEmpty()) {
+            articleCollectionMapper.selectExistingForUpdate(collects).forEach(r ->
+                    existing.add(new PendingKey(InteractionType.COLLECT, r.getArticleId(), r.getUserId())));
+        }
+
+        // 2. 新增只写入不存在的记录，取消只删除存在的记录，其余变更对数据库没有影响
+        List<ArticleLike> likeInserts = new ArrayList<>();
+        List<ArticleLike> likeDeletes = new ArrayList<>();
+        List<ArticleCollection> collectInserts = new ArrayList<>();
+        List<ArticleCollection> collectDeletes = new ArrayList<>();
+        Map<Long, Long> likeDeltas = new HashMap<>();
+        Map<Long, Long> collectDeltas = new HashMap<>();
+        for (Map.Entry<PendingKey, Integer> entry : chunk) {
+            PendingKey key = entry.getKey();
+            boolean insert = entry.getValue() > 0;
+            if (insert == existing.contains(key)) {
+                continue;
+            }
+            if (key.getType() == InteractionType.LIKE) {
+                (insert ? likeInserts : likeDeletes).add(toLike(key, now));
+                likeDeltas.merge(key.getArticleId(), insert ? 1L : -1L, Long::sum);
+            } else {
+                (insert ? collectInserts : collectDeletes).add(toCollection(key, now));
+                collectDeltas.merge(key.getArticleId(), insert ? 1L : -1L, Long::sum);
+            }
+        }
+
+        if (!likeInserts.isEmpty()) {
+            articleLikeMapper.batchInsertIgnore(likeInserts);
+        }
+        if (!likeDeletes.isEmpty()) {
+            articleLikeMapper.batchDelete(likeDeletes);
+        }
+        if (!collectInserts.isEmpty()) {
+            articleCollectionMapper.batchInsertIgnore(collectInserts);
+        }
+        if (!collectDeletes.isEmpty()) {
+            articleCollectionMapper.batchDelete(collectDeletes);
+        }
+
+        // 3. 按实际变化的行累加计数
+        likeDeltas.values().removeIf(delta -> delta == 0);
+        collectDeltas.values().removeIf(delta -> delta == 0);
+        if (!likeDeltas.isEmpty()) {
+            articleMapper.batchAddLikeCount(likeDeltas);
+        }
+        if (!collectDeltas.isEmpty()) {
+            articleMapper.batchAddCollectCount(collectDeltas);
+        }
+
+        // 热度在事务提交后累加
+        hotRankingService.recordLikes(likeDeltas);
+        hotRankingService.recordCollects(collectDeltas);
+    }
+
+    private static ArticleLike toLike(PendingKey key, LocalDateTime now) {
+        ArticleLike record = new ArticleLike();
+        record.setArticleId(key.getArticleId());
+        record.setUserId(key.getUserId());
+        record.setCreatedAt(now);
+        return record;
+    }
+
+    private static ArticleCollection toCollection(PendingKey key, LocalDateTime now) {
+        ArticleCollection record = new ArticleCollection();
+        record.setArticleId(key.getArticleId());
+        record.setUserId(key.getUserId());
+        record.setCreatedAt(now);
+        return record;
+    }
+
+    /**
+     * 集合不存在时从数据库加载
+     */
+    private void ensureLoaded(InteractionType type, Long userId) {
+        Boolean loaded = stringRedisTemplate.opsForSet().isMember(type.key(userId), LOADED_SENTINEL);
+        if (!Boolean.TRUE.equals(loaded)) {
+            load(type, userId);
+        }
+    }
+
+    /**
+     * 从数据库重建用户互动集合，并叠加尚未写回的变更
+     */
+    private Set<Long> load(InteractionType type, Long userId) {
+        // 1. 读取持久化记录
+        Set<Long> members = new HashSet<>();
+        Set<Long> removed = new HashSet<>();
+        transferLock.readLock().lock();
+        try {
+            if (type == InteractionType.LIKE) {
+                LambdaQueryWrapper<ArticleLike> queryWrapper = new LambdaQueryWrapper<>();
+                queryWrapper.select(ArticleLike::getArticleId).eq(ArticleLike::getUserId, userId);
+                articleLikeMapper.selectList(queryWrapper).forEach(r -> members.add(r.getArticleId()));
+            } else {
+                LambdaQueryWrapper<ArticleCollection> queryWrapper = new LambdaQueryWrapper<>();
+                queryWrapper.select(ArticleCollection::getArticleId).eq(ArticleCollection::getUserId, userId);
+                articleCollectionMapper.selectList(queryWrapper).forEach(r -> members.add(r.getArticleId()));
+            }
+
+            // 2. 叠加写回中和待写回的变更
+            overlay(inflight, type, userId, members, removed);
+            overlay(pending, type, userId, members, removed);
+        } finally {
+            transferLock.readLock().unlock();
+        }
+
+        // 3. 写入 Redis
+        byte[] key = type.key(userId).getBytes(StandardCharsets.UTF_8);
+        byte[][] values = new byte[members.size() + 1][];
+        values[0] = LOADED_SENTINEL.getBytes(StandardCharsets.UTF_8);
+        int i = 1;
+        for (Long member : members) {
+            values[i++] = String.valueOf(member).getBytes(StandardCharsets.UTF_8);
+        }
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            writeLoadedSet(connection, key, values, removed);
+            return null;
+        });
+
+        log.debug("加载用户{}集合: userId={}, size={}", type.getDescription(), userId, members.size());
+        return members;
+    }
+
+    private void writeLoadedSet(RedisConnection connection, byte[] key, byte[][] values, Set<Long> removed) {
+        connection.setCommands().sAdd(key, values);
+        for (Long articleId : removed) {
+            connection.setCommands().sRem(key, String.valueOf(articleId).getBytes(StandardCharsets.UTF_8));
+        }
+        connection.keyCommands().expire(key, TimeUnit.HOURS.toSeconds(cacheExpireHours));
+    }
+
+    private void overlay(Map<PendingKey, Integer> changes, InteractionType type, Long userId,
+                         Set<Long> members, Set<Long> removed) {
+        changes.forEach((key, delta) -> {
+            if (key.getType() != type || !key.getUserId().equals(userId)) {
+                return;
+            }
+            if (delta > 0) {
+                members.add(key.getArticleId());
+                removed.remove(key.getArticleId());
+            } else if (delta < 0) {
+                members.remove(key.getArticleId());
+                removed.add(key.getArticleId());
+            }
+        });
+    }
+
+    private void recordPending(PendingKey key, int delta) {
+        pending.merge(key, delta, ArticleInteractionStore::sumOrRemove);
+    }
+
+    private static Integer sumOrRemove(Integer a, Integer b) {
+        int sum = a + b;
+        return sum == 0 ? null : sum;
+    }
+
+    private static Map<Long, Long> toCountMap(List<IdCount> counts) {
+        return counts.stream().collect(Collectors.toMap(IdCount::getId, IdCount::getCount));
+    }
+
+    /**
+     * 待写回变更的 key
+     */
+    @Data
+    private static class PendingKey {
+        private final InteractionType type;
+        private final Long articleId;
+        private final Long userId;
+    }
+}
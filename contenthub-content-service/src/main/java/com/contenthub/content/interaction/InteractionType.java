@@ -0,0 +1,36 @@
+package com.contenthub.content.interaction;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 文章互动类型
+ */
+@Getter
+@RequiredArgsConstructor
+public enum InteractionType {
+    
+    /**
+     * 点赞
+     */
+    LIKE("article:like:user:", "点赞"),
+    
+    /**
+     * 收藏
+     */
+    COLLECT("article:collect:user:", "收藏");
+    
+    /**
+     * Redis 用户互动集合 key 前缀
+     */
+    private final String keyPrefix;
+    
+    /**
+     * 描述
+     */
+    private final String description;
+    
+    public String key(Long userId) {
+        return keyPrefix + userId;
+    }
+}
@@ -2,10 +2,63 @@ package com.contenthub.content.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.contenthub.content.domain.ArticleCollection;
+import com.contenthub.content.domain.IdCount;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * 文章收藏Mapper
  */
 public interface ArticleCollectionMapper extends BaseMapper<ArticleCollection> {
+    
+    /**
+     * 批量写入收藏记录（已存在的记录忽略）
+     */
+    @Insert("<script>" +
+            "INSERT IGNORE INTO article_collections (article_id, user_id, created_at) VALUES " +
+            "<foreach collection='records' item='r' separator=','>" +
+            "(#{r.articleId}, #{r.userId}, #{r.createdAt})" +
+            "</foreach>" +
+            "</script>")
+    int batchInsertIgnore(@Param("records") List<ArticleCollection> records);
+    
+    /**
+     * 按 (文章ID, 用户ID) 批量删除收藏记录
+     */
+    @Delete("<script>" +
+            "DELETE FROM article_collections WHERE (article_id, user_id) IN " +
+            "<foreach collection='records' item='r' open='(' separator=',' close=')'>" +
+            "(#{r.articleId}, #{r.userId})" +
+            "</foreach>" +
+            "</script>")
+    int batchDelete(@Param("records") List<ArticleCollection> records);
+    
+    /**
+     * 查询并锁定给定 (文章ID, 用户ID) 中已存在的收藏记录（不存在的记录锁定索引间隙）
+     */
+    @Select("<script>" +
+            "SELECT article_id, user_id FROM article_collections WHERE (article_id, user_id) IN " +
+            "<foreach collection='records' item='r' open='(' separator=',' close=')'>" +
+            "(#{r.articleId}, #{r.userId})" +
+            "</foreach>" +
+            " FOR UPDATE" +
+            "</script>")
+    List<ArticleCollection> selectExistingForUpdate(@Param("records") List<ArticleCollection> records);
+    
+    /**
+     * 按文章分组统计收藏数
+     */
+    @Select("<script>" +
+            "SELECT article_id AS id, COUNT(*) AS count FROM article_collections " +
+            "WHERE article_id IN " +
+            "<foreach collection='articleIds' item='articleId' open='(' separator=',' close=')'>" +
+            "#{articleId}" +
+            "</foreach>" +
+            " GROUP BY article_id" +
+            "</script>")
+    List<IdCount> countGroupByArticleId(@Param("articleIds") List<Long> articleIds);
 }
-
@@ -2,10 +2,63 @@ package com.contenthub.content.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.contenthub.content.domain.ArticleLike;
+import com.contenthub.content.domain.IdCount;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * 文章点赞Mapper
  */
 public interface ArticleLikeMapper extends BaseMapper<ArticleLike> {
+    
+    /**
+     * 批量写入点赞记录（已存在的记录忽略）
+     */
+    @Insert("<script>" +
+            "INSERT IGNORE INTO article_likes (article_id, user_id, created_at) VALUES " +
+            "<foreach collection='records' item='r' separator=','>" +
+            "(#{r.articleId}, #{r.userId}, #{r.createdAt})" +
+            "</foreach>" +
+            "</script>")
+    int batchInsertIgnore(@Param("records") List<ArticleLike> records);
+    
+    /**
+     * 按 (文章ID, 用户ID) 批量删除点赞记录
+     */
+    @Delete("<script>" +
+            "DELETE FROM article_likes WHERE (article_id, user_id) IN " +
+            "<foreach collection='records' item='r' open='(' separator=',' close=')'>" +
+            "(#{r.articleId}, #{r.userId})" +
+            "</foreach>" +
+            "</script>")
+    int batchDelete(@Param("records") List<ArticleLike> records);
+    
+    /**
+     * 查询并锁定给定 (文章ID, 用户ID) 中已存在的点赞记录（不存在的记录锁定索引间隙）
+     */
+    @Select("<script>" +
+            "SELECT article_id, user_id FROM article_likes WHERE (article_id, user_id) IN " +
+            "<foreach collection='records' item='r' open='(' separator=',' close=')'>" +
+            "(#{r.articleId}, #{r.userId})" +
+            "</foreach>" +
+            " FOR UPDATE" +
+            "</script>")
+    List<ArticleLike> selectExistingForUpdate(@Param("records") List<ArticleLike> records);
+    
+    /**
+     * 按文章分组统计点赞数
+     */
+    @Select("<script>" +
+            "SELECT article_id AS id, COUNT(*) AS count FROM article_likes " +
+            "WHERE article_id IN " +
+            "<foreach collection='articleIds' item='articleId' open='(' separator=',' close=')'>" +
+            "#{articleId}" +
+            "</foreach>" +
+            " GROUP BY article_id" +
+            "</script>")
+    List<IdCount> countGroupByArticleId(@Param("articleIds") List<Long> articleIds);
 }
-
@@ -2,9 +2,17 @@ package com.contenthub.content.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.contenthub.content.domain.Article;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 文章Mapper
  */
@@ -16,6 +24,22 @@ public interface ArticleMapper extends BaseMapper<Article> {
     @Update("UPDATE articles SET view_count = view_count + 1 WHERE id = #{articleId}")
     void incrementViewCount(@Param("articleId") Long articleId);
     
+    /**
+     * 批量累加浏览量（key: 文章ID, value: 增量）
+     */
+    @Update("<script>" +
+            "UPDATE articles SET view_count = view_count + CASE id " +
+            "<foreach collection='deltas' index='articleId' item='delta' separator=' '>" +
+            "WHEN #{articleId} THEN #{delta} " +
+            "</foreach>" +
+            "ELSE 0 END " +
+            "WHERE id IN " +
+            "<foreach collection='deltas' index='articleId' open='(' separator=',' close=')'>" +
+            "#{articleId}" +
+            "</foreach>" +
+            "</script>")
+    int batchIncrementViewCount(@Param("deltas") Map<Long, Long> deltas);
+    
     /**
      * 增加点赞数
      */
@@ -28,6 +52,22 @@ public interface ArticleMapper extends BaseMapper<Article> {
     @Update("UPDATE articles SET like_count = GREATEST(like_count - 1, 0) WHERE id = #{articleId}")
     void decrementLikeCount(@Param("articleId") Long articleId);
     
+    /**
+     * 批量调整点赞数（key: 文章ID, value: 增量，可为负数）
+     */
+    @Update("<script>" +
+            "UPDATE articles SET like_count = GREATEST(like_count + CASE id " +
+            "<foreach collection='deltas' index='articleId' item='delta' separator=' '>" +
+            "WHEN #{articleId} THEN #{delta} " +
+            "</foreach>" +
+            "ELSE 0 END, 0) " +
+            "WHERE id IN " +
+            "<foreach collection='deltas' index='articleId' open='(' separator=',' close=')'>" +
+            "#{articleId}" +
+            "</foreach>" +
+            "</script>")
+    int batchAddLikeCount(@Param("deltas") Map<Long, Long> deltas);
+    
     /**
      * 增加收藏数
      */
@@ -40,6 +80,30 @@ public interface ArticleMapper extends BaseMapper<Article> {
     @Update("UPDATE articles SET collect_count = GREATEST(collect_count - 1, 0) WHERE id = #{articleId}")
     void decrementCollectCount(@Param("articleId") Long articleId);
     
+    /**
+     * 批量调整收藏数（key: 文章ID, value: 增量，可为负数）
+     */
+    @Update("<script>" +
+            "UPDATE articles SET collect_count = GREATEST(collect_count + CASE id " +
+            "<foreach collection='deltas' index='articleId' item='delta' separator=' '>" +
+            "WHEN #{articleId} THEN #{delta} " +
+            "</foreach>" +
+            "ELSE 0 END, 0) " +
+            "WHERE id IN " +
+            "<foreach collection='deltas' index='articleId' open='(' separator=',' close=')'>" +
+            "#{articleId}" +
+            "</foreach>" +
+            "</script>")
+    int batchAddCollectCount(@Param("deltas") Map<Long, Long> deltas);
+    
+    /**
+     * 校正点赞数和收藏数
+     */
+    @Update("UPDATE articles SET like_count = #{likeCount}, collect_count = #{collectCount} WHERE id = #{articleId}")
+    void updateInteractionCount(@Param("articleId") Long articleId,
+                                @Param("likeCount") Long likeCount,
+                                @Param("collectCount") Long collectCount);
+    
     /**
      * 增加分享数
      */
@@ -57,5 +121,107 @@ public interface ArticleMapper extends BaseMapper<Article> {
      */
     @Update("UPDATE articles SET comment_count = GREATEST(comment_count - 1, 0) WHERE id = #{articleId}")
     void decrementCommentCount(@Param("articleId") Long articleId);
+    
+    /**
+     * 批量调整评论数（key: 文章ID, value: 增量，可为负数）
+     */
+    @Update("<script>" +
+            "UPDATE articles SET comment_count = GREATEST(comment_count + CASE id " +
+            "<foreach collection='deltas' index='articleId' item='delta' separator=' '>" +
+            "WHEN #{articleId} THEN #{delta} " +
+            "</foreach>" +
+            "ELSE 0 END, 0) " +
+            "WHERE id IN " +
+            "<foreach collection='deltas' index='articleId' open='(' separator=',' close=')'>" +
+            "#{articleId}" +
+            "</foreach>" +
+            "</script>")
+    int batchAddCommentCount(@Param("deltas") Map<Long, Long> deltas);
+    
+    /**
+     * 按评论服务统计的结果改写ID区间内文章的评论数（区间内未出现在 counts 中的文章评论数为0，只更新与实际不一致的文章）
+     * @param counts 文章ID -> 评论数
+     * @param skipIds 不改写的文章ID
+     * @return 被修正的文章数
+     */
+    @Update("<script>" +
+            "UPDATE articles SET comment_count = " +
+            "<choose><when test='counts.isEmpty()'>0</when><otherwise>" +
+            "CASE id " +
+            "<foreach collection='counts' index='articleId' item='count'>" +
+            "WHEN #{articleId} THEN #{count} " +
+            "</foreach>" +
+            "ELSE 0 END" +
+            "</otherwise></choose> " +
+            "WHERE id BETWEEN #{fromId} AND #{toId} AND comment_count &lt;&gt; " +
+            "<choose><when test='counts.isEmpty()'>0</when><otherwise>" +
+            "CASE id " +
+            "<foreach collection='counts' index='articleId' item='count'>" +
+            "WHEN #{articleId} THEN #{count} " +
+            "</foreach>" +
+            "ELSE 0 END" +
+            "</otherwise></choose>" +
+            "<if test='!skipIds.isEmpty()'>" +
+            " AND id NOT IN " +
+            "<foreach collection='skipIds' item='skipId' open='(' separator=',' close=')'>" +
+            "#{skipId}" +
+            "</foreach>" +
+            "</if>" +
+            "</script>")
+    int resetCommentCounts(@Param("fromId") Long fromId, @Param("toId") Long toId,
+                           @Param("counts") Map<Long, Long> counts,
+                           @Param("skipIds") Collection<Long> skipIds);
+    
+    /**
+     * 递增变更序号（包括已逻辑删除的文章）
+     */
+    @Update("UPDATE articles SET change_seq = change_seq + 1 WHERE id = #{articleId}")
+    void incrementChangeSeq(@Param("articleId") Long articleId);
+    
+    /**
+     * 查询变更序号（包括已逻辑删除的文章）
+     */
+    @Select("SELECT change_seq FROM articles WHERE id = #{articleId}")
+    Long selectChangeSeq(@Param("articleId") Long articleId);
+    
+    /**
+     * 导入插入：固定列（不随字段是否为空变化），同一批次的语句可被驱动合并为多行 INSERT
+     */
+    @Insert("INSERT INTO articles (user_id, category_id, title, slug, summary, cover_image, content, html_content, " +
+            "status, published_at, change_seq) VALUES (#{userId}, #{categoryId}, #{title}, #{slug}, #{summary}, " +
+            "#{coverImage}, #{content}, #{htmlContent}, #{status}, #{publishedAt}, #{changeSeq})")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insertForImport(Article article);
+    
+    /**
+     * 查询已被占用的别名（包括已逻辑删除的文章）
+     */
+    @Select("<script>" +
+            "SELECT slug FROM articles WHERE slug IN " +
+            "<foreach collection='slugs' item='slug' open='(' separator=',' close=')'>" +
+            "#{slug}" +
+            "</foreach>" +
+            "</script>")
+    List<String> selectExistingSlugs(@Param("slugs") Collection<String> slugs);
+    
+    /**
+     * 查询作者们游标 (published_at, id) 之后已发布的文章，按发布时间倒序（只取 ID 和发布时间）
+     * @param publishedAt 游标发布时间，为空时从最新开始
+     * @param lastId 游标文章ID
+     */
+    @Select("<script>" +
+            "SELECT id, published_at FROM articles WHERE user_id IN " +
+            "<foreach collection='authorIds' item='authorId' open='(' separator=',' close=')'>" +
+            "#{authorId}" +
+            "</foreach>" +
+            " AND status = 1 AND deleted = 0 AND published_at IS NOT NULL" +
+            "<if test='publishedAt != null'>" +
+            " AND (published_at &lt; #{publishedAt} OR (published_at = #{publishedAt} AND id &lt; #{lastId}))" +
+            "</if>" +
+            " ORDER BY published_at DESC, id DESC LIMIT #{limit}" +
+            "</script>")
+    List<Article> selectPublishedByAuthors(@Param("authorIds") Collection<Long> authorIds,
+                                           @Param("publishedAt") LocalDateTime publishedAt,
+                                           @Param("lastId") Long lastId,
+                                           @Param("limit") int limit);
 }
-
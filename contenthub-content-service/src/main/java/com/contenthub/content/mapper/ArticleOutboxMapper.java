@@ -0,0 +1,10 @@
+package com.contenthub.content.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.contenthub.content.domain.ArticleOutbox;
+
+/**
+ * 文章变更发件箱Mapper
+ */
+public interface ArticleOutboxMapper extends BaseMapper<ArticleOutbox> {
+}
@@ -2,10 +2,24 @@ package com.contenthub.content.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.contenthub.content.domain.ArticleTag;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 文章标签关联Mapper
  */
 public interface ArticleTagMapper extends BaseMapper<ArticleTag> {
+    
+    /**
+     * 批量插入关联（一条多行 INSERT）
+     */
+    @Insert("<script>" +
+            "INSERT INTO article_tags (article_id, tag_id) VALUES " +
+            "<foreach collection='articleTags' item='item' separator=','>" +
+            "(#{item.articleId}, #{item.tagId})" +
+            "</foreach>" +
+            "</script>")
+    int batchInsert(@Param("articleTags") List<ArticleTag> articleTags);
 }
-
@@ -3,8 +3,12 @@ package com.contenthub.content.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.contenthub.content.domain.Tag;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * 标签Mapper
  */
@@ -21,5 +25,37 @@ public interface TagMapper extends BaseMapper<Tag> {
      */
     @Update("UPDATE tags SET article_count = GREATEST(article_count - 1, 0) WHERE id = #{tagId}")
     void decrementArticleCount(@Param("tagId") Long tagId);
+    
+    /**
+     * 批量累加文章数量（key: 标签ID, value: 增量）
+     */
+    @Update("<script>" +
+            "UPDATE tags SET article_count = GREATEST(article_count + CASE id " +
+            "<foreach collection='deltas' index='tagId' item='delta' separator=' '>" +
+            "WHEN #{tagId} THEN #{delta} " +
+            "</foreach>" +
+            "ELSE 0 END, 0) " +
+            "WHERE id IN " +
+            "<foreach collection='deltas' index='tagId' open='(' separator=',' close=')'>" +
+            "#{tagId}" +
+            "</foreach>" +
+            "</script>")
+    int batchAddArticleCount(@Param("deltas") Map<Long, Long> deltas);
+    
+    /**
+     * 按主键游标取一段标签ID（文章数校准分段使用）
+     */
+    @Select("SELECT id FROM tags WHERE id > #{lastId} ORDER BY id LIMIT #{limit}")
+    List<Long> selectIdsAfter(@Param("lastId") Long lastId, @Param("limit") int limit);
+    
+    /**
+     * 按关联表重算ID区间内标签的文章数量（只更新与实际不一致的标签）
+     * @return 被修正的标签数
+     */
+    @Update("UPDATE tags t " +
+            "LEFT JOIN (SELECT tag_id, COUNT(*) AS cnt FROM article_tags " +
+            "           WHERE tag_id BETWEEN #{fromId} AND #{toId} GROUP BY tag_id) c ON c.tag_id = t.id " +
+            "SET t.article_count = IFNULL(c.cnt, 0) " +
+            "WHERE t.id BETWEEN #{fromId} AND #{toId} AND t.article_count <> IFNULL(c.cnt, 0)")
+    int recountArticleCount(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
-
@@ -0,0 +1,73 @@
+package com.contenthub.content.markdown;
+
+import cn.hutool.core.util.StrUtil;
+import org.commonmark.Extension;
+import org.commonmark.ext.autolink.AutolinkExtension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.ext.task.list.items.TaskListItemsExtension;
+import org.commonmark.node.Link;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Markdown 渲染器（CommonMark + GFM 表格、删除线、任务列表、自动链接）
+ *
+ * Parser 和 HtmlRenderer 不可变且线程安全，启动时构建一次后复用。
+ * 原文中的 HTML 一律转义输出，javascript: 等非常规协议的链接会被清除，
+ * 外部链接附加 rel="nofollow noopener"。
+ */
+@Component
+public class MarkdownRenderer {
+
+    private static final List<Extension> EXTENSIONS = List.of(
+            TablesExtension.create(),
+            StrikethroughExtension.create(),
+            TaskListItemsExtension.create(),
+            AutolinkExtension.create());
+
+    private final Parser parser = Parser.builder()
+            .extensions(EXTENSIONS)
+            .build();
+
+    private final HtmlRenderer renderer = HtmlRenderer.builder()
+            .extensions(EXTENSIONS)
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                if (node instanceof Link) {
+                    attributes.put("rel", "nofollow noopener");
+                }
+            })
+            .build();
+
+    /**
+     * 渲染为 HTML
+     */
+    public String render(String markdown) {
+        if (StrUtil.isBlank(markdown)) {
+            return "";
+        }
+        // HTML 通常比原文略长，预留空间避免扩容复制
+        StringBuilder html = new StringBuilder(markdown.length() + (markdown.length() >> 2));
+        renderer.render(parser.parse(markdown), html);
+        return html.toString();
+    }
+
+    /**
+     * 从 Reader 读取并渲染到 Appendable（导入等大文档场景，无需先拼接完整字符串）
+     */
+    public void render(Reader markdown, Appendable html) {
+        try {
+            renderer.render(parser.parseReader(markdown), html);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.contenthub.content.outbox;
+
+/**
+ * 文章变更类型
+ */
+public enum ArticleChangeType {
+
+    /**
+     * 新增或更新（已发布文章需要写入搜索索引）
+     */
+    UPSERT,
+
+    /**
+     * 删除或下架（需要从搜索索引移除）
+     */
+    DELETE
+}
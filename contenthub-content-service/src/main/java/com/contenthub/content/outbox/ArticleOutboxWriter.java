@@ -0,0 +1,47 @@
+package com.contenthub.content.outbox;
+
+import com.contenthub.content.domain.ArticleOutbox;
+import com.contenthub.content.mapper.ArticleMapper;
+import com.contenthub.content.mapper.ArticleOutboxMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章变更发件箱写入
+ *
+ * 必须在修改文章的事务中调用：递增文章的变更序号并写入一条发件箱记录，
+ * 与文章变更一起提交或回滚，由 {@link SearchIndexRelay} 异步转发给搜索服务。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleOutboxWriter {
+
+    private final ArticleMapper articleMapper;
+    private final ArticleOutboxMapper articleOutboxMapper;
+
+    /**
+     * 记录文章变更
+     *
+     * 文章行在本事务中已被修改（持有行锁），同一文章的变更序号严格递增。
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long articleId, ArticleChangeType type) {
+        articleMapper.incrementChangeSeq(articleId);
+        Long changeSeq = articleMapper.selectChangeSeq(articleId);
+
+        ArticleOutbox outbox = new ArticleOutbox();
+        outbox.setArticleId(articleId);
+        outbox.setChangeSeq(changeSeq);
+        outbox.setEventType(type.name());
+        outbox.setCreatedAt(LocalDateTime.now());
+        articleOutboxMapper.insert(outbox);
+
+        log.debug("记录文章变更: articleId={}, changeSeq={}, type={}", articleId, changeSeq, type);
+    }
+}
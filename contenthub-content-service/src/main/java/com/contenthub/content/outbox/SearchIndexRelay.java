@@ -0,0 +1,143 @@
+package com.contenthub.content.outbox;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.contenthub.common.result.Result;
+import com.contenthub.content.domain.ArticleOutbox;
+import com.contenthub.content.feign.SearchServiceClient;
+import com.contenthub.content.mapper.ArticleOutboxMapper;
+import com.contenthub.content.service.ArticleService;
+import com.contenthub.content.vo.ArticleIndexBatchVO;
+import com.contenthub.content.vo.ArticleIndexVO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 搜索索引同步（发件箱转发）
+ *
+ * 定时按ID顺序读取发件箱中最早的一批记录，同一文章只取最大变更序号，
+ * 读取文章当前状态后整批发送给搜索服务：已发布的文章携带当前数据和变更序号写入，
+ * 已下架或已删除的文章按变更序号移除。发送成功后删除这批记录，失败则保留等待下次重试。
+ * 搜索服务按变更序号丢弃旧版本，重复发送或多实例同时转发都不会覆盖新数据。
+ */
+@Slf4j
+@Component
+public class SearchIndexRelay {
+
+    private final ArticleOutboxMapper articleOutboxMapper;
+    private final ArticleService articleService;
+    private final SearchServiceClient searchServiceClient;
+
+    /**
+     * 每批读取的发件箱记录数
+     */
+    private final int batchSize;
+
+    /**
+     * 最早一条未转发记录的等待时间（秒），每次转发后更新
+     */
+    private volatile long lagSeconds;
+
+    private final Counter relayedCounter;
+    private final Counter failedCounter;
+
+    public SearchIndexRelay(ArticleOutboxMapper articleOutboxMapper,
+                            ArticleService articleService,
+                            SearchServiceClient searchServiceClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${content.search-relay.batch-size:200}") int batchSize) {
+        this.articleOutboxMapper = articleOutboxMapper;
+        this.articleService = articleService;
+        this.searchServiceClient = searchServiceClient;
+        this.batchSize = batchSize;
+
+        Gauge.builder("content.search.outbox.pending", articleOutboxMapper, mapper -> mapper.selectCount(null))
+                .description("尚未同步到搜索索引的文章变更数")
+                .register(meterRegistry);
+        Gauge.builder("content.search.outbox.lag", this, relay -> relay.lagSeconds)
+                .description("最早一条未同步变更的等待时间（秒）")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.relayedCounter = Counter.builder("content.search.outbox.relayed")
+                .description("已同步到搜索索引的文章变更数")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("content.search.outbox.failed")
+                .description("同步失败次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 定时转发
+     */
+    @Scheduled(fixedDelayString = "${content.search-relay.interval-ms:1000}")
+    public void scheduledRelay() {
+        // 一次最多连续转发若干批，避免积压时单次任务占用过久
+        for (int i = 0; i < 10; i++) {
+            if (!relay()) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 转发一批变更
+     * @return 是否读满一批（可能还有剩余记录）
+     */
+    public synchronized boolean relay() {
+        // 1. 读取最早的一批记录
+        LambdaQueryWrapper<ArticleOutbox> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.orderByAsc(ArticleOutbox::getId)
+                   .last("LIMIT " + batchSize);
+        List<ArticleOutbox> records = articleOutboxMapper.selectList(queryWrapper);
+        if (records.isEmpty()) {
+            lagSeconds = 0;
+            return false;
+        }
+        lagSeconds = Math.max(0, Duration.between(records.get(0).getCreatedAt(), LocalDateTime.now()).getSeconds());
+
+        // 2. 同一文章只保留最大变更序号
+        Map<Long, Long> latestSeq = new HashMap<>();
+        for (ArticleOutbox record : records) {
+            latestSeq.merge(record.getArticleId(), record.getChangeSeq(), Math::max);
+        }
+
+        // 3. 按文章当前状态组装批次：已发布的写入，其余移除
+        ArticleIndexBatchVO batch = new ArticleIndexBatchVO();
+        try {
+            List<ArticleIndexVO> published = articleService.getPublishedArticlesForIndex(latestSeq.keySet());
+            batch.setUpserts(published);
+            Map<Long, Long> deletes = new HashMap<>(latestSeq);
+            published.forEach(article -> deletes.remove(article.getId()));
+            batch.setDeletes(deletes);
+
+            // 4. 发送给搜索服务
+            Result<String> result = searchServiceClient.applyIndexBatch(batch);
+            if (result == null || result.getCode() != 200) {
+                throw new IllegalStateException(result != null ? result.getMessage() : "无响应");
+            }
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.error("同步搜索索引失败，等待下次重试: records={}, error={}", records.size(), e.getMessage());
+            return false;
+        }
+
+        // 5. 删除已转发的记录
+        List<Long> ids = records.stream().map(ArticleOutbox::getId).collect(Collectors.toList());
+        articleOutboxMapper.deleteBatchIds(ids);
+        relayedCounter.increment(records.size());
+        log.debug("同步搜索索引完成: records={}, upserts={}, deletes={}",
+                records.size(), batch.getUpserts().size(), batch.getDeletes().size());
+        return records.size() >= batchSize;
+    }
+}
@@ -0,0 +1,490 @@
+package com.contenthub.content.ranking;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.contenthub.content.config.HotRankingProperties;
+import com.contenthub.content.domain.Article;
+import com.contenthub.content.domain.Category;
+import com.contenthub.content.mapper.ArticleMapper;
+import com.contenthub.content.mapper.CategoryMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 文章热门排行
+ *
+ * 全站排行 article:hot 和分类排行 article:hot:category:{categoryId} 均为 Redis 有序集合，
+ * 浏览、点赞、收藏、评论、分享事件按权重增量累加（ZINCRBY），列表直接按 ZREVRANGE 分页读取。
+ *
+ * 时间衰减：事件 t 的贡献为 weight × 2^((t - epoch) / halfLife)，即越新的事件贡献越大，
+ * 相当于所有旧分数每经过一个半衰期减半，但无需定时改写全部分数。
+ * epoch 保存在 article:hot:epoch，每次重建时重置，避免指数过大。
+ *
+ * 增量累加也会创建排行 key，因此只有完整重建后写入的 article:hot:built 才表示排行可用；
+ * 标记缺失时（首次部署、Redis 数据丢失）查询回退到数据库排序，并在后台触发重建。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotRankingService {
+
+    /**
+     * 全站排行 key
+     */
+    public static final String HOT_KEY = "article:hot";
+
+    /**
+     * 分类排行 key 前缀
+     */
+    public static final String HOT_CATEGORY_KEY_PREFIX = "article:hot:category:";
+
+    /**
+     * 衰减基准时间（毫秒）
+     */
+    private static final String EPOCH_KEY = "article:hot:epoch";
+
+    /**
+     * 完整重建完成标记（值为重建时的 epoch）
+     */
+    private static final String BUILT_KEY = "article:hot:built";
+
+    /**
+     * 重建锁，多实例只有一个执行重建
+     */
+    private static final String REBUILD_LOCK_KEY = "article:hot:rebuild:lock";
+
+    /**
+     * 重建时的临时 key 后缀
+     */
+    private static final String REBUILD_SUFFIX = ":rebuild";
+
+    /**
+     * 重建时每批读取的文章数
+     */
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ArticleMapper articleMapper;
+    private final CategoryMapper categoryMapper;
+    private final HotRankingProperties properties;
+
+    // ==================== 事件 ====================
+
+    /**
+     * 记录浏览量（文章ID -> 增量）
+     */
+    public void recordViews(Map<Long, Long> deltas) {
+        record(deltas, properties.getViewWeight());
+    }
+
+    /**
+     * 记录点赞数变化（取消点赞不扣减热度）
+     */
+    public void recordLikes(Map<Long, Long> deltas) {
+        record(deltas, properties.getLikeWeight());
+    }
+
+    /**
+     * 记录收藏数变化（取消收藏不扣减热度）
+     */
+    public void recordCollects(Map<Long, Long> deltas) {
+        record(deltas, properties.getCollectWeight());
+    }
+
+    /**
+     * 记录评论数变化（删除评论不扣减热度）
+     */
+    public void recordComments(Map<Long, Long> deltas) {
+        record(deltas, properties.getCommentWeight());
+    }
+
+    /**
+     * 记录一次分享
+     */
+    public void recordShare(Long articleId) {
+        record(Collections.singletonMap(articleId, 1L), properties.getShareWeight());
+    }
+
+    /**
+     * 文章发布状态或分类变化后同步排行（事务中调用时在提交后执行）
+     *
+     * @param article 变更后的文章
+     * @param previousCategoryId 变更前的分类ID
+     */
+    public void sync(Article article, Long previousCategoryId) {
+        afterCommit(() -> doSync(article, previousCategoryId));
+    }
+
+    /**
+     * 从排行中移除文章（下架、删除）
+     */
+    public void remove(Long articleId, Long categoryId) {
+        afterCommit(() -> {
+            try {
+                stringRedisTemplate.opsForZSet().remove(HOT_KEY, String.valueOf(articleId));
+                if (categoryId != null) {
+                    stringRedisTemplate.opsForZSet().remove(categoryKey(categoryId), String.valueOf(articleId));
+                }
+            } catch (Exception e) {
+                log.warn("移除热门排行失败: articleId={}, error={}", articleId, e.getMessage());
+            }
+        });
+    }
+
+    // ==================== 查询 ====================
+
+    /**
+     * 分页读取热门文章ID
+     *
+     * @param categoryId 分类ID，为空时读取全站排行
+     * @return 按热度降序的文章ID；排行尚未完整重建时返回 null，由调用方回退到数据库排序
+     */
+    public List<Long> getHotArticleIds(Long categoryId, long offset, int count) {
+        String key = categoryId != null ? categoryKey(categoryId) : HOT_KEY;
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(BUILT_KEY))) {
+                return null;
+            }
+            Set<String> members = stringRedisTemplate.opsForZSet().reverseRange(key, offset, offset + count - 1);
+            if (members == null) {
+                return Collections.emptyList();
+            }
+            return members.stream().map(Long::valueOf).collect(Collectors.toList());
+        } catch (Exception e) {
+            log.warn("读取热门排行失败: key={}, error={}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    // ==================== 重建 ====================
+
+    /**
+     * 启动时排行未建立（首次部署或 Redis 数据丢失）则在后台重建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread thread = new Thread(this::ensureBuilt, "hot-ranking-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 定时检查重建标记，运行期间 Redis 数据丢失时补建
+     */
+    @Scheduled(fixedDelayString = "${content.hot-ranking.check-interval-ms:60000}",
+               initialDelayString = "${content.hot-ranking.check-interval-ms:60000}")
+    public void ensureBuilt() {
+        try {
+            if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(BUILT_KEY))) {
+                return;
+            }
+            log.info("热门排行尚未完整重建，开始重建");
+            rebuild();
+        } catch (Exception e) {
+            log.error("补建热门排行失败，查询继续回退到数据库排序: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 定时重建（重置衰减基准，修正增量累计的偏差）
+     */
+    @Scheduled(cron = "${content.hot-ranking.rebuild-cron:0 0 4 ? * MON}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * 根据 articles 表重建热门排行
+     *
+     * 没有逐条事件时间，计数按发布时间计入：score = (发布权重 + Σ计数×权重) × 2^((publishedAt - epoch) / halfLife)。
+     * 先写入临时 key，完成后 RENAME 替换；重建期间产生的少量增量会被覆盖。
+     *
+     * @return 是否执行了重建（其他实例正在重建时返回 false）
+     */
+    public boolean rebuild() {
+        Boolean locked = stringRedisTemplate.opsForValue()
+                .setIfAbsent(REBUILD_LOCK_KEY, "1", 30, TimeUnit.MINUTES);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("热门排行正在其他实例重建，跳过");
+            return false;
+        }
+        try {
+            doRebuild();
+            return true;
+        } finally {
+            stringRedisTemplate.delete(REBUILD_LOCK_KEY);
+        }
+    }
+
+    private void doRebuild() {
+        long startTime = System.currentTimeMillis();
+        long epoch = startTime;
+        log.info("开始重建热门排行: epoch={}", epoch);
+
+        // 1. 清理上次中断残留的临时 key
+        List<Long> categoryIds = categoryMapper.selectList(
+                        new LambdaQueryWrapper<Category>().select(Category::getId)).stream()
+                .map(Category::getId)
+                .collect(Collectors.toList());
+        List<String> tempKeys = new ArrayList<>();
+        tempKeys.add(HOT_KEY + REBUILD_SUFFIX);
+        categoryIds.forEach(categoryId -> tempKeys.add(categoryKey(categoryId) + REBUILD_SUFFIX));
+        stringRedisTemplate.delete(tempKeys);
+
+        // 2. 按主键游标分批计算已发布文章的分数，写入临时 key
+        Set<Long> touchedCategories = new HashSet<>();
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            LambdaQueryWrapper<Article> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.select(Article::getId, Article::getCategoryId, Article::getPublishedAt,
+                            Article::getViewCount, Article::getLikeCount, Article::getCollectCount,
+                            Article::getCommentCount, Article::getShareCount)
+                       .eq(Article::getStatus, 1)
+                       .gt(Article::getId, lastId)
+                       .orderByAsc(Article::getId)
+                       .last("LIMIT " + REBUILD_BATCH_SIZE);
+            List<Article> articles = articleMapper.selectList(queryWrapper);
+            if (articles.isEmpty()) {
+                break;
+            }
+            lastId = articles.get(articles.size() - 1).getId();
+            total += articles.size();
+
+            Map<String, Map<Long, Double>> scoresByKey = new HashMap<>();
+            for (Article article : articles) {
+                double score = baseScore(article) * decayFactor(publishedMillis(article), epoch);
+                scoresByKey.computeIfAbsent(HOT_KEY + REBUILD_SUFFIX, k -> new HashMap<>())
+                        .put(article.getId(), score);
+                if (article.getCategoryId() != null) {
+                    touchedCategories.add(article.getCategoryId());
+                    scoresByKey.computeIfAbsent(categoryKey(article.getCategoryId()) + REBUILD_SUFFIX,
+                            k -> new HashMap<>()).put(article.getId(), score);
+                }
+            }
+            writeScores(scoresByKey, false);
+        }
+
+        // 3. 替换正式 key 并更新衰减基准
+        stringRedisTemplate.opsForValue().set(EPOCH_KEY, String.valueOf(epoch));
+        replace(HOT_KEY + REBUILD_SUFFIX, HOT_KEY);
+        for (Long categoryId : categoryIds) {
+            String key = categoryKey(categoryId);
+            if (touchedCategories.contains(categoryId)) {
+                replace(key + REBUILD_SUFFIX, key);
+            } else {
+                stringRedisTemplate.delete(key);
+            }
+        }
+
+        // 4. 全部替换后才写入完成标记，查询从此读取排行
+        stringRedisTemplate.opsForValue().set(BUILT_KEY, String.valueOf(epoch));
+
+        log.info("热门排行重建完成: articles={}, categories={}, cost={}ms",
+                total, touchedCategories.size(), System.currentTimeMillis() - startTime);
+    }
+
+    // ==================== 私有方法 ====================
+
+    /**
+     * 按权重累加一批文章的热度（事务中调用时在提交后执行）
+     */
+    private void record(Map<Long, Long> deltas, double weight) {
+        Map<Long, Double> increments = new HashMap<>();
+        deltas.forEach((articleId, delta) -> {
+            if (delta != null && delta > 0) {
+                increments.put(articleId, delta * weight);
+            }
+        });
+        if (increments.isEmpty() || weight <= 0) {
+            return;
+        }
+        afterCommit(() -> increment(increments));
+    }
+
+    /**
+     * 累加热度：只计入已发布的文章，同时写入全站排行和分类排行
+     */
+    private void increment(Map<Long, Double> increments) {
+        try {
+            // 1. 查询文章状态和分类（只取需要的列）
+            LambdaQueryWrapper<Article> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.select(Article::getId, Article::getCategoryId, Article::getStatus)
+                       .in(Article::getId, increments.keySet());
+            List<Article> articles = articleMapper.selectList(queryWrapper);
+
+            // 2. 按当前时间计算衰减后的增量
+            double factor = decayFactor(System.currentTimeMillis(), getEpoch());
+            Map<String, Map<Long, Double>> incrementsByKey = new HashMap<>();
+            for (Article article : articles) {
+                if (article.getStatus() == null || article.getStatus() != 1) {
+                    continue;
+                }
+                double increment = increments.get(article.getId()) * factor;
+                incrementsByKey.computeIfAbsent(HOT_KEY, k -> new HashMap<>())
+                        .put(article.getId(), increment);
+                if (article.getCategoryId() != null) {
+                    incrementsByKey.computeIfAbsent(categoryKey(article.getCategoryId()), k -> new HashMap<>())
+                            .put(article.getId(), increment);
+                }
+            }
+
+            // 3. 一次 pipeline 写入并裁剪
+            writeScores(incrementsByKey, true);
+        } catch (Exception e) {
+            // 热度更新失败不影响主流程，定时重建会修正
+            log.warn("更新热门排行失败: articles={}, error={}", increments.size(), e.getMessage());
+        }
+    }
+
+    private void doSync(Article article, Long previousCategoryId) {
+        String member = String.valueOf(article.getId());
+        try {
+            // 1. 非发布状态：移出排行
+            if (article.getStatus() == null || article.getStatus() != 1) {
+                stringRedisTemplate.opsForZSet().remove(HOT_KEY, member);
+                if (previousCategoryId != null) {
+                    stringRedisTemplate.opsForZSet().remove(categoryKey(previousCategoryId), member);
+                }
+                if (article.getCategoryId() != null) {
+                    stringRedisTemplate.opsForZSet().remove(categoryKey(article.getCategoryId()), member);
+                }
+                return;
+            }
+
+            // 2. 新发布：以发布权重进入排行
+            Double score = stringRedisTemplate.opsForZSet().score(HOT_KEY, member);
+            if (score == null) {
+                increment(Collections.singletonMap(article.getId(), properties.getPublishWeight()));
+                return;
+            }
+
+            // 3. 分类变化：分数迁移到新分类
+            if (!Objects.equals(previousCategoryId, article.getCategoryId())) {
+                if (previousCategoryId != null) {
+                    stringRedisTemplate.opsForZSet().remove(categoryKey(previousCategoryId), member);
+                }
+                if (article.getCategoryId() != null) {
+                    stringRedisTemplate.opsForZSet().add(categoryKey(article.getCategoryId()), member, score);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("同步热门排行失败: articleId={}, error={}", article.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 一次 pipeline 写入分数并裁剪到最大长度
+     *
+     * @param incr true 为累加（ZINCRBY），false 为覆盖（ZADD）
+     */
+    private void writeScores(Map<String, Map<Long, Double>> scoresByKey, boolean incr) {
+        if (scoresByKey.isEmpty()) {
+            return;
+        }
+        int maxSize = properties.getMaxSize();
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            scoresByKey.forEach((key, scores) -> {
+                byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                scores.forEach((articleId, score) -> {
+                    byte[] rawMember = String.valueOf(articleId).getBytes(StandardCharsets.UTF_8);
+                    if (incr) {
+                        connection.zSetCommands().zIncrBy(rawKey, score, rawMember);
+                    } else {
+                        connection.zSetCommands().zAdd(rawKey, score, rawMember);
+                    }
+                });
+                connection.zSetCommands().zRemRange(rawKey, 0, -(maxSize + 1L));
+            });
+            return null;
+        });
+    }
+
+    /**
+     * 用临时 key 替换正式 key（临时 key 不存在时删除正式 key）
+     */
+    private void replace(String tempKey, String key) {
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(tempKey))) {
+            stringRedisTemplate.rename(tempKey, key);
+        } else {
+            stringRedisTemplate.delete(key);
+        }
+    }
+
+    /**
+     * 读取衰减基准，不存在时以当前时间初始化
+     */
+    private long getEpoch() {
+        String epoch = stringRedisTemplate.opsForValue().get(EPOCH_KEY);
+        if (epoch == null) {
+            String now = String.valueOf(System.currentTimeMillis());
+            stringRedisTemplate.opsForValue().setIfAbsent(EPOCH_KEY, now);
+            epoch = stringRedisTemplate.opsForValue().get(EPOCH_KEY);
+        }
+        return epoch != null ? Long.parseLong(epoch) : System.currentTimeMillis();
+    }
+
+    /**
+     * 衰减系数：2^((eventTime - epoch) / halfLife)
+     */
+    private double decayFactor(long eventMillis, long epochMillis) {
+        double halfLifeMillis = properties.getHalfLifeHours() * TimeUnit.HOURS.toMillis(1);
+        return Math.pow(2, (eventMillis - epochMillis) / halfLifeMillis);
+    }
+
+    /**
+     * 文章累计计数对应的未衰减分数
+     */
+    private double baseScore(Article article) {
+        return properties.getPublishWeight()
+                + nullToZero(article.getViewCount()) * properties.getViewWeight()
+                + nullToZero(article.getLikeCount()) * properties.getLikeWeight()
+                + nullToZero(article.getCollectCount()) * properties.getCollectWeight()
+                + nullToZero(article.getCommentCount()) * properties.getCommentWeight()
+                + nullToZero(article.getShareCount()) * properties.getShareWeight();
+    }
+
+    private long publishedMillis(Article article) {
+        if (article.getPublishedAt() == null) {
+            return System.currentTimeMillis();
+        }
+        return article.getPublishedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long nullToZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static String categoryKey(Long categoryId) {
+        return HOT_CATEGORY_KEY_PREFIX + categoryId;
+    }
+
+    /**
+     * 在事务提交后执行（不在事务中时立即执行）
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.contenthub.content.service;
 
+import com.contenthub.common.result.CursorPage;
 import com.contenthub.content.dto.CreateArticleDTO;
 import com.contenthub.content.dto.UpdateArticleDTO;
+import com.contenthub.content.vo.ArticleIndexVO;
 import com.contenthub.content.vo.ArticleVO;
+import com.contenthub.content.vo.ImportResultVO;
 
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 文章服务接口
@@ -55,7 +61,7 @@ public interface ArticleService {
      * @param tagId 标签ID（可选）
      * @param keyword 关键词（搜索标题和摘要）
      * @param status 状态（0-草稿，1-已发布，2-审核中）
-     * @param sortBy 排序方式（latest-最新，hot-热门，likes-点赞数，views-浏览量）
+     * @param sortBy 排序方式（latest-最新，hot-热门（读取预计算的热门排行），likes-点赞数，views-浏览量）
      * @param page 页码
      * @param size 每页数量
      * @param currentUserId 当前用户ID（用于判断是否已点赞、收藏）
@@ -65,6 +71,28 @@ public interface ArticleService {
                                    Integer status, String sortBy, Integer page, 
                                    Integer size, Long currentUserId);
     
+    /**
+     * 游标分页获取已发布文章列表（按置顶、发布时间倒序，不执行 COUNT 查询）
+     * @param categoryId 分类ID
+     * @param tagId 标签ID
+     * @param keyword 关键词（搜索标题和摘要）
+     * @param cursor 游标（首页为空）
+     * @param size 每页数量
+     * @param currentUserId 当前用户ID（用于判断是否已点赞、收藏）
+     * @return 文章列表及下一页游标
+     */
+    CursorPage<ArticleVO> getArticleListByCursor(Long categoryId, Long tagId, String keyword,
+                                                String cursor, Integer size, Long currentUserId);
+    
+    /**
+     * 游标分页获取关注动态（关注的作者发布的文章，按发布时间倒序）
+     * @param userId 当前用户ID
+     * @param cursor 游标（首页为空）
+     * @param size 每页数量
+     * @return 文章列表及下一页游标
+     */
+    CursorPage<ArticleVO> getFeed(Long userId, String cursor, Integer size);
+    
     /**
      * 获取我的文章列表（草稿箱）
      * @param userId 用户ID
@@ -152,5 +180,57 @@ public interface ArticleService {
      * @param userId 用户ID（用于验证是否为管理员）
      */
     void updateArticleStatus(Long articleId, Integer status, Long userId);
+    
+    /**
+     * 根据文章表重建热门排行（管理员功能）
+     * @param userId 用户ID（用于验证是否为管理员）
+     */
+    void rebuildHotRanking(Long userId);
+    
+    /**
+     * 批量导入文章（管理员功能，NDJSON 每行一篇）
+     * @param userId 用户ID（用于验证是否为管理员，未指定作者的文章归属该用户）
+     * @param input NDJSON 输入流
+     * @param offset 跳过的行数（续传）
+     * @return 导入结果
+     */
+    ImportResultVO importArticles(Long userId, InputStream input, long offset);
+    
+    /**
+     * 按主键游标导出已发布文章的索引数据（供搜索服务重建索引）
+     * @param lastId 上一批最后一篇文章ID（首批传0）
+     * @param size 每批数量
+     * @return 文章索引数据（按ID升序）
+     */
+    List<ArticleIndexVO> getArticlesForIndex(Long lastId, Integer size);
+    
+    /**
+     * 查询指定文章中已发布文章的索引数据（未发布或已删除的文章不返回）
+     * @param articleIds 文章ID集合
+     * @return 文章索引数据
+     */
+    List<ArticleIndexVO> getPublishedArticlesForIndex(Collection<Long> articleIds);
+    
+    /**
+     * 批量调整文章评论数（评论服务汇总评论的新增和删除后调用）
+     * @param deltas 文章ID -> 评论数增量（可为负数）
+     */
+    void applyCommentCountDeltas(Map<Long, Long> deltas);
+    
+    /**
+     * 获取文章评论数计数（供评论服务查询，文章不存在返回0）
+     * @param articleId 文章ID
+     * @return 评论数
+     */
+    Long getCommentCount(Long articleId);
+    
+    /**
+     * 按评论服务统计的结果校准ID区间内文章的评论数（评论服务定时校准时调用）
+     * @param fromId 起始文章ID（含）
+     * @param toId 结束文章ID（含）
+     * @param counts 文章ID -> 评论数（区间内未出现的文章评论数为0）
+     * @param skipIds 本次不校准的文章ID（评论刚变更、可能还有未写回的增量）
+     * @return 被修正的文章数
+     */
+    int resetCommentCounts(Long fromId, Long toId, Map<Long, Long> counts, Collection<Long> skipIds);
 }
-
@@ -5,18 +5,37 @@ import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.contenthub.common.client.BlockedUserFetcher;
+import com.contenthub.common.client.UserInfoFetcher;
 import com.contenthub.common.exception.BusinessException;
+import com.contenthub.common.result.CursorPage;
 import com.contenthub.common.result.Result;
+import com.contenthub.common.utils.CursorUtils;
+import com.contenthub.common.utils.TextUtils;
+import com.contenthub.content.cache.ArticleDetailCache;
+import com.contenthub.content.counter.ViewCountBuffer;
+import com.contenthub.content.dictionary.ContentDictionary;
 import com.contenthub.content.domain.*;
 import com.contenthub.content.dto.CreateArticleDTO;
 import com.contenthub.content.dto.UpdateArticleDTO;
 import com.contenthub.content.feign.CommentServiceClient;
 import com.contenthub.content.feign.FileServiceClient;
 import com.contenthub.content.feign.UserServiceClient;
+import com.contenthub.content.importer.ArticleImporter;
+import com.contenthub.content.interaction.ArticleInteractionStore;
+import com.contenthub.content.interaction.InteractionType;
 import com.contenthub.content.mapper.*;
+import com.contenthub.content.markdown.MarkdownRenderer;
+import com.contenthub.content.outbox.ArticleChangeType;
+import com.contenthub.content.outbox.ArticleOutboxWriter;
+import com.contenthub.content.ranking.HotRankingService;
 import com.contenthub.content.service.ArticleService;
+import com.contenthub.content.slug.SlugAllocator;
+import com.contenthub.content.timeline.TimelineService;
+import com.contenthub.content.vo.ArticleIndexVO;
 import com.contenthub.content.vo.ArticleVO;
 import com.contenthub.content.vo.CategoryVO;
+import com.contenthub.content.vo.ImportResultVO;
 import com.contenthub.content.vo.TagVO;
 import com.contenthub.user.vo.UserInfoVO;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +43,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -36,15 +56,41 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ArticleServiceImpl implements ArticleService {
     
+    /**
+     * 文章别名最大长度（与 articles.slug 一致）
+     */
+    private static final int ARTICLE_SLUG_MAX_LENGTH = 200;
+    
+    /**
+     * 自动生成摘要的最大长度
+     */
+    private static final int SUMMARY_MAX_LENGTH = 200;
+    
+    /**
+     * 标签筛选子查询（关联主表 articles，{0} 为标签ID）
+     */
+    private static final String TAG_FILTER_SQL =
+            "SELECT 1 FROM article_tags t WHERE t.article_id = articles.id AND t.tag_id = {0}";
+    
     private final ArticleMapper articleMapper;
     private final CategoryMapper categoryMapper;
     private final TagMapper tagMapper;
     private final ArticleTagMapper articleTagMapper;
-    private final ArticleLikeMapper articleLikeMapper;
-    private final ArticleCollectionMapper articleCollectionMapper;
     private final UserServiceClient userServiceClient;
+    private final UserInfoFetcher<UserInfoVO> userInfoFetcher;
+    private final BlockedUserFetcher blockedUserFetcher;
     private final CommentServiceClient commentServiceClient;
     private final FileServiceClient fileServiceClient;
+    private final ViewCountBuffer viewCountBuffer;
+    private final ArticleInteractionStore articleInteractionStore;
+    private final HotRankingService hotRankingService;
+    private final ArticleOutboxWriter articleOutboxWriter;
+    private final MarkdownRenderer markdownRenderer;
+    private final ArticleDetailCache articleDetailCache;
+    private final ContentDictionary contentDictionary;
+    private final SlugAllocator slugAllocator;
+    private final ArticleImporter articleImporter;
+    private final TimelineService timelineService;
     
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -65,37 +111,13 @@ public class ArticleServiceImpl implements ArticleService {
             }
         }
         
-        // 3. 生成slug（如果没有提供）
-        String slug = createArticleDTO.getTitle();
-        if (StrUtil.isNotBlank(slug)) {
-            // 简单的slug生成（可以后续优化）
-            slug = slug.toLowerCase()
-                    .replaceAll("[^a-z0-9\\u4e00-\\u9fa5]", "-")
-                    .replaceAll("-+", "-")
-                    .replaceAll("^-|-$", "");
-            if (slug.length() > 200) {
-                slug = slug.substring(0, 200);
-            }
-        }
-        
-        // 检查slug是否已存在
-        LambdaQueryWrapper<Article> slugWrapper = new LambdaQueryWrapper<>();
-        slugWrapper.eq(Article::getSlug, slug);
-        Article existingArticle = articleMapper.selectOne(slugWrapper);
-        if (existingArticle != null) {
-            slug = slug + "-" + System.currentTimeMillis();
-        }
+        // 3. 生成slug（插入时由唯一索引判定冲突）
+        String slug = slugAllocator.slugify(createArticleDTO.getTitle(), ARTICLE_SLUG_MAX_LENGTH);
         
-        // 4. 生成摘要（如果没有提供）
+        // 4. 生成摘要（如果没有提供，从内容中提取前200字）
         String summary = createArticleDTO.getSummary();
         if (StrUtil.isBlank(summary) && StrUtil.isNotBlank(createArticleDTO.getContent())) {
-            // 从内容中提取前200字作为摘要
-            String plainText = createArticleDTO.getContent()
-                    .replaceAll("#+\\s*", "") // 移除Markdown标题
-                    .replaceAll("\\*+", "")   // 移除Markdown格式
-                    .replaceAll("\\[.*?\\]\\(.*?\\)", "") // 移除Markdown链接
-                    .replaceAll("\n", " ");  // 换行符替换为空格
-            summary = plainText.length() > 200 ? plainText.substring(0, 200) + "..." : plainText;
+            summary = TextUtils.summarize(createArticleDTO.getContent(), SUMMARY_MAX_LENGTH);
         }
         
         // 5. 处理封面图片上传（如果提供了文件）
@@ -104,14 +126,13 @@ public class ArticleServiceImpl implements ArticleService {
         // 如果需要在Service中处理文件上传，需要修改方法签名，接收MultipartFile参数
         
         // 6. 转换Markdown为HTML（简单处理，可以后续使用专门的Markdown库）
-        String htmlContent = convertMarkdownToHtml(createArticleDTO.getContent());
+        String htmlContent = markdownRenderer.render(createArticleDTO.getContent());
         
         // 7. 创建文章
         Article article = new Article();
         article.setUserId(userId);
         article.setCategoryId(createArticleDTO.getCategoryId());
         article.setTitle(createArticleDTO.getTitle());
-        article.setSlug(slug);
         article.setSummary(summary);
         article.setCoverImage(coverImageUrl);
         article.setContent(createArticleDTO.getContent());
@@ -130,13 +151,25 @@ public class ArticleServiceImpl implements ArticleService {
             article.setPublishedAt(LocalDateTime.now());
         }
         
-        articleMapper.insert(article);
+        slugAllocator.insertWithUniqueSlug(slug, ARTICLE_SLUG_MAX_LENGTH, candidate -> {
+            article.setSlug(candidate);
+            articleMapper.insert(article);
+        });
         
         // 8. 处理标签
         if (createArticleDTO.getTagIds() != null && !createArticleDTO.getTagIds().isEmpty()) {
             saveArticleTags(article.getId(), createArticleDTO.getTagIds());
         }
         
+        // 9. 记录变更（同一事务写入发件箱，异步同步到搜索索引）
+        articleOutboxWriter.record(article.getId(), ArticleChangeType.UPSERT);
+        
+        // 10. 已发布的文章进入热门排行，并推送到粉丝的关注动态
+        if (article.getStatus() == 1) {
+            hotRankingService.sync(article, null);
+            timelineService.publish(article);
+        }
+        
         log.info("创建文章成功: articleId={}, userId={}, title={}", 
                 article.getId(), userId, createArticleDTO.getTitle());
         
@@ -166,12 +199,14 @@ public class ArticleServiceImpl implements ArticleService {
         }
         
         // 4. 更新文章字段
+        Long previousCategoryId = article.getCategoryId();
+        Integer previousStatus = article.getStatus();
         if (StrUtil.isNotBlank(updateArticleDTO.getTitle())) {
             article.setTitle(updateArticleDTO.getTitle());
         }
         if (StrUtil.isNotBlank(updateArticleDTO.getContent())) {
             article.setContent(updateArticleDTO.getContent());
-            article.setHtmlContent(convertMarkdownToHtml(updateArticleDTO.getContent()));
+            article.setHtmlContent(markdownRenderer.render(updateArticleDTO.getContent()));
         }
         if (StrUtil.isNotBlank(updateArticleDTO.getSummary())) {
             article.setSummary(updateArticleDTO.getSummary());
@@ -192,17 +227,19 @@ public class ArticleServiceImpl implements ArticleService {
         
         articleMapper.updateById(article);
         
-        // 5. 更新标签
+        // 5. 更新标签（只增删有变化的关联）
         if (updateArticleDTO.getTagIds() != null) {
-            // 删除旧标签关联
-            LambdaQueryWrapper<ArticleTag> deleteWrapper = new LambdaQueryWrapper<>();
-            deleteWrapper.eq(ArticleTag::getArticleId, articleId);
-            articleTagMapper.delete(deleteWrapper);
-            
-            // 添加新标签关联
-            if (!updateArticleDTO.getTagIds().isEmpty()) {
-                saveArticleTags(articleId, updateArticleDTO.getTagIds());
-            }
+            saveArticleTags(articleId, updateArticleDTO.getTagIds());
+        }
+        
+        // 6. 记录变更（同一事务写入发件箱，异步同步到搜索索引）
+        articleOutboxWriter.record(articleId, article.getStatus() == 1 ? ArticleChangeType.UPSERT : ArticleChangeType.DELETE);
+        articleDetailCache.evict(articleId);
+        
+        // 7. 同步热门排行（发布状态或分类可能变化），新发布的文章推送到粉丝的关注动态
+        hotRankingService.sync(article, previousCategoryId);
+        if (article.getStatus() == 1 && !Integer.valueOf(1).equals(previousStatus)) {
+            timelineService.publish(article);
         }
         
         log.info("更新文章成功: articleId={}, userId={}", articleId, userId);
@@ -226,6 +263,11 @@ public class ArticleServiceImpl implements ArticleService {
         article.setStatus(0);
         articleMapper.updateById(article);
         
+        // 4. 记录变更并移出热门排行
+        articleOutboxWriter.record(articleId, ArticleChangeType.DELETE);
+        articleDetailCache.evict(articleId);
+        hotRankingService.remove(articleId, article.getCategoryId());
+        
         log.info("下架文章成功: articleId={}, userId={}", articleId, userId);
     }
     
@@ -239,26 +281,16 @@ public class ArticleServiceImpl implements ArticleService {
         }
         
         // 2. 验证当前用户是否为管理员
-        try {
-            Result<UserInfoVO> userResult = userServiceClient.getUserById(userId);
-            if (userResult == null || userResult.getCode() != 200 || userResult.getData() == null) {
-                throw new BusinessException("获取用户信息失败");
-            }
-            
-            UserInfoVO userInfo = userResult.getData();
-            if (!"admin".equals(userInfo.getRole())) {
-                throw new BusinessException("无权限操作，只有管理员可以删除文章");
-            }
-        } catch (BusinessException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("调用用户服务失败: userId={}, error={}", userId, e.getMessage());
-            throw new BusinessException("验证管理员权限失败");
-        }
+        checkAdmin(userId, "无权限操作，只有管理员可以删除文章");
         
         // 3. 软删除文章（MyBatis-Plus 自动处理）
         articleMapper.deleteById(articleId);
         
+        // 4. 记录变更并移出热门排行
+        articleOutboxWriter.record(articleId, ArticleChangeType.DELETE);
+        articleDetailCache.evict(articleId);
+        hotRankingService.remove(articleId, article.getCategoryId());
+        
         log.info("管理员删除文章成功: articleId={}, adminUserId={}", articleId, userId);
     }
     
@@ -275,10 +307,31 @@ public class ArticleServiceImpl implements ArticleService {
             throw new BusinessException("文章不存在或未发布");
         }
         
-        // 3. 转换VO
-        ArticleVO vo = convertToVO(article, currentUserId);
+        // 3. 读取组装好的详情缓存（按变更序号和字典版本号校验），未命中时组装并写入
+        long version = article.getChangeSeq() != null ? article.getChangeSeq() : 0L;
+        long dictionaryVersion = contentDictionary.version();
+        ArticleDetailCache.Entry entry = articleDetailCache.get(articleId, version, dictionaryVersion);
+        if (entry == null) {
+            ArticleVO composed = convertToVOList(Collections.singletonList(article), null).get(0);
+            entry = articleDetailCache.put(articleId, version, dictionaryVersion, composed);
+        }
         
-        // 4. 增加浏览量（异步，不阻塞返回）
+        // 4. 叠加计数、置顶推荐和当前用户的点赞收藏状态
+        ArticleVO vo = entry.getArticle();
+        vo.setViewCount(article.getViewCount());
+        vo.setLikeCount(article.getLikeCount());
+        vo.setCollectCount(article.getCollectCount());
+        vo.setCommentCount(article.getCommentCount());
+        vo.setShareCount(article.getShareCount());
+        vo.setIsTop(article.getIsTop() != null && article.getIsTop() == 1);
+        vo.setIsRecommend(article.getIsRecommend() != null && article.getIsRecommend() == 1);
+        vo.setUpdatedAt(article.getUpdatedAt());
+        List<Long> articleIds = Collections.singletonList(articleId);
+        vo.setIsLiked(getLikedArticleIds(articleIds, currentUserId).contains(articleId));
+        vo.setIsCollected(getCollectedArticleIds(articleIds, currentUserId).contains(articleId));
+        vo.setEtag(ArticleDetailCache.etag(entry, vo));
+        
+        // 5. 增加浏览量（异步，不阻塞返回）
         incrementViewCount(articleId);
         
         return vo;
@@ -291,46 +344,21 @@ public class ArticleServiceImpl implements ArticleService {
         // 设置分页
         Page<Article> pageParam = new Page<>(page != null ? page : 1, size != null ? size : 20);
         
-        // 构建查询条件
-        LambdaQueryWrapper<Article> queryWrapper = new LambdaQueryWrapper<>();
-        
-        // 分类筛选
-        if (categoryId != null) {
-            queryWrapper.eq(Article::getCategoryId, categoryId);
-        }
-        
-        // 状态筛选（默认只查询已发布的文章）
-        if (status != null) {
-            queryWrapper.eq(Article::getStatus, status);
-        } else {
-            queryWrapper.eq(Article::getStatus, 1); // 默认只查询已发布的
-        }
-        
-        // 关键词搜索（标题和摘要）
-        if (StrUtil.isNotBlank(keyword)) {
-            queryWrapper.and(wrapper -> wrapper
-                    .like(Article::getTitle, keyword)
-                    .or()
-                    .like(Article::getSummary, keyword));
-        }
-        
-        // 标签筛选（通过关联表查询）
-        if (tagId != null) {
-            LambdaQueryWrapper<ArticleTag> tagWrapper = new LambdaQueryWrapper<>();
-            tagWrapper.eq(ArticleTag::getTagId, tagId);
-            List<ArticleTag> articleTags = articleTagMapper.selectList(tagWrapper);
-            List<Long> articleIds = articleTags.stream()
-                    .map(ArticleTag::getArticleId)
-                    .collect(Collectors.toList());
-            if (articleIds.isEmpty()) {
-                return Collections.emptyList();
+        // 热门（无关键词、标签筛选）：直接读取预计算的热门排行
+        if ("hot".equals(sortBy) && StrUtil.isBlank(keyword) && tagId == null && (status == null || status == 1)) {
+            List<Article> hotArticles = getHotArticles(categoryId, pageParam);
+            if (hotArticles != null) {
+                return convertToVOList(blockedUserFetcher.filter(currentUserId, hotArticles, Article::getUserId),
+                        currentUserId);
             }
-            queryWrapper.in(Article::getId, articleIds);
         }
         
+        // 构建查询条件
+        LambdaQueryWrapper<Article> queryWrapper = buildListQuery(categoryId, tagId, keyword, status);
+        
         // 排序
         if ("hot".equals(sortBy)) {
-            // 热门：综合浏览量、点赞数、评论数
+            // 热门（排行未建立或带关键词、标签筛选时）：综合浏览量、点赞数、评论数
             queryWrapper.orderByDesc(Article::getViewCount)
                        .orderByDesc(Article::getLikeCount)
                        .orderByDesc(Article::getCommentCount)
@@ -362,10 +390,62 @@ public class ArticleServiceImpl implements ArticleService {
             return Collections.emptyList();
         }
         
-        // 转换为VO
-        return articles.stream()
-                .map(article -> convertToVO(article, currentUserId))
-                .collect(Collectors.toList());
+        // 过滤被当前用户拉黑的作者，转换为VO（批量填充关联数据）
+        return convertToVOList(blockedUserFetcher.filter(currentUserId, articles, Article::getUserId), currentUserId);
+    }
+    
+    @Override
+    public CursorPage<ArticleVO> getArticleListByCursor(Long categoryId, Long tagId, String keyword,
+                                                       String cursor, Integer size, Long currentUserId) {
+        int pageSize = CursorUtils.normalizeSize(size);
+        
+        // 1. 筛选条件（游标模式只查询已发布的文章）
+        LambdaQueryWrapper<Article> queryWrapper = buildListQuery(categoryId, tagId, keyword, 1);
+        queryWrapper.isNotNull(Article::getPublishedAt);
+        
+        // 2. 游标条件：(is_top, published_at, id) 严格小于上一页最后一条
+        long[] values = CursorUtils.decode(cursor, 3);
+        if (values != null) {
+            int isTop = (int) values[0];
+            LocalDateTime publishedAt = CursorUtils.fromMillis(values[1]);
+            long lastId = values[2];
+            queryWrapper.and(wrapper -> wrapper
+                    .lt(Article::getIsTop, isTop)
+                    .or(w -> w.eq(Article::getIsTop, isTop).lt(Article::getPublishedAt, publishedAt))
+                    .or(w -> w.eq(Article::getIsTop, isTop).eq(Article::getPublishedAt, publishedAt)
+                            .lt(Article::getId, lastId)));
+        }
+        
+        // 3. 多查一条判断是否还有下一页（不执行 COUNT）
+        queryWrapper.orderByDesc(Article::getIsTop)
+                   .orderByDesc(Article::getPublishedAt)
+                   .orderByDesc(Article::getId)
+                   .last("LIMIT " + (pageSize + 1));
+        List<Article> articles = articleMapper.selectList(queryWrapper);
+        
+        boolean hasMore = articles.size() > pageSize;
+        if (hasMore) {
+            articles = articles.subList(0, pageSize);
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            Article last = articles.get(articles.size() - 1);
+            nextCursor = CursorUtils.encode(
+                    last.getIsTop() != null ? last.getIsTop() : 0,
+                    CursorUtils.toMillis(last.getPublishedAt()),
+                    last.getId());
+        }
+        
+        // 4. 游标取自过滤前的最后一条，过滤被当前用户拉黑的作者后转换为VO
+        List<Article> visible = blockedUserFetcher.filter(currentUserId, articles, Article::getUserId);
+        return new CursorPage<>(convertToVOList(visible, currentUserId), nextCursor, hasMore);
+    }
+    
+    @Override
+    public CursorPage<ArticleVO> getFeed(Long userId, String cursor, Integer size) {
+        CursorPage<Article> page = timelineService.getFeed(userId, cursor, size);
+        return new CursorPage<>(convertToVOList(page.getList(), userId), page.getNextCursor(), page.getHasMore());
     }
     
     @Override
@@ -383,13 +463,10 @@ public class ArticleServiceImpl implements ArticleService {
         
         IPage<Article> pageResult = articleMapper.selectPage(pageParam, queryWrapper);
         
-        return pageResult.getRecords().stream()
-                .map(article -> convertToVO(article, userId))
-                .collect(Collectors.toList());
+        return convertToVOList(pageResult.getRecords(), userId);
     }
     
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void likeArticle(Long articleId, Long userId) {
         // 1. 验证文章是否存在
         Article article = articleMapper.selectById(articleId);
@@ -397,53 +474,25 @@ public class ArticleServiceImpl implements ArticleService {
             throw new BusinessException("文章不存在");
         }
         
-        // 2. 检查是否已点赞
-        LambdaQueryWrapper<ArticleLike> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(ArticleLike::getArticleId, articleId)
-                   .eq(ArticleLike::getUserId, userId);
-        ArticleLike existing = articleLikeMapper.selectOne(queryWrapper);
-        
-        if (existing != null) {
+        // 2. 写入点赞状态（Redis 原子判重，数据库记录和点赞数异步批量写回）
+        if (!articleInteractionStore.add(InteractionType.LIKE, articleId, userId)) {
             throw new BusinessException("已经点赞过该文章");
         }
         
-        // 3. 创建点赞记录
-        ArticleLike articleLike = new ArticleLike();
-        articleLike.setArticleId(articleId);
-        articleLike.setUserId(userId);
-        articleLike.setCreatedAt(LocalDateTime.now());
-        articleLikeMapper.insert(articleLike);
-        
-        // 4. 更新文章点赞数
-        articleMapper.incrementLikeCount(articleId);
-        
         log.info("点赞文章成功: articleId={}, userId={}", articleId, userId);
     }
     
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void unlikeArticle(Long articleId, Long userId) {
-        // 1. 查询点赞记录
-        LambdaQueryWrapper<ArticleLike> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(ArticleLike::getArticleId, articleId)
-                   .eq(ArticleLike::getUserId, userId);
-        ArticleLike articleLike = articleLikeMapper.selectOne(queryWrapper);
-        
-        if (articleLike == null) {
+        // 删除点赞状态（数据库记录和点赞数异步批量写回）
+        if (!articleInteractionStore.remove(InteractionType.LIKE, articleId, userId)) {
             throw new BusinessException("未点赞该文章");
         }
         
-        // 2. 删除点赞记录
-        articleLikeMapper.deleteById(articleLike.getId());
-        
-        // 3. 更新文章点赞数
-        articleMapper.decrementLikeCount(articleId);
-        
         log.info("取消点赞成功: articleId={}, userId={}", articleId, userId);
     }
     
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void collectArticle(Long articleId, Long userId) {
         // 1. 验证文章是否存在
         Article article = articleMapper.selectById(articleId);
@@ -451,48 +500,21 @@ public class ArticleServiceImpl implements ArticleService {
             throw new BusinessException("文章不存在");
         }
         
-        // 2. 检查是否已收藏
-        LambdaQueryWrapper<ArticleCollection> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(ArticleCollection::getArticleId, articleId)
-                   .eq(ArticleCollection::getUserId, userId);
-        ArticleCollection existing = articleCollectionMapper.selectOne(queryWrapper);
-        
-        if (existing != null) {
+        // 2. 写入收藏状态（Redis 原子判重，数据库记录和收藏数异步批量写回）
+        if (!articleInteractionStore.add(InteractionType.COLLECT, articleId, userId)) {
             throw new BusinessException("已经收藏过该文章");
         }
         
-        // 3. 创建收藏记录
-        ArticleCollection articleCollection = new ArticleCollection();
-        articleCollection.setArticleId(articleId);
-        articleCollection.setUserId(userId);
-        articleCollection.setCreatedAt(LocalDateTime.now());
-        articleCollectionMapper.insert(articleCollection);
-        
-        // 4. 更新文章收藏数
-        articleMapper.incrementCollectCount(articleId);
-        
         log.info("收藏文章成功: articleId={}, userId={}", articleId, userId);
     }
     
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void uncollectArticle(Long articleId, Long userId) {
-        // 1. 查询收藏记录
-        LambdaQueryWrapper<ArticleCollection> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(ArticleCollection::getArticleId, articleId)
-                   .eq(ArticleCollection::getUserId, userId);
-        ArticleCollection articleCollection = articleCollectionMapper.selectOne(queryWrapper);
-        
-        if (articleCollection == null) {
+        // 删除收藏状态（数据库记录和收藏数异步批量写回）
+        if (!articleInteractionStore.remove(InteractionType.COLLECT, articleId, userId)) {
             throw new BusinessException("未收藏该文章");
         }
         
-        // 2. 删除收藏记录
-        articleCollectionMapper.deleteById(articleCollection.getId());
-        
-        // 3. 更新文章收藏数
-        articleMapper.decrementCollectCount(articleId);
-        
         log.info("取消收藏成功: articleId={}, userId={}", articleId, userId);
     }
     
@@ -500,12 +522,14 @@ public class ArticleServiceImpl implements ArticleService {
     @Transactional(rollbackFor = Exception.class)
     public void shareArticle(Long articleId) {
         articleMapper.incrementShareCount(articleId);
+        hotRankingService.recordShare(articleId);
         log.debug("增加分享数: articleId={}", articleId);
     }
     
     @Override
     public void incrementViewCount(Long articleId) {
-        articleMapper.incrementViewCount(articleId);
+        // 写入内存缓冲，由定时任务批量写回数据库
+        viewCountBuffer.increment(articleId);
     }
     
     @Override
@@ -513,10 +537,7 @@ public class ArticleServiceImpl implements ArticleService {
         if (userId == null) {
             return false;
         }
-        LambdaQueryWrapper<ArticleLike> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(ArticleLike::getArticleId, articleId)
-                   .eq(ArticleLike::getUserId, userId);
-        return articleLikeMapper.selectOne(queryWrapper) != null;
+        return articleInteractionStore.contains(InteractionType.LIKE, articleId, userId);
     }
     
     @Override
@@ -524,10 +545,7 @@ public class ArticleServiceImpl implements ArticleService {
         if (userId == null) {
             return false;
         }
-        LambdaQueryWrapper<ArticleCollection> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(ArticleCollection::getArticleId, articleId)
-                   .eq(ArticleCollection::getUserId, userId);
-        return articleCollectionMapper.selectOne(queryWrapper) != null;
+        return articleInteractionStore.contains(InteractionType.COLLECT, articleId, userId);
     }
     
     @Override
@@ -564,6 +582,127 @@ public class ArticleServiceImpl implements ArticleService {
         }
         
         // 2. 验证当前用户是否为管理员
+        checkAdmin(userId, "无权限操作，只有管理员可以审核文章");
+        
+        // 3. 更新文章状态
+        Integer previousStatus = article.getStatus();
+        article.setStatus(status);
+        if (status == 1 && article.getPublishedAt() == null) {
+            article.setPublishedAt(LocalDateTime.now());
+        }
+        articleMapper.updateById(article);
+        
+        // 4. 记录变更并同步热门排行
+        articleOutboxWriter.record(articleId, status == 1 ? ArticleChangeType.UPSERT : ArticleChangeType.DELETE);
+        articleDetailCache.evict(articleId);
+        hotRankingService.sync(article, article.getCategoryId());
+        if (status == 1 && !Integer.valueOf(1).equals(previousStatus)) {
+            timelineService.publish(article);
+        }
+        log.info("更新文章状态成功: articleId={}, status={}, userId={}", articleId, status, userId);
+    }
+    
+    @Override
+    public void rebuildHotRanking(Long userId) {
+        checkAdmin(userId, "无权限操作，只有管理员可以重建热门排行");
+        if (!hotRankingService.rebuild()) {
+            throw new BusinessException("热门排行正在重建中，请稍后再试");
+        }
+        log.info("重建热门排行成功: userId={}", userId);
+    }
+    
+    @Override
+    public ImportResultVO importArticles(Long userId, InputStream input, long offset) {
+        checkAdmin(userId, "无权限操作，只有管理员可以导入文章");
+        if (offset < 0) {
+            throw new BusinessException("续传位置不能为负数");
+        }
+        return articleImporter.importArticles(userId, input, offset);
+    }
+    
+    @Override
+    public List<ArticleIndexVO> getArticlesForIndex(Long lastId, Integer size) {
+        int batchSize = Math.min(size != null && size > 0 ? size : 200, 1000);
+        
+        // 1. 按主键游标读取已发布的文章
+        LambdaQueryWrapper<Article> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(Article::getStatus, 1)
+                   .gt(Article::getId, lastId != null ? lastId : 0)
+                   .orderByAsc(Article::getId)
+                   .last("LIMIT " + batchSize);
+        List<Article> articles = articleMapper.selectList(queryWrapper);
+        if (articles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        // 2. 批量填充作者、分类、标签
+        return convertToIndexVOList(articles);
+    }
+    
+    @Override
+    public List<ArticleIndexVO> getPublishedArticlesForIndex(Collection<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        LambdaQueryWrapper<Article> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(Article::getStatus, 1)
+                   .in(Article::getId, articleIds);
+        return convertToIndexVOList(articleMapper.selectList(queryWrapper));
+    }
+    
+    @Override
+    public void applyCommentCountDeltas(Map<Long, Long> deltas) {
+        if (deltas == null || deltas.isEmpty()) {
+            return;
+        }
+        
+        // 1. 一条 UPDATE ... CASE id 写回评论数
+        articleMapper.batchAddCommentCount(deltas);
+        
+        // 2. 新增的评论计入热度（删除评论不扣减热度）
+        Map<Long, Long> added = new HashMap<>();
+        deltas.forEach((articleId, delta) -> {
+            if (delta > 0) {
+                added.put(articleId, delta);
+            }
+        });
+        if (!added.isEmpty()) {
+            hotRankingService.recordComments(added);
+        }
+        
+        log.debug("调整文章评论数: articles={}", deltas.size());
+    }
+    
+    @Override
+    public Long getCommentCount(Long articleId) {
+        Article article = articleMapper.selectOne(new LambdaQueryWrapper<Article>()
+                .select(Article::getId, Article::getCommentCount)
+                .eq(Article::getId, articleId));
+        if (article == null || article.getCommentCount() == null) {
+            return 0L;
+        }
+        return article.getCommentCount().longValue();
+    }
+    
+    @Override
+    public int resetCommentCounts(Long fromId, Long toId, Map<Long, Long> counts, Collection<Long> skipIds) {
+        if (fromId == null || toId == null || fromId > toId) {
+            throw new BusinessException("文章ID区间不正确");
+        }
+        int corrected = articleMapper.resetCommentCounts(fromId, toId, counts != null ? counts : Collections.emptyMap(),
+                skipIds != null ? skipIds : Collections.emptyList());
+        if (corrected > 0) {
+            log.info("校准文章评论数: fromId={}, toId={}, corrected={}", fromId, toId, corrected);
+        }
+        return corrected;
+    }
+    
+    // ==================== 私有方法 ====================
+    
+    /**
+     * 验证当前用户是否为管理员
+     */
+    private void checkAdmin(Long userId, String deniedMessage) {
         try {
             Result<UserInfoVO> userResult = userServiceClient.getUserById(userId);
             if (userResult == null || userResult.getCode() != 200 || userResult.getData() == null) {
@@ -572,7 +711,7 @@ public class ArticleServiceImpl implements ArticleService {
             
             UserInfoVO userInfo = userResult.getData();
             if (!"admin".equals(userInfo.getRole())) {
-                throw new BusinessException("无权限操作，只有管理员可以审核文章");
+                throw new BusinessException(deniedMessage);
             }
         } catch (BusinessException e) {
             throw e;
@@ -580,156 +719,296 @@ public class ArticleServiceImpl implements ArticleService {
             log.error("调用用户服务失败: userId={}, error={}", userId, e.getMessage());
             throw new BusinessException("验证管理员权限失败");
         }
-        
-        // 3. 更新文章状态
-        article.setStatus(status);
-        if (status == 1 && article.getPublishedAt() == null) {
-            article.setPublishedAt(LocalDateTime.now());
-        }
-        articleMapper.updateById(article);
-        log.info("更新文章状态成功: articleId={}, status={}, userId={}", articleId, status, userId);
     }
     
-    // ==================== 私有方法 ====================
-    
     /**
-     * 保存文章标签关联
+     * 保存文章标签关联（与现有关联比对，一次批量插入、一次批量删除、一次更新标签文章数）
      */
     private void saveArticleTags(Long articleId, List<Long> tagIds) {
-        // 去重
-        List<Long> distinctTagIds = tagIds.stream().distinct().collect(Collectors.toList());
-        
-        for (Long tagId : distinctTagIds) {
-            // 验证标签是否存在
-            Tag tag = tagMapper.selectById(tagId);
-            if (tag == null) {
-                log.warn("标签不存在，跳过: tagId={}", tagId);
-                continue;
+        // 1. 目标标签（去重，忽略不存在的标签）
+        Set<Long> targetTagIds = new HashSet<>();
+        if (!tagIds.isEmpty()) {
+            LambdaQueryWrapper<Tag> tagWrapper = new LambdaQueryWrapper<>();
+            tagWrapper.select(Tag::getId)
+                     .in(Tag::getId, new HashSet<>(tagIds));
+            tagMapper.selectList(tagWrapper).forEach(tag -> targetTagIds.add(tag.getId()));
+            if (targetTagIds.size() < new HashSet<>(tagIds).size()) {
+                log.warn("部分标签不存在，已跳过: articleId={}, tagIds={}", articleId, tagIds);
             }
-            
-            // 检查是否已关联
-            LambdaQueryWrapper<ArticleTag> queryWrapper = new LambdaQueryWrapper<>();
-            queryWrapper.eq(ArticleTag::getArticleId, articleId)
-                       .eq(ArticleTag::getTagId, tagId);
-            ArticleTag existing = articleTagMapper.selectOne(queryWrapper);
-            
-            if (existing == null) {
-                // 创建关联
+        }
+        
+        // 2. 现有关联
+        LambdaQueryWrapper<ArticleTag> currentWrapper = new LambdaQueryWrapper<>();
+        currentWrapper.select(ArticleTag::getTagId)
+                     .eq(ArticleTag::getArticleId, articleId);
+        Set<Long> currentTagIds = articleTagMapper.selectList(currentWrapper).stream()
+                .map(ArticleTag::getTagId)
+                .collect(Collectors.toSet());
+        
+        // 3. 计算新增和移除
+        List<Long> addedTagIds = targetTagIds.stream()
+                .filter(tagId -> !currentTagIds.contains(tagId))
+                .collect(Collectors.toList());
+        List<Long> removedTagIds = currentTagIds.stream()
+                .filter(tagId -> !targetTagIds.contains(tagId))
+                .collect(Collectors.toList());
+        if (addedTagIds.isEmpty() && removedTagIds.isEmpty()) {
+            return;
+        }
+        
+        // 4. 批量删除、批量插入
+        if (!removedTagIds.isEmpty()) {
+            LambdaQueryWrapper<ArticleTag> deleteWrapper = new LambdaQueryWrapper<>();
+            deleteWrapper.eq(ArticleTag::getArticleId, articleId)
+                        .in(ArticleTag::getTagId, removedTagIds);
+            articleTagMapper.delete(deleteWrapper);
+        }
+        if (!addedTagIds.isEmpty()) {
+            List<ArticleTag> articleTags = addedTagIds.stream().map(tagId -> {
                 ArticleTag articleTag = new ArticleTag();
                 articleTag.setArticleId(articleId);
                 articleTag.setTagId(tagId);
-                articleTagMapper.insert(articleTag);
-                
-                // 更新标签文章数量
-                tagMapper.incrementArticleCount(tagId);
-            }
+                return articleTag;
+            }).collect(Collectors.toList());
+            articleTagMapper.batchInsert(articleTags);
         }
+        
+        // 5. 标签文章数（一条 UPDATE）
+        Map<Long, Long> deltas = new HashMap<>();
+        addedTagIds.forEach(tagId -> deltas.put(tagId, 1L));
+        removedTagIds.forEach(tagId -> deltas.put(tagId, -1L));
+        tagMapper.batchAddArticleCount(deltas);
     }
     
     /**
-     * 转换为VO
+     * 构建文章列表筛选条件（分类、状态、关键词、标签）
      */
-    private ArticleVO convertToVO(Article article, Long currentUserId) {
-        ArticleVO vo = new ArticleVO();
-        BeanUtil.copyProperties(article, vo);
-        
-        // 转换 Integer 为 Boolean
-        vo.setIsTop(article.getIsTop() != null && article.getIsTop() == 1);
-        vo.setIsRecommend(article.getIsRecommend() != null && article.getIsRecommend() == 1);
+    private LambdaQueryWrapper<Article> buildListQuery(Long categoryId, Long tagId, String keyword, Integer status) {
+        LambdaQueryWrapper<Article> queryWrapper = new LambdaQueryWrapper<>();
         
-        // 设置点赞和收藏状态
-        vo.setIsLiked(isLiked(article.getId(), currentUserId));
-        vo.setIsCollected(isCollected(article.getId(), currentUserId));
+        // 分类筛选
+        if (categoryId != null) {
+            queryWrapper.eq(Article::getCategoryId, categoryId);
+        }
         
-        // 查询并设置用户信息
-        try {
-            Result<UserInfoVO> userResult = userServiceClient.getUserById(article.getUserId());
-            if (userResult != null && userResult.getCode() == 200 && userResult.getData() != null) {
-                UserInfoVO userInfo = userResult.getData();
-                vo.setAuthorUsername(userInfo.getUsername());
-                vo.setAuthorNickname(userInfo.getNickname());
-                vo.setAuthorAvatar(userInfo.getAvatarUrl());
-            }
-        } catch (Exception e) {
-            log.warn("获取用户信息失败: userId={}, error={}", article.getUserId(), e.getMessage());
+        // 状态筛选（默认只查询已发布的文章）
+        if (status != null) {
+            queryWrapper.eq(Article::getStatus, status);
+        } else {
+            queryWrapper.eq(Article::getStatus, 1); // 默认只查询已发布的
         }
         
-        // 查询并设置分类信息
-        if (article.getCategoryId() != null) {
-            Category category = categoryMapper.selectById(article.getCategoryId());
-            if (category != null) {
-                vo.setCategoryName(category.getName());
-            }
+        // 关键词搜索（标题和摘要）
+        if (StrUtil.isNotBlank(keyword)) {
+            queryWrapper.and(wrapper -> wrapper
+                    .like(Article::getTitle, keyword)
+                    .or()
+                    .like(Article::getSummary, keyword));
         }
         
-        // 查询并设置标签
-        List<TagVO> tags = getTagsByArticleId(article.getId());
-        vo.setTags(tags);
+        // 标签筛选（EXISTS 关联 article_tags，走 idx_tag_article，不在应用中展开文章ID）
+        if (tagId != null) {
+            queryWrapper.exists(TAG_FILTER_SQL, tagId);
+        }
         
-        return vo;
+        return queryWrapper;
     }
     
     /**
-     * 根据文章ID获取标签列表
+     * 从热门排行读取一页文章（按排行顺序）
+     * 
+     * @return 文章列表；排行尚未建立时返回 null
      */
-    private List<TagVO> getTagsByArticleId(Long articleId) {
-        LambdaQueryWrapper<ArticleTag> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(ArticleTag::getArticleId, articleId);
-        List<ArticleTag> articleTags = articleTagMapper.selectList(queryWrapper);
+    private List<Article> getHotArticles(Long categoryId, Page<Article> pageParam) {
+        long offset = (pageParam.getCurrent() - 1) * pageParam.getSize();
+        List<Long> articleIds = hotRankingService.getHotArticleIds(categoryId, offset, (int) pageParam.getSize());
+        if (articleIds == null) {
+            return null;
+        }
+        if (articleIds.isEmpty()) {
+            return Collections.emptyList();
+        }
         
-        if (articleTags.isEmpty()) {
+        Map<Long, Article> articleMap = articleMapper.selectBatchIds(articleIds).stream()
+                .filter(article -> article.getStatus() != null && article.getStatus() == 1)
+                .collect(Collectors.toMap(Article::getId, a -> a));
+        return articleIds.stream()
+                .map(articleMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * 批量转换为VO
+     * 
+     * 先收集整页的文章ID、作者ID、分类ID，每个维度（点赞、收藏、作者、分类、标签）只查询一次，
+     * 再组装VO，避免逐行查询导致的 N+1 问题
+     */
+    private List<ArticleVO> convertToVOList(List<Article> articles, Long currentUserId) {
+        if (articles.isEmpty()) {
             return Collections.emptyList();
         }
         
-        List<Long> tagIds = articleTags.stream()
-                .map(ArticleTag::getTagId)
+        List<Long> articleIds = articles.stream()
+                .map(Article::getId)
                 .collect(Collectors.toList());
         
-        List<Tag> tags = tagMapper.selectBatchIds(tagIds);
+        // 1. 当前用户的点赞和收藏状态
+        Set<Long> likedArticleIds = getLikedArticleIds(articleIds, currentUserId);
+        Set<Long> collectedArticleIds = getCollectedArticleIds(articleIds, currentUserId);
+        
+        // 2. 作者信息
+        Map<Long, UserInfoVO> authorMap = getAuthorMap(articles);
+        
+        // 3. 分类信息
+        Map<Long, CategoryVO> categoryMap = getCategoryMap(articles);
+        
+        // 4. 标签信息
+        Map<Long, List<TagVO>> tagMap = getTagMap(articleIds);
         
-        return tags.stream()
-                .map(tag -> {
-                    TagVO vo = new TagVO();
-                    BeanUtil.copyProperties(tag, vo);
+        // 5. 组装VO
+        return articles.stream()
+                .map(article -> {
+                    ArticleVO vo = new ArticleVO();
+                    BeanUtil.copyProperties(article, vo);
+                    
+                    // 转换 Integer 为 Boolean
+                    vo.setIsTop(article.getIsTop() != null && article.getIsTop() == 1);
+                    vo.setIsRecommend(article.getIsRecommend() != null && article.getIsRecommend() == 1);
+                    
+                    // 设置点赞和收藏状态
+                    vo.setIsLiked(likedArticleIds.contains(article.getId()));
+                    vo.setIsCollected(collectedArticleIds.contains(article.getId()));
+                    
+                    // 设置用户信息
+                    UserInfoVO userInfo = authorMap.get(article.getUserId());
+                    if (userInfo != null) {
+                        vo.setAuthorUsername(userInfo.getUsername());
+                        vo.setAuthorNickname(userInfo.getNickname());
+                        vo.setAuthorAvatar(userInfo.getAvatarUrl());
+                    }
+                    
+                    // 设置分类信息
+                    if (article.getCategoryId() != null) {
+                        CategoryVO category = categoryMap.get(article.getCategoryId());
+                        if (category != null) {
+                            vo.setCategoryName(category.getName());
+                        }
+                    }
+                    
+                    // 设置标签
+                    vo.setTags(tagMap.getOrDefault(article.getId(), Collections.emptyList()));
+                    
                     return vo;
                 })
                 .collect(Collectors.toList());
     }
     
     /**
-     * Markdown转HTML（简单实现，可以后续使用专门的Markdown库）
+     * 批量转换为索引数据VO（作者、分类、标签各查询一次）
      */
-    private String convertMarkdownToHtml(String markdown) {
-        if (StrUtil.isBlank(markdown)) {
-            return "";
+    private List<ArticleIndexVO> convertToIndexVOList(List<Article> articles) {
+        if (articles.isEmpty()) {
+            return Collections.emptyList();
         }
         
-        // 简单的Markdown转换（可以后续集成commonmark-java或flexmark-java）
-        String html = markdown;
-        
-        // 标题
-        html = html.replaceAll("^### (.*)$", "<h3>$1</h3>");
-        html = html.replaceAll("^## (.*)$", "<h2>$1</h2>");
-        html = html.replaceAll("^# (.*)$", "<h1>$1</h1>");
+        List<Long> articleIds = articles.stream().map(Article::getId).collect(Collectors.toList());
+        Map<Long, UserInfoVO> authorMap = getAuthorMap(articles);
+        Map<Long, CategoryVO> categoryMap = getCategoryMap(articles);
+        Map<Long, List<TagVO>> tagMap = getTagMap(articleIds);
         
-        // 粗体
-        html = html.replaceAll("\\*\\*(.*?)\\*\\*", "<strong>$1</strong>");
+        return articles.stream()
+                .map(article -> {
+                    ArticleIndexVO vo = new ArticleIndexVO();
+                    BeanUtil.copyProperties(article, vo);
+                    UserInfoVO userInfo = authorMap.get(article.getUserId());
+                    if (userInfo != null) {
+                        vo.setAuthorNickname(userInfo.getNickname());
+                    }
+                    CategoryVO category = article.getCategoryId() != null ? categoryMap.get(article.getCategoryId()) : null;
+                    if (category != null) {
+                        vo.setCategoryName(category.getName());
+                    }
+                    List<TagVO> tags = tagMap.getOrDefault(article.getId(), Collections.emptyList());
+                    vo.setTagIds(tags.stream().map(TagVO::getId).collect(Collectors.toList()));
+                    vo.setTagNames(tags.stream().map(TagVO::getName).collect(Collectors.toList()));
+                    return vo;
+                })
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * 获取用户点赞的文章ID集合（一次 Redis pipeline）
+     */
+    private Set<Long> getLikedArticleIds(List<Long> articleIds, Long userId) {
+        if (userId == null || articleIds.isEmpty()) {
+            return Collections.emptySet();
+        }
         
-        // 斜体
-        html = html.replaceAll("\\*(.*?)\\*", "<em>$1</em>");
+        return articleInteractionStore.filterMembers(InteractionType.LIKE, userId, articleIds);
+    }
+    
+    /**
+     * 获取用户收藏的文章ID集合（一次 Redis pipeline）
+     */
+    private Set<Long> getCollectedArticleIds(List<Long> articleIds, Long userId) {
+        if (userId == null || articleIds.isEmpty()) {
+            return Collections.emptySet();
+        }
         
-        // 链接
-        html = html.replaceAll("\\[([^\\]]+)\\]\\(([^\\)]+)\\)", "<a href=\"$2\">$1</a>");
+        return articleInteractionStore.filterMembers(InteractionType.COLLECT, userId, articleIds);
+    }
+    
+    /**
+     * 批量获取作者信息（经客户端缓存合并后调用用户服务 /user/batch 接口）
+     */
+    private Map<Long, UserInfoVO> getAuthorMap(List<Article> articles) {
+        List<Long> userIds = articles.stream()
+                .map(Article::getUserId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
         
-        // 代码块
-        html = html.replaceAll("```([^`]+)```", "<pre><code>$1</code></pre>");
-        html = html.replaceAll("`([^`]+)`", "<code>$1</code>");
+        return userInfoFetcher.getUsers(userIds);
+    }
+    
+    /**
+     * 批量获取分类信息（读取字典，不查询数据库）
+     */
+    private Map<Long, CategoryVO> getCategoryMap(List<Article> articles) {
+        Map<Long, CategoryVO> categoryMap = new HashMap<>();
+        for (Article article : articles) {
+            CategoryVO category = contentDictionary.getCategory(article.getCategoryId());
+            if (category != null) {
+                categoryMap.put(category.getId(), category);
+            }
+        }
+        return categoryMap;
+    }
+    
+    /**
+     * 批量获取文章标签（文章ID -> 标签列表；只查询关联表，标签读取字典）
+     */
+    private Map<Long, List<TagVO>> getTagMap(List<Long> articleIds) {
+        LambdaQueryWrapper<ArticleTag> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.in(ArticleTag::getArticleId, articleIds);
+        List<ArticleTag> articleTags = articleTagMapper.selectList(queryWrapper);
         
-        // 换行
-        html = html.replaceAll("\n\n", "</p><p>");
-        html = "<p>" + html + "</p>";
+        if (articleTags.isEmpty()) {
+            return Collections.emptyMap();
+        }
         
-        return html;
+        Map<Long, List<TagVO>> tagMap = new HashMap<>();
+        for (ArticleTag articleTag : articleTags) {
+            TagVO tagVO = contentDictionary.getTag(articleTag.getTagId());
+            if (tagVO != null) {
+                tagMap.computeIfAbsent(articleTag.getArticleId(), k -> new ArrayList<>()).add(tagVO);
+            }
+        }
+        return tagMap;
     }
 }
 
@@ -4,18 +4,20 @@ import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.contenthub.common.exception.BusinessException;
+import com.contenthub.content.dictionary.ContentDictionary;
 import com.contenthub.content.domain.Category;
 import com.contenthub.content.dto.CreateCategoryDTO;
 import com.contenthub.content.mapper.CategoryMapper;
 import com.contenthub.content.service.CategoryService;
+import com.contenthub.content.slug.SlugAllocator;
 import com.contenthub.content.vo.CategoryVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 分类服务实现类
@@ -25,7 +27,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     
+    /**
+     * 别名最大长度（与 categories.slug 一致）
+     */
+    private static final int SLUG_MAX_LENGTH = 50;
+    
     private final CategoryMapper categoryMapper;
+    private final SlugAllocator slugAllocator;
+    private final ContentDictionary contentDictionary;
     
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -44,21 +53,10 @@ public class CategoryServiceImpl implements CategoryService {
         }
         
         // 3. 生成slug（如果没有提供）
-        String slug = createCategoryDTO.getSlug();
-        if (StrUtil.isBlank(slug)) {
-            slug = createCategoryDTO.getName().toLowerCase()
-                    .replaceAll("[^a-z0-9\\u4e00-\\u9fa5]", "-")
-                    .replaceAll("-+", "-")
-                    .replaceAll("^-|-$", "");
-        }
-        
-        // 检查slug是否已存在
-        LambdaQueryWrapper<Category> slugWrapper = new LambdaQueryWrapper<>();
-        slugWrapper.eq(Category::getSlug, slug);
-        Category existingBySlug = categoryMapper.selectOne(slugWrapper);
-        if (existingBySlug != null) {
-            throw new BusinessException("分类别名已存在");
-        }
+        boolean customSlug = StrUtil.isNotBlank(createCategoryDTO.getSlug());
+        String slug = customSlug
+                ? createCategoryDTO.getSlug()
+                : slugAllocator.slugify(createCategoryDTO.getName(), SLUG_MAX_LENGTH);
         
         // 4. 创建分类
         Category category = new Category();
@@ -69,8 +67,24 @@ public class CategoryServiceImpl implements CategoryService {
         category.setSortOrder(createCategoryDTO.getSortOrder() != null ? createCategoryDTO.getSortOrder() : 0);
         category.setStatus(1); // 默认启用
         
-        categoryMapper.insert(category);
+        // 5. 插入（由唯一索引判定别名冲突：指定的别名冲突时报错，生成的别名自动追加后缀）
+        if (customSlug) {
+            try {
+                categoryMapper.insert(category);
+            } catch (DuplicateKeyException ex) {
+                if (SlugAllocator.isSlugConflict(ex)) {
+                    throw new BusinessException("分类别名已存在");
+                }
+                throw ex;
+            }
+        } else {
+            slugAllocator.insertWithUniqueSlug(slug, SLUG_MAX_LENGTH, candidate -> {
+                category.setSlug(candidate);
+                categoryMapper.insert(category);
+            });
+        }
         
+        contentDictionary.changed();
         log.info("创建分类成功: categoryId={}, name={}", category.getId(), category.getName());
         return category.getId();
     }
@@ -120,6 +134,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
         
         categoryMapper.updateById(category);
+        contentDictionary.changed();
         
         log.info("更新分类成功: categoryId={}, name={}", categoryId, category.getName());
     }
@@ -134,30 +149,25 @@ public class CategoryServiceImpl implements CategoryService {
         
         // 注意：这里只是删除分类，关联的文章category_id会设置为NULL（外键约束）
         categoryMapper.deleteById(categoryId);
+        contentDictionary.changed();
         
         log.info("删除分类成功: categoryId={}", categoryId);
     }
     
     @Override
     public List<CategoryVO> getCategoryList() {
-        LambdaQueryWrapper<Category> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(Category::getStatus, 1) // 只查询启用的分类
-                   .orderByAsc(Category::getSortOrder)
-                   .orderByAsc(Category::getId);
-        
-        List<Category> categories = categoryMapper.selectList(queryWrapper);
-        
-        return categories.stream()
-                .map(category -> {
-                    CategoryVO vo = new CategoryVO();
-                    BeanUtil.copyProperties(category, vo);
-                    return vo;
-                })
-                .collect(Collectors.toList());
+        // 只返回启用的分类
+        return contentDictionary.getEnabledCategories();
     }
     
     @Override
     public CategoryVO getCategoryDetail(Long categoryId) {
+        CategoryVO cached = contentDictionary.getCategory(categoryId);
+        if (cached != null) {
+            return cached;
+        }
+        
+        // 其他实例刚创建、本实例尚未收到广播时回查数据库
         Category category = categoryMapper.selectById(categoryId);
         if (category == null) {
             throw new BusinessException("分类不存在");
@@ -178,6 +188,7 @@ public class CategoryServiceImpl implements CategoryService {
         
         category.setStatus(status);
         categoryMapper.updateById(category);
+        contentDictionary.changed();
         
         log.info("更新分类状态成功: categoryId={}, status={}", categoryId, status);
     }
@@ -4,17 +4,21 @@ import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.contenthub.common.exception.BusinessException;
+import com.contenthub.content.dictionary.ContentDictionary;
 import com.contenthub.content.domain.Tag;
 import com.contenthub.content.dto.CreateTagDTO;
 import com.contenthub.content.mapper.TagMapper;
 import com.contenthub.content.service.TagService;
+import com.contenthub.content.slug.SlugAllocator;
 import com.contenthub.content.vo.TagVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -25,8 +29,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TagServiceImpl implements TagService {
     
+    /**
+     * 别名最大长度（与 tags.slug 一致）
+     */
+    private static final int SLUG_MAX_LENGTH = 50;
+    
     private final TagMapper tagMapper;
+    private final SlugAllocator slugAllocator;
     private final com.contenthub.content.mapper.ArticleTagMapper articleTagMapper;
+    private final ContentDictionary contentDictionary;
     
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -45,21 +56,10 @@ public class TagServiceImpl implements TagService {
         }
         
         // 3. 生成slug（如果没有提供）
-        String slug = createTagDTO.getSlug();
-        if (StrUtil.isBlank(slug)) {
-            slug = createTagDTO.getName().toLowerCase()
-                    .replaceAll("[^a-z0-9\\u4e00-\\u9fa5]", "-")
-                    .replaceAll("-+", "-")
-                    .replaceAll("^-|-$", "");
-        }
-        
-        // 检查slug是否已存在
-        LambdaQueryWrapper<Tag> slugWrapper = new LambdaQueryWrapper<>();
-        slugWrapper.eq(Tag::getSlug, slug);
-        Tag existingBySlug = tagMapper.selectOne(slugWrapper);
-        if (existingBySlug != null) {
-            throw new BusinessException("标签别名已存在");
-        }
+        boolean customSlug = StrUtil.isNotBlank(createTagDTO.getSlug());
+        String slug = customSlug
+                ? createTagDTO.getSlug()
+                : slugAllocator.slugify(createTagDTO.getName(), SLUG_MAX_LENGTH);
         
         // 4. 创建标签
         Tag tag = new Tag();
@@ -69,8 +69,24 @@ public class TagServiceImpl implements TagService {
         tag.setColor(createTagDTO.getColor());
         tag.setArticleCount(0);
         
-        tagMapper.insert(tag);
+        // 5. 插入（由唯一索引判定别名冲突：指定的别名冲突时报错，生成的别名自动追加后缀）
+        if (customSlug) {
+            try {
+                tagMapper.insert(tag);
+            } catch (DuplicateKeyException ex) {
+                if (SlugAllocator.isSlugConflict(ex)) {
+                    throw new BusinessException("标签别名已存在");
+                }
+                throw ex;
+            }
+        } else {
+            slugAllocator.insertWithUniqueSlug(slug, SLUG_MAX_LENGTH, candidate -> {
+                tag.setSlug(candidate);
+                tagMapper.insert(tag);
+            });
+        }
         
+        contentDictionary.changed();
         log.info("创建标签成功: tagId={}, name={}", tag.getId(), tag.getName());
         return tag.getId();
     }
@@ -117,6 +133,7 @@ public class TagServiceImpl implements TagService {
         }
         
         tagMapper.updateById(tag);
+        contentDictionary.changed();
         
         log.info("更新标签成功: tagId={}, name={}", tagId, tag.getName());
     }
@@ -131,33 +148,25 @@ public class TagServiceImpl implements TagService {
         
         // 注意：关联的文章标签记录会被自动删除（外键约束 CASCADE）
         tagMapper.deleteById(tagId);
+        contentDictionary.changed();
         
         log.info("删除标签成功: tagId={}", tagId);
     }
     
     @Override
     public List<TagVO> getTagList(Integer limit) {
-        LambdaQueryWrapper<Tag> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.orderByDesc(Tag::getArticleCount)
-                   .orderByAsc(Tag::getId);
-        
-        if (limit != null && limit > 0) {
-            queryWrapper.last("LIMIT " + limit);
-        }
-        
-        List<Tag> tags = tagMapper.selectList(queryWrapper);
-        
-        return tags.stream()
-                .map(tag -> {
-                    TagVO vo = new TagVO();
-                    BeanUtil.copyProperties(tag, vo);
-                    return vo;
-                })
-                .collect(Collectors.toList());
+        // 文章数以字典最近一次重建时为准
+        return contentDictionary.getTags(limit);
     }
     
     @Override
     public TagVO getTagDetail(Long tagId) {
+        TagVO cached = contentDictionary.getTag(tagId);
+        if (cached != null) {
+            return cached;
+        }
+        
+        // 其他实例刚创建、本实例尚未收到广播时回查数据库
         Tag tag = tagMapper.selectById(tagId);
         if (tag == null) {
             throw new BusinessException("标签不存在");
@@ -178,19 +187,9 @@ public class TagServiceImpl implements TagService {
             return List.of();
         }
         
-        List<Long> tagIds = articleTags.stream()
-                .map(com.contenthub.content.domain.ArticleTag::getTagId)
-                .collect(Collectors.toList());
-        
-        List<Tag> tags = tagMapper.selectBatchIds(tagIds);
-        
-        return tags.stream()
-                .map(tag -> {
-                    TagVO vo = new TagVO();
-                    BeanUtil.copyProperties(tag, vo);
-                    return vo;
-                })
+        return articleTags.stream()
+                .map(articleTag -> contentDictionary.getTag(articleTag.getTagId()))
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 }
-
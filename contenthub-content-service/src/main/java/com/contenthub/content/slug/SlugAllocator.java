@@ -0,0 +1,101 @@
+package com.contenthub.content.slug;
+
+import cn.hutool.core.util.RandomUtil;
+import com.contenthub.common.utils.TextUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * 别名分配
+ *
+ * 不先查询再插入（并发时两个请求都会查到"不存在"），而是直接插入，
+ * 由 uk_slug 唯一索引判定冲突，冲突时换一个后缀重试。
+ * MySQL 唯一键冲突只回滚当前语句，可以在同一事务内重试。
+ */
+@Slf4j
+@Component
+public class SlugAllocator {
+
+    /**
+     * 依次尝试 别名、别名-2 … 别名-N，之后改用随机后缀
+     */
+    private static final int SEQUENTIAL_ATTEMPTS = 5;
+
+    /**
+     * 最大尝试次数
+     */
+    private static final int MAX_ATTEMPTS = 10;
+
+    private static final int RANDOM_SUFFIX_LENGTH = 6;
+
+    /**
+     * 唯一索引名称（用于区分别名冲突和其他唯一键冲突）
+     */
+    private static final String SLUG_UNIQUE_KEY = "uk_slug";
+
+    /**
+     * 汉字是否转为拼音
+     */
+    private final boolean pinyin;
+
+    public SlugAllocator(@Value("${content.slug.pinyin:false}") boolean pinyin) {
+        this.pinyin = pinyin;
+    }
+
+    /**
+     * 由标题、名称生成别名
+     */
+    public String slugify(String text, int maxLength) {
+        return TextUtils.slugify(text, maxLength, pinyin);
+    }
+
+    /**
+     * 以不冲突的别名插入记录
+     *
+     * @param baseSlug  期望的别名（为空时使用随机别名）
+     * @param maxLength 别名最大长度（含后缀）
+     * @param insert    以给定别名执行插入，别名冲突时抛出 DuplicateKeyException
+     * @return 实际使用的别名
+     */
+    public String insertWithUniqueSlug(String baseSlug, int maxLength, Consumer<String> insert) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            String slug = candidate(baseSlug, maxLength, attempt);
+            try {
+                insert.accept(slug);
+                return slug;
+            } catch (DuplicateKeyException e) {
+                if (!isSlugConflict(e)) {
+                    throw e;
+                }
+                log.debug("别名冲突，重试: slug={}, attempt={}", slug, attempt);
+            }
+        }
+        throw new IllegalStateException("无法分配唯一别名: " + baseSlug);
+    }
+
+    /**
+     * 是否为别名唯一索引冲突
+     */
+    public static boolean isSlugConflict(DuplicateKeyException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(SLUG_UNIQUE_KEY);
+    }
+
+    private static String candidate(String baseSlug, int maxLength, int attempt) {
+        if (baseSlug == null || baseSlug.isEmpty()) {
+            return RandomUtil.randomString(RANDOM_SUFFIX_LENGTH + 2);
+        }
+        if (attempt == 1) {
+            return baseSlug;
+        }
+        String suffix = "-" + (attempt <= SEQUENTIAL_ATTEMPTS
+                ? String.valueOf(attempt)
+                : RandomUtil.randomString(RANDOM_SUFFIX_LENGTH));
+        int keep = Math.min(baseSlug.length(), maxLength - suffix.length());
+        return baseSlug.substring(0, keep) + suffix;
+    }
+}
@@ -0,0 +1,399 @@
+package com.contenthub.content.timeline;
+
+import com.contenthub.common.exception.BusinessException;
+import com.contenthub.common.result.CursorPage;
+import com.contenthub.common.result.Result;
+import com.contenthub.common.utils.CursorUtils;
+import com.contenthub.content.domain.Article;
+import com.contenthub.content.feign.UserServiceClient;
+import com.contenthub.content.mapper.ArticleMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 关注动态（时间线）
+ *
+ * 推模式：文章发布（事务提交后）由后台线程按粉丝分页，把文章ID写入每个粉丝的时间线
+ * timeline:{userId}（Redis 有序集合，score 为发布时间毫秒），每条时间线只保留最新的若干篇。
+ * 只写入已存在的时间线（一次 Lua 脚本处理一页粉丝），不活跃用户的时间线过期后不再占用内存。
+ *
+ * 时间线只在重建时设置过期时间，读取不续期：到期后按当前关注列表从数据库重建，
+ * 取消关注的作者、推送队列已满被丢弃或推送失败的文章最迟在一个过期周期后修正。
+ *
+ * 拉模式：粉丝数超过阈值的作者不推送，加入 timeline:pull-authors（加入后不再移出），
+ * 读取时对关注的拉模式作者按 (published_at, id) 游标查询数据库，与推送结果归并。
+ *
+ * 下架、删除的文章不主动从时间线移除，读取时过滤并顺带移除。
+ */
+@Slf4j
+@Component
+public class TimelineService {
+
+    /**
+     * 时间线 key 前缀
+     */
+    public static final String TIMELINE_KEY_PREFIX = "timeline:";
+
+    /**
+     * 拉模式作者集合
+     */
+    public static final String PULL_AUTHORS_KEY = "timeline:pull-authors";
+
+    /**
+     * 时间线占位成员（score 为 0，读取时不返回），使没有文章的时间线也存在、不被反复重建
+     */
+    private static final String PLACEHOLDER = "0";
+
+    /**
+     * 写入一页粉丝的时间线：只写入已存在的 key，写入后裁剪到最大长度，返回写入的时间线数
+     * ARGV: score, member, maxSize
+     */
+    private static final DefaultRedisScript<Long> FANOUT_SCRIPT = new DefaultRedisScript<>(
+            "local written = 0\n" +
+            "for _, key in ipairs(KEYS) do\n" +
+            "  if redis.call('EXISTS', key) == 1 then\n" +
+            "    redis.call('ZADD', key, ARGV[1], ARGV[2])\n" +
+            "    redis.call('ZREMRANGEBYRANK', key, 0, -(tonumber(ARGV[3]) + 1))\n" +
+            "    written = written + 1\n" +
+            "  end\n" +
+            "end\n" +
+            "return written", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ArticleMapper articleMapper;
+    private final UserServiceClient userServiceClient;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 每条时间线最多保留的文章数
+     */
+    private final int maxSize;
+
+    /**
+     * 粉丝数超过该值的作者改为拉模式
+     */
+    private final long fanoutThreshold;
+
+    /**
+     * 推送时每页读取的粉丝数
+     */
+    private final int fanoutBatchSize;
+
+    /**
+     * 时间线过期时间（重建时设置，读取不续期）
+     */
+    private final long ttlHours;
+
+    private final Counter fanoutCounter;
+    private final Counter rejectedCounter;
+    private final Counter rebuildCounter;
+    private final Timer fanoutTimer;
+
+    public TimelineService(StringRedisTemplate stringRedisTemplate,
+                           ArticleMapper articleMapper,
+                           UserServiceClient userServiceClient,
+                           MeterRegistry meterRegistry,
+                           @Value("${content.timeline.max-size:800}") int maxSize,
+                           @Value("${content.timeline.fanout-threshold:5000}") long fanoutThreshold,
+                           @Value("${content.timeline.fanout-batch-size:1000}") int fanoutBatchSize,
+                           @Value("${content.timeline.ttl-hours:24}") long ttlHours,
+                           @Value("${content.timeline.threads:2}") int threads,
+                           @Value("${content.timeline.queue-capacity:1000}") int queueCapacity) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.articleMapper = articleMapper;
+        this.userServiceClient = userServiceClient;
+        this.maxSize = maxSize;
+        this.fanoutThreshold = fanoutThreshold;
+        this.fanoutBatchSize = fanoutBatchSize;
+        this.ttlHours = ttlHours;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "timeline-fanout");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.fanoutCounter = Counter.builder("content.timeline.fanout.writes")
+                .description("推送写入的时间线数")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("content.timeline.fanout.rejected")
+                .description("推送队列已满被丢弃的发布事件数")
+                .register(meterRegistry);
+        this.rebuildCounter = Counter.builder("content.timeline.rebuilds")
+                .description("从数据库重建的时间线数")
+                .register(meterRegistry);
+        this.fanoutTimer = Timer.builder("content.timeline.fanout")
+                .description("推送一篇文章到全部粉丝时间线的耗时")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 文章已发布：事务提交后异步推送到粉丝的时间线
+     */
+    public void publish(Article article) {
+        if (article.getPublishedAt() == null) {
+            return;
+        }
+        Long authorId = article.getUserId();
+        Long articleId = article.getId();
+        long publishedMillis = CursorUtils.toMillis(article.getPublishedAt());
+        afterCommit(() -> {
+            try {
+                executor.execute(() -> fanout(authorId, articleId, publishedMillis));
+            } catch (RejectedExecutionException e) {
+                rejectedCounter.increment();
+                log.warn("推送队列已满，丢弃关注动态推送: authorId={}, articleId={}", authorId, articleId);
+            }
+        });
+    }
+
+    /**
+     * 游标分页读取关注动态（按发布时间倒序，不执行 COUNT 查询）
+     *
+     * @param userId 当前用户ID
+     * @param cursor 游标 (published_at 毫秒, id)
+     * @param size   每页数量
+     * @return 已发布的文章（由调用方转换为 VO）
+     */
+    public CursorPage<Article> getFeed(Long userId, String cursor, Integer size) {
+        int pageSize = CursorUtils.normalizeSize(size);
+        long[] values = CursorUtils.decode(cursor, 2);
+        String key = timelineKey(userId);
+
+        // 1. 时间线不存在（首次读取或已过期）时从数据库重建，存在时不续期
+        List<Long> followingIds = null;
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) {
+            followingIds = loadFollowingIds(userId);
+            rebuild(key, followingIds);
+        }
+
+        // 2. 推送的文章：游标之后的 pageSize + 1 条
+        List<long[]> candidates = readTimeline(key, values, pageSize + 1);
+        Set<Long> pushedIds = candidates.stream().map(entry -> entry[1]).collect(Collectors.toSet());
+
+        // 3. 关注的拉模式作者：从数据库查询游标之后的 pageSize + 1 条
+        Set<String> pullAuthors = stringRedisTemplate.opsForSet().members(PULL_AUTHORS_KEY);
+        if (pullAuthors != null && !pullAuthors.isEmpty()) {
+            if (followingIds == null) {
+                followingIds = loadFollowingIds(userId);
+            }
+            List<Long> authorIds = followingIds.stream()
+                    .filter(id -> pullAuthors.contains(String.valueOf(id)))
+                    .collect(Collectors.toList());
+            if (!authorIds.isEmpty()) {
+                for (Article article : queryPublished(authorIds, values, pageSize + 1)) {
+                    if (!pushedIds.contains(article.getId())) {
+                        candidates.add(new long[]{CursorUtils.toMillis(article.getPublishedAt()), article.getId()});
+                    }
+                }
+            }
+        }
+
+        // 4. 归并：按 (发布时间, ID) 倒序取 pageSize 条，多出的一条说明还有下一页
+        candidates.sort((a, b) -> a[0] != b[0] ? Long.compare(b[0], a[0]) : Long.compare(b[1], a[1]));
+        boolean hasMore = candidates.size() > pageSize;
+        if (hasMore) {
+            candidates = candidates.subList(0, pageSize);
+        }
+        if (candidates.isEmpty()) {
+            return CursorPage.empty();
+        }
+
+        // 5. 加载文章，过滤已下架、删除的文章并从时间线移除
+        List<Long> pageIds = candidates.stream().map(entry -> entry[1]).collect(Collectors.toList());
+        Map<Long, Article> articleMap = articleMapper.selectBatchIds(pageIds).stream()
+                .filter(article -> article.getStatus() != null && article.getStatus() == 1)
+                .collect(Collectors.toMap(Article::getId, Function.identity()));
+        List<Article> articles = new ArrayList<>(articleMap.size());
+        List<String> staleIds = new ArrayList<>();
+        for (Long articleId : pageIds) {
+            Article article = articleMap.get(articleId);
+            if (article != null) {
+                articles.add(article);
+            } else if (pushedIds.contains(articleId)) {
+                staleIds.add(String.valueOf(articleId));
+            }
+        }
+        if (!staleIds.isEmpty()) {
+            stringRedisTemplate.opsForZSet().remove(key, staleIds.toArray());
+        }
+
+        // 6. 游标取本页最后一个候选（即使该文章已被过滤）
+        String nextCursor = null;
+        if (hasMore) {
+            long[] last = candidates.get(candidates.size() - 1);
+            nextCursor = CursorUtils.encode(last[0], last[1]);
+        }
+        return new CursorPage<>(articles, nextCursor, hasMore);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ==================== 私有方法 ====================
+
+    /**
+     * 推送一篇文章到作者全部粉丝的时间线
+     */
+    private void fanout(Long authorId, Long articleId, long publishedMillis) {
+        long startTime = System.currentTimeMillis();
+        String author = String.valueOf(authorId);
+        try {
+            // 1. 已是拉模式的作者不推送
+            if (Boolean.TRUE.equals(stringRedisTemplate.opsForSet().isMember(PULL_AUTHORS_KEY, author))) {
+                return;
+            }
+
+            // 2. 粉丝数超过阈值：改为拉模式
+            Result<Map<String, Long>> stats = userServiceClient.getFollowStats(authorId);
+            Long followerCount = stats != null && stats.getData() != null ? stats.getData().get("followerCount") : null;
+            if (followerCount != null && followerCount > fanoutThreshold) {
+                stringRedisTemplate.opsForSet().add(PULL_AUTHORS_KEY, author);
+                log.info("作者粉丝数超过阈值，改为拉模式: authorId={}, followerCount={}", authorId, followerCount);
+                return;
+            }
+
+            // 3. 按粉丝分页写入时间线
+            String score = String.valueOf(publishedMillis);
+            String member = String.valueOf(articleId);
+            String maxSizeArg = String.valueOf(maxSize);
+            String cursor = null;
+            long followers = 0;
+            long written = 0;
+            do {
+                Result<CursorPage<Long>> result = userServiceClient.getFollowerIds(authorId, cursor, fanoutBatchSize);
+                if (result == null || result.getCode() != 200 || result.getData() == null) {
+                    log.warn("获取粉丝ID失败，推送中止: authorId={}, articleId={}, result={}", authorId, articleId, result);
+                    break;
+                }
+                CursorPage<Long> page = result.getData();
+                if (page.getList() != null && !page.getList().isEmpty()) {
+                    List<String> keys = page.getList().stream()
+                            .map(TimelineService::timelineKey)
+                            .collect(Collectors.toList());
+                    Long count = stringRedisTemplate.execute(FANOUT_SCRIPT, keys, score, member, maxSizeArg);
+                    followers += keys.size();
+                    written += count != null ? count : 0;
+                }
+                cursor = Boolean.TRUE.equals(page.getHasMore()) ? page.getNextCursor() : null;
+            } while (cursor != null);
+
+            fanoutCounter.increment(written);
+            log.debug("关注动态推送完成: authorId={}, articleId={}, followers={}, written={}, cost={}ms",
+                    authorId, articleId, followers, written, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            // 推送失败的文章不会出现在已有的时间线中，时间线到期重建后恢复
+            log.warn("关注动态推送失败: authorId={}, articleId={}, error={}", authorId, articleId, e.getMessage());
+        } finally {
+            fanoutTimer.record(System.currentTimeMillis() - startTime, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 读取时间线中游标之后的条目 [发布时间毫秒, 文章ID]
+     */
+    private List<long[]> readTimeline(String key, long[] cursor, int limit) {
+        List<long[]> entries = new ArrayList<>();
+        double max = Double.POSITIVE_INFINITY;
+        if (cursor != null) {
+            // 与游标同一毫秒的条目按 ID 过滤（极少），其余取严格更早的
+            Set<String> sameMillis = stringRedisTemplate.opsForZSet().rangeByScore(key, cursor[0], cursor[0]);
+            if (sameMillis != null) {
+                for (String member : sameMillis) {
+                    long articleId = Long.parseLong(member);
+                    if (articleId < cursor[1]) {
+                        entries.add(new long[]{cursor[0], articleId});
+                    }
+                }
+            }
+            max = cursor[0] - 1;
+        }
+        Set<ZSetOperations.TypedTuple<String>> tuples =
+                stringRedisTemplate.opsForZSet().reverseRangeByScoreWithScores(key, 1, max, 0, limit);
+        if (tuples != null) {
+            for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                if (tuple.getValue() != null && tuple.getScore() != null) {
+                    entries.add(new long[]{tuple.getScore().longValue(), Long.parseLong(tuple.getValue())});
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 按关注列表从数据库重建时间线（最新的 maxSize 篇，含占位成员）
+     */
+    private void rebuild(String key, List<Long> followingIds) {
+        List<Article> articles = followingIds.isEmpty()
+                ? Collections.emptyList()
+                : queryPublished(followingIds, null, maxSize);
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        long ttlSeconds = TimeUnit.HOURS.toSeconds(ttlHours);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zSetCommands().zAdd(rawKey, 0, PLACEHOLDER.getBytes(StandardCharsets.UTF_8));
+            for (Article article : articles) {
+                connection.zSetCommands().zAdd(rawKey, CursorUtils.toMillis(article.getPublishedAt()),
+                        String.valueOf(article.getId()).getBytes(StandardCharsets.UTF_8));
+            }
+            connection.keyCommands().expire(rawKey, ttlSeconds);
+            return null;
+        });
+        rebuildCounter.increment();
+        log.debug("重建关注动态时间线: key={}, following={}, articles={}", key, followingIds.size(), articles.size());
+    }
+
+    /**
+     * 查询作者们游标之后已发布的文章（只取 ID 和发布时间）
+     */
+    private List<Article> queryPublished(Collection<Long> authorIds, long[] cursor, int limit) {
+        if (cursor == null) {
+            return articleMapper.selectPublishedByAuthors(authorIds, null, null, limit);
+        }
+        return articleMapper.selectPublishedByAuthors(authorIds, CursorUtils.fromMillis(cursor[0]), cursor[1], limit);
+    }
+
+    private List<Long> loadFollowingIds(Long userId) {
+        Result<List<Long>> result = userServiceClient.getFollowingIds(userId);
+        if (result == null || result.getCode() != 200 || result.getData() == null) {
+            log.warn("获取关注列表失败: userId={}, result={}", userId, result);
+            throw new BusinessException("获取关注动态失败，请稍后重试");
+        }
+        return result.getData();
+    }
+
+    private static String timelineKey(Long userId) {
+        return TIMELINE_KEY_PREFIX + userId;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
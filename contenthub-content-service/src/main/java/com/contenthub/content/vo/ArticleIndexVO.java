@@ -0,0 +1,60 @@
+package com.contenthub.content.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 文章索引数据VO（供搜索服务建立索引）
+ */
+@Data
+@Schema(description = "文章索引数据")
+public class ArticleIndexVO {
+    
+    @Schema(description = "文章ID")
+    private Long id;
+    
+    @Schema(description = "作者ID")
+    private Long userId;
+    
+    @Schema(description = "作者昵称")
+    private String authorNickname;
+    
+    @Schema(description = "分类ID")
+    private Long categoryId;
+    
+    @Schema(description = "分类名称")
+    private String categoryName;
+    
+    @Schema(description = "标题")
+    private String title;
+    
+    @Schema(description = "摘要")
+    private String summary;
+    
+    @Schema(description = "内容（Markdown格式）")
+    private String content;
+    
+    @Schema(description = "标签ID列表")
+    private List<Long> tagIds;
+    
+    @Schema(description = "标签名称列表")
+    private List<String> tagNames;
+    
+    @Schema(description = "浏览量")
+    private Integer viewCount;
+    
+    @Schema(description = "点赞数")
+    private Integer likeCount;
+    
+    @Schema(description = "发布时间")
+    private LocalDateTime publishedAt;
+    
+    @Schema(description = "更新时间")
+    private LocalDateTime updatedAt;
+    
+    @Schema(description = "变更序号（搜索服务据此丢弃过期的写入）")
+    private Long changeSeq;
+}
@@ -1,5 +1,6 @@
 package com.contenthub.content.vo;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -93,5 +94,12 @@ public class ArticleVO {
     
     @Schema(description = "更新时间")
     private LocalDateTime updatedAt;
+    
+    /**
+     * 详情 ETag（仅用于响应头，不序列化）
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private String etag;
 }
 
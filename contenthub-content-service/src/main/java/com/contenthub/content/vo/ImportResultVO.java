@@ -0,0 +1,36 @@
+package com.contenthub.content.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量导入结果VO
+ */
+@Data
+@Schema(description = "批量导入结果")
+public class ImportResultVO {
+    
+    @Schema(description = "成功导入的文章数")
+    private long imported;
+    
+    @Schema(description = "格式或数据错误而跳过的行数")
+    private long failed;
+    
+    @Schema(description = "下次续传的起始行（已提交的最后一行之后），全部完成时等于总行数")
+    private long nextOffset;
+    
+    @Schema(description = "是否已读到输入末尾")
+    private boolean completed;
+    
+    @Schema(description = "耗时（毫秒）")
+    private long took;
+    
+    @Schema(description = "导入速度（行/秒）")
+    private double rowsPerSecond;
+    
+    @Schema(description = "错误明细（最多100条，格式：行号: 原因）")
+    private List<String> errors = new ArrayList<>();
+}
@@ -0,0 +1,122 @@
+package com.contenthub.content.markdown;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Markdown 渲染测试
+ *
+ * 基准部分按 1KB、50KB、1MB 三种文档测量渲染耗时，并与原先的正则替换链对比。
+ */
+class MarkdownRendererTest {
+
+    private static final long WARMUP_NANOS = 500_000_000L;
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    private final MarkdownRenderer renderer = new MarkdownRenderer();
+
+    @Test
+    void escapesHtmlAndMarksLinks() {
+        String html = renderer.render("# 标题\n\n<script>alert(1)</script>\n\n[站外](https://example.com) [x](javascript:alert(1))");
+
+        assertTrue(html.contains("<h1>标题</h1>"));
+        assertTrue(html.contains("&lt;script&gt;"));
+        assertTrue(html.contains("rel=\"nofollow noopener\""));
+        assertFalse(html.contains("javascript:"));
+    }
+
+    @Test
+    void renderThroughput() {
+        for (int size : new int[]{1024, 50 * 1024, 1024 * 1024}) {
+            String markdown = document(size);
+            assertFalse(renderer.render(markdown).isEmpty());
+
+            Stats commonmark = measure(markdown, renderer::render);
+            Stats regex = measure(markdown, MarkdownRendererTest::regexChain);
+            System.out.printf("markdown %s: commonmark %.3fms/op (%.1f MB/s), regex chain %.3fms/op (%.1f MB/s)%n",
+                    label(size), commonmark.millisPerOp, commonmark.megabytesPerSecond,
+                    regex.millisPerOp, regex.megabytesPerSecond);
+        }
+    }
+
+    private static Stats measure(String markdown, UnaryOperator<String> render) {
+        // 1. 预热
+        long sink = 0;
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < warmupEnd) {
+            sink += render.apply(markdown).length();
+        }
+
+        // 2. 测量：至少执行一次，直到达到测量时长
+        int ops = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink += render.apply(markdown).length();
+            ops++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        assertTrue(sink > 0);
+
+        double millisPerOp = elapsed / 1_000_000.0 / ops;
+        double megabytesPerSecond = markdown.length() / 1024.0 / 1024.0 / (millisPerOp / 1000.0);
+        return new Stats(millisPerOp, megabytesPerSecond);
+    }
+
+    /**
+     * 生成接近真实文章的文档：标题、段落（粗体、斜体、链接、行内代码）、列表、代码块、表格
+     */
+    private static String document(int size) {
+        Random random = new Random(size);
+        StringBuilder markdown = new StringBuilder(size + 1024);
+        int section = 0;
+        while (markdown.length() < size) {
+            section++;
+            markdown.append("## 第 ").append(section).append(" 节 Section heading\n\n");
+            for (int i = 0; i < 3; i++) {
+                markdown.append("这是一段正文，包含 **粗体**、*斜体*、`inline code` 和 [链接](https://example.com/")
+                        .append(random.nextInt(1000)).append(")。Lorem ipsum dolor sit amet, consectetur adipiscing elit.\n\n");
+            }
+            markdown.append("- 列表项一\n- 列表项二 ~~删除~~\n- [ ] 待办\n\n");
+            markdown.append("```java\nint value = ").append(random.nextInt()).append(";\nSystem.out.println(value);\n```\n\n");
+            markdown.append("| 列 | 值 |\n| --- | --- |\n| a | ").append(random.nextInt(100)).append(" |\n\n");
+        }
+        return markdown.toString();
+    }
+
+    /**
+     * 原先的正则替换链（对比基线）
+     */
+    private static String regexChain(String markdown) {
+        String html = markdown;
+        html = html.replaceAll("^### (.*)$", "<h3>$1</h3>");
+        html = html.replaceAll("^## (.*)$", "<h2>$1</h2>");
+        html = html.replaceAll("^# (.*)$", "<h1>$1</h1>");
+        html = html.replaceAll("\\*\\*(.*?)\\*\\*", "<strong>$1</strong>");
+        html = html.replaceAll("\\*(.*?)\\*", "<em>$1</em>");
+        html = html.replaceAll("\\[([^\\]]+)\\]\\(([^\\)]+)\\)", "<a href=\"$2\">$1</a>");
+        html = html.replaceAll("```([^`]+)```", "<pre><code>$1</code></pre>");
+        html = html.replaceAll("`([^`]+)`", "<code>$1</code>");
+        html = html.replaceAll("\n\n", "</p><p>");
+        return "<p>" + html + "</p>";
+    }
+
+    private static String label(int size) {
+        return size >= 1024 * 1024 ? size / 1024 / 1024 + "MB" : size / 1024 + "KB";
+    }
+
+    private static final class Stats {
+
+        final double millisPerOp;
+        final double megabytesPerSecond;
+
+        Stats(double millisPerOp, double megabytesPerSecond) {
+            this.millisPerOp = millisPerOp;
+            this.megabytesPerSecond = megabytesPerSecond;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.contenthub.content.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.contenthub.common.client.BlockedUserFetcher;
+import com.contenthub.common.client.UserInfoFetcher;
+import com.contenthub.common.result.CursorPage;
+import com.contenthub.content.cache.ArticleDetailCache;
+import com.contenthub.content.counter.ViewCountBuffer;
+import com.contenthub.content.dictionary.ContentDictionary;
+import com.contenthub.content.domain.Article;
+import com.contenthub.content.domain.ArticleTag;
+import com.contenthub.content.feign.CommentServiceClient;
+import com.contenthub.content.feign.FileServiceClient;
+import com.contenthub.content.feign.UserServiceClient;
+import com.contenthub.content.importer.ArticleImporter;
+import com.contenthub.content.interaction.ArticleInteractionStore;
+import com.contenthub.content.interaction.InteractionType;
+import com.contenthub.content.mapper.*;
+import com.contenthub.content.markdown.MarkdownRenderer;
+import com.contenthub.content.outbox.ArticleOutboxWriter;
+import com.contenthub.content.ranking.HotRankingService;
+import com.contenthub.content.slug.SlugAllocator;
+import com.contenthub.content.timeline.TimelineService;
+import com.contenthub.content.vo.ArticleVO;
+import com.contenthub.content.vo.CategoryVO;
+import com.contenthub.content.vo.TagVO;
+import com.contenthub.user.vo.UserInfoVO;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 文章服务测试
+ */
+class ArticleServiceImplTest {
+
+    private static final long USER_ID = 1L;
+    private static final int AUTHORS = 7;
+    private static final int CATEGORIES = 3;
+    private static final int TAGS = 5;
+
+    private ArticleMapper articleMapper;
+    private CategoryMapper categoryMapper;
+    private TagMapper tagMapper;
+    private ArticleTagMapper articleTagMapper;
+    private UserServiceClient userServiceClient;
+    private UserInfoFetcher<UserInfoVO> userInfoFetcher;
+    private BlockedUserFetcher blockedUserFetcher;
+    private CommentServiceClient commentServiceClient;
+    private FileServiceClient fileServiceClient;
+    private ArticleInteractionStore articleInteractionStore;
+    private ContentDictionary contentDictionary;
+    private TimelineService timelineService;
+    private ArticleServiceImpl articleService;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // LambdaQueryWrapper 需要实体的表信息（通常由 MyBatis-Plus 启动时解析）
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), ArticleTag.class);
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        categoryMapper = mock(CategoryMapper.class);
+        tagMapper = mock(TagMapper.class);
+        articleTagMapper = mock(ArticleTagMapper.class);
+        userServiceClient = mock(UserServiceClient.class);
+        userInfoFetcher = mock(UserInfoFetcher.class);
+        blockedUserFetcher = mock(BlockedUserFetcher.class);
+        commentServiceClient = mock(CommentServiceClient.class);
+        fileServiceClient = mock(FileServiceClient.class);
+        articleInteractionStore = mock(ArticleInteractionStore.class);
+        contentDictionary = mock(ContentDictionary.class);
+        timelineService = mock(TimelineService.class);
+
+        articleService = new ArticleServiceImpl(articleMapper, categoryMapper, tagMapper, articleTagMapper,
+                userServiceClient, userInfoFetcher, blockedUserFetcher, commentServiceClient, fileServiceClient,
+                mock(ViewCountBuffer.class), articleInteractionStore, mock(HotRankingService.class),
+                mock(ArticleOutboxWriter.class), mock(MarkdownRenderer.class), mock(ArticleDetailCache.class),
+                contentDictionary, mock(SlugAllocator.class), mock(ArticleImporter.class), timelineService);
+
+        // 用户服务：返回请求的全部作者
+        when(userInfoFetcher.getUsers(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> userIds = invocation.getArgument(0);
+            return userIds.stream().collect(Collectors.toMap(id -> id, ArticleServiceImplTest::author));
+        });
+        // 点赞、收藏：偶数ID已点赞，3 的倍数已收藏
+        when(articleInteractionStore.filterMembers(any(), anyLong(), anyCollection())).thenAnswer(invocation -> {
+            InteractionType type = invocation.getArgument(0);
+            Collection<Long> articleIds = invocation.getArgument(2);
+            long divisor = type == InteractionType.LIKE ? 2 : 3;
+            return articleIds.stream().filter(id -> id % divisor == 0).collect(Collectors.toSet());
+        });
+        // 字典：内存读取
+        when(contentDictionary.getCategory(anyLong())).thenAnswer(invocation -> category(invocation.getArgument(0)));
+        when(contentDictionary.getTag(anyLong())).thenAnswer(invocation -> tag(invocation.getArgument(0)));
+    }
+
+    /**
+     * 整页转换时每个维度（点赞、收藏、作者、文章标签）各查询一次，与页大小无关
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50})
+    void convertingPageQueriesEachDimensionOnce(int pageSize) {
+        List<Article> articles = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(ArticleServiceImplTest::article)
+                .collect(Collectors.toList());
+        when(timelineService.getFeed(USER_ID, null, pageSize)).thenReturn(new CursorPage<>(articles, null, false));
+        when(articleTagMapper.selectList(any())).thenReturn(articles.stream()
+                .flatMap(article -> LongStream.rangeClosed(1, 2)
+                        .mapToObj(offset -> articleTag(article.getId(), (article.getId() + offset) % TAGS + 1)))
+                .collect(Collectors.toList()));
+
+        List<ArticleVO> vos = articleService.getFeed(USER_ID, null, pageSize).getList();
+
+        // 1. 每个维度一次调用
+        verify(articleInteractionStore, times(1)).filterMembers(eq(InteractionType.LIKE), eq(USER_ID), anyCollection());
+        verify(articleInteractionStore, times(1)).filterMembers(eq(InteractionType.COLLECT), eq(USER_ID), anyCollection());
+        verify(userInfoFetcher, times(1)).getUsers(argThat(userIds -> userIds.size() == Math.min(pageSize, AUTHORS)));
+        verify(articleTagMapper, times(1)).selectList(any());
+        // 分类、标签只读字典，不查询数据库，也不逐条调用其他服务
+        verifyNoInteractions(articleMapper, categoryMapper, tagMapper, userServiceClient,
+                commentServiceClient, fileServiceClient, blockedUserFetcher);
+
+        // 2. 组装结果与逐条查询一致
+        assertEquals(pageSize, vos.size());
+        for (ArticleVO vo : vos) {
+            Article article = articles.stream().filter(a -> a.getId().equals(vo.getId())).findFirst().orElseThrow();
+            assertEquals(author(article.getUserId()).getNickname(), vo.getAuthorNickname());
+            assertEquals(category(article.getCategoryId()).getName(), vo.getCategoryName());
+            assertEquals(vo.getId() % 2 == 0, vo.getIsLiked());
+            assertEquals(vo.getId() % 3 == 0, vo.getIsCollected());
+            assertEquals(2, vo.getTags().size());
+        }
+    }
+
+    private static Article article(long id) {
+        Article article = new Article();
+        article.setId(id);
+        article.setUserId(100 + id % AUTHORS);
+        article.setCategoryId(10 + id % CATEGORIES);
+        article.setTitle("文章" + id);
+        return article;
+    }
+
+    private static ArticleTag articleTag(long articleId, long tagId) {
+        ArticleTag articleTag = new ArticleTag();
+        articleTag.setArticleId(articleId);
+        articleTag.setTagId(tagId);
+        return articleTag;
+    }
+
+    private static UserInfoVO author(Long userId) {
+        UserInfoVO userInfo = new UserInfoVO();
+        userInfo.setId(userId);
+        userInfo.setUsername("user" + userId);
+        userInfo.setNickname("作者" + userId);
+        return userInfo;
+    }
+
+    private static CategoryVO category(Long categoryId) {
+        CategoryVO category = new CategoryVO();
+        category.setId(categoryId);
+        category.setName("分类" + categoryId);
+        return category;
+    }
+
+    private static TagVO tag(Long tagId) {
+        TagVO tag = new TagVO();
+        tag.setId(tagId);
+        tag.setName("标签" + tagId);
+        return tag;
+    }
+}
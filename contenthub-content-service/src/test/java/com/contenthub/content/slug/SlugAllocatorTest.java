@@ -0,0 +1,130 @@
+package com.contenthub.content.slug;
+
+import com.contenthub.common.utils.TextUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 别名、摘要生成测试
+ *
+ * 基准部分测量 200 字标题生成别名、100KB 正文生成摘要的耗时，并与原先的正则替换链对比。
+ */
+class SlugAllocatorTest {
+
+    private static final int TITLE_LENGTH = 200;
+    private static final int BODY_LENGTH = 100 * 1024;
+    private static final int SLUG_MAX_LENGTH = 200;
+    private static final int SUMMARY_MAX_LENGTH = 200;
+
+    private static final long WARMUP_NANOS = 500_000_000L;
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    @Test
+    void slugKeepsLettersDigitsAndIdeographs() {
+        SlugAllocator allocator = new SlugAllocator(false);
+
+        assertEquals("spring-boot-3-入门", allocator.slugify("  Spring Boot 3：入门!! ", SLUG_MAX_LENGTH));
+        assertTrue(allocator.slugify(title(), SLUG_MAX_LENGTH).length() <= SLUG_MAX_LENGTH);
+    }
+
+    @Test
+    void slugAndSummaryThroughput() {
+        String title = title();
+        String body = body();
+        SlugAllocator allocator = new SlugAllocator(false);
+        SlugAllocator pinyinAllocator = new SlugAllocator(true);
+
+        report("slugify 200-char title", measure(() -> allocator.slugify(title, SLUG_MAX_LENGTH)),
+                measure(() -> regexSlug(title)));
+        report("slugify 200-char title (pinyin)", measure(() -> pinyinAllocator.slugify(title, SLUG_MAX_LENGTH)), -1);
+        report("summarize 100KB body", measure(() -> TextUtils.summarize(body, SUMMARY_MAX_LENGTH)),
+                measure(() -> regexSummary(body)));
+    }
+
+    private static void report(String name, double nanosPerOp, double baselineNanosPerOp) {
+        if (baselineNanosPerOp < 0) {
+            System.out.printf("%s: %.2fus/op%n", name, nanosPerOp / 1000);
+        } else {
+            System.out.printf("%s: %.2fus/op, regex chain %.2fus/op%n", name, nanosPerOp / 1000, baselineNanosPerOp / 1000);
+        }
+    }
+
+    /**
+     * 预热后在测量时长内反复执行，返回每次耗时（纳秒）
+     */
+    private static double measure(Supplier<String> operation) {
+        long sink = 0;
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < warmupEnd) {
+            sink += operation.get().length();
+        }
+
+        long ops = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink += operation.get().length();
+            ops++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        assertTrue(sink > 0);
+        return (double) elapsed / ops;
+    }
+
+    /**
+     * 中英文、数字、标点混排的 200 字标题
+     */
+    private static String title() {
+        String[] words = {"Spring", "Boot", "微服务", "实战", "2024", "：", "从入门到精通", "Redis", "缓存", "（下）", "!", "Kafka"};
+        Random random = new Random(7);
+        StringBuilder title = new StringBuilder(TITLE_LENGTH + 16);
+        while (title.length() < TITLE_LENGTH) {
+            title.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return title.substring(0, TITLE_LENGTH);
+    }
+
+    /**
+     * 100KB Markdown 正文
+     */
+    private static String body() {
+        StringBuilder body = new StringBuilder(BODY_LENGTH + 256);
+        int section = 0;
+        while (body.length() < BODY_LENGTH) {
+            section++;
+            body.append("## 第 ").append(section).append(" 节\n\n")
+                .append("> 引用一段话，**粗体**和*斜体*。\n\n")
+                .append("正文包含 [链接](https://example.com/").append(section).append(") 和 ![图片](a.png)，")
+                .append("Lorem ipsum dolor sit amet, consectetur adipiscing elit.\n\n")
+                .append("- 列表项\n- `code`\n\n");
+        }
+        return body.toString();
+    }
+
+    /**
+     * 原先的别名生成（对比基线）
+     */
+    private static String regexSlug(String title) {
+        String slug = title.toLowerCase()
+                .replaceAll("[^a-z0-9\\u4e00-\\u9fa5]", "-")
+                .replaceAll("-+", "-")
+                .replaceAll("^-|-$", "");
+        return slug.length() > SLUG_MAX_LENGTH ? slug.substring(0, SLUG_MAX_LENGTH) : slug;
+    }
+
+    /**
+     * 原先的摘要生成（对比基线）
+     */
+    private static String regexSummary(String content) {
+        String plainText = content
+                .replaceAll("#+\\s*", "")
+                .replaceAll("\\*+", "")
+                .replaceAll("\\[.*?\\]\\(.*?\\)", "")
+                .replaceAll("\n", " ");
+        return plainText.length() > SUMMARY_MAX_LENGTH ? plainText.substring(0, SUMMARY_MAX_LENGTH) + "..." : plainText;
+    }
+}
@@ -0,0 +1,477 @@
+package com.contenthub.content.timeline;
+
+import com.contenthub.common.result.CursorPage;
+import com.contenthub.common.result.Result;
+import com.contenthub.content.domain.Article;
+import com.contenthub.content.feign.UserServiceClient;
+import com.contenthub.content.mapper.ArticleMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.mockito.stubbing.Answer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 关注动态模拟测试
+ *
+ * Redis 和用户服务用内存数据模拟；关注图按幂律生成（被关注者按 Zipf 分布选取），
+ * 少数作者的粉丝数超过阈值改为拉模式，其余作者推送到粉丝的时间线。
+ */
+class TimelineServiceTest {
+
+    private static final int USERS = 2000;
+    private static final int MAX_FOLLOWING = 40;
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final int ARTICLES = 2000;
+    private static final int SAMPLED_READERS = 200;
+    private static final int PAGE_SIZE = 50;
+
+    /**
+     * 时间线容量不小于文章总数（不裁剪），便于与直接查询的结果逐条比较
+     */
+    private static final int MAX_SIZE = ARTICLES;
+    private static final long FANOUT_THRESHOLD = 200;
+    private static final int FANOUT_BATCH_SIZE = 100;
+    private static final long TTL_HOURS = 24;
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final Random random = new Random(42);
+
+    private FakeRedis redis;
+    private ArticleMapper articleMapper;
+    private UserServiceClient userServiceClient;
+    private SimpleMeterRegistry meterRegistry;
+    private TimelineService timelineService;
+
+    /**
+     * 关注关系：用户ID -> 关注的作者ID；作者ID -> 粉丝ID（按关注先后）
+     */
+    private final Map<Long, Set<Long>> following = new ConcurrentHashMap<>();
+    private final Map<Long, List<Long>> followers = new ConcurrentHashMap<>();
+
+    /**
+     * 已发布的文章：文章ID -> 文章；作者ID -> 文章
+     */
+    private final Map<Long, Article> articles = new ConcurrentHashMap<>();
+    private final Map<Long, List<Article>> articlesByAuthor = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        redis = new FakeRedis();
+        articleMapper = mock(ArticleMapper.class);
+        userServiceClient = mock(UserServiceClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        timelineService = new TimelineService(redis.template, articleMapper, userServiceClient, meterRegistry,
+                MAX_SIZE, FANOUT_THRESHOLD, FANOUT_BATCH_SIZE, TTL_HOURS, 2, ARTICLES);
+
+        when(articleMapper.selectPublishedByAuthors(anyCollection(), any(), any(), anyInt())).thenAnswer(invocation ->
+                queryPublished(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2),
+                        invocation.getArgument(3)));
+        when(articleMapper.selectBatchIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<?> ids = invocation.getArgument(0);
+            return ids.stream().map(articles::get).filter(Objects::nonNull).collect(Collectors.toList());
+        });
+
+        when(userServiceClient.getFollowStats(anyLong())).thenAnswer(invocation -> {
+            Map<String, Long> stats = new HashMap<>();
+            stats.put("followerCount", (long) followersOf(invocation.getArgument(0)).size());
+            return Result.success(stats);
+        });
+        when(userServiceClient.getFollowerIds(anyLong(), any(), anyInt())).thenAnswer(invocation -> {
+            List<Long> ids = followersOf(invocation.getArgument(0));
+            String cursor = invocation.getArgument(1);
+            int size = invocation.getArgument(2);
+            int from = cursor != null ? Integer.parseInt(cursor) : 0;
+            int to = Math.min(from + size, ids.size());
+            boolean hasMore = to < ids.size();
+            return Result.success(new CursorPage<>(new ArrayList<>(ids.subList(from, to)),
+                    hasMore ? String.valueOf(to) : null, hasMore));
+        });
+        when(userServiceClient.getFollowingIds(anyLong())).thenAnswer(invocation ->
+                Result.success(new ArrayList<>(followingOf(invocation.getArgument(0)))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        timelineService.shutdown();
+    }
+
+    @Test
+    void powerLawFeedMatchesFollowGraph() throws Exception {
+        // 1. 幂律关注图：每个用户关注 1 ~ MAX_FOLLOWING 个作者，作者按 Zipf 分布选取
+        double[] cumulative = zipfCumulative(USERS);
+        long edges = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            int count = 1 + random.nextInt(MAX_FOLLOWING);
+            for (int i = 0; i < count; i++) {
+                long authorId = sample(cumulative);
+                if (authorId != userId && following.computeIfAbsent(userId, k -> new LinkedHashSet<>()).add(authorId)) {
+                    followers.computeIfAbsent(authorId, k -> new ArrayList<>()).add(userId);
+                    edges++;
+                }
+            }
+        }
+
+        // 2. 一半用户发布前读取过（时间线已存在，接收推送），其余首次读取时重建
+        for (long userId = 1; userId <= USERS; userId += 2) {
+            timelineService.getFeed(userId, null, PAGE_SIZE);
+        }
+
+        // 3. 作者同样按 Zipf 分布发布文章，等待全部推送完成
+        long publishStart = System.nanoTime();
+        for (long articleId = 1; articleId <= ARTICLES; articleId++) {
+            publish(articleId, sample(cumulative), BASE_TIME.plusSeconds(articleId));
+        }
+        awaitFanouts(ARTICLES);
+        long publishMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - publishStart);
+
+        // 4. 抽样用户翻完全部关注动态，与按关注关系直接查询的结果一致
+        long pages = 0;
+        long readNanos = 0;
+        for (int i = 0; i < SAMPLED_READERS; i++) {
+            long userId = 1 + random.nextInt(USERS);
+            List<Long> feed = new ArrayList<>();
+            String cursor = null;
+            do {
+                long start = System.nanoTime();
+                CursorPage<Article> page = timelineService.getFeed(userId, cursor, PAGE_SIZE);
+                readNanos += System.nanoTime() - start;
+                pages++;
+                page.getList().forEach(article -> feed.add(article.getId()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+            assertEquals(expectedFeed(userId), feed, "userId=" + userId);
+        }
+
+        Set<String> pullAuthors = redis.sets.getOrDefault(TimelineService.PULL_AUTHORS_KEY, Collections.emptySet());
+        assertFalse(pullAuthors.isEmpty());
+        for (String author : pullAuthors) {
+            assertTrue(followersOf(Long.valueOf(author)).size() > FANOUT_THRESHOLD, "authorId=" + author);
+        }
+        assertEquals(0, meterRegistry.get("content.timeline.fanout.rejected").counter().count());
+
+        System.out.printf("关注动态模拟: users=%d, follows=%d, pullAuthors=%d, articles=%d, timelineWrites=%.0f, "
+                        + "publishCost=%dms, pages=%d, avgPageCost=%.1fus%n",
+                USERS, edges, pullAuthors.size(), ARTICLES,
+                meterRegistry.get("content.timeline.fanout.writes").counter().count(),
+                publishMillis, pages, readNanos / 1000.0 / pages);
+    }
+
+    @Test
+    void readingDoesNotExtendTimelineSoExpiryRepairsIt() throws Exception {
+        follow(1L, 2L);
+        follow(1L, 3L);
+        timelineService.getFeed(1L, null, PAGE_SIZE);
+
+        // 1. 作者 3 的文章推送成功，之后取消关注
+        publish(1L, 3L, BASE_TIME.plusSeconds(1));
+        awaitFanouts(1);
+        unfollow(1L, 3L);
+
+        // 2. 作者 2 的文章推送失败
+        when(userServiceClient.getFollowerIds(eq(2L), any(), anyInt())).thenReturn(Result.error("用户服务不可用"));
+        publish(2L, 2L, BASE_TIME.plusSeconds(2));
+        awaitFanouts(2);
+
+        // 3. 过期前每小时读取一次：时间线仍是旧的，且不续期
+        for (int hour = 0; hour < TTL_HOURS; hour++) {
+            assertEquals(Collections.singletonList(1L), ids(timelineService.getFeed(1L, null, PAGE_SIZE)));
+            redis.advance(TimeUnit.HOURS.toMillis(1));
+        }
+
+        // 4. 到期后按当前关注列表重建：补上推送失败的文章，移除已取消关注的作者
+        assertEquals(Collections.singletonList(2L), ids(timelineService.getFeed(1L, null, PAGE_SIZE)));
+    }
+
+    // ==================== 模拟数据 ====================
+
+    private void publish(long articleId, long authorId, LocalDateTime publishedAt) {
+        Article article = new Article();
+        article.setId(articleId);
+        article.setUserId(authorId);
+        article.setStatus(1);
+        article.setPublishedAt(publishedAt);
+        articles.put(articleId, article);
+        articlesByAuthor.computeIfAbsent(authorId, k -> new ArrayList<>()).add(article);
+        timelineService.publish(article);
+    }
+
+    private void follow(long userId, long authorId) {
+        following.computeIfAbsent(userId, k -> new LinkedHashSet<>()).add(authorId);
+        followers.computeIfAbsent(authorId, k -> new ArrayList<>()).add(userId);
+    }
+
+    private void unfollow(long userId, long authorId) {
+        following.get(userId).remove(authorId);
+        followers.get(authorId).remove(userId);
+    }
+
+    private Set<Long> followingOf(long userId) {
+        return following.getOrDefault(userId, Collections.emptySet());
+    }
+
+    private List<Long> followersOf(long authorId) {
+        return followers.getOrDefault(authorId, Collections.emptyList());
+    }
+
+    /**
+     * 模拟 selectPublishedByAuthors：作者们游标之后的文章，按 (发布时间, ID) 倒序
+     */
+    private List<Article> queryPublished(Collection<Long> authorIds, LocalDateTime publishedAt, Long lastId, int limit) {
+        return authorIds.stream()
+                .flatMap(authorId -> articlesByAuthor.getOrDefault(authorId, Collections.emptyList()).stream())
+                .filter(article -> publishedAt == null
+                        || article.getPublishedAt().isBefore(publishedAt)
+                        || article.getPublishedAt().equals(publishedAt) && article.getId() < lastId)
+                .sorted(Comparator.comparing(Article::getPublishedAt).thenComparing(Article::getId).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 按关注关系直接查询的完整动态
+     */
+    private List<Long> expectedFeed(long userId) {
+        return queryPublished(followingOf(userId), null, null, Integer.MAX_VALUE).stream()
+                .map(Article::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static double[] zipfCumulative(int n) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1 / Math.pow(rank, ZIPF_EXPONENT);
+            cumulative[rank - 1] = sum;
+        }
+        return cumulative;
+    }
+
+    /**
+     * 按 Zipf 分布选取用户ID（ID 越小越热门）
+     */
+    private long sample(double[] cumulative) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        return (index >= 0 ? index : -index - 1) + 1;
+    }
+
+    private void awaitFanouts(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30000;
+        while (meterRegistry.get("content.timeline.fanout").timer().count() < expected) {
+            assertTrue(System.currentTimeMillis() < deadline, "推送未在 30 秒内完成");
+            Thread.sleep(5);
+        }
+    }
+
+    private static List<Long> ids(CursorPage<Article> page) {
+        return page.getList().stream().map(Article::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * 内存模拟的 Redis：有序集合、集合和过期时间（时钟由测试推进）
+     */
+    private static class FakeRedis {
+
+        private final Map<String, Map<String, Double>> zsets = new HashMap<>();
+        private final Map<String, Set<String>> sets = new ConcurrentHashMap<>();
+        private final Map<String, Long> expireAt = new HashMap<>();
+        private long now = System.currentTimeMillis();
+
+        @SuppressWarnings("unchecked")
+        private final ZSetOperations<String, String> zSetOps = mock(ZSetOperations.class, (Answer<Object>) invocation -> {
+            Object[] args = invocation.getArguments();
+            switch (invocation.getMethod().getName()) {
+                case "rangeByScore":
+                    return rangeByScore((String) args[0], (Double) args[1], (Double) args[2]);
+                case "reverseRangeByScoreWithScores":
+                    return reverseRangeByScoreWithScores((String) args[0], (Double) args[1], (Double) args[2],
+                            (Long) args[3], (Long) args[4]);
+                case "remove":
+                    return zrem((String) args[0], Arrays.copyOfRange(args, 1, args.length));
+                default:
+                    throw new UnsupportedOperationException(invocation.getMethod().toString());
+            }
+        });
+
+        @SuppressWarnings("unchecked")
+        private final SetOperations<String, String> setOps = mock(SetOperations.class, (Answer<Object>) invocation -> {
+            Object[] args = invocation.getArguments();
+            Set<String> set = sets.computeIfAbsent((String) args[0], k -> ConcurrentHashMap.newKeySet());
+            switch (invocation.getMethod().getName()) {
+                case "members":
+                    return new HashSet<>(set);
+                case "isMember":
+                    return set.contains((String) args[1]);
+                case "add":
+                    long added = 0;
+                    for (int i = 1; i < args.length; i++) {
+                        added += set.add((String) args[i]) ? 1 : 0;
+                    }
+                    return added;
+                default:
+                    throw new UnsupportedOperationException(invocation.getMethod().toString());
+            }
+        });
+
+        private final RedisZSetCommands zSetCommands = mock(RedisZSetCommands.class, (Answer<Object>) invocation -> {
+            Object[] args = invocation.getArguments();
+            if (invocation.getMethod().getName().equals("zAdd") && args.length == 3) {
+                zadd(string(args[0]), (Double) args[1], string(args[2]));
+                return true;
+            }
+            throw new UnsupportedOperationException(invocation.getMethod().toString());
+        });
+
+        private final RedisKeyCommands keyCommands = mock(RedisKeyCommands.class, (Answer<Object>) invocation -> {
+            Object[] args = invocation.getArguments();
+            if (invocation.getMethod().getName().equals("expire")) {
+                return expire(string(args[0]), TimeUnit.SECONDS.toMillis((Long) args[1]));
+            }
+            throw new UnsupportedOperationException(invocation.getMethod().toString());
+        });
+
+        private final RedisConnection connection = mock(RedisConnection.class, (Answer<Object>) invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "zSetCommands":
+                    return zSetCommands;
+                case "keyCommands":
+                    return keyCommands;
+                default:
+                    throw new UnsupportedOperationException(invocation.getMethod().toString());
+            }
+        });
+
+        private final StringRedisTemplate template = mock(StringRedisTemplate.class, (Answer<Object>) invocation -> {
+            Object[] args = invocation.getArguments();
+            switch (invocation.getMethod().getName()) {
+                case "hasKey":
+                    return exists((String) args[0]);
+                case "expire":
+                    return expire((String) args[0], ((TimeUnit) args[2]).toMillis((Long) args[1]));
+                case "opsForZSet":
+                    return zSetOps;
+                case "opsForSet":
+                    return setOps;
+                case "execute":
+                    // 推送脚本：只写入已存在的时间线，写入后裁剪
+                    List<?> keys = (List<?>) args[1];
+                    long written = 0;
+                    for (Object key : keys) {
+                        if (exists((String) key)) {
+                            zadd((String) key, Double.parseDouble((String) args[2]), (String) args[3]);
+                            trim((String) key, Integer.parseInt((String) args[4]));
+                            written++;
+                        }
+                    }
+                    return written;
+                case "executePipelined":
+                    ((RedisCallback<?>) args[0]).doInRedis(connection);
+                    return Collections.emptyList();
+                default:
+                    throw new UnsupportedOperationException(invocation.getMethod().toString());
+            }
+        });
+
+        synchronized void advance(long millis) {
+            now += millis;
+        }
+
+        private synchronized boolean exists(String key) {
+            Long deadline = expireAt.get(key);
+            if (deadline != null && deadline <= now) {
+                zsets.remove(key);
+                expireAt.remove(key);
+            }
+            return zsets.containsKey(key);
+        }
+
+        private synchronized boolean expire(String key, long millis) {
+            if (!exists(key)) {
+                return false;
+            }
+            expireAt.put(key, now + millis);
+            return true;
+        }
+
+        private synchronized void zadd(String key, double score, String member) {
+            exists(key);
+            zsets.computeIfAbsent(key, k -> new HashMap<>()).put(member, score);
+        }
+
+        private synchronized long zrem(String key, Object[] members) {
+            if (!exists(key)) {
+                return 0;
+            }
+            long removed = 0;
+            for (Object member : members) {
+                removed += zsets.get(key).remove((String) member) != null ? 1 : 0;
+            }
+            return removed;
+        }
+
+        /**
+         * ZREMRANGEBYRANK key 0 -(maxSize + 1)：只保留分数最高的 maxSize 个成员
+         */
+        private synchronized void trim(String key, int maxSize) {
+            List<Map.Entry<String, Double>> ascending = sorted(key, 0, Double.POSITIVE_INFINITY);
+            for (int i = 0; i < ascending.size() - maxSize; i++) {
+                zsets.get(key).remove(ascending.get(i).getKey());
+            }
+        }
+
+        private synchronized Set<String> rangeByScore(String key, double min, double max) {
+            return sorted(key, min, max).stream()
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+
+        private synchronized Set<ZSetOperations.TypedTuple<String>> reverseRangeByScoreWithScores(
+                String key, double min, double max, long offset, long count) {
+            List<Map.Entry<String, Double>> entries = sorted(key, min, max);
+            Collections.reverse(entries);
+            return entries.stream()
+                    .skip(offset)
+                    .limit(count)
+                    .map(entry -> new DefaultTypedTuple<>(entry.getKey(), entry.getValue()))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+
+        /**
+         * 分数在 [min, max] 内的成员，按 (分数, 成员) 升序
+         */
+        private List<Map.Entry<String, Double>> sorted(String key, double min, double max) {
+            if (!exists(key)) {
+                return new ArrayList<>();
+            }
+            return zsets.get(key).entrySet().stream()
+                    .filter(entry -> entry.getValue() >= min && entry.getValue() <= max)
+                    .sorted(Map.Entry.<String, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .collect(Collectors.toList());
+        }
+
+        private static String string(Object raw) {
+            return new String((byte[]) raw, StandardCharsets.UTF_8);
+        }
+    }
+}
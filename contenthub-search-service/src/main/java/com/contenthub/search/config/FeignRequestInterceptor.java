@@ -0,0 +1,31 @@
+package com.contenthub.search.config;
+
+import com.contenthub.common.constant.Constants;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feign请求拦截器
+ * 用于在Feign调用时携带服务间调用凭证（重建索引时从内容服务导出文章）
+ */
+@Component
+public class FeignRequestInterceptor implements RequestInterceptor {
+    
+    /**
+     * 服务间调用凭证
+     */
+    private final String internalToken;
+    
+    public FeignRequestInterceptor(@Value("${contenthub.internal.token:}") String internalToken) {
+        this.internalToken = internalToken;
+    }
+    
+    @Override
+    public void apply(RequestTemplate template) {
+        if (!internalToken.isEmpty()) {
+            template.header(Constants.INTERNAL_TOKEN_HEADER, internalToken);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.contenthub.search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文章索引配置类
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "search.index")
+public class SearchIndexProperties {
+
+    /**
+     * 索引目录
+     */
+    private String path = "./data/search-index";
+
+    /**
+     * 写入缓冲大小（MB）
+     */
+    private double ramBufferMb = 64;
+
+    /**
+     * 重建时每批从内容服务拉取的文章数
+     */
+    private int rebuildBatchSize = 500;
+
+    /**
+     * 最多可翻到的结果数（页码 × 每页数量）
+     */
+    private int maxWindow = 1000;
+
+    /**
+     * 正文参与高亮的最大字符数
+     */
+    private int highlightMaxLength = 20000;
+}
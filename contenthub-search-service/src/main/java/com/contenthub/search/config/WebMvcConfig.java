@@ -0,0 +1,28 @@
+package com.contenthub.search.config;
+
+import com.contenthub.common.interceptor.InternalApiInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web配置类（搜索服务）
+ *
+ * 搜索接口公开访问，索引维护接口（@InternalApi）只允许携带内部调用凭证的服务调用
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    /**
+     * 服务间调用凭证（各服务配置相同的值）
+     */
+    @Value("${contenthub.internal.token:}")
+    private String internalToken;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new InternalApiInterceptor(internalToken))
+                .addPathPatterns("/**");
+    }
+}
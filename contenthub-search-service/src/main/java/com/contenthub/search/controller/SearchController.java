@@ -0,0 +1,76 @@
+package com.contenthub.search.controller;
+
+import com.contenthub.common.annotation.InternalApi;
+import com.contenthub.common.result.Result;
+import com.contenthub.search.dto.ArticleIndexBatchDTO;
+import com.contenthub.search.dto.ArticleIndexDTO;
+import com.contenthub.search.service.SearchService;
+import com.contenthub.search.vo.SearchResultVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 搜索控制器
+ */
+@Tag(name = "搜索", description = "文章全文搜索和索引维护接口")
+@RestController
+@RequestMapping("/search")
+@RequiredArgsConstructor
+public class SearchController {
+    
+    private final SearchService searchService;
+    
+    @Operation(summary = "搜索文章", description = "按标题、摘要、正文、标签全文搜索（中文分词，BM25 相关度），返回高亮片段和分类/标签/作者筛选项统计")
+    @GetMapping("/article")
+    public Result<SearchResultVO> searchArticles(
+            @Parameter(description = "关键词（为空时按发布时间浏览）") @RequestParam(required = false) String keyword,
+            @Parameter(description = "分类ID") @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "标签ID") @RequestParam(required = false) Long tagId,
+            @Parameter(description = "作者ID") @RequestParam(required = false) Long userId,
+            @Parameter(description = "排序方式（relevance-相关度，latest-最新）") 
+            @RequestParam(required = false, defaultValue = "relevance") String sortBy,
+            @Parameter(description = "页码", example = "1") @RequestParam(required = false, defaultValue = "1") Integer page,
+            @Parameter(description = "每页数量", example = "20") @RequestParam(required = false, defaultValue = "20") Integer size) {
+        SearchResultVO result = searchService.searchArticles(keyword, categoryId, tagId, userId, sortBy, page, size);
+        return Result.success(result);
+    }
+    
+    @Operation(summary = "写入文章索引", description = "批量写入或更新文章索引（服务间调用）")
+    @InternalApi
+    @PostMapping("/index/articles")
+    public Result<String> indexArticles(@RequestBody List<ArticleIndexDTO> articles) {
+        searchService.indexArticles(articles);
+        return Result.success("写入成功", null);
+    }
+    
+    @Operation(summary = "应用文章索引变更", description = "批量写入和删除文章索引，按变更序号丢弃过期变更（服务间调用，内容服务发件箱转发）")
+    @InternalApi
+    @PostMapping("/index/batch")
+    public Result<String> applyIndexBatch(@RequestBody ArticleIndexBatchDTO batch) {
+        searchService.applyBatch(batch);
+        return Result.success("处理成功", null);
+    }
+    
+    @Operation(summary = "删除文章索引", description = "删除文章索引，写入与批量删除相同的墓碑（服务间调用）")
+    @InternalApi
+    @DeleteMapping("/index/articles/{articleId}")
+    public Result<String> deleteArticle(
+            @Parameter(description = "文章ID", required = true) @PathVariable Long articleId) {
+        searchService.deleteArticles(Collections.singletonList(articleId));
+        return Result.success("删除成功", null);
+    }
+    
+    @Operation(summary = "重建文章索引", description = "从内容服务按文章ID游标拉取全部已发布文章，重建索引（服务间调用）")
+    @InternalApi
+    @PostMapping("/index/rebuild")
+    public Result<Long> rebuildIndex() {
+        long total = searchService.rebuildIndex();
+        return Result.success("重建成功", total);
+    }
+}
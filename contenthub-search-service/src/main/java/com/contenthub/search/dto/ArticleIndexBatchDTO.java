@@ -0,0 +1,23 @@
+package com.contenthub.search.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章索引变更批次DTO（与内容服务 ArticleIndexBatchVO 字段一致）
+ */
+@Data
+@Schema(description = "文章索引变更批次")
+public class ArticleIndexBatchDTO {
+    
+    @Schema(description = "需要写入或更新的文章")
+    private List<ArticleIndexDTO> upserts = new ArrayList<>();
+    
+    @Schema(description = "需要移除的文章（文章ID -> 变更序号）")
+    private Map<Long, Long> deletes = new HashMap<>();
+}
@@ -0,0 +1,26 @@
+package com.contenthub.search.feign;
+
+import com.contenthub.common.result.Result;
+import com.contenthub.search.dto.ArticleIndexDTO;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+/**
+ * 内容服务Feign客户端
+ */
+@FeignClient(name = "contenthub-content-service", path = "/content/article")
+public interface ContentServiceClient {
+    
+    /**
+     * 按文章ID游标导出已发布文章的索引数据
+     * @param lastId 上一批最后一篇文章ID（首批传0）
+     * @param size 每批数量
+     * @return 文章索引数据（按ID升序）
+     */
+    @GetMapping("/index/export")
+    Result<List<ArticleIndexDTO>> exportArticles(@RequestParam("lastId") Long lastId,
+                                                 @RequestParam("size") Integer size);
+}
@@ -0,0 +1,391 @@
+package com.contenthub.search.index;
+
+import cn.hutool.core.util.StrUtil;
+import com.contenthub.search.config.SearchIndexProperties;
+import com.contenthub.search.dto.ArticleIndexDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cn.smart.SmartChineseAnalyzer;
+import org.apache.lucene.document.*;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章索引（Lucene，本地磁盘）
+ *
+ * 写入：IndexWriter 按文章ID upsert，定时提交（commit）落盘。
+ * 读取：SearcherManager 定时近实时刷新，搜索时 acquire/release 同一个 IndexSearcher 快照。
+ * 标题、摘要、正文、标签使用 SmartChineseAnalyzer 分词，相关度使用 BM25。
+ * 分类、标签、作者以 SortedSetDocValues 记录，用于筛选项统计。
+ * 每篇文章记录内容服务的变更序号（version），只接受不低于当前序号的写入和删除；
+ * 删除时保留一条只含ID和序号的墓碑文档，防止延迟到达的旧写入让已删除的文章重新出现；
+ * 未携带序号的删除使用索引中的当前序号，序号相同时墓碑优先（同序号的写入被丢弃）。
+ */
+@Slf4j
+@Component
+public class ArticleIndexer {
+
+    // ==================== 字段名 ====================
+
+    public static final String FIELD_ID = "id";
+    public static final String FIELD_TITLE = "title";
+    public static final String FIELD_SUMMARY = "summary";
+    public static final String FIELD_CONTENT = "content";
+    public static final String FIELD_TAGS = "tags";
+    public static final String FIELD_CATEGORY_ID = "categoryId";
+    public static final String FIELD_CATEGORY_NAME = "categoryName";
+    public static final String FIELD_TAG_ID = "tagId";
+    public static final String FIELD_USER_ID = "userId";
+    public static final String FIELD_AUTHOR = "authorNickname";
+    public static final String FIELD_PUBLISHED_AT = "publishedAt";
+    public static final String FIELD_VERSION = "version";
+    public static final String FIELD_INDEXED_AT = "indexedAt";
+    public static final String FIELD_TOMBSTONE = "tombstone";
+
+    /**
+     * 墓碑标记值
+     */
+    public static final String TOMBSTONE = "1";
+
+    /**
+     * 筛选项维度
+     */
+    public static final String FACET_CATEGORY = "category";
+    public static final String FACET_TAG = "tag";
+    public static final String FACET_AUTHOR = "author";
+
+    /**
+     * 标签名称在 tags 字段中的分隔符
+     */
+    private static final String TAG_SEPARATOR = " | ";
+
+    private final SearchIndexProperties properties;
+
+    @Getter
+    private final Analyzer analyzer = new SmartChineseAnalyzer();
+
+    @Getter
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+
+    private Directory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+
+    /**
+     * 筛选项统计状态（与 IndexReader 一一对应，刷新后重建）
+     */
+    private volatile FacetState facetState;
+
+    public ArticleIndexer(SearchIndexProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        facetsConfig.setMultiValued(FACET_TAG, true);
+        Gauge.builder("search.index.docs", this, ArticleIndexer::numDocs)
+                .description("文章索引文档数（含墓碑）")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path path = Paths.get(properties.getPath());
+        Files.createDirectories(path);
+        directory = FSDirectory.open(path);
+
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setSimilarity(new BM25Similarity())
+                .setRAMBufferSizeMB(properties.getRamBufferMb());
+        indexWriter = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(indexWriter, new SearcherFactory() {
+            @Override
+            public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) {
+                IndexSearcher searcher = new IndexSearcher(reader);
+                searcher.setSimilarity(new BM25Similarity());
+                return searcher;
+            }
+        });
+        log.info("打开文章索引: path={}, docs={}", path.toAbsolutePath(), indexWriter.getDocStats().numDocs);
+    }
+
+    /**
+     * 按变更序号批量写入和删除（低于索引中已有序号的变更被丢弃）
+     *
+     * 串行执行：先阻塞刷新一次，使上一批写入对版本查询可见。
+     * @param upserts 需要写入的文章
+     * @param deletes 需要删除的文章（文章ID -> 变更序号，为 null 时使用索引中的当前序号）
+     * @return 实际生效的变更数
+     */
+    public synchronized int apply(Collection<ArticleIndexDTO> upserts, Map<Long, Long> deletes) {
+        long indexedAt = System.currentTimeMillis();
+        int applied = 0;
+        IndexSearcher searcher = null;
+        try {
+            searcherManager.maybeRefreshBlocking();
+            searcher = searcherManager.acquire();
+
+            // 1. 写入文章（低于当前序号，或与墓碑序号相同时丢弃）
+            for (ArticleIndexDTO article : upserts) {
+                long version = article.getChangeSeq() != null ? article.getChangeSeq() : 0L;
+                Document current = findDocument(searcher, article.getId());
+                if (current != null) {
+                    long currentVersion = versionOf(current);
+                    if (version < currentVersion || (version == currentVersion && isTombstone(current))) {
+                        continue;
+                    }
+                }
+                indexWriter.updateDocument(idTerm(article.getId()),
+                        facetsConfig.build(toDocument(article, version, indexedAt)));
+                applied++;
+            }
+
+            // 2. 删除文章（写入墓碑）
+            for (Map.Entry<Long, Long> entry : deletes.entrySet()) {
+                Document current = findDocument(searcher, entry.getKey());
+                long currentVersion = current != null ? versionOf(current) : -1L;
+                long version = entry.getValue() != null ? entry.getValue() : Math.max(currentVersion, 0L);
+                if (version < currentVersion) {
+                    continue;
+                }
+                indexWriter.updateDocument(idTerm(entry.getKey()), toTombstone(entry.getKey(), version, indexedAt));
+                applied++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (searcher != null) {
+                release(searcher);
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * 删除在指定时间之前写入的文章（重建结束后清理已不存在的文章）
+     */
+    public void deleteIndexedBefore(long indexedAt) {
+        try {
+            indexWriter.deleteDocuments(LongPoint.newRangeQuery(FIELD_INDEXED_AT, Long.MIN_VALUE, indexedAt - 1));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 获取搜索快照，使用后必须调用 {@link #release(IndexSearcher)}
+     */
+    public IndexSearcher acquire() throws IOException {
+        return searcherManager.acquire();
+    }
+
+    public void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("释放索引快照失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 获取与快照对应的筛选项统计状态，索引中尚无筛选字段时返回 null
+     */
+    public SortedSetDocValuesReaderState getFacetState(IndexSearcher searcher) throws IOException {
+        IndexReader reader = searcher.getIndexReader();
+        FacetState current = facetState;
+        if (current != null && current.reader == reader) {
+            return current.state;
+        }
+        try {
+            SortedSetDocValuesReaderState state = new DefaultSortedSetDocValuesReaderState(reader);
+            facetState = new FacetState(reader, state);
+            return state;
+        } catch (IllegalArgumentException e) {
+            // 空索引没有 $facets 字段
+            return null;
+        }
+    }
+
+    /**
+     * 当前文档数（含墓碑）
+     */
+    public long numDocs() {
+        return indexWriter != null ? indexWriter.getDocStats().numDocs : 0;
+    }
+
+    /**
+     * 近实时刷新：使新写入的文章可被搜索
+     */
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval-ms:1000}")
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("刷新文章索引失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 定时提交：将写入落盘
+     */
+    @Scheduled(fixedDelayString = "${search.index.commit-interval-ms:30000}")
+    public void commit() {
+        try {
+            if (indexWriter.hasUncommittedChanges()) {
+                indexWriter.commit();
+                log.debug("提交文章索引: docs={}", numDocs());
+            }
+        } catch (IOException e) {
+            log.error("提交文章索引失败: error={}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        log.info("服务停止，提交并关闭文章索引");
+        commit();
+        try {
+            searcherManager.close();
+            indexWriter.close();
+            directory.close();
+        } catch (IOException e) {
+            log.error("关闭文章索引失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 查询索引中的文章文档（含墓碑），不存在时返回 null
+     */
+    private Document findDocument(IndexSearcher searcher, Long articleId) throws IOException {
+        TopDocs topDocs = searcher.search(new TermQuery(idTerm(articleId)), 1);
+        return topDocs.scoreDocs.length > 0 ? searcher.doc(topDocs.scoreDocs[0].doc) : null;
+    }
+
+    /**
+     * 文档的变更序号，未记录时返回 -1
+     */
+    private static long versionOf(Document doc) {
+        IndexableField field = doc.getField(FIELD_VERSION);
+        return field != null ? field.numericValue().longValue() : -1L;
+    }
+
+    /**
+     * 是否为墓碑（文章文档总是存储标题）
+     */
+    private static boolean isTombstone(Document doc) {
+        return doc.getField(FIELD_TITLE) == null;
+    }
+
+    private static Term idTerm(Long articleId) {
+        return new Term(FIELD_ID, String.valueOf(articleId));
+    }
+
+    private Document toTombstone(Long articleId, long version, long indexedAt) {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_ID, String.valueOf(articleId), Field.Store.YES));
+        doc.add(new LongPoint(FIELD_INDEXED_AT, indexedAt));
+        doc.add(new StringField(FIELD_TOMBSTONE, TOMBSTONE, Field.Store.NO));
+        doc.add(new StoredField(FIELD_VERSION, version));
+        return doc;
+    }
+
+    private Document toDocument(ArticleIndexDTO article, long version, long indexedAt) {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_ID, String.valueOf(article.getId()), Field.Store.YES));
+        doc.add(new LongPoint(FIELD_INDEXED_AT, indexedAt));
+
+        // 1. 全文字段（存储原文用于高亮）
+        doc.add(new TextField(FIELD_TITLE, StrUtil.nullToEmpty(article.getTitle()), Field.Store.YES));
+        doc.add(new TextField(FIELD_SUMMARY, StrUtil.nullToEmpty(article.getSummary()), Field.Store.YES));
+        doc.add(new TextField(FIELD_CONTENT, StrUtil.nullToEmpty(article.getContent()), Field.Store.YES));
+        List<String> tagNames = article.getTagNames();
+        if (tagNames != null && !tagNames.isEmpty()) {
+            doc.add(new TextField(FIELD_TAGS, String.join(TAG_SEPARATOR, tagNames), Field.Store.YES));
+        }
+
+        // 2. 筛选字段 + 筛选项统计
+        if (article.getCategoryId() != null) {
+            doc.add(new StringField(FIELD_CATEGORY_ID, String.valueOf(article.getCategoryId()), Field.Store.YES));
+            doc.add(new SortedSetDocValuesFacetField(FACET_CATEGORY, String.valueOf(article.getCategoryId())));
+        }
+        if (article.getTagIds() != null) {
+            for (Long tagId : article.getTagIds()) {
+                doc.add(new StringField(FIELD_TAG_ID, String.valueOf(tagId), Field.Store.NO));
+                doc.add(new SortedSetDocValuesFacetField(FACET_TAG, String.valueOf(tagId)));
+            }
+        }
+        if (article.getUserId() != null) {
+            doc.add(new StringField(FIELD_USER_ID, String.valueOf(article.getUserId()), Field.Store.YES));
+            doc.add(new SortedSetDocValuesFacetField(FACET_AUTHOR, String.valueOf(article.getUserId())));
+        }
+
+        // 3. 展示字段
+        if (article.getCategoryName() != null) {
+            doc.add(new StoredField(FIELD_CATEGORY_NAME, article.getCategoryName()));
+        }
+        if (article.getAuthorNickname() != null) {
+            doc.add(new StoredField(FIELD_AUTHOR, article.getAuthorNickname()));
+        }
+
+        // 4. 发布时间（排序）和版本（变更序号，用于判断新旧）
+        long publishedAt = toMillis(article.getPublishedAt());
+        doc.add(new NumericDocValuesField(FIELD_PUBLISHED_AT, publishedAt));
+        doc.add(new StoredField(FIELD_PUBLISHED_AT, publishedAt));
+        doc.add(new StoredField(FIELD_VERSION, version));
+        return doc;
+    }
+
+    /**
+     * 拆分 tags 字段中的标签名称
+     */
+    public static List<String> splitTags(String tags) {
+        return StrUtil.isBlank(tags) ? List.of() : StrUtil.split(tags, TAG_SEPARATOR);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+    }
+
+    /**
+     * IndexReader 与筛选项统计状态
+     */
+    private static class FacetState {
+        private final IndexReader reader;
+        private final SortedSetDocValuesReaderState state;
+
+        private FacetState(IndexReader reader, SortedSetDocValuesReaderState state) {
+            this.reader = reader;
+            this.state = state;
+        }
+    }
+}
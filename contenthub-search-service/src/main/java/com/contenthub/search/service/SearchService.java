@@ -0,0 +1,51 @@
+package com.contenthub.search.service;
+
+import com.contenthub.search.dto.ArticleIndexBatchDTO;
+import com.contenthub.search.dto.ArticleIndexDTO;
+import com.contenthub.search.vo.SearchResultVO;
+
+import java.util.List;
+
+/**
+ * 搜索服务接口
+ */
+public interface SearchService {
+
+    /**
+     * 搜索文章
+     * @param keyword 关键词（为空时按发布时间浏览全部文章）
+     * @param categoryId 分类ID筛选
+     * @param tagId 标签ID筛选
+     * @param userId 作者ID筛选
+     * @param sortBy 排序方式（relevance-相关度，latest-最新）
+     * @param page 页码
+     * @param size 每页数量
+     * @return 搜索结果（含高亮片段和筛选项统计）
+     */
+    SearchResultVO searchArticles(String keyword, Long categoryId, Long tagId, Long userId,
+                                  String sortBy, Integer page, Integer size);
+
+    /**
+     * 写入或更新文章索引
+     * @param articles 文章索引数据
+     */
+    void indexArticles(List<ArticleIndexDTO> articles);
+
+    /**
+     * 批量应用文章索引变更（按变更序号丢弃过期变更，可重复调用）
+     * @param batch 变更批次
+     */
+    void applyBatch(ArticleIndexBatchDTO batch);
+
+    /**
+     * 删除文章索引（按当前变更序号写入墓碑）
+     * @param articleIds 文章ID列表
+     */
+    void deleteArticles(List<Long> articleIds);
+
+    /**
+     * 从内容服务全量重建文章索引
+     * @return 重建的文章数
+     */
+    long rebuildIndex();
+}
@@ -0,0 +1,338 @@
+package com.contenthub.search.service.impl;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.http.HtmlUtil;
+import com.contenthub.common.exception.BusinessException;
+import com.contenthub.common.result.Result;
+import com.contenthub.search.config.SearchIndexProperties;
+import com.contenthub.search.dto.ArticleIndexBatchDTO;
+import com.contenthub.search.dto.ArticleIndexDTO;
+import com.contenthub.search.feign.ContentServiceClient;
+import com.contenthub.search.index.ArticleIndexer;
+import com.contenthub.search.service.SearchService;
+import com.contenthub.search.vo.ArticleHitVO;
+import com.contenthub.search.vo.FacetVO;
+import com.contenthub.search.vo.SearchResultVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.*;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 搜索服务实现类
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+
+    /**
+     * 全文检索字段及权重（标题 > 标签 > 摘要 > 正文）
+     */
+    private static final String[] SEARCH_FIELDS = {
+            ArticleIndexer.FIELD_TITLE, ArticleIndexer.FIELD_TAGS,
+            ArticleIndexer.FIELD_SUMMARY, ArticleIndexer.FIELD_CONTENT
+    };
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            ArticleIndexer.FIELD_TITLE, 3.0f,
+            ArticleIndexer.FIELD_TAGS, 2.0f,
+            ArticleIndexer.FIELD_SUMMARY, 1.5f,
+            ArticleIndexer.FIELD_CONTENT, 1.0f);
+
+    /**
+     * 高亮字段
+     */
+    private static final String[] HIGHLIGHT_FIELDS = {
+            ArticleIndexer.FIELD_TITLE, ArticleIndexer.FIELD_SUMMARY, ArticleIndexer.FIELD_CONTENT
+    };
+
+    /**
+     * 每个维度返回的筛选项数量
+     */
+    private static final int FACET_TOP_N = 10;
+
+    private final ArticleIndexer articleIndexer;
+    private final ContentServiceClient contentServiceClient;
+    private final SearchIndexProperties properties;
+
+    /**
+     * 是否正在重建索引
+     */
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    @Override
+    public SearchResultVO searchArticles(String keyword, Long categoryId, Long tagId, Long userId,
+                                         String sortBy, Integer page, Integer size) {
+        long startTime = System.currentTimeMillis();
+        int pageNum = page != null && page > 0 ? page : 1;
+        int pageSize = size != null && size > 0 ? Math.min(size, 100) : 20;
+        int window = pageNum * pageSize;
+        if (window > properties.getMaxWindow()) {
+            throw new BusinessException("最多只能查看前" + properties.getMaxWindow() + "条结果，请缩小搜索范围");
+        }
+
+        // 1. 构建查询：关键词 + 筛选条件（筛选条件不参与打分）
+        Query keywordQuery = parseKeyword(keyword);
+        BooleanQuery.Builder builder = new BooleanQuery.Builder()
+                .add(keywordQuery, BooleanClause.Occur.MUST);
+        addFilter(builder, ArticleIndexer.FIELD_CATEGORY_ID, categoryId);
+        addFilter(builder, ArticleIndexer.FIELD_TAG_ID, tagId);
+        addFilter(builder, ArticleIndexer.FIELD_USER_ID, userId);
+        builder.add(new TermQuery(new Term(ArticleIndexer.FIELD_TOMBSTONE, ArticleIndexer.TOMBSTONE)),
+                BooleanClause.Occur.MUST_NOT);
+        Query query = builder.build();
+
+        // 2. 无关键词或指定最新时按发布时间排序，否则按 BM25 相关度
+        Sort sort = StrUtil.isBlank(keyword) || "latest".equals(sortBy)
+                ? new Sort(new SortField(ArticleIndexer.FIELD_PUBLISHED_AT, SortField.Type.LONG, true))
+                : Sort.RELEVANCE;
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = articleIndexer.acquire();
+
+            // 3. 检索，同时收集筛选项统计
+            FacetsCollector facetsCollector = new FacetsCollector();
+            TopDocs topDocs = FacetsCollector.search(searcher, query, window, sort, true, facetsCollector);
+
+            // 4. 截取当前页并生成高亮片段
+            int from = (pageNum - 1) * pageSize;
+            ScoreDoc[] pageDocs = from < topDocs.scoreDocs.length
+                    ? Arrays.copyOfRange(topDocs.scoreDocs, from, topDocs.scoreDocs.length)
+                    : new ScoreDoc[0];
+            List<ArticleHitVO> hits = toHits(searcher, keywordQuery, StrUtil.isNotBlank(keyword),
+                    new TopDocs(topDocs.totalHits, pageDocs));
+
+            SearchResultVO result = new SearchResultVO();
+            result.setTotal(topDocs.totalHits.value);
+            result.setList(hits);
+            result.setFacets(collectFacets(searcher, facetsCollector));
+            result.setTook(System.currentTimeMillis() - startTime);
+            log.debug("搜索文章: keyword={}, total={}, took={}ms", keyword, result.getTotal(), result.getTook());
+            return result;
+        } catch (IOException e) {
+            log.error("搜索文章失败: keyword={}, error={}", keyword, e.getMessage());
+            throw new BusinessException("搜索失败，请稍后重试");
+        } finally {
+            if (searcher != null) {
+                articleIndexer.release(searcher);
+            }
+        }
+    }
+
+    @Override
+    public void indexArticles(List<ArticleIndexDTO> articles) {
+        if (articles == null || articles.isEmpty()) {
+            return;
+        }
+        int applied = articleIndexer.apply(articles, Collections.emptyMap());
+        log.debug("写入文章索引: count={}, applied={}", articles.size(), applied);
+    }
+
+    @Override
+    public void applyBatch(ArticleIndexBatchDTO batch) {
+        if (batch == null || (batch.getUpserts().isEmpty() && batch.getDeletes().isEmpty())) {
+            return;
+        }
+        int applied = articleIndexer.apply(batch.getUpserts(), batch.getDeletes());
+        log.debug("应用文章索引变更: upserts={}, deletes={}, applied={}",
+                batch.getUpserts().size(), batch.getDeletes().size(), applied);
+    }
+
+    @Override
+    public void deleteArticles(List<Long> articleIds) {
+        if (articleIds == null || articleIds.isEmpty()) {
+            return;
+        }
+        // 与批量删除相同，按当前序号写入墓碑，延迟到达的旧写入不会恢复文章
+        Map<Long, Long> deletes = new HashMap<>();
+        articleIds.forEach(articleId -> deletes.put(articleId, null));
+        int applied = articleIndexer.apply(Collections.emptyList(), deletes);
+        log.debug("删除文章索引: articleIds={}, applied={}", articleIds, applied);
+    }
+
+    @Override
+    public long rebuildIndex() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new BusinessException("索引正在重建中，请稍后再试");
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            log.info("开始重建文章索引");
+
+            // 1. 按文章ID游标分批拉取并写入（按变更序号覆盖，重建期间搜索和增量同步不受影响）
+            long lastId = 0;
+            long total = 0;
+            while (true) {
+                Result<List<ArticleIndexDTO>> result =
+                        contentServiceClient.exportArticles(lastId, properties.getRebuildBatchSize());
+                if (result == null || result.getCode() != 200 || result.getData() == null) {
+                    throw new BusinessException("从内容服务拉取文章失败");
+                }
+                List<ArticleIndexDTO> articles = result.getData();
+                if (articles.isEmpty()) {
+                    break;
+                }
+                articleIndexer.apply(articles, Collections.emptyMap());
+                lastId = articles.get(articles.size() - 1).getId();
+                total += articles.size();
+            }
+
+            // 2. 删除本次未写入的文章（已删除或下架）及重建前的墓碑
+            articleIndexer.deleteIndexedBefore(startTime);
+            articleIndexer.commit();
+            articleIndexer.refresh();
+
+            log.info("文章索引重建完成: articles={}, cost={}ms", total, System.currentTimeMillis() - startTime);
+            return total;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * 启动时索引为空（首次部署或索引目录丢失）则在后台从内容服务补齐
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        if (articleIndexer.numDocs() > 0) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuildIndex();
+            } catch (Exception e) {
+                log.error("启动补齐文章索引失败，可调用重建接口重试: error={}", e.getMessage());
+            }
+        }, "search-index-catch-up");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("文章索引为空，开始后台补齐");
+    }
+
+    // ==================== 私有方法 ====================
+
+    /**
+     * 解析关键词：转义查询语法后按 SmartChineseAnalyzer 分词，所有词都需命中
+     */
+    private Query parseKeyword(String keyword) {
+        if (StrUtil.isBlank(keyword)) {
+            return new MatchAllDocsQuery();
+        }
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(SEARCH_FIELDS, articleIndexer.getAnalyzer(), FIELD_BOOSTS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(QueryParser.escape(keyword.trim()));
+        } catch (ParseException e) {
+            throw new BusinessException("搜索关键词格式错误");
+        }
+    }
+
+    private void addFilter(BooleanQuery.Builder builder, String field, Long value) {
+        if (value != null) {
+            builder.add(new TermQuery(new Term(field, String.valueOf(value))), BooleanClause.Occur.FILTER);
+        }
+    }
+
+    /**
+     * 组装当前页结果，有关键词时生成高亮片段
+     */
+    private List<ArticleHitVO> toHits(IndexSearcher searcher, Query keywordQuery, boolean highlight,
+                                      TopDocs pageDocs) throws IOException {
+        Map<String, String[]> highlights = Collections.emptyMap();
+        if (highlight && pageDocs.scoreDocs.length > 0) {
+            UnifiedHighlighter highlighter = new UnifiedHighlighter(searcher, articleIndexer.getAnalyzer());
+            highlighter.setFormatter(new DefaultPassageFormatter("<em>", "</em>", "...", true));
+            highlighter.setMaxLength(properties.getHighlightMaxLength());
+            highlights = highlighter.highlightFields(HIGHLIGHT_FIELDS, keywordQuery, pageDocs, new int[]{1, 2, 2});
+        }
+
+        List<ArticleHitVO> hits = new ArrayList<>(pageDocs.scoreDocs.length);
+        for (int i = 0; i < pageDocs.scoreDocs.length; i++) {
+            ScoreDoc scoreDoc = pageDocs.scoreDocs[i];
+            Document doc = searcher.doc(scoreDoc.doc);
+
+            ArticleHitVO hit = new ArticleHitVO();
+            hit.setId(Long.valueOf(doc.get(ArticleIndexer.FIELD_ID)));
+            hit.setUserId(parseLong(doc.get(ArticleIndexer.FIELD_USER_ID)));
+            hit.setAuthorNickname(doc.get(ArticleIndexer.FIELD_AUTHOR));
+            hit.setCategoryId(parseLong(doc.get(ArticleIndexer.FIELD_CATEGORY_ID)));
+            hit.setCategoryName(doc.get(ArticleIndexer.FIELD_CATEGORY_NAME));
+            hit.setTagNames(ArticleIndexer.splitTags(doc.get(ArticleIndexer.FIELD_TAGS)));
+            hit.setTitle(highlightOrDefault(highlights, ArticleIndexer.FIELD_TITLE, i, doc));
+            hit.setSummary(highlightOrDefault(highlights, ArticleIndexer.FIELD_SUMMARY, i, doc));
+            String[] contentHighlights = highlights.get(ArticleIndexer.FIELD_CONTENT);
+            hit.setHighlight(contentHighlights != null ? contentHighlights[i] : null);
+            Number publishedAt = doc.getField(ArticleIndexer.FIELD_PUBLISHED_AT).numericValue();
+            if (publishedAt.longValue() > 0) {
+                hit.setPublishedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(publishedAt.longValue()), ZoneId.systemDefault()));
+            }
+            hit.setScore(Float.isNaN(scoreDoc.score) ? null : scoreDoc.score);
+            hits.add(hit);
+        }
+        return hits;
+    }
+
+    /**
+     * 统计分类、标签、作者筛选项
+     */
+    private Map<String, List<FacetVO>> collectFacets(IndexSearcher searcher, FacetsCollector facetsCollector) throws IOException {
+        SortedSetDocValuesReaderState state = articleIndexer.getFacetState(searcher);
+        if (state == null) {
+            return Collections.emptyMap();
+        }
+        Facets facets = new SortedSetDocValuesFacetCounts(state, facetsCollector);
+        Map<String, List<FacetVO>> result = new LinkedHashMap<>();
+        for (String dim : new String[]{ArticleIndexer.FACET_CATEGORY, ArticleIndexer.FACET_TAG, ArticleIndexer.FACET_AUTHOR}) {
+            List<FacetVO> values = new ArrayList<>();
+            try {
+                FacetResult facetResult = facets.getTopChildren(FACET_TOP_N, dim);
+                if (facetResult != null) {
+                    for (LabelAndValue labelAndValue : facetResult.labelValues) {
+                        values.add(new FacetVO(Long.valueOf(labelAndValue.label), labelAndValue.value.intValue()));
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                // 索引中还没有该维度
+            }
+            result.put(dim, values);
+        }
+        return result;
+    }
+
+    private String highlightOrDefault(Map<String, String[]> highlights, String field, int index, Document doc) {
+        String[] values = highlights.get(field);
+        if (values != null && values[index] != null) {
+            return values[index];
+        }
+        // 与高亮片段一致，返回转义后的文本
+        String value = doc.get(field);
+        return value != null ? HtmlUtil.escape(value) : null;
+    }
+
+    private Long parseLong(String value) {
+        return value != null ? Long.valueOf(value) : null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.contenthub.search.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 文章搜索结果VO
+ */
+@Data
+@Schema(description = "文章搜索结果")
+public class ArticleHitVO {
+    
+    @Schema(description = "文章ID")
+    private Long id;
+    
+    @Schema(description = "作者ID")
+    private Long userId;
+    
+    @Schema(description = "作者昵称")
+    private String authorNickname;
+    
+    @Schema(description = "分类ID")
+    private Long categoryId;
+    
+    @Schema(description = "分类名称")
+    private String categoryName;
+    
+    @Schema(description = "标题（命中词以 <em> 标记）")
+    private String title;
+    
+    @Schema(description = "摘要（命中词以 <em> 标记）")
+    private String summary;
+    
+    @Schema(description = "正文命中片段（命中词以 <em> 标记）")
+    private String highlight;
+    
+    @Schema(description = "标签名称列表")
+    private List<String> tagNames;
+    
+    @Schema(description = "发布时间")
+    private LocalDateTime publishedAt;
+    
+    @Schema(description = "相关度得分（BM25）")
+    private Float score;
+}
@@ -0,0 +1,22 @@
+package com.contenthub.search.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 筛选项统计VO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "筛选项统计")
+public class FacetVO {
+    
+    @Schema(description = "筛选值（分类ID、标签ID或作者ID）")
+    private Long value;
+    
+    @Schema(description = "命中文章数")
+    private Integer count;
+}
@@ -0,0 +1,27 @@
+package com.contenthub.search.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 搜索结果VO
+ */
+@Data
+@Schema(description = "搜索结果")
+public class SearchResultVO {
+    
+    @Schema(description = "命中总数")
+    private Long total;
+    
+    @Schema(description = "当前页结果")
+    private List<ArticleHitVO> list;
+    
+    @Schema(description = "筛选项统计（category-分类，tag-标签，author-作者）")
+    private Map<String, List<FacetVO>> facets;
+    
+    @Schema(description = "检索耗时（毫秒）")
+    private Long took;
+}
@@ -0,0 +1,129 @@
+package com.contenthub.user.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.contenthub.user.domain.UserBlacklist;
+import com.contenthub.user.mapper.UserBlacklistMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 用户黑名单缓存
+ *
+ * 进程内缓存每个用户拉黑的全部用户ID（一次查询 user_blacklist 加载），判断是否拉黑不再逐对查询。
+ * 拉黑、取消拉黑后（事务提交后）清除本地缓存，并通过 Redis 频道广播用户ID，
+ * 本服务其他实例以及内容服务、评论服务的黑名单缓存收到后清除对应用户。
+ *
+ * 返回的集合不可修改。
+ */
+@Slf4j
+@Component
+public class BlacklistCache implements MessageListener {
+
+    /**
+     * 变更广播频道（消息体为拉黑操作者的用户ID）
+     */
+    public static final String CHANGE_CHANNEL = "user:blacklist:changed";
+
+    private final UserBlacklistMapper userBlacklistMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<Long, Set<Long>> localCache;
+
+    public BlacklistCache(UserBlacklistMapper userBlacklistMapper,
+                          StringRedisTemplate redisTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${user.blacklist-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${user.blacklist-cache.expire-seconds:300}") long expireSeconds) {
+        this.userBlacklistMapper = userBlacklistMapper;
+        this.redisTemplate = redisTemplate;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "user.blacklist.cache");
+    }
+
+    /**
+     * 获取用户拉黑的全部用户ID
+     */
+    public Set<Long> getBlockedIds(Long userId) {
+        if (userId == null) {
+            return Collections.emptySet();
+        }
+        return localCache.get(userId, this::load);
+    }
+
+    /**
+     * 判断 userId 是否拉黑了 blockedUserId
+     */
+    public boolean isBlocked(Long userId, Long blockedUserId) {
+        return getBlockedIds(userId).contains(blockedUserId);
+    }
+
+    /**
+     * 用户的黑名单已变更：立即清除本地缓存，事务提交后再清除一次并广播
+     */
+    public void changed(Long userId) {
+        localCache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishChange(userId);
+                }
+            });
+        } else {
+            publishChange(userId);
+        }
+    }
+
+    /**
+     * 收到变更广播，清除本地缓存
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            localCache.invalidate(Long.valueOf(body));
+            log.debug("收到黑名单变更广播: userId={}", body);
+        } catch (NumberFormatException e) {
+            log.warn("黑名单变更广播格式错误: body={}", body);
+        }
+    }
+
+    private void publishChange(Long userId) {
+        localCache.invalidate(userId);
+        try {
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, String.valueOf(userId));
+        } catch (Exception e) {
+            // 广播失败时其他实例在缓存过期后刷新
+            log.warn("广播黑名单变更失败: userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    private Set<Long> load(Long userId) {
+        LambdaQueryWrapper<UserBlacklist> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(UserBlacklist::getBlockedUserId)
+                   .eq(UserBlacklist::getUserId, userId);
+        return Collections.unmodifiableSet(userBlacklistMapper.selectList(queryWrapper).stream()
+                .map(UserBlacklist::getBlockedUserId)
+                .collect(Collectors.toSet()));
+    }
+}
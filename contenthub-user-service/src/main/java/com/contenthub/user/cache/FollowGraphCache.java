@@ -0,0 +1,261 @@
+package com.contenthub.user.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.contenthub.user.domain.UserFollow;
+import com.contenthub.user.mapper.UserFollowMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 关注关系缓存
+ *
+ * Redis 中按用户维护关注集合（user:following:{userId}，成员为被关注用户ID），集合内固定包含哨兵成员 "0"，
+ * 表示已从数据库完整加载；缺失或过期时从数据库重建。
+ * "用户是否关注了 [a..z]" 通过一次 pipeline 的 SISMEMBER 得到结果。
+ *
+ * 数据库中的 user_follows 为准：关注、取消关注在事务提交后只修改已加载的集合（Lua 脚本判断哨兵），
+ * 同时递增用户的变更版本 user:following:version:{userId}。
+ * 加载前先读取版本，读完数据库后仅当版本未变时才写入集合：加载期间有关系变更提交时放弃写入，
+ * 下次读取重新加载，不会把缺少（或多出）一条关系的集合缓存到过期。
+ */
+@Slf4j
+@Component
+public class FollowGraphCache {
+
+    /**
+     * Redis key前缀
+     */
+    public static final String FOLLOWING_KEY_PREFIX = "user:following:";
+
+    /**
+     * 关注集合变更版本 key 前缀
+     */
+    private static final String VERSION_KEY_PREFIX = "user:following:version:";
+
+    /**
+     * 哨兵成员：集合已从数据库加载
+     */
+    private static final String LOADED_SENTINEL = "0";
+
+    /**
+     * 递增变更版本，集合已加载时执行 SADD / SREM
+     * KEYS: 集合, 版本；ARGV: 命令, 被关注用户ID, 版本过期秒数
+     */
+    private static final DefaultRedisScript<Long> UPDATE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[2])\n" +
+            "redis.call('EXPIRE', KEYS[2], ARGV[3])\n" +
+            "if redis.call('SISMEMBER', KEYS[1], '" + LOADED_SENTINEL + "') == 1 then\n" +
+            "  return redis.call(ARGV[1], KEYS[1], ARGV[2])\n" +
+            "end\n" +
+            "return -1", Long.class);
+
+    /**
+     * 版本未变时写入集合（哨兵 + 成员，每 1000 个一次 SADD），返回 1；版本已变返回 0
+     * KEYS: 集合, 版本；ARGV: 加载前的版本（不存在为空串）, 过期秒数, 哨兵, 成员...
+     */
+    private static final DefaultRedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '') ~= ARGV[1] then\n" +
+            "  return 0\n" +
+            "end\n" +
+            "redis.call('DEL', KEYS[1])\n" +
+            "for i = 3, #ARGV, 1000 do\n" +
+            "  redis.call('SADD', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV)))\n" +
+            "end\n" +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2])\n" +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserFollowMapper userFollowMapper;
+
+    /**
+     * 集合过期时间（小时）
+     */
+    private final long expireHours;
+
+    private final Counter loadCounter;
+    private final Counter loadConflictCounter;
+
+    public FollowGraphCache(StringRedisTemplate redisTemplate,
+                            UserFollowMapper userFollowMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${user.follow-cache.expire-hours:24}") long expireHours) {
+        this.redisTemplate = redisTemplate;
+        this.userFollowMapper = userFollowMapper;
+        this.expireHours = expireHours;
+
+        this.loadCounter = Counter.builder("user.follow.cache.loads")
+                .description("从数据库加载关注集合的次数")
+                .register(meterRegistry);
+        this.loadConflictCounter = Counter.builder("user.follow.cache.load.conflicts")
+                .description("加载期间关系变更、放弃写入的次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 判断是否关注
+     */
+    public boolean isFollowing(Long followerId, Long followedId) {
+        return !filterFollowing(followerId, Collections.singletonList(followedId)).isEmpty();
+    }
+
+    /**
+     * 批量判断：返回给定用户中已被关注的用户ID
+     */
+    public Set<Long> filterFollowing(Long followerId, Collection<Long> userIds) {
+        if (followerId == null || userIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        List<Long> ids = new ArrayList<>(userIds);
+        byte[] key = followingKey(followerId).getBytes(StandardCharsets.UTF_8);
+
+        // 1. 一次 pipeline：第一个结果为哨兵，其余为各用户
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.setCommands().sIsMember(key, LOADED_SENTINEL.getBytes(StandardCharsets.UTF_8));
+            for (Long id : ids) {
+                connection.setCommands().sIsMember(key, String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        // 2. 集合未加载时从数据库重建
+        if (!Boolean.TRUE.equals(results.get(0))) {
+            Set<Long> members = load(followerId);
+            return ids.stream().filter(members::contains).collect(Collectors.toSet());
+        }
+
+        Set<Long> matched = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (Boolean.TRUE.equals(results.get(i + 1))) {
+                matched.add(ids.get(i));
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * 记录关注（事务中调用时在提交后生效）
+     */
+    public void followed(Long followerId, Long followedId) {
+        afterCommit(() -> update("SADD", followerId, followedId));
+    }
+
+    /**
+     * 记录取消关注（事务中调用时在提交后生效）
+     */
+    public void unfollowed(Long followerId, Long followedId) {
+        afterCommit(() -> update("SREM", followerId, followedId));
+    }
+
+    /**
+     * 批量变更后删除用户的关注集合并递增版本，下次读取时重建（事务中调用时在提交后生效）
+     */
+    public void evict(Collection<Long> followerIds) {
+        if (followerIds.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = followerIds.stream().distinct().collect(Collectors.toList());
+        long expireSeconds = TimeUnit.HOURS.toSeconds(expireHours);
+        afterCommit(() -> {
+            try {
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (Long userId : userIds) {
+                        byte[] versionKey = versionKey(userId).getBytes(StandardCharsets.UTF_8);
+                        connection.stringCommands().incr(versionKey);
+                        connection.keyCommands().expire(versionKey, expireSeconds);
+                        connection.keyCommands().del(followingKey(userId).getBytes(StandardCharsets.UTF_8));
+                    }
+                    return null;
+                });
+            } catch (Exception e) {
+                // 删除失败时集合在过期后自动修正
+                log.error("删除关注集合失败: size={}, error={}", userIds.size(), e.getMessage());
+            }
+        });
+    }
+
+    private void update(String command, Long followerId, Long followedId) {
+        try {
+            redisTemplate.execute(UPDATE_SCRIPT, Arrays.asList(followingKey(followerId), versionKey(followerId)),
+                    command, String.valueOf(followedId), String.valueOf(TimeUnit.HOURS.toSeconds(expireHours)));
+        } catch (Exception e) {
+            // 更新失败时删除集合，下次读取重建
+            log.warn("更新关注集合失败: followerId={}, followedId={}, error={}", followerId, followedId, e.getMessage());
+            try {
+                redisTemplate.delete(followingKey(followerId));
+            } catch (Exception deleteException) {
+                log.error("删除关注集合失败: followerId={}, error={}", followerId, deleteException.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 从数据库重建用户关注集合
+     */
+    private Set<Long> load(Long followerId) {
+        // 1. 读取数据库之前的变更版本
+        String versionKey = versionKey(followerId);
+        String version = redisTemplate.opsForValue().get(versionKey);
+
+        // 2. 读取关注记录
+        LambdaQueryWrapper<UserFollow> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(UserFollow::getFollowedId).eq(UserFollow::getFollowerId, followerId);
+        Set<Long> members = userFollowMapper.selectList(queryWrapper).stream()
+                .map(UserFollow::getFollowedId)
+                .collect(Collectors.toSet());
+
+        // 3. 版本未变时写入 Redis（哨兵 + 成员），已变说明读取期间有关系变更提交，本次结果不缓存
+        Object[] args = new Object[members.size() + 3];
+        args[0] = version != null ? version : "";
+        args[1] = String.valueOf(TimeUnit.HOURS.toSeconds(expireHours));
+        args[2] = LOADED_SENTINEL;
+        int i = 3;
+        for (Long member : members) {
+            args[i++] = String.valueOf(member);
+        }
+        Long written = redisTemplate.execute(LOAD_SCRIPT, Arrays.asList(followingKey(followerId), versionKey), args);
+
+        loadCounter.increment();
+        if (written == null || written == 0) {
+            loadConflictCounter.increment();
+            log.debug("加载期间关注关系变更，放弃写入: followerId={}", followerId);
+        } else {
+            log.debug("加载用户关注集合: followerId={}, size={}", followerId, members.size());
+        }
+        return members;
+    }
+
+    private static String followingKey(Long userId) {
+        return FOLLOWING_KEY_PREFIX + userId;
+    }
+
+    private static String versionKey(Long userId) {
+        return VERSION_KEY_PREFIX + userId;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
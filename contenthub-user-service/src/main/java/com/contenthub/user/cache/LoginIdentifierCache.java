@@ -0,0 +1,51 @@
+package com.contenthub.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 登录标识缓存
+ *
+ * 进程内缓存登录标识（用户名/邮箱/手机号）到用户ID的映射，登录时按主键查询用户，
+ * 不再每次对 users 做三个唯一索引的 OR 查询。
+ * 修改邮箱、手机号后旧标识可能仍在缓存中，由调用方在按主键查到用户后核对标识并清除，
+ * 因此不需要跨实例广播。只缓存存在的用户。
+ */
+@Component
+public class LoginIdentifierCache {
+
+    private final Cache<String, Long> cache;
+
+    public LoginIdentifierCache(MeterRegistry meterRegistry,
+                                @Value("${user.login.identifier-cache.maximum-size:100000}") long maximumSize,
+                                @Value("${user.login.identifier-cache.expire-minutes:30}") long expireMinutes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(Duration.ofMinutes(expireMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.login.identifier.cache");
+    }
+
+    /**
+     * 获取标识对应的用户ID（未缓存返回 null）
+     */
+    public Long get(String identifier) {
+        return cache.getIfPresent(identifier);
+    }
+
+    public void put(String identifier, Long userId) {
+        cache.put(identifier, userId);
+    }
+
+    public void invalidate(String identifier) {
+        cache.invalidate(identifier);
+    }
+}
@@ -0,0 +1,257 @@
+package com.contenthub.user.cache;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.contenthub.user.vo.UserInfoVO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 用户信息二级缓存
+ *
+ * L1：进程内 Caffeine 缓存（按容量和写入时间淘汰）
+ * L2：Redis user:info:{userId}（JSON）
+ *
+ * 用户信息变更时删除 L2 并通过 Redis 频道广播，各实例收到后清除自己的 L1。
+ * L1 中的对象只在缓存内部持有：写入时存副本，读取时返回副本，调用方修改返回值不会影响其他请求。
+ */
+@Slf4j
+@Component
+public class UserInfoCache implements MessageListener {
+
+    /**
+     * Redis key前缀
+     */
+    public static final String USER_CACHE_KEY_PREFIX = "user:info:";
+
+    /**
+     * 失效广播频道
+     */
+    public static final String INVALIDATE_CHANNEL = "user:info:invalidate";
+
+    /**
+     * L2 缓存过期时间（1小时）
+     */
+    private static final long USER_CACHE_EXPIRE_HOURS = 1;
+
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<Long, UserInfoVO> localCache;
+
+    private final Counter l2HitCounter;
+    private final Counter l2MissCounter;
+    private final Counter l2EvictionCounter;
+
+    public UserInfoCache(StringRedisTemplate redisTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${user.info-cache.maximum-size:10000}") long maximumSize,
+                         @Value("${user.info-cache.expire-seconds:60}") long expireSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireSeconds))
+                .recordStats()
+                .build();
+
+        // L1：命中、未命中、淘汰
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "user.info.l1");
+
+        // L2：命中、未命中、失效
+        this.l2HitCounter = Counter.builder("user.info.l2.gets")
+                .tag("result", "hit")
+                .description("用户信息 Redis 缓存命中次数")
+                .register(meterRegistry);
+        this.l2MissCounter = Counter.builder("user.info.l2.gets")
+                .tag("result", "miss")
+                .description("用户信息 Redis 缓存未命中次数")
+                .register(meterRegistry);
+        this.l2EvictionCounter = Counter.builder("user.info.l2.evictions")
+                .description("用户信息 Redis 缓存失效次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取用户信息（L1 -> L2），均未命中返回 null
+     */
+    public UserInfoVO get(Long userId) {
+        // 1. L1
+        UserInfoVO userInfoVO = localCache.getIfPresent(userId);
+        if (userInfoVO != null) {
+            return copy(userInfoVO);
+        }
+
+        // 2. L2
+        String cachedUserInfo = redisTemplate.opsForValue().get(USER_CACHE_KEY_PREFIX + userId);
+        if (StrUtil.isBlank(cachedUserInfo)) {
+            l2MissCounter.increment();
+            return null;
+        }
+        try {
+            userInfoVO = JSONUtil.toBean(cachedUserInfo, UserInfoVO.class);
+        } catch (Exception e) {
+            log.warn("解析缓存用户信息失败: userId={}, error={}", userId, e.getMessage());
+            l2MissCounter.increment();
+            return null;
+        }
+        l2HitCounter.increment();
+
+        // 3. 回填 L1
+        localCache.put(userId, copy(userInfoVO));
+        return userInfoVO;
+    }
+
+    /**
+     * 批量获取用户信息（L1 -> 一次 MGET），返回命中的部分
+     */
+    public Map<Long, UserInfoVO> getAll(Collection<Long> userIds) {
+        Map<Long, UserInfoVO> found = new HashMap<>(userIds.size() * 2);
+
+        // 1. L1
+        List<Long> l1Misses = new ArrayList<>();
+        for (Long userId : userIds) {
+            UserInfoVO userInfoVO = localCache.getIfPresent(userId);
+            if (userInfoVO != null) {
+                found.put(userId, copy(userInfoVO));
+            } else {
+                l1Misses.add(userId);
+            }
+        }
+        if (l1Misses.isEmpty()) {
+            return found;
+        }
+
+        // 2. L2（一次 MGET）
+        List<String> keys = l1Misses.stream()
+                .map(userId -> USER_CACHE_KEY_PREFIX + userId)
+                .collect(Collectors.toList());
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        for (int i = 0; i < l1Misses.size(); i++) {
+            Long userId = l1Misses.get(i);
+            String value = values != null ? values.get(i) : null;
+            if (StrUtil.isBlank(value)) {
+                l2MissCounter.increment();
+                continue;
+            }
+            try {
+                UserInfoVO userInfoVO = JSONUtil.toBean(value, UserInfoVO.class);
+                found.put(userId, userInfoVO);
+                localCache.put(userId, copy(userInfoVO));
+                l2HitCounter.increment();
+            } catch (Exception e) {
+                log.warn("解析缓存用户信息失败: userId={}, error={}", userId, e.getMessage());
+                l2MissCounter.increment();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * 批量写入两级缓存（Redis 通过 pipeline 一次往返写入）
+     */
+    public void putAll(Collection<UserInfoVO> userInfoVOs) {
+        if (userInfoVOs.isEmpty()) {
+            return;
+        }
+        try {
+            Expiration expiration = Expiration.from(USER_CACHE_EXPIRE_HOURS, TimeUnit.HOURS);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (UserInfoVO userInfoVO : userInfoVOs) {
+                    connection.stringCommands().set(
+                            (USER_CACHE_KEY_PREFIX + userInfoVO.getId()).getBytes(StandardCharsets.UTF_8),
+                            JSONUtil.toJsonStr(userInfoVO).getBytes(StandardCharsets.UTF_8),
+                            expiration,
+                            RedisStringCommands.SetOption.UPSERT);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("批量缓存用户信息失败: size={}, error={}", userInfoVOs.size(), e.getMessage());
+            // 缓存失败不影响主流程，继续执行
+        }
+        userInfoVOs.forEach(userInfoVO -> localCache.put(userInfoVO.getId(), copy(userInfoVO)));
+    }
+
+    /**
+     * 写入两级缓存
+     */
+    public void put(UserInfoVO userInfoVO) {
+        try {
+            redisTemplate.opsForValue().set(USER_CACHE_KEY_PREFIX + userInfoVO.getId(),
+                    JSONUtil.toJsonStr(userInfoVO), USER_CACHE_EXPIRE_HOURS, TimeUnit.HOURS);
+        } catch (Exception e) {
+            log.warn("缓存用户信息失败: userId={}, error={}", userInfoVO.getId(), e.getMessage());
+            // 缓存失败不影响主流程，继续执行
+        }
+        localCache.put(userInfoVO.getId(), copy(userInfoVO));
+    }
+
+    /**
+     * 失效用户信息缓存
+     *
+     * 立即删除一次；如果处于事务中，提交后再删除一次，
+     * 避免事务提交前其他请求把旧数据重新写回缓存。
+     */
+    public void evict(Long userId) {
+        doEvict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * 收到失效广播，清除本地缓存
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            localCache.invalidate(Long.valueOf(body));
+            log.debug("收到用户信息失效广播: userId={}", body);
+        } catch (NumberFormatException e) {
+            log.warn("用户信息失效广播格式错误: body={}", body);
+        }
+    }
+
+    /**
+     * 复制用户信息（字段均为不可变类型，浅复制即可）
+     */
+    private static UserInfoVO copy(UserInfoVO userInfoVO) {
+        return BeanUtil.copyProperties(userInfoVO, UserInfoVO.class);
+    }
+
+    private void doEvict(Long userId) {
+        localCache.invalidate(userId);
+        try {
+            redisTemplate.delete(USER_CACHE_KEY_PREFIX + userId);
+            l2EvictionCounter.increment();
+            redisTemplate.convertAndSend(INVALIDATE_CHANNEL, String.valueOf(userId));
+        } catch (Exception e) {
+            log.warn("清除用户信息缓存失败: userId={}, error={}", userId, e.getMessage());
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.contenthub.user.config;
 
+import com.contenthub.user.cache.BlacklistCache;
+import com.contenthub.user.cache.UserInfoCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
@@ -45,5 +49,18 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
-}
 
+    /**
+     * Redis 消息监听容器（订阅用户信息失效、黑名单变更广播，清除本地缓存）
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       UserInfoCache userInfoCache,
+                                                                       BlacklistCache blacklistCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(userInfoCache, new ChannelTopic(UserInfoCache.INVALIDATE_CHANNEL));
+        container.addMessageListener(blacklistCache, new ChannelTopic(BlacklistCache.CHANGE_CHANNEL));
+        return container;
+    }
+}
@@ -1,7 +1,10 @@
 package com.contenthub.user.controller;
 
 import cn.dev33.satoken.stp.StpUtil;
+import com.contenthub.common.annotation.InternalApi;
+import com.contenthub.common.result.CursorPage;
 import com.contenthub.common.result.Result;
+import com.contenthub.user.dto.BulkFollowDTO;
 import com.contenthub.user.service.UserService;
 import com.contenthub.user.vo.FollowUserVO;
 import com.contenthub.user.vo.UserInfoVO;
@@ -9,6 +12,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -57,6 +61,29 @@ public class FollowController {
         return Result.success(isFollowing);
     }
 
+    @Operation(summary = "批量检查是否关注", description = "检查当前用户是否关注了给定的用户（最多200个）")
+    @PostMapping("/follow/check/batch")
+    public Result<Map<Long, Boolean>> checkFollowingBatch(
+            @Parameter(description = "用户ID列表", required = true)
+            @RequestBody List<Long> userIds) {
+        long followerId = StpUtil.getLoginIdAsLong();
+        return Result.success(userService.checkFollowing(followerId, userIds));
+    }
+
+    @Operation(summary = "批量关注", description = "管理员导入社交关系（每次最多1000条，已存在、用户不存在或互相拉黑的关系跳过），返回写入数量")
+    @PostMapping("/follow/bulk")
+    public Result<Integer> bulkFollow(@Validated @RequestBody BulkFollowDTO bulkFollowDTO) {
+        long operatorId = StpUtil.getLoginIdAsLong();
+        return Result.success(userService.bulkFollow(operatorId, bulkFollowDTO));
+    }
+
+    @Operation(summary = "批量取消关注", description = "管理员批量删除关注关系（每次最多1000条），返回删除数量")
+    @PostMapping("/follow/bulk/delete")
+    public Result<Integer> bulkUnfollow(@Validated @RequestBody BulkFollowDTO bulkFollowDTO) {
+        long operatorId = StpUtil.getLoginIdAsLong();
+        return Result.success(userService.bulkUnfollow(operatorId, bulkFollowDTO));
+    }
+
     @Operation(summary = "获取关注列表", description = "获取当前用户的关注列表（我关注的人）")
     @GetMapping("/following")
     public Result<List<FollowUserVO>> getFollowingList(
@@ -107,6 +134,52 @@ public class FollowController {
         return Result.success(followerList);
     }
 
+    @Operation(summary = "游标分页获取关注列表", description = "按关注时间倒序游标分页获取当前用户的关注列表，不执行 COUNT 查询")
+    @GetMapping("/following/cursor")
+    public Result<CursorPage<FollowUserVO>> getFollowingListByCursor(
+            @Parameter(description = "游标（首页不传，后续使用上一页返回的 nextCursor）")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "每页数量", example = "20")
+            @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        long userId = StpUtil.getLoginIdAsLong();
+        return Result.success(userService.getFollowingListByCursor(userId, cursor, size));
+    }
+
+    @Operation(summary = "游标分页获取指定用户的关注列表", description = "按关注时间倒序游标分页获取指定用户的关注列表，不执行 COUNT 查询")
+    @GetMapping("/{userId}/following/cursor")
+    public Result<CursorPage<FollowUserVO>> getUserFollowingListByCursor(
+            @Parameter(description = "用户ID", required = true)
+            @PathVariable Long userId,
+            @Parameter(description = "游标（首页不传，后续使用上一页返回的 nextCursor）")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "每页数量", example = "20")
+            @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        return Result.success(userService.getFollowingListByCursor(userId, cursor, size));
+    }
+
+    @Operation(summary = "游标分页获取粉丝列表", description = "按关注时间倒序游标分页获取当前用户的粉丝列表，不执行 COUNT 查询")
+    @GetMapping("/followers/cursor")
+    public Result<CursorPage<FollowUserVO>> getFollowerListByCursor(
+            @Parameter(description = "游标（首页不传，后续使用上一页返回的 nextCursor）")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "每页数量", example = "20")
+            @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        long userId = StpUtil.getLoginIdAsLong();
+        return Result.success(userService.getFollowerListByCursor(userId, cursor, size));
+    }
+
+    @Operation(summary = "游标分页获取指定用户的粉丝列表", description = "按关注时间倒序游标分页获取指定用户的粉丝列表，不执行 COUNT 查询")
+    @GetMapping("/{userId}/followers/cursor")
+    public Result<CursorPage<FollowUserVO>> getUserFollowerListByCursor(
+            @Parameter(description = "用户ID", required = true)
+            @PathVariable Long userId,
+            @Parameter(description = "游标（首页不传，后续使用上一页返回的 nextCursor）")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "每页数量", example = "20")
+            @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        return Result.success(userService.getFollowerListByCursor(userId, cursor, size));
+    }
+
     @Operation(summary = "获取关注统计", description = "获取当前用户的关注数和粉丝数")
     @GetMapping("/follow/stats")
     public Result<Map<String, Long>> getFollowStats() {
@@ -124,6 +197,28 @@ public class FollowController {
         return Result.success(stats);
     }
 
+    @Operation(summary = "游标分页获取粉丝ID", description = "按关注记录ID升序返回指定用户的粉丝ID（服务间调用）")
+    @InternalApi
+    @GetMapping("/{userId}/follower-ids")
+    public Result<CursorPage<Long>> getFollowerIds(
+            @Parameter(description = "用户ID", required = true)
+            @PathVariable Long userId,
+            @Parameter(description = "游标（首页不传）")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "每页数量（最大1000）", example = "1000")
+            @RequestParam(value = "size", defaultValue = "1000") Integer size) {
+        return Result.success(userService.getFollowerIds(userId, cursor, size));
+    }
+
+    @Operation(summary = "获取关注的用户ID", description = "返回指定用户关注的全部用户ID（服务间调用）")
+    @InternalApi
+    @GetMapping("/{userId}/following-ids")
+    public Result<List<Long>> getFollowingIds(
+            @Parameter(description = "用户ID", required = true)
+            @PathVariable Long userId) {
+        return Result.success(userService.getFollowingIds(userId));
+    }
+
     // ==================== 黑名单相关接口 ====================
 
     @Operation(summary = "拉黑用户", description = "将指定用户加入黑名单，并自动取消关注关系")
@@ -167,5 +262,13 @@ public class FollowController {
         List<UserInfoVO> blacklist = userService.getBlacklist(userId, page, size);
         return Result.success(blacklist);
     }
-}
 
+    @Operation(summary = "获取拉黑的用户ID", description = "返回指定用户拉黑的全部用户ID（服务间调用）")
+    @InternalApi
+    @GetMapping("/{userId}/blocked-ids")
+    public Result<List<Long>> getBlockedIds(
+            @Parameter(description = "用户ID", required = true)
+            @PathVariable Long userId) {
+        return Result.success(userService.getBlockedIds(userId));
+    }
+}
@@ -80,20 +80,32 @@ public class UserController {
             @RequestParam("userIds") String userIds) {
         java.util.List<Long> idList = java.util.Arrays.stream(userIds.split(","))
                 .map(String::trim)
+                .filter(s -> !s.isEmpty())
                 .map(Long::parseLong)
                 .collect(java.util.stream.Collectors.toList());
         
-        java.util.List<UserInfoVO> users = idList.stream()
-                .map(userId -> {
-                    try {
-                        return userService.getUserInfo(userId);
-                    } catch (Exception e) {
-                        return null;
-                    }
-                })
-                .filter(java.util.Objects::nonNull)
-                .collect(java.util.stream.Collectors.toList());
-        
-        return Result.success(users);
+        return Result.success(userService.getUserInfoBatch(idList));
+    }
+
+    @Operation(summary = "批量获取用户信息（POST）", description = "请求体为用户ID的JSON数组，不受URL长度限制；结果顺序与入参一致，重复ID只返回一次")
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Result<java.util.List<UserInfoVO>> getUsersByIdList(
+            @org.springframework.web.bind.annotation.RequestBody java.util.List<Long> userIds) {
+        return Result.success(userService.getUserInfoBatch(userIds));
+    }
+
+    @Operation(summary = "批量获取用户信息（二进制）", description = "请求体为连续的8字节大端序用户ID")
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public Result<java.util.List<UserInfoVO>> getUsersByIdBytes(
+            @org.springframework.web.bind.annotation.RequestBody byte[] body) {
+        if (body.length % Long.BYTES != 0) {
+            return Result.error("用户ID数据长度必须是8的倍数");
+        }
+        java.nio.LongBuffer buffer = java.nio.ByteBuffer.wrap(body).asLongBuffer();
+        java.util.List<Long> userIds = new java.util.ArrayList<>(buffer.remaining());
+        while (buffer.hasRemaining()) {
+            userIds.add(buffer.get());
+        }
+        return Result.success(userService.getUserInfoBatch(userIds));
     }
 }
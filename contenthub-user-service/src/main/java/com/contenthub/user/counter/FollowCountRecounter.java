@@ -0,0 +1,54 @@
+package com.contenthub.user.counter;
+
+import com.contenthub.common.utils.RecountUtils;
+import com.contenthub.user.mapper.UserMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户关注数、粉丝数校准
+ *
+ * 关注、取消关注、拉黑时在同一事务中按增量更新 users.following_count / follower_count，
+ * 定时任务按 user_follows 重新统计，修正历史数据和直接改库造成的偏差。
+ * 按用户ID分段执行，每段一条 UPDATE ... JOIN，只改写不一致的行。
+ */
+@Slf4j
+@Component
+public class FollowCountRecounter {
+
+    private final UserMapper userMapper;
+
+    /**
+     * 每段包含的用户数
+     */
+    private final int batchSize;
+
+    public FollowCountRecounter(UserMapper userMapper,
+                                @Value("${user.follow-recount.batch-size:500}") int batchSize) {
+        this.userMapper = userMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 定时校准
+     */
+    @Scheduled(cron = "${user.follow-recount.cron:0 0 5 * * ?}")
+    public void scheduledRecount() {
+        try {
+            recount();
+        } catch (Exception e) {
+            log.error("用户关注计数校准失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 重新统计全部用户的关注数和粉丝数
+     * @return 被修正的用户数
+     */
+    public int recount() {
+        return RecountUtils.recountByIdRange("用户关注计数", batchSize,
+                userMapper::selectIdsAfter, userMapper::recountFollowCounts);
+    }
+}
@@ -92,6 +92,18 @@ public class User implements Serializable {
      */
     private Integer experience;
 
+    /**
+     * 关注数（只随关注关系按增量更新，updateById 不写入）
+     */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    private Integer followingCount;
+
+    /**
+     * 粉丝数（只随关注关系按增量更新，updateById 不写入）
+     */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    private Integer followerCount;
+
     /**
      * 最后登录时间
      */
@@ -0,0 +1,40 @@
+package com.contenthub.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * 批量关注/取消关注DTO（导入社交关系）
+ */
+@Data
+@Schema(description = "批量关注/取消关注请求")
+public class BulkFollowDTO {
+
+    @Schema(description = "关注关系列表（每次最多1000条）")
+    @NotEmpty(message = "关注关系不能为空")
+    @Size(max = 1000, message = "每次最多1000条关注关系")
+    @Valid
+    private List<Edge> edges;
+
+    /**
+     * 关注关系
+     */
+    @Data
+    @Schema(description = "关注关系")
+    public static class Edge {
+
+        @Schema(description = "关注者ID", example = "1")
+        @NotNull(message = "关注者ID不能为空")
+        private Long followerId;
+
+        @Schema(description = "被关注者ID", example = "2")
+        @NotNull(message = "被关注者ID不能为空")
+        private Long followedId;
+    }
+}
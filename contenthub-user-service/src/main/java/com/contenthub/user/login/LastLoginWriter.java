@@ -0,0 +1,116 @@
+package com.contenthub.user.login;
+
+import com.contenthub.user.mapper.UserMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 最后登录时间批量写回
+ *
+ * 登录成功后只在内存中记录每个用户最新的登录时间，由定时任务通过一条 UPDATE ... CASE id 批量写回
+ * users.last_login_at，登录请求不再同步更新整行用户记录。
+ * 写回失败的记录放回缓冲等待下次重试；异常退出时丢失的只是最近一个周期的登录时间。
+ */
+@Slf4j
+@Component
+public class LastLoginWriter {
+
+    private final UserMapper userMapper;
+
+    /**
+     * 待写回的登录时间（用户ID -> 最新登录时间）
+     */
+    private final ConcurrentHashMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 单批写回最多包含的用户数
+     */
+    private final int batchSize;
+
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+
+    public LastLoginWriter(UserMapper userMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${user.last-login.batch-size:500}") int batchSize) {
+        this.userMapper = userMapper;
+        this.batchSize = batchSize;
+
+        Gauge.builder("user.last-login.pending", pending, Map::size)
+                .description("未写回最后登录时间的用户数")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("user.last-login.flushed")
+                .description("已写回最后登录时间的用户数")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("user.last-login.flush.failed")
+                .description("写回失败次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录一次登录
+     */
+    public void record(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    /**
+     * 定时写回
+     */
+    @Scheduled(fixedDelayString = "${user.last-login.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * 停机前写回剩余的登录时间
+     */
+    @PreDestroy
+    public void shutdown() {
+        log.info("服务停止，写回剩余登录时间: users={}", pending.size());
+        flush();
+    }
+
+    /**
+     * 取出并分批写回
+     */
+    public synchronized void flush() {
+        Map<Long, LocalDateTime> batch = new HashMap<>();
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginAt = pending.remove(userId);
+            if (loginAt == null) {
+                continue;
+            }
+            batch.put(userId, loginAt);
+            if (batch.size() >= batchSize) {
+                writeBatch(batch);
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(Map<Long, LocalDateTime> batch) {
+        try {
+            userMapper.batchUpdateLastLoginAt(batch);
+            flushedCounter.increment(batch.size());
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.error("最后登录时间写回失败，放回缓冲: rows={}, error={}", batch.size(), e.getMessage());
+            batch.forEach(this::record);
+        }
+    }
+}
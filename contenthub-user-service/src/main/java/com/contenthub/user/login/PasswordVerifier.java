@@ -0,0 +1,83 @@
+package com.contenthub.user.login;
+
+import cn.hutool.crypto.digest.BCrypt;
+import com.contenthub.common.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录密码校验
+ *
+ * BCrypt 在请求线程上计算，用公平信号量限制同时进行的计算数：登录高峰时占用的 CPU 不超过许可数，
+ * 其余登录请求挂起等待（不占用 CPU），等待超过上限时立即失败，不会无限堆积请求线程。
+ * 不另开线程池：请求线程无论如何都要等待校验结果，转交给其他线程只会多一次线程切换。
+ */
+@Slf4j
+@Component
+public class PasswordVerifier {
+
+    private final Semaphore permits;
+
+    /**
+     * 同时进行的 BCrypt 计算上限
+     */
+    private final int concurrency;
+
+    /**
+     * 等待许可的超时时间（毫秒）
+     */
+    private final long waitMillis;
+
+    private final Counter rejectedCounter;
+
+    public PasswordVerifier(MeterRegistry meterRegistry,
+                            @Value("${user.login.bcrypt-concurrency:4}") int concurrency,
+                            @Value("${user.login.bcrypt-wait-ms:1000}") long waitMillis) {
+        this.concurrency = concurrency;
+        this.waitMillis = waitMillis;
+        this.permits = new Semaphore(concurrency, true);
+
+        Gauge.builder("user.login.bcrypt.active", this, verifier -> verifier.concurrency - verifier.permits.availablePermits())
+                .description("正在进行的 BCrypt 校验数")
+                .register(meterRegistry);
+        Gauge.builder("user.login.bcrypt.waiting", permits, Semaphore::getQueueLength)
+                .description("等待 BCrypt 校验的登录请求数")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("user.login.bcrypt.rejected")
+                .description("等待超时被拒绝的登录请求数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 校验密码
+     *
+     * @throws BusinessException 等待超时或被中断
+     */
+    public boolean matches(String password, String hashed) {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("登录请求被中断");
+        }
+        if (!acquired) {
+            rejectedCounter.increment();
+            log.warn("BCrypt 等待超时，拒绝登录请求: waiting={}", permits.getQueueLength());
+            throw new BusinessException("登录请求过多，请稍后重试");
+        }
+
+        try {
+            return BCrypt.checkpw(password, hashed);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -2,10 +2,67 @@ package com.contenthub.user.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.contenthub.user.domain.UserFollow;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * 用户关注Mapper
  */
 public interface UserFollowMapper extends BaseMapper<UserFollow> {
-}
 
+    /**
+     * 批量写入关注关系：一条语句内校验双方互相未拉黑，已存在的关系由唯一索引 uk_follower_followed 忽略
+     * （不读取 users，调用方须先通过 UserMapper#lockUsers 锁定双方并确认用户存在）
+     * @return 实际写入的关系数
+     */
+    @Insert("<script>" +
+            "INSERT IGNORE INTO user_follows (follower_id, followed_id, created_at) " +
+            "SELECT e.follower_id, e.followed_id, NOW() FROM (" +
+            "<foreach collection='edges' item='e' separator=' UNION ALL '>" +
+            "SELECT #{e.followerId} AS follower_id, #{e.followedId} AS followed_id" +
+            "</foreach>" +
+            ") e " +
+            "WHERE NOT EXISTS (SELECT 1 FROM user_blacklist bl " +
+            "                  WHERE (bl.user_id = e.follower_id AND bl.blocked_user_id = e.followed_id) " +
+            "                     OR (bl.user_id = e.followed_id AND bl.blocked_user_id = e.follower_id))" +
+            "</script>")
+    int insertIgnoreAllowed(@Param("edges") List<UserFollow> edges);
+
+    /**
+     * 查询给定 (关注者ID, 被关注者ID) 中已存在的关注关系
+     */
+    @Select("<script>" +
+            "SELECT follower_id, followed_id FROM user_follows WHERE (follower_id, followed_id) IN " +
+            "<foreach collection='edges' item='e' open='(' separator=',' close=')'>" +
+            "(#{e.followerId}, #{e.followedId})" +
+            "</foreach>" +
+            "</script>")
+    List<UserFollow> selectExistingEdges(@Param("edges") List<UserFollow> edges);
+
+    /**
+     * 查询并锁定给定 (关注者ID, 被关注者ID) 中已存在的关注关系（不存在的关系锁定索引间隙）
+     */
+    @Select("<script>" +
+            "SELECT follower_id, followed_id FROM user_follows WHERE (follower_id, followed_id) IN " +
+            "<foreach collection='edges' item='e' open='(' separator=',' close=')'>" +
+            "(#{e.followerId}, #{e.followedId})" +
+            "</foreach>" +
+            " FOR UPDATE" +
+            "</script>")
+    List<UserFollow> selectExistingEdgesForUpdate(@Param("edges") List<UserFollow> edges);
+
+    /**
+     * 按 (关注者ID, 被关注者ID) 批量删除关注关系
+     */
+    @Delete("<script>" +
+            "DELETE FROM user_follows WHERE (follower_id, followed_id) IN " +
+            "<foreach collection='edges' item='e' open='(' separator=',' close=')'>" +
+            "(#{e.followerId}, #{e.followedId})" +
+            "</foreach>" +
+            "</script>")
+    int deleteEdges(@Param("edges") List<UserFollow> edges);
+}
@@ -3,10 +3,107 @@ package com.contenthub.user.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.contenthub.user.domain.User;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 用户Mapper接口
  */
 @Mapper
 public interface UserMapper extends BaseMapper<User> {
+
+    /**
+     * 按主键顺序锁定用户行
+     *
+     * 写关注关系的事务（关注、取消关注、拉黑、批量导入）都先调用，再写 user_follows 和计数：
+     * 涉及同一用户的并发操作在这里排队，不会出现先共享锁后升级排他锁的死锁。
+     * @return 存在且未删除的用户ID
+     */
+    @Select("<script>" +
+            "SELECT id FROM users WHERE id IN " +
+            "<foreach collection='userIds' item='userId' open='(' separator=',' close=')'>" +
+            "#{userId}" +
+            "</foreach>" +
+            " AND deleted = 0 ORDER BY id FOR UPDATE" +
+            "</script>")
+    List<Long> lockUsers(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 一条语句同时增减关注者的关注数和被关注者的粉丝数（调用前须已通过 {@link #lockUsers} 锁定双方）
+     * @param delta 增量（关注为 1，取消关注为 -1）
+     */
+    @Update("UPDATE users SET " +
+            "following_count = GREATEST(following_count + CASE WHEN id = #{followerId} THEN #{delta} ELSE 0 END, 0), " +
+            "follower_count = GREATEST(follower_count + CASE WHEN id = #{followedId} THEN #{delta} ELSE 0 END, 0) " +
+            "WHERE id IN (#{followerId}, #{followedId})")
+    int addFollowCounts(@Param("followerId") Long followerId, @Param("followedId") Long followedId,
+                        @Param("delta") int delta);
+
+    /**
+     * 批量增减关注数和粉丝数（key: 用户ID, value: 增量，可为负数）
+     * 两个 Map 的 key 必须相同（没有变化的一项填 0）
+     */
+    @Update("<script>" +
+            "UPDATE users SET " +
+            "following_count = GREATEST(following_count + CASE id " +
+            "<foreach collection='followingDeltas' index='userId' item='delta' separator=' '>" +
+            "WHEN #{userId} THEN #{delta} " +
+            "</foreach>" +
+            "ELSE 0 END, 0), " +
+            "follower_count = GREATEST(follower_count + CASE id " +
+            "<foreach collection='followerDeltas' index='userId' item='delta' separator=' '>" +
+            "WHEN #{userId} THEN #{delta} " +
+            "</foreach>" +
+            "ELSE 0 END, 0) " +
+            "WHERE id IN " +
+            "<foreach collection='followingDeltas' index='userId' open='(' separator=',' close=')'>" +
+            "#{userId}" +
+            "</foreach>" +
+            "</script>")
+    int batchAddFollowCounts(@Param("followingDeltas") Map<Long, Long> followingDeltas,
+                             @Param("followerDeltas") Map<Long, Long> followerDeltas);
+
+    /**
+     * 批量写回最后登录时间（key: 用户ID, value: 登录时间）
+     */
+    @Update("<script>" +
+            "UPDATE users SET last_login_at = CASE id " +
+            "<foreach collection='loginTimes' index='userId' item='loginAt' separator=' '>" +
+            "WHEN #{userId} THEN #{loginAt} " +
+            "</foreach>" +
+            "ELSE last_login_at END " +
+            "WHERE id IN " +
+            "<foreach collection='loginTimes' index='userId' open='(' separator=',' close=')'>" +
+            "#{userId}" +
+            "</foreach>" +
+            "</script>")
+    int batchUpdateLastLoginAt(@Param("loginTimes") Map<Long, LocalDateTime> loginTimes);
+
+    /**
+     * 按主键游标取一段用户ID（关注计数校准分段使用）
+     */
+    @Select("SELECT id FROM users WHERE id > #{lastId} AND deleted = 0 ORDER BY id LIMIT #{limit}")
+    List<Long> selectIdsAfter(@Param("lastId") Long lastId, @Param("limit") int limit);
+
+    /**
+     * 按关注表重算ID区间内用户的关注数和粉丝数（只更新与实际不一致的用户）
+     * @return 被修正的用户数
+     */
+    @Update("UPDATE users u " +
+            "LEFT JOIN (SELECT follower_id, COUNT(*) AS cnt FROM user_follows " +
+            "           WHERE follower_id BETWEEN #{fromId} AND #{toId} GROUP BY follower_id) f " +
+            "       ON f.follower_id = u.id " +
+            "LEFT JOIN (SELECT followed_id, COUNT(*) AS cnt FROM user_follows " +
+            "           WHERE followed_id BETWEEN #{fromId} AND #{toId} GROUP BY followed_id) r " +
+            "       ON r.followed_id = u.id " +
+            "SET u.following_count = IFNULL(f.cnt, 0), u.follower_count = IFNULL(r.cnt, 0) " +
+            "WHERE u.id BETWEEN #{fromId} AND #{toId} " +
+            "  AND (u.following_count <> IFNULL(f.cnt, 0) OR u.follower_count <> IFNULL(r.cnt, 0))")
+    int recountFollowCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
@@ -7,6 +7,8 @@ import com.contenthub.user.vo.LoginVO;
 import com.contenthub.user.vo.UserInfoVO;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 /**
  * 用户服务接口
  */
@@ -27,6 +29,11 @@ public interface UserService {
      */
     UserInfoVO getUserInfo(Long userId);
 
+    /**
+     * 批量获取用户信息（结果顺序与入参一致，重复ID只返回一次，不存在的用户忽略）
+     */
+    List<UserInfoVO> getUserInfoBatch(List<Long> userIds);
+
     /**
      * 更新用户信息
      */
@@ -52,6 +59,27 @@ public interface UserService {
      */
     boolean isFollowing(Long followerId, Long followedId);
 
+    /**
+     * 批量检查是否关注（一次读取关注集合）
+     *
+     * @return 用户ID -> 是否已关注（顺序与入参一致）
+     */
+    java.util.Map<Long, Boolean> checkFollowing(Long followerId, java.util.List<Long> userIds);
+
+    /**
+     * 批量关注（管理员导入社交关系，已存在、用户不存在或互相拉黑的关系跳过）
+     *
+     * @return 实际写入的关注关系数
+     */
+    int bulkFollow(Long operatorId, com.contenthub.user.dto.BulkFollowDTO bulkFollowDTO);
+
+    /**
+     * 批量取消关注（管理员）
+     *
+     * @return 实际删除的关注关系数
+     */
+    int bulkUnfollow(Long operatorId, com.contenthub.user.dto.BulkFollowDTO bulkFollowDTO);
+
     /**
      * 获取关注列表（我关注的人）
      */
@@ -62,11 +90,31 @@ public interface UserService {
      */
     java.util.List<com.contenthub.user.vo.FollowUserVO> getFollowerList(Long userId, Integer page, Integer size);
 
+    /**
+     * 游标分页获取关注列表（按关注时间倒序，不执行 COUNT 查询）
+     */
+    com.contenthub.common.result.CursorPage<com.contenthub.user.vo.FollowUserVO> getFollowingListByCursor(Long userId, String cursor, Integer size);
+
+    /**
+     * 游标分页获取粉丝列表（按关注时间倒序，不执行 COUNT 查询）
+     */
+    com.contenthub.common.result.CursorPage<com.contenthub.user.vo.FollowUserVO> getFollowerListByCursor(Long userId, String cursor, Integer size);
+
     /**
      * 获取关注数和粉丝数
      */
     java.util.Map<String, Long> getFollowStats(Long userId);
 
+    /**
+     * 游标分页获取粉丝ID（按关注记录ID升序，供内容服务推送关注动态）
+     */
+    com.contenthub.common.result.CursorPage<Long> getFollowerIds(Long userId, String cursor, Integer size);
+
+    /**
+     * 获取关注的全部用户ID
+     */
+    java.util.List<Long> getFollowingIds(Long userId);
+
     /**
      * 拉黑用户
      */
@@ -82,6 +130,11 @@ public interface UserService {
      */
     boolean isBlocked(Long userId, Long blockedUserId);
 
+    /**
+     * 获取用户拉黑的全部用户ID
+     */
+    java.util.List<Long> getBlockedIds(Long userId);
+
     /**
      * 获取黑名单列表
      */
@@ -7,13 +7,22 @@ import cn.hutool.crypto.digest.BCrypt;
 import cn.hutool.json.JSONUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.contenthub.common.exception.BusinessException;
+import com.contenthub.common.result.CursorPage;
 import com.contenthub.common.result.Result;
+import com.contenthub.common.utils.CursorUtils;
+import com.contenthub.user.cache.BlacklistCache;
+import com.contenthub.user.cache.FollowGraphCache;
+import com.contenthub.user.cache.LoginIdentifierCache;
+import com.contenthub.user.cache.UserInfoCache;
 import com.contenthub.user.domain.User;
 import com.contenthub.user.domain.UserAuth;
+import com.contenthub.user.dto.BulkFollowDTO;
 import com.contenthub.user.dto.LoginDTO;
 import com.contenthub.user.dto.RegisterDTO;
 import com.contenthub.user.dto.UpdateUserDTO;
 import com.contenthub.user.feign.FileServiceClient;
+import com.contenthub.user.login.LastLoginWriter;
+import com.contenthub.user.login.PasswordVerifier;
 import com.contenthub.user.domain.UserFollow;
 import com.contenthub.user.domain.UserBlacklist;
 import com.contenthub.user.mapper.UserAuthMapper;
@@ -27,6 +36,7 @@ import com.contenthub.user.vo.LoginVO;
 import com.contenthub.user.vo.UserInfoVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,6 +48,7 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -55,14 +66,25 @@ public class UserServiceImpl implements UserService {
     private final FileServiceClient fileServiceClient;
     private final CaptchaService captchaService;
     private final StringRedisTemplate redisTemplate;
+    private final UserInfoCache userInfoCache;
+    private final FollowGraphCache followGraphCache;
+    private final BlacklistCache blacklistCache;
+    private final LoginIdentifierCache loginIdentifierCache;
+    private final PasswordVerifier passwordVerifier;
+    private final LastLoginWriter lastLoginWriter;
 
     // Redis key前缀
-    private static final String USER_CACHE_KEY_PREFIX = "user:info:";
     private static final String USER_TOKEN_KEY_PREFIX = "user:token:";
     
-    // 用户信息缓存过期时间（1小时）
+    // Token缓存过期时间（1小时）
     private static final long USER_CACHE_EXPIRE_HOURS = 1;
 
+    // 粉丝ID分页最大每页数量
+    private static final int FOLLOWER_ID_PAGE_SIZE = 1000;
+
+    // 批量检查关注状态最多用户数
+    private static final int CHECK_FOLLOWING_MAX_SIZE = 200;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void register(RegisterDTO registerDTO) {
@@ -134,7 +156,6 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public LoginVO login(LoginDTO loginDTO) {
         // 1. 验证验证码
         if (!captchaService.validateCaptcha(loginDTO.getCaptchaKey(), loginDTO.getCaptchaCode())) {
@@ -153,14 +174,14 @@ public class UserServiceImpl implements UserService {
             throw new BusinessException("账号已被禁用");
         }
 
-        // 4. 验证密码
-        if (!BCrypt.checkpw(loginDTO.getPassword(), user.getPassword())) {
+        // 4. 验证密码（在专用线程池中执行 BCrypt）
+        if (!passwordVerifier.matches(loginDTO.getPassword(), user.getPassword())) {
             throw new BusinessException("密码错误");
         }
 
-        // 5. 更新最后登录时间
+        // 5. 记录最后登录时间（批量异步写回）
         user.setLastLoginAt(LocalDateTime.now());
-        userMapper.updateById(user);
+        lastLoginWriter.record(user.getId(), user.getLastLoginAt());
 
         // 6. 使用 Sa-Token 登录
         StpUtil.login(user.getId());
@@ -175,14 +196,6 @@ public class UserServiceImpl implements UserService {
         String tokenKey = USER_TOKEN_KEY_PREFIX + user.getId();
         redisTemplate.opsForValue().set(tokenKey, token, 
                 USER_CACHE_EXPIRE_HOURS, TimeUnit.HOURS);
-        
-        // 验证Token写入是否成功
-        String cachedToken = redisTemplate.opsForValue().get(tokenKey);
-        if (StrUtil.isNotBlank(cachedToken)) {
-            log.info("缓存Token到Redis成功: userId={}, key={}, token={}", user.getId(), tokenKey, token);
-        } else {
-            log.error("缓存Token到Redis失败: userId={}, key={}, value为空", user.getId(), tokenKey);
-        }
 
         // 10. 构造返回结果
         LoginVO loginVO = new LoginVO();
@@ -198,18 +211,11 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserInfoVO getUserInfo(Long userId) {
-        // 1. 先从Redis缓存获取用户信息
-        String cacheKey = USER_CACHE_KEY_PREFIX + userId;
-        String cachedUserInfo = redisTemplate.opsForValue().get(cacheKey);
-        
-        if (StrUtil.isNotBlank(cachedUserInfo)) {
-            try {
-                UserInfoVO userInfoVO = JSONUtil.toBean(cachedUserInfo, UserInfoVO.class);
-                log.info("从缓存获取用户信息: userId={}", userId);
-                return userInfoVO;
-            } catch (Exception e) {
-                log.warn("解析缓存用户信息失败: userId={}, error={}", userId, e.getMessage());
-            }
+        // 1. 先从缓存获取用户信息（本地缓存 -> Redis）
+        UserInfoVO cachedUserInfo = userInfoCache.get(userId);
+        if (cachedUserInfo != null) {
+            log.debug("从缓存获取用户信息: userId={}", userId);
+            return cachedUserInfo;
         }
 
         // 2. 缓存未命中，从数据库查询
@@ -222,13 +228,52 @@ public class UserServiceImpl implements UserService {
         UserInfoVO userInfoVO = new UserInfoVO();
         BeanUtil.copyProperties(user, userInfoVO);
 
-        // 4. 缓存用户信息到Redis
-        cacheUserInfo(user);
+        // 4. 写入缓存
+        userInfoCache.put(userInfoVO);
 
         log.info("从数据库获取用户信息: userId={}", userId);
         return userInfoVO;
     }
 
+    @Override
+    public List<UserInfoVO> getUserInfoBatch(List<Long> userIds) {
+        // 1. 去重（保持入参顺序）
+        Set<Long> distinctIds = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // 2. 缓存批量获取（本地缓存 -> Redis MGET）
+        Map<Long, UserInfoVO> userInfoMap = userInfoCache.getAll(distinctIds);
+
+        // 3. 未命中的一次查询数据库，并批量回填缓存
+        List<Long> missIds = distinctIds.stream()
+                .filter(id -> !userInfoMap.containsKey(id))
+                .collect(Collectors.toList());
+        if (!missIds.isEmpty()) {
+            List<UserInfoVO> loaded = userMapper.selectBatchIds(missIds).stream()
+                    .map(user -> {
+                        UserInfoVO userInfoVO = new UserInfoVO();
+                        BeanUtil.copyProperties(user, userInfoVO);
+                        return userInfoVO;
+                    })
+                    .collect(Collectors.toList());
+            userInfoCache.putAll(loaded);
+            loaded.forEach(userInfoVO -> userInfoMap.put(userInfoVO.getId(), userInfoVO));
+        }
+
+        log.debug("批量获取用户信息: requested={}, distinct={}, dbLoaded={}",
+                userIds.size(), distinctIds.size(), missIds.size());
+
+        // 4. 按入参顺序组装
+        return distinctIds.stream()
+                .map(userInfoMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void updateUserInfo(Long userId, UpdateUserDTO updateUserDTO) {
@@ -293,9 +338,8 @@ public class UserServiceImpl implements UserService {
         
         log.info("更新用户信息成功: userId={}", userId);
         
-        // 5. 清除用户信息缓存，下次查询时重新加载
-        String cacheKey = USER_CACHE_KEY_PREFIX + userId;
-        redisTemplate.delete(cacheKey);
+        // 5. 清除用户信息缓存（并广播清除各实例本地缓存），下次查询时重新加载
+        userInfoCache.evict(userId);
     }
 
     @Override
@@ -347,43 +391,36 @@ public class UserServiceImpl implements UserService {
             throw new BusinessException("头像上传失败: " + e.getMessage());
         } finally {
             // 清除用户信息缓存
-            String cacheKey = USER_CACHE_KEY_PREFIX + userId;
-            redisTemplate.delete(cacheKey);
+            userInfoCache.evict(userId);
         }
     }
 
     /**
-     * 缓存用户信息到Redis
+     * 缓存用户信息
      */
     private void cacheUserInfo(User user) {
-        try {
-            UserInfoVO userInfoVO = new UserInfoVO();
-            BeanUtil.copyProperties(user, userInfoVO);
-            
-            String cacheKey = USER_CACHE_KEY_PREFIX + user.getId();
-            String userInfoJson = JSONUtil.toJsonStr(userInfoVO);
-            
-            redisTemplate.opsForValue().set(cacheKey, userInfoJson, 
-                    USER_CACHE_EXPIRE_HOURS, TimeUnit.HOURS);
-            
-            // 验证写入是否成功
-            String cachedValue = redisTemplate.opsForValue().get(cacheKey);
-            if (StrUtil.isNotBlank(cachedValue)) {
-                log.info("缓存用户信息到Redis成功: userId={}, key={}, valueLength={}", 
-                        user.getId(), cacheKey, cachedValue.length());
-            } else {
-                log.error("缓存用户信息到Redis失败: userId={}, key={}, value为空", user.getId(), cacheKey);
-            }
-        } catch (Exception e) {
-            log.warn("缓存用户信息失败: userId={}, error={}", user.getId(), e.getMessage());
-            // 缓存失败不影响主流程，继续执行
-        }
+        UserInfoVO userInfoVO = new UserInfoVO();
+        BeanUtil.copyProperties(user, userInfoVO);
+        userInfoCache.put(userInfoVO);
     }
 
     /**
      * 根据标识符查找用户（支持用户名、邮箱、手机号）
      */
     private User findUserByIdentifier(String identifier) {
+        // 1. 标识已缓存时按主键查询，并确认标识仍属于该用户（修改邮箱、手机号后旧标识不再有效）
+        Long cachedUserId = loginIdentifierCache.get(identifier);
+        if (cachedUserId != null) {
+            User user = userMapper.selectById(cachedUserId);
+            if (user != null && (identifier.equals(user.getUsername())
+                    || identifier.equals(user.getEmail())
+                    || identifier.equals(user.getPhone()))) {
+                return user;
+            }
+            loginIdentifierCache.invalidate(identifier);
+        }
+
+        // 2. 按用户名、邮箱、手机号唯一索引查询
         LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
         queryWrapper.eq(User::getUsername, identifier)
                 .or()
@@ -391,7 +428,11 @@ public class UserServiceImpl implements UserService {
                 .or()
                 .eq(User::getPhone, identifier);
         
-        return userMapper.selectOne(queryWrapper);
+        User user = userMapper.selectOne(queryWrapper);
+        if (user != null) {
+            loginIdentifierCache.put(identifier, user.getId());
+        }
+        return user;
     }
 
     // ==================== 关注相关方法 ====================
@@ -404,65 +445,211 @@ public class UserServiceImpl implements UserService {
             throw new BusinessException("不能关注自己");
         }
 
-        // 2. 验证用户是否存在
-        User follower = userMapper.selectById(followerId);
-        if (follower == null) {
+        // 2. 按主键顺序锁定双方用户，同时校验用户存在
+        Set<Long> lockedIds = new HashSet<>(userMapper.lockUsers(Arrays.asList(followerId, followedId)));
+        if (!lockedIds.contains(followerId)) {
             throw new BusinessException("关注者不存在");
         }
-        User followed = userMapper.selectById(followedId);
-        if (followed == null) {
+        if (!lockedIds.contains(followedId)) {
             throw new BusinessException("被关注者不存在");
         }
 
-        // 3. 检查是否已被拉黑
-        if (isBlocked(followedId, followerId)) {
-            throw new BusinessException("对方已将你拉黑，无法关注");
-        }
-        if (isBlocked(followerId, followedId)) {
-            throw new BusinessException("你已将对方拉黑，无法关注");
-        }
-
-        // 4. 检查是否已经关注
-        LambdaQueryWrapper<UserFollow> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(UserFollow::getFollowerId, followerId)
-                   .eq(UserFollow::getFollowedId, followedId);
-        UserFollow existing = userFollowMapper.selectOne(queryWrapper);
-        if (existing != null) {
-            throw new BusinessException("已经关注该用户");
-        }
-
-        // 5. 创建关注关系
+        // 3. 一条语句写入关注关系：互相未拉黑、尚未关注（唯一索引 uk_follower_followed）时才写入
         UserFollow follow = new UserFollow();
         follow.setFollowerId(followerId);
         follow.setFollowedId(followedId);
-        follow.setCreatedAt(LocalDateTime.now());
-        userFollowMapper.insert(follow);
+        if (userFollowMapper.insertIgnoreAllowed(Collections.singletonList(follow)) == 0) {
+            // 未写入时再查询具体原因
+            throw new BusinessException(followRejectedReason(followerId, followedId));
+        }
+
+        // 4. 同一事务中更新关注数和粉丝数，提交后更新关注集合
+        userMapper.addFollowCounts(followerId, followedId, 1);
+        followGraphCache.followed(followerId, followedId);
 
         log.info("关注成功: followerId={}, followedId={}", followerId, followedId);
     }
 
+    /**
+     * 关注未写入的原因（按原校验顺序）
+     */
+    private String followRejectedReason(Long followerId, Long followedId) {
+        if (userBlacklistMapper.selectCount(new LambdaQueryWrapper<UserBlacklist>()
+                .eq(UserBlacklist::getUserId, followedId)
+                .eq(UserBlacklist::getBlockedUserId, followerId)) > 0) {
+            return "对方已将你拉黑，无法关注";
+        }
+        if (userBlacklistMapper.selectCount(new LambdaQueryWrapper<UserBlacklist>()
+                .eq(UserBlacklist::getUserId, followerId)
+                .eq(UserBlacklist::getBlockedUserId, followedId)) > 0) {
+            return "你已将对方拉黑，无法关注";
+        }
+        return "已经关注该用户";
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void unfollowUser(Long followerId, Long followedId) {
+        // 1. 按主键顺序锁定双方用户
+        userMapper.lockUsers(Arrays.asList(followerId, followedId));
+
+        // 2. 删除关注关系（影响行数为 0 说明未关注）
         LambdaQueryWrapper<UserFollow> queryWrapper = new LambdaQueryWrapper<>();
         queryWrapper.eq(UserFollow::getFollowerId, followerId)
                    .eq(UserFollow::getFollowedId, followedId);
-        
-        UserFollow follow = userFollowMapper.selectOne(queryWrapper);
-        if (follow == null) {
+        if (userFollowMapper.delete(queryWrapper) == 0) {
             throw new BusinessException("未关注该用户");
         }
 
-        userFollowMapper.deleteById(follow.getId());
+        // 3. 同一事务中更新关注数和粉丝数，提交后更新关注集合
+        userMapper.addFollowCounts(followerId, followedId, -1);
+        followGraphCache.unfollowed(followerId, followedId);
         log.info("取消关注成功: followerId={}, followedId={}", followerId, followedId);
     }
 
     @Override
     public boolean isFollowing(Long followerId, Long followedId) {
-        LambdaQueryWrapper<UserFollow> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(UserFollow::getFollowerId, followerId)
-                   .eq(UserFollow::getFollowedId, followedId);
-        return userFollowMapper.selectOne(queryWrapper) != null;
+        return followGraphCache.isFollowing(followerId, followedId);
+    }
+
+    @Override
+    public Map<Long, Boolean> checkFollowing(Long followerId, List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (userIds.size() > CHECK_FOLLOWING_MAX_SIZE) {
+            throw new BusinessException("一次最多检查" + CHECK_FOLLOWING_MAX_SIZE + "个用户");
+        }
+        Set<Long> following = followGraphCache.filterFollowing(followerId, userIds);
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            if (userId != null) {
+                result.put(userId, following.contains(userId));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int bulkFollow(Long operatorId, BulkFollowDTO bulkFollowDTO) {
+        checkAdmin(operatorId);
+        List<UserFollow> edges = normalizeEdges(bulkFollowDTO);
+        if (edges.isEmpty()) {
+            return 0;
+        }
+
+        // 1. 按主键顺序锁定涉及的用户，跳过用户不存在的关系
+        Set<Long> lockedIds = new HashSet<>(userMapper.lockUsers(involvedUserIds(edges)));
+        edges.removeIf(follow -> !lockedIds.contains(follow.getFollowerId()) || !lockedIds.contains(follow.getFollowedId()));
+        if (edges.isEmpty()) {
+            return 0;
+        }
+
+        // 2. 写入前已存在的关系（一致性读，确定本事务的快照）
+        Set<UserFollow> existing = new HashSet<>(userFollowMapper.selectExistingEdges(edges));
+
+        // 3. 一条语句写入全部允许的关系（互相拉黑、已关注的跳过）
+        int inserted = userFollowMapper.insertIgnoreAllowed(edges);
+        if (inserted == 0) {
+            return 0;
+        }
+
+        // 4. 同一快照内再查一次，差集即本事务写入的关系，一条语句更新计数
+        List<UserFollow> insertedEdges = userFollowMapper.selectExistingEdges(edges).stream()
+                .filter(follow -> !existing.contains(follow))
+                .collect(Collectors.toList());
+        applyFollowCountDeltas(insertedEdges, 1);
+        followGraphCache.evict(insertedEdges.stream().map(UserFollow::getFollowerId).collect(Collectors.toList()));
+
+        log.info("批量关注完成: operatorId={}, requested={}, inserted={}", operatorId, edges.size(), inserted);
+        return inserted;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int bulkUnfollow(Long operatorId, BulkFollowDTO bulkFollowDTO) {
+        checkAdmin(operatorId);
+        List<UserFollow> edges = normalizeEdges(bulkFollowDTO);
+        if (edges.isEmpty()) {
+            return 0;
+        }
+
+        // 1. 按主键顺序锁定涉及的用户，再锁定已存在的关系
+        userMapper.lockUsers(involvedUserIds(edges));
+        List<UserFollow> follows = userFollowMapper.selectExistingEdgesForUpdate(edges);
+        if (follows.isEmpty()) {
+            return 0;
+        }
+
+        // 2. 一条语句删除，一条语句更新计数
+        int deleted = userFollowMapper.deleteEdges(follows);
+        applyFollowCountDeltas(follows, -1);
+        followGraphCache.evict(follows.stream().map(UserFollow::getFollowerId).collect(Collectors.toList()));
+
+        log.info("批量取消关注完成: operatorId={}, requested={}, deleted={}", operatorId, edges.size(), deleted);
+        return deleted;
+    }
+
+    /**
+     * 去重并去掉关注自己的关系
+     */
+    private static List<UserFollow> normalizeEdges(BulkFollowDTO bulkFollowDTO) {
+        Set<UserFollow> edges = new LinkedHashSet<>();
+        for (BulkFollowDTO.Edge edge : bulkFollowDTO.getEdges()) {
+            if (!edge.getFollowerId().equals(edge.getFollowedId())) {
+                edges.add(edge(edge.getFollowerId(), edge.getFollowedId()));
+            }
+        }
+        return new ArrayList<>(edges);
+    }
+
+    /**
+     * 关系涉及的全部用户ID
+     */
+    private static Set<Long> involvedUserIds(List<UserFollow> edges) {
+        Set<Long> userIds = new HashSet<>();
+        for (UserFollow follow : edges) {
+            userIds.add(follow.getFollowerId());
+            userIds.add(follow.getFollowedId());
+        }
+        return userIds;
+    }
+
+    private static UserFollow edge(Long followerId, Long followedId) {
+        UserFollow follow = new UserFollow();
+        follow.setFollowerId(followerId);
+        follow.setFollowedId(followedId);
+        return follow;
+    }
+
+    /**
+     * 按关注关系汇总每个用户的关注数、粉丝数增量，一条语句写回
+     */
+    private void applyFollowCountDeltas(List<UserFollow> follows, long delta) {
+        if (follows.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> followingDeltas = new HashMap<>();
+        Map<Long, Long> followerDeltas = new HashMap<>();
+        for (UserFollow follow : follows) {
+            followingDeltas.merge(follow.getFollowerId(), delta, Long::sum);
+            followerDeltas.merge(follow.getFollowedId(), delta, Long::sum);
+        }
+        // 两个 Map 的 key 保持一致
+        followerDeltas.keySet().forEach(userId -> followingDeltas.putIfAbsent(userId, 0L));
+        followingDeltas.keySet().forEach(userId -> followerDeltas.putIfAbsent(userId, 0L));
+        userMapper.batchAddFollowCounts(followingDeltas, followerDeltas);
+    }
+
+    /**
+     * 检查是否为管理员
+     */
+    private void checkAdmin(Long userId) {
+        User user = userMapper.selectById(userId);
+        if (user == null || !"admin".equals(user.getRole())) {
+            throw new BusinessException("无权限执行批量关注操作");
+        }
     }
 
     @Override
@@ -482,6 +669,84 @@ public class UserServiceImpl implements UserService {
             return Collections.emptyList();
         }
 
+        return buildFollowingVOs(userId, follows);
+    }
+
+    @Override
+    public List<FollowUserVO> getFollowerList(Long userId, Integer page, Integer size) {
+        // 设置分页
+        Page<UserFollow> pageParam = new Page<>(page != null ? page : 1, size != null ? size : 20);
+        
+        // 查询粉丝列表
+        LambdaQueryWrapper<UserFollow> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(UserFollow::getFollowedId, userId)
+                   .orderByDesc(UserFollow::getCreatedAt);
+        
+        IPage<UserFollow> pageResult = userFollowMapper.selectPage(pageParam, queryWrapper);
+        List<UserFollow> follows = pageResult.getRecords();
+        
+        if (follows.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return buildFollowerVOs(userId, follows);
+    }
+
+    @Override
+    public CursorPage<FollowUserVO> getFollowingListByCursor(Long userId, String cursor, Integer size) {
+        LambdaQueryWrapper<UserFollow> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(UserFollow::getFollowerId, userId);
+        return queryFollowsByCursor(queryWrapper, cursor, size, follows -> buildFollowingVOs(userId, follows));
+    }
+
+    @Override
+    public CursorPage<FollowUserVO> getFollowerListByCursor(Long userId, String cursor, Integer size) {
+        LambdaQueryWrapper<UserFollow> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(UserFollow::getFollowedId, userId);
+        return queryFollowsByCursor(queryWrapper, cursor, size, follows -> buildFollowerVOs(userId, follows));
+    }
+
+    /**
+     * 按 (created_at, id) 倒序游标分页查询关注关系（多查一条判断是否还有下一页，不执行 COUNT）
+     */
+    private CursorPage<FollowUserVO> queryFollowsByCursor(LambdaQueryWrapper<UserFollow> queryWrapper, String cursor,
+                                                          Integer size,
+                                                          Function<List<UserFollow>, List<FollowUserVO>> converter) {
+        int pageSize = CursorUtils.normalizeSize(size);
+
+        long[] values = CursorUtils.decode(cursor, 2);
+        if (values != null) {
+            LocalDateTime createdAt = CursorUtils.fromMillis(values[0]);
+            long lastId = values[1];
+            queryWrapper.and(wrapper -> wrapper
+                    .lt(UserFollow::getCreatedAt, createdAt)
+                    .or(w -> w.eq(UserFollow::getCreatedAt, createdAt).lt(UserFollow::getId, lastId)));
+        }
+        queryWrapper.orderByDesc(UserFollow::getCreatedAt)
+                   .orderByDesc(UserFollow::getId)
+                   .last("LIMIT " + (pageSize + 1));
+        List<UserFollow> follows = userFollowMapper.selectList(queryWrapper);
+
+        boolean hasMore = follows.size() > pageSize;
+        if (hasMore) {
+            follows = follows.subList(0, pageSize);
+        }
+        if (follows.isEmpty()) {
+            return CursorPage.empty();
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            UserFollow last = follows.get(follows.size() - 1);
+            nextCursor = CursorUtils.encode(CursorUtils.toMillis(last.getCreatedAt()), last.getId());
+        }
+        return new CursorPage<>(converter.apply(follows), nextCursor, hasMore);
+    }
+
+    /**
+     * 组装关注列表VO（批量查询用户信息和互相关注状态）
+     */
+    private List<FollowUserVO> buildFollowingVOs(Long userId, List<UserFollow> follows) {
         // 获取被关注者ID列表
         List<Long> followedIds = follows.stream()
                 .map(UserFollow::getFollowedId)
@@ -520,23 +785,10 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
-    @Override
-    public List<FollowUserVO> getFollowerList(Long userId, Integer page, Integer size) {
-        // 设置分页
-        Page<UserFollow> pageParam = new Page<>(page != null ? page : 1, size != null ? size : 20);
-        
-        // 查询粉丝列表
-        LambdaQueryWrapper<UserFollow> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(UserFollow::getFollowedId, userId)
-                   .orderByDesc(UserFollow::getCreatedAt);
-        
-        IPage<UserFollow> pageResult = userFollowMapper.selectPage(pageParam, queryWrapper);
-        List<UserFollow> follows = pageResult.getRecords();
-        
-        if (follows.isEmpty()) {
-            return Collections.emptyList();
-        }
-
+    /**
+     * 组装粉丝列表VO（批量查询用户信息和互相关注状态）
+     */
+    private List<FollowUserVO> buildFollowerVOs(Long userId, List<UserFollow> follows) {
         // 获取粉丝ID列表
         List<Long> followerIds = follows.stream()
                 .map(UserFollow::getFollowerId)
@@ -547,14 +799,8 @@ public class UserServiceImpl implements UserService {
         Map<Long, User> userMap = users.stream()
                 .collect(Collectors.toMap(User::getId, u -> u));
 
-        // 检查互相关注
-        LambdaQueryWrapper<UserFollow> mutualWrapper = new LambdaQueryWrapper<>();
-        mutualWrapper.eq(UserFollow::getFollowerId, userId)
-                    .in(UserFollow::getFollowedId, followerIds);
-        List<UserFollow> mutualFollows = userFollowMapper.selectList(mutualWrapper);
-        Set<Long> mutualSet = mutualFollows.stream()
-                .map(UserFollow::getFollowedId)
-                .collect(Collectors.toSet());
+        // 检查互相关注（当前用户是否关注了这些粉丝，读取关注集合）
+        Set<Long> mutualSet = followGraphCache.filterFollowing(userId, followerIds);
 
         // 转换为VO
         return follows.stream()
@@ -576,22 +822,60 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Map<String, Long> getFollowStats(Long userId) {
-        // 查询关注数（我关注的人）
-        LambdaQueryWrapper<UserFollow> followingWrapper = new LambdaQueryWrapper<>();
-        followingWrapper.eq(UserFollow::getFollowerId, userId);
-        Long followingCount = userFollowMapper.selectCount(followingWrapper);
-
-        // 查询粉丝数（关注我的人）
-        LambdaQueryWrapper<UserFollow> followerWrapper = new LambdaQueryWrapper<>();
-        followerWrapper.eq(UserFollow::getFollowedId, userId);
-        Long followerCount = userFollowMapper.selectCount(followerWrapper);
+        // 读取 users 表中随关注关系维护的计数（主键查询，不统计关注表）
+        LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(User::getId, User::getFollowingCount, User::getFollowerCount)
+                   .eq(User::getId, userId);
+        User user = userMapper.selectOne(queryWrapper);
 
         Map<String, Long> stats = new HashMap<>();
-        stats.put("followingCount", followingCount);
-        stats.put("followerCount", followerCount);
+        stats.put("followingCount", user != null && user.getFollowingCount() != null ? user.getFollowingCount() : 0L);
+        stats.put("followerCount", user != null && user.getFollowerCount() != null ? user.getFollowerCount() : 0L);
         return stats;
     }
 
+    @Override
+    public CursorPage<Long> getFollowerIds(Long userId, String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? FOLLOWER_ID_PAGE_SIZE : Math.min(size, FOLLOWER_ID_PAGE_SIZE);
+
+        // 1. 按关注记录ID升序（主键游标，走 idx_followed_id 后按主键回表）
+        LambdaQueryWrapper<UserFollow> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(UserFollow::getId, UserFollow::getFollowerId)
+                   .eq(UserFollow::getFollowedId, userId);
+        long[] values = CursorUtils.decode(cursor, 1);
+        if (values != null) {
+            queryWrapper.gt(UserFollow::getId, values[0]);
+        }
+        queryWrapper.orderByAsc(UserFollow::getId)
+                   .last("LIMIT " + (pageSize + 1));
+        List<UserFollow> follows = userFollowMapper.selectList(queryWrapper);
+
+        // 2. 多查一条判断是否还有下一页
+        boolean hasMore = follows.size() > pageSize;
+        if (hasMore) {
+            follows = follows.subList(0, pageSize);
+        }
+        if (follows.isEmpty()) {
+            return CursorPage.empty();
+        }
+
+        List<Long> followerIds = follows.stream()
+                .map(UserFollow::getFollowerId)
+                .collect(Collectors.toList());
+        String nextCursor = hasMore ? CursorUtils.encode(follows.get(follows.size() - 1).getId()) : null;
+        return new CursorPage<>(followerIds, nextCursor, hasMore);
+    }
+
+    @Override
+    public List<Long> getFollowingIds(Long userId) {
+        LambdaQueryWrapper<UserFollow> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(UserFollow::getFollowedId)
+                   .eq(UserFollow::getFollowerId, userId);
+        return userFollowMapper.selectList(queryWrapper).stream()
+                .map(UserFollow::getFollowedId)
+                .collect(Collectors.toList());
+    }
+
     // ==================== 黑名单相关方法 ====================
 
     @Override
@@ -602,41 +886,36 @@ public class UserServiceImpl implements UserService {
             throw new BusinessException("不能拉黑自己");
         }
 
-        // 2. 验证用户是否存在
-        User user = userMapper.selectById(userId);
-        if (user == null) {
+        // 2. 按主键顺序锁定双方用户，同时校验用户存在（与关注操作使用相同的加锁顺序）
+        Set<Long> existingIds = new HashSet<>(userMapper.lockUsers(Arrays.asList(userId, blockedUserId)));
+        if (!existingIds.contains(userId)) {
             throw new BusinessException("用户不存在");
         }
-        User blockedUser = userMapper.selectById(blockedUserId);
-        if (blockedUser == null) {
+        if (!existingIds.contains(blockedUserId)) {
             throw new BusinessException("被拉黑用户不存在");
         }
 
-        // 3. 检查是否已在黑名单中
-        LambdaQueryWrapper<UserBlacklist> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(UserBlacklist::getUserId, userId)
-                   .eq(UserBlacklist::getBlockedUserId, blockedUserId);
-        UserBlacklist existing = userBlacklistMapper.selectOne(queryWrapper);
-        if (existing != null) {
-            throw new BusinessException("该用户已在黑名单中");
-        }
-
-        // 4. 创建黑名单记录
+        // 3. 创建黑名单记录（唯一索引 uk_user_blocked 判断是否已在黑名单中）
         UserBlacklist blacklist = new UserBlacklist();
         blacklist.setUserId(userId);
         blacklist.setBlockedUserId(blockedUserId);
         blacklist.setCreatedAt(LocalDateTime.now());
-        userBlacklistMapper.insert(blacklist);
+        try {
+            userBlacklistMapper.insert(blacklist);
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException("该用户已在黑名单中");
+        }
+        blacklistCache.changed(userId);
 
-        // 5. 自动取消关注关系（如果存在）
-        LambdaQueryWrapper<UserFollow> followWrapper = new LambdaQueryWrapper<>();
-        followWrapper.and(wrapper -> wrapper
-                .eq(UserFollow::getFollowerId, userId).eq(UserFollow::getFollowedId, blockedUserId)
-                .or()
-                .eq(UserFollow::getFollowerId, blockedUserId).eq(UserFollow::getFollowedId, userId));
-        List<UserFollow> follows = userFollowMapper.selectList(followWrapper);
-        for (UserFollow follow : follows) {
-            userFollowMapper.deleteById(follow.getId());
+        // 4. 自动取消双向关注关系：锁定已存在的关系后一条语句删除，再一条语句更新双方计数
+        List<UserFollow> edges = Arrays.asList(edge(userId, blockedUserId), edge(blockedUserId, userId));
+        List<UserFollow> follows = userFollowMapper.selectExistingEdgesForUpdate(edges);
+        if (!follows.isEmpty()) {
+            userFollowMapper.deleteEdges(follows);
+            applyFollowCountDeltas(follows, -1);
+            for (UserFollow follow : follows) {
+                followGraphCache.unfollowed(follow.getFollowerId(), follow.getFollowedId());
+            }
         }
 
         log.info("拉黑成功: userId={}, blockedUserId={}", userId, blockedUserId);
@@ -655,15 +934,18 @@ public class UserServiceImpl implements UserService {
         }
 
         userBlacklistMapper.deleteById(blacklist.getId());
+        blacklistCache.changed(userId);
         log.info("取消拉黑成功: userId={}, blockedUserId={}", userId, blockedUserId);
     }
 
     @Override
     public boolean isBlocked(Long userId, Long blockedUserId) {
-        LambdaQueryWrapper<UserBlacklist> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(UserBlacklist::getUserId, userId)
-                   .eq(UserBlacklist::getBlockedUserId, blockedUserId);
-        return userBlacklistMapper.selectOne(queryWrapper) != null;
+        return blacklistCache.isBlocked(userId, blockedUserId);
+    }
+
+    @Override
+    public List<Long> getBlockedIds(Long userId) {
+        return new ArrayList<>(blacklistCache.getBlockedIds(userId));
     }
 
     @Override
@@ -0,0 +1,111 @@
+package com.contenthub.user.login;
+
+import cn.hutool.crypto.digest.BCrypt;
+import com.contenthub.common.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 登录密码校验测试
+ */
+class PasswordVerifierTest {
+
+    private static final String PASSWORD = "p@ssw0rd";
+
+    /**
+     * 默认强度的哈希（与注册时一致）
+     */
+    private static final String HASHED = BCrypt.hashpw(PASSWORD);
+
+    @Test
+    void matchesOnlyTheRightPassword() {
+        PasswordVerifier verifier = new PasswordVerifier(new SimpleMeterRegistry(), 2, 1000);
+
+        assertTrue(verifier.matches(PASSWORD, HASHED));
+        assertFalse(verifier.matches("wrong", HASHED));
+    }
+
+    /**
+     * 模拟 1000 次/秒的登录高峰：200 个请求线程（对应 Tomcat 默认线程数）处理按固定速率到达的请求，
+     * 同时进行的 BCrypt 计算不超过许可数，超出处理能力的请求在等待上限后被拒绝，请求线程不会一直被占住
+     */
+    @Test
+    void loginBurstIsBoundedByPermits() throws Exception {
+        int concurrency = Math.max(1, Runtime.getRuntime().availableProcessors());
+        long waitMillis = 500;
+        int ratePerSecond = 1000;
+        int total = 1000;
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordVerifier verifier = new PasswordVerifier(registry, concurrency, waitMillis);
+
+        ExecutorService requestThreads = Executors.newFixedThreadPool(200);
+        ScheduledExecutorService arrivals = Executors.newSingleThreadScheduledExecutor();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicLong maxRejectMillis = new AtomicLong();
+        AtomicLong maxActive = new AtomicLong();
+        AtomicLong maxWaiting = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(total);
+        List<Long> successMillis = new CopyOnWriteArrayList<>();
+        try {
+            // 1. 按固定速率投递登录请求
+            AtomicInteger submitted = new AtomicInteger();
+            long startNanos = System.nanoTime();
+            arrivals.scheduleAtFixedRate(() -> {
+                if (submitted.getAndIncrement() >= total) {
+                    return;
+                }
+                requestThreads.execute(() -> {
+                    long begin = System.nanoTime();
+                    try {
+                        assertTrue(verifier.matches(PASSWORD, HASHED));
+                        succeeded.incrementAndGet();
+                        successMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+                    } catch (BusinessException e) {
+                        rejected.incrementAndGet();
+                        maxRejectMillis.accumulateAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin), Math::max);
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }, 0, 1_000_000 / ratePerSecond, TimeUnit.MICROSECONDS);
+
+            // 2. 处理期间采样进行中和等待中的校验数
+            while (!done.await(5, TimeUnit.MILLISECONDS)) {
+                maxActive.accumulateAndGet((long) registry.get("user.login.bcrypt.active").gauge().value(), Math::max);
+                maxWaiting.accumulateAndGet((long) registry.get("user.login.bcrypt.waiting").gauge().value(), Math::max);
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+            // 3. 校验结果
+            List<Long> sorted = new ArrayList<>(successMillis);
+            sorted.sort(null);
+            long p50 = sorted.isEmpty() ? 0 : sorted.get(sorted.size() / 2);
+            long p99 = sorted.isEmpty() ? 0 : sorted.get(Math.min(sorted.size() - 1, sorted.size() * 99 / 100));
+            System.out.printf("login burst: cpus=%d, permits=%d, requests=%d, succeeded=%d, rejected=%d, elapsed=%dms, "
+                            + "throughput=%.1f/s, successP50=%dms, successP99=%dms, maxRejectWait=%dms, maxActive=%d, maxWaiting=%d%n",
+                    Runtime.getRuntime().availableProcessors(), concurrency, total, succeeded.get(), rejected.get(),
+                    elapsedMillis, succeeded.get() * 1000.0 / elapsedMillis, p50, p99, maxRejectMillis.get(),
+                    maxActive.get(), maxWaiting.get());
+
+            assertEquals(total, succeeded.get() + rejected.get());
+            assertTrue(succeeded.get() > 0);
+            assertTrue(maxActive.get() <= concurrency, "进行中的校验数超过许可数: " + maxActive.get());
+            assertTrue(maxRejectMillis.get() < waitMillis + 500, "被拒绝的请求等待过久: " + maxRejectMillis.get() + "ms");
+            assertEquals(rejected.get(), registry.get("user.login.bcrypt.rejected").counter().count());
+            assertEquals(0, (long) registry.get("user.login.bcrypt.active").gauge().value());
+        } finally {
+            arrivals.shutdownNow();
+            requestThreads.shutdownNow();
+        }
+    }
+}
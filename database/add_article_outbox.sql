@@ -0,0 +1,50 @@
+-- ============================================
+-- 文章变更发件箱
+-- 1. articles.change_seq：文章内容或状态每次变更+1，搜索服务据此丢弃过期的写入
+-- 2. article_outbox：与文章变更在同一事务写入，由内容服务定时转发给搜索服务
+-- ============================================
+
+USE `content_hub`;
+
+DELIMITER $$
+
+CREATE PROCEDURE IF NOT EXISTS add_column_if_not_exists(
+    IN table_name VARCHAR(64),
+    IN column_name VARCHAR(64),
+    IN column_definition VARCHAR(500)
+)
+BEGIN
+    DECLARE column_count INT DEFAULT 0;
+    SELECT COUNT(*) INTO column_count
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = table_name
+      AND COLUMN_NAME = column_name;
+    
+    IF column_count = 0 THEN
+        SET @sql = CONCAT('ALTER TABLE `', table_name, '` ADD COLUMN `', column_name, '` ', column_definition);
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+
+DELIMITER ;
+
+CALL add_column_if_not_exists('articles', 'change_seq',
+    'BIGINT NOT NULL DEFAULT 0 COMMENT ''变更序号（内容或状态每次变更+1，用于搜索索引幂等）'' AFTER `updated_at`');
+
+-- 删除临时存储过程
+DROP PROCEDURE IF EXISTS add_column_if_not_exists;
+
+CREATE TABLE IF NOT EXISTS `article_outbox` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT 'ID',
+  `article_id` BIGINT NOT NULL COMMENT '文章ID',
+  `change_seq` BIGINT NOT NULL COMMENT '文章变更序号',
+  `event_type` VARCHAR(20) NOT NULL COMMENT '变更类型（UPSERT-新增或更新，DELETE-删除或下架）',
+  `created_at` DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_article_id` (`article_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章变更发件箱';
+
+SELECT '====== 文章变更发件箱创建完成 ======' AS info;
@@ -0,0 +1,65 @@
+-- ============================================
+-- 文章标签关联表：(tag_id, article_id) 复合索引
+-- 按标签筛选文章列表时以 EXISTS 子查询关联 article_tags，
+-- 该索引使 (tag_id, article_id) 的探测只读索引、不回表；
+-- 原 idx_tag_id 是其前缀，随后删除（外键 fk_article_tags_tag 改用新索引）
+-- ============================================
+
+USE `content_hub`;
+
+DELIMITER $$
+
+CREATE PROCEDURE IF NOT EXISTS add_index_if_not_exists(
+    IN table_name VARCHAR(64),
+    IN index_name VARCHAR(64),
+    IN index_columns VARCHAR(255)
+)
+BEGIN
+    DECLARE index_count INT DEFAULT 0;
+    SELECT COUNT(*) INTO index_count
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = table_name
+      AND INDEX_NAME = index_name;
+    
+    IF index_count = 0 THEN
+        SET @sql = CONCAT('ALTER TABLE `', table_name, '` ADD INDEX `', index_name, '` (', index_columns, ')');
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+
+CREATE PROCEDURE IF NOT EXISTS drop_index_if_exists(
+    IN table_name VARCHAR(64),
+    IN index_name VARCHAR(64)
+)
+BEGIN
+    DECLARE index_count INT DEFAULT 0;
+    SELECT COUNT(*) INTO index_count
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = table_name
+      AND INDEX_NAME = index_name;
+    
+    IF index_count > 0 THEN
+        SET @sql = CONCAT('ALTER TABLE `', table_name, '` DROP INDEX `', index_name, '`');
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+
+DELIMITER ;
+
+-- 1. 标签筛选：EXISTS (SELECT 1 FROM article_tags WHERE article_id = articles.id AND tag_id = ?)
+CALL add_index_if_not_exists('article_tags', 'idx_tag_article', '`tag_id`, `article_id`');
+
+-- 2. 删除被新索引覆盖的单列索引
+CALL drop_index_if_exists('article_tags', 'idx_tag_id');
+
+-- 删除临时存储过程
+DROP PROCEDURE IF EXISTS add_index_if_not_exists;
+DROP PROCEDURE IF EXISTS drop_index_if_exists;
+
+SELECT '====== 文章标签索引创建完成 ======' AS info;
@@ -0,0 +1,65 @@
+-- ============================================
+-- 文章表：(user_id, status, deleted, published_at) 复合索引
+-- 关注动态按作者拉取已发布文章（拉模式作者、重建过期的时间线）：
+-- WHERE user_id IN (...) AND status = 1 AND deleted = 0 ORDER BY published_at DESC，
+-- 每个作者只扫描自己已发布的文章；原 idx_user_id 是其前缀，随后删除（外键 fk_articles_user 改用新索引）
+-- ============================================
+
+USE `content_hub`;
+
+DELIMITER $$
+
+CREATE PROCEDURE IF NOT EXISTS add_index_if_not_exists(
+    IN table_name VARCHAR(64),
+    IN index_name VARCHAR(64),
+    IN index_columns VARCHAR(255)
+)
+BEGIN
+    DECLARE index_count INT DEFAULT 0;
+    SELECT COUNT(*) INTO index_count
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = table_name
+      AND INDEX_NAME = index_name;
+    
+    IF index_count = 0 THEN
+        SET @sql = CONCAT('ALTER TABLE `', table_name, '` ADD INDEX `', index_name, '` (', index_columns, ')');
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+
+CREATE PROCEDURE IF NOT EXISTS drop_index_if_exists(
+    IN table_name VARCHAR(64),
+    IN index_name VARCHAR(64)
+)
+BEGIN
+    DECLARE index_count INT DEFAULT 0;
+    SELECT COUNT(*) INTO index_count
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = table_name
+      AND INDEX_NAME = index_name;
+    
+    IF index_count > 0 THEN
+        SET @sql = CONCAT('ALTER TABLE `', table_name, '` DROP INDEX `', index_name, '`');
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+
+DELIMITER ;
+
+-- 1. 关注动态：按作者拉取已发布文章
+CALL add_index_if_not_exists('articles', 'idx_user_status_published', '`user_id`, `status`, `deleted`, `published_at`');
+
+-- 2. 删除被新索引覆盖的单列索引
+CALL drop_index_if_exists('articles', 'idx_user_id');
+
+-- 删除临时存储过程
+DROP PROCEDURE IF EXISTS add_index_if_not_exists;
+DROP PROCEDURE IF EXISTS drop_index_if_exists;
+
+SELECT '====== 文章作者索引创建完成 ======' AS info;
@@ -0,0 +1,54 @@
+-- ============================================
+-- 评论计数
+-- 1. comments.reply_count：一级评论的子评论数，由评论服务按增量批量更新
+-- 2. 回填 comments.reply_count 和 articles.comment_count（正常状态、未删除的评论）
+-- ============================================
+
+USE `content_hub`;
+
+DELIMITER $$
+
+CREATE PROCEDURE IF NOT EXISTS add_column_if_not_exists(
+    IN table_name VARCHAR(64),
+    IN column_name VARCHAR(64),
+    IN column_definition VARCHAR(500)
+)
+BEGIN
+    DECLARE column_count INT DEFAULT 0;
+    SELECT COUNT(*) INTO column_count
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = table_name
+      AND COLUMN_NAME = column_name;
+    
+    IF column_count = 0 THEN
+        SET @sql = CONCAT('ALTER TABLE `', table_name, '` ADD COLUMN `', column_name, '` ', column_definition);
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+
+DELIMITER ;
+
+CALL add_column_if_not_exists('comments', 'reply_count',
+    'INT NOT NULL DEFAULT 0 COMMENT ''子评论数（一级评论）'' AFTER `like_count`');
+
+-- 删除临时存储过程
+DROP PROCEDURE IF EXISTS add_column_if_not_exists;
+
+-- 回填子评论数（root_id 为空的旧数据按 parent_id 归属）
+UPDATE `comments` r
+LEFT JOIN (SELECT COALESCE(`root_id`, `parent_id`) AS thread_id, COUNT(*) AS cnt FROM `comments`
+           WHERE `parent_id` IS NOT NULL AND `status` = 1 AND `deleted` = 0
+           GROUP BY COALESCE(`root_id`, `parent_id`)) c ON c.thread_id = r.`id`
+SET r.`reply_count` = IFNULL(c.cnt, 0)
+WHERE r.`parent_id` IS NULL;
+
+-- 回填文章评论数
+UPDATE `articles` a
+LEFT JOIN (SELECT `article_id`, COUNT(*) AS cnt FROM `comments`
+           WHERE `status` = 1 AND `deleted` = 0 GROUP BY `article_id`) c ON c.`article_id` = a.`id`
+SET a.`comment_count` = IFNULL(c.cnt, 0);
+
+SELECT '====== 评论计数字段创建完成 ======' AS info;
@@ -0,0 +1,65 @@
+-- ============================================
+-- 评论表：(root_id, created_at) 复合索引
+-- 一级评论的子评论预览（窗口函数按一级评论分组取最新若干条）和子评论游标分页
+-- 均为 WHERE root_id = ? ORDER BY created_at DESC, id DESC；
+-- 原 idx_root_id 是其前缀，随后删除
+-- ============================================
+
+USE `content_hub`;
+
+DELIMITER $$
+
+CREATE PROCEDURE IF NOT EXISTS add_index_if_not_exists(
+    IN table_name VARCHAR(64),
+    IN index_name VARCHAR(64),
+    IN index_columns VARCHAR(255)
+)
+BEGIN
+    DECLARE index_count INT DEFAULT 0;
+    SELECT COUNT(*) INTO index_count
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = table_name
+      AND INDEX_NAME = index_name;
+    
+    IF index_count = 0 THEN
+        SET @sql = CONCAT('ALTER TABLE `', table_name, '` ADD INDEX `', index_name, '` (', index_columns, ')');
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+
+CREATE PROCEDURE IF NOT EXISTS drop_index_if_exists(
+    IN table_name VARCHAR(64),
+    IN index_name VARCHAR(64)
+)
+BEGIN
+    DECLARE index_count INT DEFAULT 0;
+    SELECT COUNT(*) INTO index_count
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = table_name
+      AND INDEX_NAME = index_name;
+    
+    IF index_count > 0 THEN
+        SET @sql = CONCAT('ALTER TABLE `', table_name, '` DROP INDEX `', index_name, '`');
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+
+DELIMITER ;
+
+-- 1. 子评论：WHERE root_id IN (...) / root_id = ? ORDER BY created_at DESC, id DESC
+CALL add_index_if_not_exists('comments', 'idx_root_created', '`root_id`, `created_at`');
+
+-- 2. 删除被新索引覆盖的单列索引
+CALL drop_index_if_exists('comments', 'idx_root_id');
+
+-- 删除临时存储过程
+DROP PROCEDURE IF EXISTS add_index_if_not_exists;
+DROP PROCEDURE IF EXISTS drop_index_if_exists;
+
+SELECT '====== 评论子评论索引创建完成 ======' AS info;
@@ -0,0 +1,47 @@
+-- ============================================
+-- 游标（keyset）分页索引
+-- 文章、评论、关注列表按 排序键 + id 游标分页，
+-- 使深分页只扫描一页数据，避免 OFFSET 逐行跳过
+-- ============================================
+
+USE `content_hub`;
+
+DELIMITER $$
+
+CREATE PROCEDURE IF NOT EXISTS add_index_if_not_exists(
+    IN table_name VARCHAR(64),
+    IN index_name VARCHAR(64),
+    IN index_columns VARCHAR(255)
+)
+BEGIN
+    DECLARE index_count INT DEFAULT 0;
+    SELECT COUNT(*) INTO index_count
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = table_name
+      AND INDEX_NAME = index_name;
+    
+    IF index_count = 0 THEN
+        SET @sql = CONCAT('ALTER TABLE `', table_name, '` ADD INDEX `', index_name, '` (', index_columns, ')');
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+
+DELIMITER ;
+
+-- 1. 文章列表：WHERE status = 1 AND deleted = 0 ORDER BY is_top DESC, published_at DESC, id DESC
+CALL add_index_if_not_exists('articles', 'idx_status_top_published', '`status`, `deleted`, `is_top`, `published_at`');
+
+-- 2. 评论列表：WHERE article_id = ? AND parent_id IS NULL ORDER BY created_at DESC, id DESC
+CALL add_index_if_not_exists('comments', 'idx_article_parent_created', '`article_id`, `parent_id`, `created_at`');
+
+-- 3. 关注列表 / 粉丝列表：WHERE follower_id = ? (followed_id = ?) ORDER BY created_at DESC, id DESC
+CALL add_index_if_not_exists('user_follows', 'idx_follower_created', '`follower_id`, `created_at`');
+CALL add_index_if_not_exists('user_follows', 'idx_followed_created', '`followed_id`, `created_at`');
+
+-- 删除临时存储过程
+DROP PROCEDURE IF EXISTS add_index_if_not_exists;
+
+SELECT '====== 游标分页索引创建完成 ======' AS info;
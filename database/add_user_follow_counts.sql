@@ -0,0 +1,54 @@
+-- ============================================
+-- 用户关注计数
+-- 1. users.following_count / follower_count：关注数和粉丝数，关注、取消关注、拉黑时随关注关系在同一事务中增减
+-- 2. 按 user_follows 回填
+-- ============================================
+
+USE `content_hub`;
+
+DELIMITER $$
+
+CREATE PROCEDURE IF NOT EXISTS add_column_if_not_exists(
+    IN table_name VARCHAR(64),
+    IN column_name VARCHAR(64),
+    IN column_definition VARCHAR(500)
+)
+BEGIN
+    DECLARE column_count INT DEFAULT 0;
+    SELECT COUNT(*) INTO column_count
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = table_name
+      AND COLUMN_NAME = column_name;
+    
+    IF column_count = 0 THEN
+        SET @sql = CONCAT('ALTER TABLE `', table_name, '` ADD COLUMN `', column_name, '` ', column_definition);
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+
+DELIMITER ;
+
+CALL add_column_if_not_exists('users', 'following_count',
+    'INT NOT NULL DEFAULT 0 COMMENT ''关注数'' AFTER `experience`');
+CALL add_column_if_not_exists('users', 'follower_count',
+    'INT NOT NULL DEFAULT 0 COMMENT ''粉丝数'' AFTER `following_count`');
+
+-- 删除临时存储过程
+DROP PROCEDURE IF EXISTS add_column_if_not_exists;
+
+-- 回填关注数
+UPDATE `users` u
+LEFT JOIN (SELECT `follower_id`, COUNT(*) AS cnt FROM `user_follows` GROUP BY `follower_id`) f
+       ON f.`follower_id` = u.`id`
+SET u.`following_count` = IFNULL(f.cnt, 0);
+
+-- 回填粉丝数
+UPDATE `users` u
+LEFT JOIN (SELECT `followed_id`, COUNT(*) AS cnt FROM `user_follows` GROUP BY `followed_id`) f
+       ON f.`followed_id` = u.`id`
+SET u.`follower_count` = IFNULL(f.cnt, 0);
+
+SELECT '====== 用户关注计数字段创建完成 ======' AS info;
@@ -0,0 +1,179 @@
+-- ============================================
+-- 游标分页与 OFFSET 分页对比基准
+-- 基于 test_data_articles.sql 的测试文章，扩充到约 10 万篇文章、
+-- 一个文章下 10 万条一级评论、一个用户 10 万条关注关系，
+-- 对比第 1 页与第 5000 页（每页 20 条）两种分页方式的执行计划和耗时
+--
+-- 使用方法：
+-- 1. 先执行 init.sql、test_data_articles.sql、add_cursor_pagination_indexes.sql
+-- 2. 在测试库执行本脚本（会写入大量测试数据，不要在生产库执行）
+-- 3. 对比各 EXPLAIN ANALYZE 输出中的 actual time 和 rows（需要 MySQL 8.0.18+）
+-- ============================================
+
+USE `content_hub`;
+
+SET SESSION cte_max_recursion_depth = 200000;
+
+-- ============================================
+-- 1. 扩充测试数据
+-- ============================================
+
+-- 1.1 测试用户（id 从 100001 开始，作为粉丝/被关注者）
+INSERT IGNORE INTO `users` (`id`, `username`, `email`, `password`, `nickname`, `status`, `created_at`, `updated_at`)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 100000
+)
+SELECT 100000 + n, CONCAT('bench_user_', n), CONCAT('bench_user_', n, '@bench.local'),
+       '$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchmar', CONCAT('压测用户', n), 1, NOW(), NOW()
+FROM seq;
+
+-- 1.2 文章（复制测试文章1的内容，发布时间按秒递减，部分重复以覆盖同一时间的 id 比较）
+INSERT IGNORE INTO `articles` (`id`, `user_id`, `category_id`, `title`, `slug`, `summary`, `content`,
+                               `status`, `is_top`, `published_at`, `created_at`, `updated_at`, `deleted`)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 100000
+)
+SELECT 1000 + seq.n, a.`user_id`, a.`category_id`, CONCAT(a.`title`, ' #', seq.n),
+       CONCAT(a.`slug`, '-bench-', seq.n), a.`summary`, a.`content`,
+       1, IF(seq.n % 5000 = 0, 1, 0), NOW() - INTERVAL (seq.n DIV 2) SECOND, NOW(), NOW(), 0
+FROM seq
+JOIN `articles` a ON a.`id` = 1;
+
+-- 1.3 文章1的一级评论
+INSERT INTO `comments` (`article_id`, `user_id`, `parent_id`, `root_id`, `content`, `status`, `created_at`, `updated_at`)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 100000
+)
+SELECT 1, 1, NULL, NULL, CONCAT('压测评论 ', n), 1, NOW() - INTERVAL (n DIV 2) SECOND, NOW()
+FROM seq;
+
+-- 1.4 用户1的粉丝（用户1被 10 万个压测用户关注）
+INSERT IGNORE INTO `user_follows` (`follower_id`, `followed_id`, `created_at`)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 100000
+)
+SELECT 100000 + n, 1, NOW() - INTERVAL (n DIV 2) SECOND
+FROM seq;
+
+ANALYZE TABLE `articles`, `comments`, `user_follows`;
+
+-- ============================================
+-- 2. 文章列表
+-- ============================================
+
+-- 2.1 OFFSET 分页：第 1 页、第 5000 页，以及 selectPage 附带的 COUNT 查询
+EXPLAIN ANALYZE
+SELECT `id`, `title`, `is_top`, `published_at` FROM `articles`
+WHERE `status` = 1 AND `deleted` = 0
+ORDER BY `is_top` DESC, `published_at` DESC
+LIMIT 0, 20;
+
+EXPLAIN ANALYZE
+SELECT `id`, `title`, `is_top`, `published_at` FROM `articles`
+WHERE `status` = 1 AND `deleted` = 0
+ORDER BY `is_top` DESC, `published_at` DESC
+LIMIT 99980, 20;
+
+EXPLAIN ANALYZE
+SELECT COUNT(*) FROM `articles` WHERE `status` = 1 AND `deleted` = 0;
+
+-- 2.2 游标分页：第 1 页
+EXPLAIN ANALYZE
+SELECT `id`, `title`, `is_top`, `published_at` FROM `articles`
+WHERE `status` = 1 AND `deleted` = 0 AND `published_at` IS NOT NULL
+ORDER BY `is_top` DESC, `published_at` DESC, `id` DESC
+LIMIT 21;
+
+-- 2.3 游标分页：第 5000 页（游标取 OFFSET 方式第 4999 页最后一条）
+SELECT `is_top`, `published_at`, `id` INTO @top, @published_at, @last_id FROM `articles`
+WHERE `status` = 1 AND `deleted` = 0 AND `published_at` IS NOT NULL
+ORDER BY `is_top` DESC, `published_at` DESC, `id` DESC
+LIMIT 99979, 1;
+
+EXPLAIN ANALYZE
+SELECT `id`, `title`, `is_top`, `published_at` FROM `articles`
+WHERE `status` = 1 AND `deleted` = 0 AND `published_at` IS NOT NULL
+  AND (`is_top` < @top
+       OR (`is_top` = @top AND `published_at` < @published_at)
+       OR (`is_top` = @top AND `published_at` = @published_at AND `id` < @last_id))
+ORDER BY `is_top` DESC, `published_at` DESC, `id` DESC
+LIMIT 21;
+
+-- ============================================
+-- 3. 评论列表（文章1的一级评论）
+-- ============================================
+
+EXPLAIN ANALYZE
+SELECT `id`, `created_at` FROM `comments`
+WHERE `article_id` = 1 AND `parent_id` IS NULL AND `status` = 1
+ORDER BY `created_at` DESC
+LIMIT 0, 20;
+
+EXPLAIN ANALYZE
+SELECT `id`, `created_at` FROM `comments`
+WHERE `article_id` = 1 AND `parent_id` IS NULL AND `status` = 1
+ORDER BY `created_at` DESC
+LIMIT 99980, 20;
+
+SELECT `created_at`, `id` INTO @created_at, @last_id FROM `comments`
+WHERE `article_id` = 1 AND `parent_id` IS NULL AND `status` = 1
+ORDER BY `created_at` DESC, `id` DESC
+LIMIT 99979, 1;
+
+EXPLAIN ANALYZE
+SELECT `id`, `created_at` FROM `comments`
+WHERE `article_id` = 1 AND `parent_id` IS NULL AND `status` = 1
+ORDER BY `created_at` DESC, `id` DESC
+LIMIT 21;
+
+EXPLAIN ANALYZE
+SELECT `id`, `created_at` FROM `comments`
+WHERE `article_id` = 1 AND `parent_id` IS NULL AND `status` = 1
+  AND (`created_at` < @created_at OR (`created_at` = @created_at AND `id` < @last_id))
+ORDER BY `created_at` DESC, `id` DESC
+LIMIT 21;
+
+-- ============================================
+-- 4. 粉丝列表（用户1的粉丝）
+-- ============================================
+
+EXPLAIN ANALYZE
+SELECT `id`, `follower_id`, `created_at` FROM `user_follows`
+WHERE `followed_id` = 1
+ORDER BY `created_at` DESC
+LIMIT 0, 20;
+
+EXPLAIN ANALYZE
+SELECT `id`, `follower_id`, `created_at` FROM `user_follows`
+WHERE `followed_id` = 1
+ORDER BY `created_at` DESC
+LIMIT 99980, 20;
+
+EXPLAIN ANALYZE
+SELECT COUNT(*) FROM `user_follows` WHERE `followed_id` = 1;
+
+SELECT `created_at`, `id` INTO @created_at, @last_id FROM `user_follows`
+WHERE `followed_id` = 1
+ORDER BY `created_at` DESC, `id` DESC
+LIMIT 99979, 1;
+
+EXPLAIN ANALYZE
+SELECT `id`, `follower_id`, `created_at` FROM `user_follows`
+WHERE `followed_id` = 1
+ORDER BY `created_at` DESC, `id` DESC
+LIMIT 21;
+
+EXPLAIN ANALYZE
+SELECT `id`, `follower_id`, `created_at` FROM `user_follows`
+WHERE `followed_id` = 1
+  AND (`created_at` < @created_at OR (`created_at` = @created_at AND `id` < @last_id))
+ORDER BY `created_at` DESC, `id` DESC
+LIMIT 21;
+
+-- ============================================
+-- 5. 清理测试数据（按需执行）
+-- ============================================
+-- DELETE FROM `user_follows` WHERE `follower_id` > 100000 AND `followed_id` = 1;
+-- DELETE FROM `comments` WHERE `article_id` = 1 AND `content` LIKE '压测评论 %';
+-- DELETE FROM `articles` WHERE `id` BETWEEN 1001 AND 101000;
+-- DELETE FROM `users` WHERE `id` BETWEEN 100001 AND 200000;
@@ -0,0 +1,246 @@
+-- ============================================
+-- 关注关系导入吞吐对比基准
+-- 10 万个压测用户之间生成约 100 万条关注关系（被关注者按幂律分布集中在少数用户），
+-- 对比两种写入方式的耗时和每秒写入条数：
+--   逐条写入：每条关系查询两次用户、两次黑名单后单条插入并更新计数（原 followUser 的语句序列，每条一个事务）
+--   批量写入：每 1000 条一个事务，一条 INSERT IGNORE ... SELECT 同时校验用户和黑名单，
+--             一条 UPDATE 按用户汇总更新计数（对应 UserFollowMapper.insertIgnoreAllowed / UserMapper.batchAddFollowCounts）
+-- 逐条写入只执行前 10 万条，按比例估算 100 万条的耗时
+--
+-- 使用方法：
+-- 1. 先执行 init.sql（需要 users.following_count / follower_count，见 add_user_follow_counts.sql）
+-- 2. 在测试库执行本脚本（会写入大量测试数据，不要在生产库执行）
+-- 3. 对比第 3、4 节输出的 seconds 和 edges_per_second，以及第 5 节 EXPLAIN ANALYZE 的执行计划
+-- ============================================
+
+USE `content_hub`;
+
+SET SESSION cte_max_recursion_depth = 1000000;
+
+-- ============================================
+-- 1. 测试数据
+-- ============================================
+
+-- 1.1 压测用户（id 从 100001 开始，与 benchmark_cursor_pagination.sql 共用）
+INSERT IGNORE INTO `users` (`id`, `username`, `email`, `password`, `nickname`, `status`, `created_at`, `updated_at`)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 100000
+)
+SELECT 100000 + n, CONCAT('bench_user_', n), CONCAT('bench_user_', n, '@bench.local'),
+       '$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchmar', CONCAT('压测用户', n), 1, NOW(), NOW()
+FROM seq;
+
+-- 1.2 待导入的关注关系：每个用户关注 10 个用户，被关注者取 RAND 的三次方集中在小 id（少数大 V）
+DROP TABLE IF EXISTS `bench_follow_edges`;
+CREATE TABLE `bench_follow_edges` (
+  `seq` INT NOT NULL,
+  `follower_id` BIGINT NOT NULL,
+  `followed_id` BIGINT NOT NULL,
+  PRIMARY KEY (`seq`)
+) ENGINE=InnoDB;
+
+INSERT INTO `bench_follow_edges` (`seq`, `follower_id`, `followed_id`)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000000
+)
+SELECT n, 100001 + (n % 100000), 100001 + FLOOR(POW(RAND(n), 3) * 100000)
+FROM seq;
+
+-- 去掉关注自己的关系（与接口的 normalizeEdges 一致）
+DELETE FROM `bench_follow_edges` WHERE `follower_id` = `followed_id`;
+
+-- 1.3 少量互相拉黑的用户（覆盖黑名单判断）
+INSERT IGNORE INTO `user_blacklist` (`user_id`, `blocked_user_id`, `created_at`)
+SELECT `followed_id`, `follower_id`, NOW() FROM `bench_follow_edges` WHERE `seq` % 1000 = 0;
+
+ANALYZE TABLE `users`, `user_follows`, `user_blacklist`, `bench_follow_edges`;
+
+-- 1.4 批量写入时记录每批写入前已存在的关系
+DROP TABLE IF EXISTS `bench_existing`;
+CREATE TABLE `bench_existing` (
+  `follower_id` BIGINT NOT NULL,
+  `followed_id` BIGINT NOT NULL,
+  PRIMARY KEY (`follower_id`, `followed_id`)
+) ENGINE=InnoDB;
+
+-- ============================================
+-- 2. 导入存储过程
+-- ============================================
+
+DELIMITER $$
+
+DROP PROCEDURE IF EXISTS bench_follow_row_by_row$$
+CREATE PROCEDURE bench_follow_row_by_row(IN p_from INT, IN p_to INT)
+BEGIN
+    DECLARE v_seq INT DEFAULT p_from;
+    DECLARE v_follower BIGINT;
+    DECLARE v_followed BIGINT;
+    DECLARE v_exists INT;
+
+    WHILE v_seq <= p_to DO
+        SET v_follower = NULL;
+        SELECT `follower_id`, `followed_id` INTO v_follower, v_followed
+        FROM `bench_follow_edges` WHERE `seq` = v_seq;
+
+        IF v_follower IS NOT NULL THEN
+            START TRANSACTION;
+            -- 两次 selectById
+            SELECT COUNT(*) INTO v_exists FROM `users` WHERE `id` = v_follower AND `deleted` = 0;
+            SELECT COUNT(*) INTO v_exists FROM `users` WHERE `id` = v_followed AND `deleted` = 0;
+            -- 两次 isBlocked
+            SELECT COUNT(*) INTO v_exists FROM `user_blacklist`
+            WHERE `user_id` = v_followed AND `blocked_user_id` = v_follower;
+            IF v_exists = 0 THEN
+                SELECT COUNT(*) INTO v_exists FROM `user_blacklist`
+                WHERE `user_id` = v_follower AND `blocked_user_id` = v_followed;
+            END IF;
+            -- 单条插入 + 更新计数
+            IF v_exists = 0 THEN
+                INSERT IGNORE INTO `user_follows` (`follower_id`, `followed_id`, `created_at`)
+                VALUES (v_follower, v_followed, NOW());
+                IF ROW_COUNT() = 1 THEN
+                    UPDATE `users` SET
+                        `following_count` = GREATEST(`following_count` + CASE WHEN `id` = v_follower THEN 1 ELSE 0 END, 0),
+                        `follower_count` = GREATEST(`follower_count` + CASE WHEN `id` = v_followed THEN 1 ELSE 0 END, 0)
+                    WHERE `id` IN (v_follower, v_followed);
+                END IF;
+            END IF;
+            COMMIT;
+        END IF;
+
+        SET v_seq = v_seq + 1;
+    END WHILE;
+END$$
+
+DROP PROCEDURE IF EXISTS bench_follow_set_based$$
+CREATE PROCEDURE bench_follow_set_based(IN p_from INT, IN p_to INT, IN p_chunk INT)
+BEGIN
+    DECLARE v_start INT DEFAULT p_from;
+    DECLARE v_end INT;
+    DECLARE v_locked INT;
+
+    WHILE v_start <= p_to DO
+        SET v_end = LEAST(v_start + p_chunk - 1, p_to);
+
+        START TRANSACTION;
+        -- 按主键顺序锁定本批涉及的用户（与 UserMapper#lockUsers 一致，避免共享锁升级排他锁的死锁）
+        SELECT COUNT(*) INTO v_locked FROM (
+            SELECT u.`id` FROM `users` u
+            WHERE u.`id` IN (SELECT e.`follower_id` FROM `bench_follow_edges` e WHERE e.`seq` BETWEEN v_start AND v_end
+                             UNION
+                             SELECT e.`followed_id` FROM `bench_follow_edges` e WHERE e.`seq` BETWEEN v_start AND v_end)
+            ORDER BY u.`id` FOR UPDATE) l;
+
+        -- 写入前已存在的关系（确定快照）
+        DELETE FROM `bench_existing`;
+        INSERT INTO `bench_existing` (`follower_id`, `followed_id`)
+        SELECT DISTINCT f.`follower_id`, f.`followed_id`
+        FROM `bench_follow_edges` e
+        JOIN `user_follows` f ON f.`follower_id` = e.`follower_id` AND f.`followed_id` = e.`followed_id`
+        WHERE e.`seq` BETWEEN v_start AND v_end;
+
+        -- 一条语句写入（用户行已加排他锁，过滤不存在的用户；校验互相未拉黑，已关注的由唯一索引忽略）
+        INSERT IGNORE INTO `user_follows` (`follower_id`, `followed_id`, `created_at`)
+        SELECT e.`follower_id`, e.`followed_id`, NOW()
+        FROM `bench_follow_edges` e
+        JOIN `users` a ON a.`id` = e.`follower_id` AND a.`deleted` = 0
+        JOIN `users` b ON b.`id` = e.`followed_id` AND b.`deleted` = 0
+        WHERE e.`seq` BETWEEN v_start AND v_end
+          AND NOT EXISTS (SELECT 1 FROM `user_blacklist` bl
+                          WHERE (bl.`user_id` = e.`follower_id` AND bl.`blocked_user_id` = e.`followed_id`)
+                             OR (bl.`user_id` = e.`followed_id` AND bl.`blocked_user_id` = e.`follower_id`));
+
+        -- 差集即本批写入的关系，一条语句更新计数
+        UPDATE `users` u
+        JOIN (
+            SELECT `user_id`, SUM(`following`) AS `following`, SUM(`follower`) AS `follower` FROM (
+                SELECT d.`follower_id` AS `user_id`, 1 AS `following`, 0 AS `follower` FROM (
+                    SELECT DISTINCT f.`follower_id`, f.`followed_id`
+                    FROM `bench_follow_edges` e
+                    JOIN `user_follows` f ON f.`follower_id` = e.`follower_id` AND f.`followed_id` = e.`followed_id`
+                    LEFT JOIN `bench_existing` x ON x.`follower_id` = f.`follower_id` AND x.`followed_id` = f.`followed_id`
+                    WHERE e.`seq` BETWEEN v_start AND v_end AND x.`follower_id` IS NULL) d
+                UNION ALL
+                SELECT d.`followed_id`, 0, 1 FROM (
+                    SELECT DISTINCT f.`follower_id`, f.`followed_id`
+                    FROM `bench_follow_edges` e
+                    JOIN `user_follows` f ON f.`follower_id` = e.`follower_id` AND f.`followed_id` = e.`followed_id`
+                    LEFT JOIN `bench_existing` x ON x.`follower_id` = f.`follower_id` AND x.`followed_id` = f.`followed_id`
+                    WHERE e.`seq` BETWEEN v_start AND v_end AND x.`follower_id` IS NULL) d
+            ) t GROUP BY `user_id`
+        ) c ON c.`user_id` = u.`id`
+        SET u.`following_count` = u.`following_count` + c.`following`,
+            u.`follower_count` = u.`follower_count` + c.`follower`;
+        COMMIT;
+
+        SET v_start = v_end + 1;
+    END WHILE;
+END$$
+
+DELIMITER ;
+
+-- ============================================
+-- 3. 逐条写入（前 10 万条）
+-- ============================================
+DELETE FROM `user_follows` WHERE `follower_id` BETWEEN 100001 AND 200000 AND `followed_id` BETWEEN 100001 AND 200000;
+
+SET @t0 = NOW(6);
+CALL bench_follow_row_by_row(1, 100000);
+SET @seconds = TIMESTAMPDIFF(MICROSECOND, @t0, NOW(6)) / 1000000;
+SELECT 'row_by_row' AS `mode`, COUNT(*) AS `edges`, @seconds AS `seconds`,
+       ROUND(COUNT(*) / @seconds) AS `edges_per_second`,
+       ROUND(@seconds * 10, 1) AS `estimated_seconds_for_1m`
+FROM `user_follows` WHERE `follower_id` BETWEEN 100001 AND 200000 AND `followed_id` BETWEEN 100001 AND 200000;
+
+-- ============================================
+-- 4. 批量写入（全部 100 万条，每批 1000 条）
+-- ============================================
+DELETE FROM `user_follows` WHERE `follower_id` BETWEEN 100001 AND 200000 AND `followed_id` BETWEEN 100001 AND 200000;
+
+-- 按关注表重置压测用户的计数（与 UserMapper.recountFollowCounts 相同）
+UPDATE `users` u
+LEFT JOIN (SELECT `follower_id`, COUNT(*) AS `cnt` FROM `user_follows`
+           WHERE `follower_id` BETWEEN 100001 AND 200000 GROUP BY `follower_id`) f ON f.`follower_id` = u.`id`
+LEFT JOIN (SELECT `followed_id`, COUNT(*) AS `cnt` FROM `user_follows`
+           WHERE `followed_id` BETWEEN 100001 AND 200000 GROUP BY `followed_id`) r ON r.`followed_id` = u.`id`
+SET u.`following_count` = IFNULL(f.`cnt`, 0), u.`follower_count` = IFNULL(r.`cnt`, 0)
+WHERE u.`id` BETWEEN 100001 AND 200000;
+
+SET @t0 = NOW(6);
+CALL bench_follow_set_based(1, 1000000, 1000);
+SET @seconds = TIMESTAMPDIFF(MICROSECOND, @t0, NOW(6)) / 1000000;
+SELECT 'set_based' AS `mode`, COUNT(*) AS `edges`, @seconds AS `seconds`,
+       ROUND(COUNT(*) / @seconds) AS `edges_per_second`
+FROM `user_follows` WHERE `follower_id` BETWEEN 100001 AND 200000 AND `followed_id` BETWEEN 100001 AND 200000;
+
+-- 计数与关注表一致（应返回 0 行）
+SELECT u.`id`, u.`following_count`, u.`follower_count`,
+       (SELECT COUNT(*) FROM `user_follows` f WHERE f.`follower_id` = u.`id`) AS `actual_following`,
+       (SELECT COUNT(*) FROM `user_follows` f WHERE f.`followed_id` = u.`id`) AS `actual_follower`
+FROM `users` u
+WHERE u.`id` BETWEEN 100001 AND 101000
+HAVING u.`following_count` <> `actual_following` OR u.`follower_count` <> `actual_follower`;
+
+-- ============================================
+-- 5. 单批写入语句的执行计划
+-- ============================================
+EXPLAIN ANALYZE
+SELECT e.`follower_id`, e.`followed_id`
+FROM `bench_follow_edges` e
+JOIN `users` a ON a.`id` = e.`follower_id` AND a.`deleted` = 0
+JOIN `users` b ON b.`id` = e.`followed_id` AND b.`deleted` = 0
+WHERE e.`seq` BETWEEN 1 AND 1000
+  AND NOT EXISTS (SELECT 1 FROM `user_blacklist` bl
+                  WHERE (bl.`user_id` = e.`follower_id` AND bl.`blocked_user_id` = e.`followed_id`)
+                     OR (bl.`user_id` = e.`followed_id` AND bl.`blocked_user_id` = e.`follower_id`));
+
+-- ============================================
+-- 6. 清理测试数据（按需执行）
+-- ============================================
+-- DROP PROCEDURE IF EXISTS bench_follow_row_by_row;
+-- DROP PROCEDURE IF EXISTS bench_follow_set_based;
+-- DROP TABLE IF EXISTS `bench_follow_edges`, `bench_existing`;
+-- DELETE FROM `user_blacklist` WHERE `user_id` BETWEEN 100001 AND 200000 AND `blocked_user_id` BETWEEN 100001 AND 200000;
+-- DELETE FROM `user_follows` WHERE `follower_id` BETWEEN 100001 AND 200000 AND `followed_id` BETWEEN 100001 AND 200000;
+-- UPDATE `users` SET `following_count` = 0, `follower_count` = 0 WHERE `id` BETWEEN 100001 AND 200000;
+-- DELETE FROM `users` WHERE `id` BETWEEN 100001 AND 200000;
@@ -0,0 +1,38 @@
+-- ============================================
+-- 关键词搜索基准：LIKE 与搜索服务对比
+-- 文章列表接口的关键词搜索使用 title/summary LIKE '%kw%'，无法使用索引，
+-- 只能逐行扫描全部已发布文章；搜索服务（Lucene 倒排索引）返回结果中的 took 为检索耗时。
+--
+-- 使用方法：
+-- 1. 先执行 benchmark_cursor_pagination.sql 第 1 部分，得到约 10 万篇测试文章
+-- 2. 调用搜索服务 POST /search/index/rebuild 建立索引
+-- 3. 执行本脚本，记录 EXPLAIN ANALYZE 的 actual time；
+--    再请求 GET /search/article?keyword=<同一关键词>，对比返回的 took（毫秒）
+-- ============================================
+
+USE `content_hub`;
+
+-- 1. 文章列表接口当前的关键词查询（第 1 页）
+EXPLAIN ANALYZE
+SELECT `id`, `title`, `summary`, `published_at`
+FROM `articles`
+WHERE `deleted` = 0 AND `status` = 1
+  AND (`title` LIKE '%微服务%' OR `summary` LIKE '%微服务%')
+ORDER BY `is_top` DESC, `published_at` DESC
+LIMIT 20;
+
+-- 2. 同一条件的 COUNT（分页插件会额外执行）
+EXPLAIN ANALYZE
+SELECT COUNT(*)
+FROM `articles`
+WHERE `deleted` = 0 AND `status` = 1
+  AND (`title` LIKE '%微服务%' OR `summary` LIKE '%微服务%');
+
+-- 3. 未命中的关键词：需要扫描全部文章才能确定没有结果
+EXPLAIN ANALYZE
+SELECT `id`, `title`, `summary`, `published_at`
+FROM `articles`
+WHERE `deleted` = 0 AND `status` = 1
+  AND (`title` LIKE '%不存在的关键词%' OR `summary` LIKE '%不存在的关键词%')
+ORDER BY `is_top` DESC, `published_at` DESC
+LIMIT 20;
@@ -0,0 +1,128 @@
+-- ============================================
+-- 标签筛选文章列表基准：ID 列表 IN 与 EXISTS 子查询对比
+-- 基于 test_data_articles.sql 的测试文章，扩充到约 10 万篇文章并全部打上同一个标签，
+-- 另有一个只关联 1% 文章的冷门标签，
+-- 对比两种写法在第 1 页、第 500 页（每页 20 条）以及 COUNT 查询上的执行计划和耗时
+--
+-- 使用方法：
+-- 1. 先执行 init.sql、test_data_articles.sql、add_cursor_pagination_indexes.sql、add_article_tags_tag_index.sql
+-- 2. 在测试库执行本脚本（会写入大量测试数据，不要在生产库执行）
+-- 3. 对比各 EXPLAIN ANALYZE 输出中的 actual time 和 rows（需要 MySQL 8.0.18+）
+-- ============================================
+
+USE `content_hub`;
+
+SET SESSION cte_max_recursion_depth = 200000;
+SET SESSION group_concat_max_len = 4194304;
+
+-- ============================================
+-- 1. 扩充测试数据
+-- ============================================
+
+-- 1.1 测试标签：热门标签关联全部压测文章，冷门标签关联 1%
+INSERT IGNORE INTO `tags` (`id`, `name`, `slug`, `article_count`) VALUES
+(900001, '压测热门标签', 'bench-tag-hot', 100000),
+(900002, '压测冷门标签', 'bench-tag-rare', 1000);
+
+-- 1.2 文章（与 benchmark_cursor_pagination.sql 相同，已存在时跳过）
+INSERT IGNORE INTO `articles` (`id`, `user_id`, `category_id`, `title`, `slug`, `summary`, `content`,
+                               `status`, `is_top`, `published_at`, `created_at`, `updated_at`, `deleted`)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 100000
+)
+SELECT 1000 + seq.n, a.`user_id`, a.`category_id`, CONCAT(a.`title`, ' #', seq.n),
+       CONCAT(a.`slug`, '-bench-', seq.n), a.`summary`, a.`content`,
+       1, IF(seq.n % 5000 = 0, 1, 0), NOW() - INTERVAL (seq.n DIV 2) SECOND, NOW(), NOW(), 0
+FROM seq
+JOIN `articles` a ON a.`id` = 1;
+
+-- 1.3 标签关联
+INSERT IGNORE INTO `article_tags` (`article_id`, `tag_id`)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 100000
+)
+SELECT 1000 + n, 900001 FROM seq;
+
+INSERT IGNORE INTO `article_tags` (`article_id`, `tag_id`)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000
+)
+SELECT 1000 + n * 100, 900002 FROM seq;
+
+ANALYZE TABLE `articles`, `article_tags`;
+
+-- ============================================
+-- 2. 热门标签
+-- ============================================
+
+-- 2.1 原写法：先取出全部文章ID，再拼成 IN (...)（10 万个ID）
+SELECT GROUP_CONCAT(`article_id`) INTO @ids FROM `article_tags` WHERE `tag_id` = 900001;
+
+SET @sql = CONCAT('EXPLAIN ANALYZE SELECT `id`, `title`, `is_top`, `published_at` FROM `articles` ',
+                  'WHERE `deleted` = 0 AND `status` = 1 AND `id` IN (', @ids, ') ',
+                  'ORDER BY `is_top` DESC, `published_at` DESC LIMIT 0, 20');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+
+SET @sql = CONCAT('EXPLAIN ANALYZE SELECT `id`, `title`, `is_top`, `published_at` FROM `articles` ',
+                  'WHERE `deleted` = 0 AND `status` = 1 AND `id` IN (', @ids, ') ',
+                  'ORDER BY `is_top` DESC, `published_at` DESC LIMIT 9980, 20');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+
+SET @sql = CONCAT('EXPLAIN ANALYZE SELECT COUNT(*) FROM `articles` ',
+                  'WHERE `deleted` = 0 AND `status` = 1 AND `id` IN (', @ids, ')');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2.2 新写法：EXISTS 子查询（与 ArticleServiceImpl.buildListQuery 生成的语句一致）
+EXPLAIN ANALYZE
+SELECT `id`, `title`, `is_top`, `published_at` FROM `articles`
+WHERE `deleted` = 0 AND `status` = 1
+  AND EXISTS (SELECT 1 FROM `article_tags` t WHERE t.`article_id` = `articles`.`id` AND t.`tag_id` = 900001)
+ORDER BY `is_top` DESC, `published_at` DESC
+LIMIT 0, 20;
+
+EXPLAIN ANALYZE
+SELECT `id`, `title`, `is_top`, `published_at` FROM `articles`
+WHERE `deleted` = 0 AND `status` = 1
+  AND EXISTS (SELECT 1 FROM `article_tags` t WHERE t.`article_id` = `articles`.`id` AND t.`tag_id` = 900001)
+ORDER BY `is_top` DESC, `published_at` DESC
+LIMIT 9980, 20;
+
+EXPLAIN ANALYZE
+SELECT COUNT(*) FROM `articles`
+WHERE `deleted` = 0 AND `status` = 1
+  AND EXISTS (SELECT 1 FROM `article_tags` t WHERE t.`article_id` = `articles`.`id` AND t.`tag_id` = 900001);
+
+-- 2.3 按点赞数排序
+EXPLAIN ANALYZE
+SELECT `id`, `title`, `like_count`, `published_at` FROM `articles`
+WHERE `deleted` = 0 AND `status` = 1
+  AND EXISTS (SELECT 1 FROM `article_tags` t WHERE t.`article_id` = `articles`.`id` AND t.`tag_id` = 900001)
+ORDER BY `like_count` DESC, `published_at` DESC
+LIMIT 0, 20;
+
+-- ============================================
+-- 3. 冷门标签（优化器应改为从 article_tags 的 idx_tag_article 驱动）
+-- ============================================
+
+EXPLAIN ANALYZE
+SELECT `id`, `title`, `is_top`, `published_at` FROM `articles`
+WHERE `deleted` = 0 AND `status` = 1
+  AND EXISTS (SELECT 1 FROM `article_tags` t WHERE t.`article_id` = `articles`.`id` AND t.`tag_id` = 900002)
+ORDER BY `is_top` DESC, `published_at` DESC
+LIMIT 0, 20;
+
+EXPLAIN ANALYZE
+SELECT COUNT(*) FROM `articles`
+WHERE `deleted` = 0 AND `status` = 1
+  AND EXISTS (SELECT 1 FROM `article_tags` t WHERE t.`article_id` = `articles`.`id` AND t.`tag_id` = 900002);
+
+-- ============================================
+-- 4. 清理测试数据（按需执行）
+-- ============================================
+-- DELETE FROM `article_tags` WHERE `tag_id` IN (900001, 900002);
+-- DELETE FROM `tags` WHERE `id` IN (900001, 900002);
+-- DELETE FROM `articles` WHERE `id` BETWEEN 1001 AND 101000;
@@ -30,6 +30,8 @@ CREATE TABLE IF NOT EXISTS `users` (
   `role` VARCHAR(20) DEFAULT 'user' COMMENT '角色（user-普通用户，admin-管理员）',
   `level` INT DEFAULT 1 COMMENT '用户等级',
   `experience` INT DEFAULT 0 COMMENT '经验值',
+  `following_count` INT NOT NULL DEFAULT 0 COMMENT '关注数',
+  `follower_count` INT NOT NULL DEFAULT 0 COMMENT '粉丝数',
   `last_login_at` DATETIME DEFAULT NULL COMMENT '最后登录时间',
   `last_login_ip` VARCHAR(50) DEFAULT NULL COMMENT '最后登录IP',
   `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
@@ -68,6 +70,8 @@ CREATE TABLE IF NOT EXISTS `user_follows` (
   UNIQUE KEY `uk_follower_followed` (`follower_id`, `followed_id`),
   KEY `idx_follower_id` (`follower_id`),
   KEY `idx_followed_id` (`followed_id`),
+  KEY `idx_follower_created` (`follower_id`, `created_at`),
+  KEY `idx_followed_created` (`followed_id`, `created_at`),
   CONSTRAINT `fk_follows_follower` FOREIGN KEY (`follower_id`) REFERENCES `users` (`id`) ON DELETE CASCADE,
   CONSTRAINT `fk_follows_followed` FOREIGN KEY (`followed_id`) REFERENCES `users` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户关注表';
@@ -143,16 +147,18 @@ CREATE TABLE IF NOT EXISTS `articles` (
   `published_at` DATETIME DEFAULT NULL COMMENT '发布时间',
   `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  `change_seq` BIGINT NOT NULL DEFAULT 0 COMMENT '变更序号（内容或状态每次变更+1，用于搜索索引幂等）',
   `deleted` TINYINT(1) DEFAULT 0 COMMENT '是否删除',
   PRIMARY KEY (`id`),
   UNIQUE KEY `uk_slug` (`slug`),
-  KEY `idx_user_id` (`user_id`),
+  KEY `idx_user_status_published` (`user_id`, `status`, `deleted`, `published_at`),
   KEY `idx_category_id` (`category_id`),
   KEY `idx_status` (`status`),
   KEY `idx_published_at` (`published_at`),
   KEY `idx_created_at` (`created_at`),
   KEY `idx_view_count` (`view_count`),
   KEY `idx_like_count` (`like_count`),
+  KEY `idx_status_top_published` (`status`, `deleted`, `is_top`, `published_at`),
   FULLTEXT KEY `ft_title_summary` (`title`, `summary`),
   CONSTRAINT `fk_articles_user` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`) ON DELETE RESTRICT,
   CONSTRAINT `fk_articles_category` FOREIGN KEY (`category_id`) REFERENCES `categories` (`id`) ON DELETE SET NULL
@@ -167,7 +173,7 @@ CREATE TABLE IF NOT EXISTS `article_tags` (
   PRIMARY KEY (`id`),
   UNIQUE KEY `uk_article_tag` (`article_id`, `tag_id`),
   KEY `idx_article_id` (`article_id`),
-  KEY `idx_tag_id` (`tag_id`),
+  KEY `idx_tag_article` (`tag_id`, `article_id`),
   CONSTRAINT `fk_article_tags_article` FOREIGN KEY (`article_id`) REFERENCES `articles` (`id`) ON DELETE CASCADE,
   CONSTRAINT `fk_article_tags_tag` FOREIGN KEY (`tag_id`) REFERENCES `tags` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章标签关联表';
@@ -200,6 +206,17 @@ CREATE TABLE IF NOT EXISTS `article_collections` (
   CONSTRAINT `fk_collections_user` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章收藏表';
 
+-- 文章变更发件箱（与文章变更在同一事务写入，由内容服务转发给搜索服务）
+CREATE TABLE IF NOT EXISTS `article_outbox` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT 'ID',
+  `article_id` BIGINT NOT NULL COMMENT '文章ID',
+  `change_seq` BIGINT NOT NULL COMMENT '文章变更序号',
+  `event_type` VARCHAR(20) NOT NULL COMMENT '变更类型（UPSERT-新增或更新，DELETE-删除或下架）',
+  `created_at` DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_article_id` (`article_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章变更发件箱';
+
 -- ============================================
 -- 3. 评论相关表
 -- ============================================
@@ -213,6 +230,7 @@ CREATE TABLE IF NOT EXISTS `comments` (
   `root_id` BIGINT DEFAULT NULL COMMENT '根评论ID（用于二级评论）',
   `content` TEXT NOT NULL COMMENT '评论内容',
   `like_count` INT DEFAULT 0 COMMENT '点赞数',
+  `reply_count` INT NOT NULL DEFAULT 0 COMMENT '子评论数（一级评论）',
   `status` TINYINT(1) DEFAULT 1 COMMENT '状态（0-删除，1-正常，2-审核中）',
   `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
@@ -221,8 +239,9 @@ CREATE TABLE IF NOT EXISTS `comments` (
   KEY `idx_article_id` (`article_id`),
   KEY `idx_user_id` (`user_id`),
   KEY `idx_parent_id` (`parent_id`),
-  KEY `idx_root_id` (`root_id`),
+  KEY `idx_root_created` (`root_id`, `created_at`),
   KEY `idx_created_at` (`created_at`),
+  KEY `idx_article_parent_created` (`article_id`, `parent_id`, `created_at`),
   CONSTRAINT `fk_comments_article` FOREIGN KEY (`article_id`) REFERENCES `articles` (`id`) ON DELETE CASCADE,
   CONSTRAINT `fk_comments_user` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`) ON DELETE RESTRICT,
   CONSTRAINT `fk_comments_parent` FOREIGN KEY (`parent_id`) REFERENCES `comments` (`id`) ON DELETE CASCADE